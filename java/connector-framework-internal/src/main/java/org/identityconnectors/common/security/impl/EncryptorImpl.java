@@ -25,9 +25,13 @@
 package org.identityconnectors.common.security.impl;
 
 import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
 import java.security.InvalidKeyException;
 import java.security.Key;
 import java.security.NoSuchAlgorithmException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.crypto.Cipher;
 import javax.crypto.KeyGenerator;
 import javax.crypto.spec.IvParameterSpec;
@@ -55,6 +59,13 @@ public class EncryptorImpl implements Encryptor {
 
     private static final int FALLBACK_KEY_SIZE = 128;
 
+    /**
+     * Initialized ciphers kept per mode. A cipher is only held for a single
+     * {@link Cipher#doFinal(byte[])}, so more than one per processor are
+     * rarely in use at the same time.
+     */
+    static final int MAX_POOLED_CIPHERS = Math.max(2, Runtime.getRuntime().availableProcessors());
+
     private static final Log LOG = Log.getLog(EncryptorImpl.class);
 
     private Key key;
@@ -63,6 +74,16 @@ public class EncryptorImpl implements Encryptor {
 
     private boolean defaultKey;
 
+    /**
+     * Initialized ciphers shared by all threads. {@link Cipher#doFinal(byte[])}
+     * resets a cipher to the state of its last init, so a pooled cipher is
+     * reused without looking up the provider and initializing it again. Unlike
+     * a thread local cache, this also works for short-lived virtual threads.
+     */
+    final CipherPool decryptCiphers = new CipherPool(Cipher.DECRYPT_MODE);
+
+    final CipherPool encryptCiphers = new CipherPool(Cipher.ENCRYPT_MODE);
+
     public EncryptorImpl(boolean defaultKey) {
         this.defaultKey = defaultKey;
         if (defaultKey) {
@@ -112,26 +133,21 @@ public class EncryptorImpl implements Encryptor {
 
     @Override
     public byte[] decrypt(byte[] bytes) {
-        try {
-            Cipher cipher = Cipher.getInstance(FULL_ALGORITHM);
-            cipher.init(Cipher.DECRYPT_MODE, key, iv);
-            return cipher.doFinal(bytes);
-        } catch (InvalidKeyException e) {
-            throw new RuntimeException(e.getMessage() + " (algorithm=" + FULL_ALGORITHM
-                    + ", keySize(encoded)=" + key.getEncoded().length * 8 + ", defaultKey=" + defaultKey + ")", e);
-        } catch (RuntimeException e) {
-            throw e;
-        } catch (Exception e) {
-            throw new RuntimeException(e);
-        }
+        return doFinal(decryptCiphers, bytes);
     }
 
     @Override
     public byte[] encrypt(byte[] bytes) {
+        return doFinal(encryptCiphers, bytes);
+    }
+
+    private byte[] doFinal(CipherPool pool, byte[] bytes) {
         try {
-            Cipher cipher = Cipher.getInstance(FULL_ALGORITHM);
-            cipher.init(Cipher.ENCRYPT_MODE, key, iv);
-            return cipher.doFinal(bytes);
+            Cipher cipher = pool.take();
+            byte[] result = cipher.doFinal(bytes);
+            // a cipher which fails half way is not put back
+            pool.release(cipher);
+            return result;
         } catch (InvalidKeyException e) {
             throw new RuntimeException(e.getMessage() + " (algorithm=" + FULL_ALGORITHM
                     + ", keySize(encoded)=" + key.getEncoded().length * 8 + ", defaultKey=" + defaultKey + ")", e);
@@ -141,4 +157,46 @@ public class EncryptorImpl implements Encryptor {
             throw new RuntimeException(e);
         }
     }
+
+    /**
+     * Bounded pool of the ciphers of one mode.
+     */
+    final class CipherPool {
+
+        private final int mode;
+
+        private final Queue<Cipher> ciphers = new ConcurrentLinkedQueue<>();
+
+        /**
+         * Number of pooled ciphers, kept apart as the queue counts them in linear time.
+         */
+        private final AtomicInteger size = new AtomicInteger();
+
+        CipherPool(int mode) {
+            this.mode = mode;
+        }
+
+        Cipher take() throws GeneralSecurityException {
+            Cipher cipher = ciphers.poll();
+            if (cipher != null) {
+                size.decrementAndGet();
+                return cipher;
+            }
+            cipher = Cipher.getInstance(FULL_ALGORITHM);
+            cipher.init(mode, key, iv);
+            return cipher;
+        }
+
+        void release(Cipher cipher) {
+            if (size.incrementAndGet() <= MAX_POOLED_CIPHERS) {
+                ciphers.offer(cipher);
+            } else {
+                size.decrementAndGet();
+            }
+        }
+
+        int size() {
+            return size.get();
+        }
+    }
 }
@@ -25,15 +25,18 @@
  */
 package org.identityconnectors.framework.impl.api;
 
+import java.util.Base64;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
 import org.identityconnectors.common.CollectionUtil;
 import org.identityconnectors.common.pooling.ObjectPoolConfiguration;
 import org.identityconnectors.framework.api.APIConfiguration;
 import org.identityconnectors.framework.api.ResultsHandlerConfiguration;
 import org.identityconnectors.framework.api.operations.APIOperation;
+import org.identityconnectors.framework.impl.serializer.DigestObjectEncoder;
 
 public class APIConfigurationImpl implements APIConfiguration {
 
@@ -58,6 +61,11 @@ public class APIConfigurationImpl implements APIConfiguration {
      */
     private int bufferSize = 100;
 
+    /**
+     * Time to live of the object snapshots, 0 if disabled.
+     */
+    private int objectSnapshotTtl = 0;
+
     /**
      * Map of timeout per operation.
      */
@@ -74,6 +82,11 @@ public class APIConfigurationImpl implements APIConfiguration {
      */
     private transient AbstractConnectorInfo connectorInfo;
 
+    /**
+     * The executor of the operations with a timeout. Not serialized.
+     */
+    private transient Executor operationExecutor;
+
     // =======================================================================
     // Constructors
     // =======================================================================
@@ -93,10 +106,12 @@ public class APIConfigurationImpl implements APIConfiguration {
         this.setConfigurationProperties(prop);
 
         this.bufferSize = other.bufferSize;
+        this.objectSnapshotTtl = other.objectSnapshotTtl;
         this.timeoutMap = new HashMap<>(other.timeoutMap);
         this.supportedOperations = new HashSet<>(other.supportedOperations);
 
         this.connectorInfo = other.connectorInfo;
+        this.operationExecutor = other.operationExecutor;
     }
 
     // =======================================================================
@@ -110,6 +125,23 @@ public class APIConfigurationImpl implements APIConfiguration {
         this.connectorInfo = connectorInfo;
     }
 
+    /**
+     * Returns a fingerprint of the serialized content of this configuration
+     * and the key of its connector. It is computed on every call without
+     * serializing the configuration, so it is a cheap identity of a facade
+     * built from it.
+     *
+     * @since 1.6.1.0
+     */
+    public String getFingerprint() {
+        DigestObjectEncoder encoder = new DigestObjectEncoder();
+        encoder.writeObjectContents(this);
+        if (null != connectorInfo) {
+            encoder.writeObjectContents(connectorInfo.getConnectorKey());
+        }
+        return Base64.getEncoder().encodeToString(encoder.getFingerprint());
+    }
+
     public void setConnectorPoolingSupported(boolean supported) {
         isConnectorPoolingSupported = supported;
     }
@@ -246,4 +278,36 @@ public class APIConfigurationImpl implements APIConfiguration {
     public String getInstanceName() {
         return instanceName;
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setOperationExecutor(Executor executor) {
+        this.operationExecutor = executor;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Executor getOperationExecutor() {
+        return operationExecutor;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setObjectSnapshotTtl(int ttlMillis) {
+        this.objectSnapshotTtl = Math.max(0, ttlMillis);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getObjectSnapshotTtl() {
+        return objectSnapshotTtl;
+    }
 }
@@ -29,10 +29,14 @@ import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Proxy;
 import java.text.MessageFormat;
 import java.util.Base64;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import org.identityconnectors.common.Assertions;
 import org.identityconnectors.common.logging.Log;
+import org.identityconnectors.common.pooling.ObjectPoolStatistics;
 import org.identityconnectors.common.security.GuardedString;
 import org.identityconnectors.framework.api.ConnectorFacade;
 import org.identityconnectors.framework.api.operations.*;
@@ -51,6 +55,16 @@ public abstract class AbstractConnectorFacade implements ConnectorFacade {
 
     private final String connectorFacadeKey;
 
+    /**
+     * Operation implementations (proxy chains) built so far, see {@link #isOperationImplementationReusable(Class)}.
+     * The logging proxy is part of the chain only if logging was enabled when the chain was built,
+     * so the chains with and without it are kept apart.
+     */
+    private final ConcurrentMap<Class<? extends APIOperation>, APIOperation> operations = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<Class<? extends APIOperation>, APIOperation> loggingOperations =
+            new ConcurrentHashMap<>();
+
     /**
      * Builds up the maps of supported operations and calls.
      */
@@ -64,8 +78,9 @@ public abstract class AbstractConnectorFacade implements ConnectorFacade {
         byte[] bytes = SerializerUtil.serializeBinaryObject(configuration);
         connectorFacadeKey = Base64.getEncoder().encodeToString(bytes);
         this.configuration = (APIConfigurationImpl) SerializerUtil.deserializeBinaryObject(bytes);
-        // parent ref not included in the clone
+        // parent ref and executor not included in the clone
         this.configuration.setConnectorInfo(configuration.getConnectorInfo());
+        this.configuration.setOperationExecutor(configuration.getOperationExecutor());
     }
 
     /**
@@ -91,7 +106,7 @@ public abstract class AbstractConnectorFacade implements ConnectorFacade {
         if (!configuration.isSupportedOperation(api)) {
             return null;
         }
-        return getOperationImplementation(api);
+        return getReusableOperationImplementation(api);
     }
 
     /**
@@ -322,6 +337,30 @@ public abstract class AbstractConnectorFacade implements ConnectorFacade {
                 discoverConfiguration();
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The batch is handed to the connector as a whole if it implements
+     * {@link org.identityconnectors.framework.spi.operations.BatchOp}, otherwise the items run one by one.
+     */
+    @Override
+    public final List<BatchItemResult> executeBatch(final List<BatchItem> items, final OperationOptions options) {
+        if (!configuration.isSupportedOperation(BatchApiOp.class)) {
+            return ConnectorFacade.super.executeBatch(items, options);
+        }
+        return ((BatchApiOp) this.getOperationCheckSupported(BatchApiOp.class)).executeBatch(items, options);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The connector instances are not pooled by default, subclasses which pool them override this.
+     */
+    @Override
+    public ObjectPoolStatistics getPoolStatistics() {
+        return null;
+    }
+
     private static final String MSG = "Operation ''{0}'' not supported.";
 
     private APIOperation getOperationCheckSupported(final Class<? extends APIOperation> api) {
@@ -330,7 +369,7 @@ public abstract class AbstractConnectorFacade implements ConnectorFacade {
             String str = MessageFormat.format(MSG, api);
             throw new UnsupportedOperationException(str);
         }
-        return getOperationImplementation(api);
+        return getReusableOperationImplementation(api);
     }
 
     @SafeVarargs
@@ -338,7 +377,7 @@ public abstract class AbstractConnectorFacade implements ConnectorFacade {
         // check if this operation is supported.
         for (Class<? extends APIOperation> api : apis) {
             if (configuration.isSupportedOperation(api)) {
-                return getOperationImplementation(UpdateDeltaApiOp.class);
+                return getReusableOperationImplementation(UpdateDeltaApiOp.class);
             }
         }
         String str = MessageFormat.format(MSG, (Object[]) apis);
@@ -355,6 +394,22 @@ public abstract class AbstractConnectorFacade implements ConnectorFacade {
         return (APIOperation) Proxy.newProxyInstance(api.getClassLoader(), new Class<?>[] { api }, handler);
     }
 
+    /**
+     * Gets the implementation of the given operation, building it only once if it can be reused.
+     */
+    private APIOperation getReusableOperationImplementation(final Class<? extends APIOperation> api) {
+        if (!isOperationImplementationReusable(api)) {
+            return getOperationImplementation(api);
+        }
+        ConcurrentMap<Class<? extends APIOperation>, APIOperation> cache =
+                LoggingProxy.isLoggable() ? loggingOperations : operations;
+        APIOperation operation = cache.get(api);
+        if (null == operation) {
+            operation = cache.computeIfAbsent(api, this::getOperationImplementation);
+        }
+        return operation;
+    }
+
     /**
      * Gets the implementation of the given operation.
      *
@@ -363,6 +418,28 @@ public abstract class AbstractConnectorFacade implements ConnectorFacade {
      */
     protected abstract APIOperation getOperationImplementation(final Class<? extends APIOperation> api);
 
+    /**
+     * Tells whether the implementation of the given operation may be built once and used for all the
+     * calls of this facade. This is true if the implementation does not keep any per-call state.
+     *
+     * @param api The operation.
+     * @return true by default.
+     */
+    protected boolean isOperationImplementationReusable(final Class<? extends APIOperation> api) {
+        return true;
+    }
+
+    /**
+     * Tells whether the sync operation of this facade hands the deltas to
+     * {@link org.identityconnectors.framework.api.ResultsHandlerConfiguration#getMaxParallelSyncHandlers()}
+     * handlers itself. Such a sync is neither buffered nor subject to the timeout of the facade.
+     *
+     * @return false by default.
+     */
+    protected boolean isParallelSyncSupported() {
+        return false;
+    }
+
     protected final APIConfigurationImpl getAPIConfiguration() {
         return configuration;
     }
@@ -379,8 +456,16 @@ public abstract class AbstractConnectorFacade implements ConnectorFacade {
 
         int timeout = getAPIConfiguration().getTimeout(api);
         int bufferSize = getAPIConfiguration().getProducerBufferSize();
+        if (SyncApiOp.class.equals(api) && isParallelSyncSupported()
+                && getAPIConfiguration().getResultsHandlerConfiguration().getMaxParallelSyncHandlers() > 1) {
+            // The sync already hands the deltas to its own workers, buffering
+            // would funnel them back into a single thread.
+            timeout = APIOperation.NO_TIMEOUT;
+            bufferSize = 0;
+        }
 
-        DelegatingTimeoutProxy handler = new DelegatingTimeoutProxy(target, timeout, bufferSize);
+        DelegatingTimeoutProxy handler = new DelegatingTimeoutProxy(target, timeout, bufferSize,
+                getAPIConfiguration().getOperationExecutor());
 
         return newAPIOperationProxy(api, handler);
     }
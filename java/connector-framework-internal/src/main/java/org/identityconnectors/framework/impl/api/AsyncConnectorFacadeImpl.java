@@ -0,0 +1,228 @@
+/*
+ * ====================
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2026 ConnId. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of the Common Development
+ * and Distribution License("CDDL") (the "License").  You may not use this file
+ * except in compliance with the License.
+ *
+ * You can obtain a copy of the License at
+ * http://opensource.org/licenses/cddl1.php
+ * See the License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * When distributing the Covered Code, include this CDDL Header Notice in each file
+ * and include the License file at http://opensource.org/licenses/cddl1.php.
+ * If applicable, add the following below this CDDL Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyrighted [year] [name of copyright owner]"
+ * ====================
+ */
+package org.identityconnectors.framework.impl.api;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.function.Supplier;
+import org.identityconnectors.common.Assertions;
+import org.identityconnectors.common.l10n.CurrentLocale;
+import org.identityconnectors.common.security.GuardedString;
+import org.identityconnectors.framework.api.AsyncConnectorFacade;
+import org.identityconnectors.framework.api.ConnectorFacade;
+import org.identityconnectors.framework.common.objects.Attribute;
+import org.identityconnectors.framework.common.objects.AttributeDelta;
+import org.identityconnectors.framework.common.objects.BatchItem;
+import org.identityconnectors.framework.common.objects.BatchItemResult;
+import org.identityconnectors.framework.common.objects.ConnectorObject;
+import org.identityconnectors.framework.common.objects.LiveSyncResultsHandler;
+import org.identityconnectors.framework.common.objects.ObjectClass;
+import org.identityconnectors.framework.common.objects.OperationOptions;
+import org.identityconnectors.framework.common.objects.ResultsHandler;
+import org.identityconnectors.framework.common.objects.Schema;
+import org.identityconnectors.framework.common.objects.ScriptContext;
+import org.identityconnectors.framework.common.objects.SearchResult;
+import org.identityconnectors.framework.common.objects.SuggestedValues;
+import org.identityconnectors.framework.common.objects.SyncResultsHandler;
+import org.identityconnectors.framework.common.objects.SyncToken;
+import org.identityconnectors.framework.common.objects.Uid;
+import org.identityconnectors.framework.common.objects.filter.Filter;
+
+/**
+ * Runs the operations of a local or remote {@link ConnectorFacade} on an
+ * executor.
+ *
+ * @since 1.6.1.0
+ */
+public class AsyncConnectorFacadeImpl implements AsyncConnectorFacade {
+
+    private final ConnectorFacade facade;
+
+    private final Executor executor;
+
+    /**
+     * Create an asynchronous facade.
+     *
+     * @param facade the facade to delegate to
+     * @param executor the executor of the operations, the
+     * {@link OperationExecutors#getDefault() default executor} if null. It must not be a bounded
+     * {@link org.identityconnectors.framework.api.APIConfiguration#getOperationExecutor() operation executor}
+     * of the facade, the operations wait for the tasks they submit to that one.
+     */
+    public AsyncConnectorFacadeImpl(final ConnectorFacade facade, final Executor executor) {
+        Assertions.nullCheck(facade, "facade");
+        this.facade = facade;
+        this.executor = null == executor ? OperationExecutors.getDefault() : executor;
+    }
+
+    @Override
+    public ConnectorFacade getConnectorFacade() {
+        return facade;
+    }
+
+    @Override
+    public CompletableFuture<Uid> create(final ObjectClass objectClass, final Set<Attribute> createAttributes,
+            final OperationOptions options) {
+        return supply(() -> facade.create(objectClass, createAttributes, options));
+    }
+
+    @Override
+    public CompletableFuture<Uid> update(final ObjectClass objectClass, final Uid uid,
+            final Set<Attribute> replaceAttributes, final OperationOptions options) {
+        return supply(() -> facade.update(objectClass, uid, replaceAttributes, options));
+    }
+
+    @Override
+    public CompletableFuture<Uid> addAttributeValues(final ObjectClass objectClass, final Uid uid,
+            final Set<Attribute> valuesToAdd, final OperationOptions options) {
+        return supply(() -> facade.addAttributeValues(objectClass, uid, valuesToAdd, options));
+    }
+
+    @Override
+    public CompletableFuture<Uid> removeAttributeValues(final ObjectClass objectClass, final Uid uid,
+            final Set<Attribute> valuesToRemove, final OperationOptions options) {
+        return supply(() -> facade.removeAttributeValues(objectClass, uid, valuesToRemove, options));
+    }
+
+    @Override
+    public CompletableFuture<Set<AttributeDelta>> updateDelta(final ObjectClass objectClass, final Uid uid,
+            final Set<AttributeDelta> modifications, final OperationOptions options) {
+        return supply(() -> facade.updateDelta(objectClass, uid, modifications, options));
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(final ObjectClass objectClass, final Uid uid,
+            final OperationOptions options) {
+        return run(() -> facade.delete(objectClass, uid, options));
+    }
+
+    @Override
+    public CompletableFuture<List<BatchItemResult>> executeBatch(final List<BatchItem> items,
+            final OperationOptions options) {
+        return supply(() -> facade.executeBatch(items, options));
+    }
+
+    @Override
+    public CompletableFuture<ConnectorObject> getObject(final ObjectClass objectClass, final Uid uid,
+            final OperationOptions options) {
+        return supply(() -> facade.getObject(objectClass, uid, options));
+    }
+
+    @Override
+    public CompletableFuture<SearchResult> search(final ObjectClass objectClass, final Filter filter,
+            final ResultsHandler handler, final OperationOptions options) {
+        return supply(() -> facade.search(objectClass, filter, handler, options));
+    }
+
+    @Override
+    public Flow.Publisher<ConnectorObject> search(final ObjectClass objectClass, final Filter filter,
+            final OperationOptions options) {
+        return new SearchPublisher(facade, objectClass, filter, options, executor);
+    }
+
+    @Override
+    public CompletableFuture<SyncToken> sync(final ObjectClass objectClass, final SyncToken token,
+            final SyncResultsHandler handler, final OperationOptions options) {
+        return supply(() -> facade.sync(objectClass, token, handler, options));
+    }
+
+    @Override
+    public CompletableFuture<SyncToken> getLatestSyncToken(final ObjectClass objectClass) {
+        return supply(() -> facade.getLatestSyncToken(objectClass));
+    }
+
+    @Override
+    public CompletableFuture<Void> livesync(final ObjectClass objectClass, final LiveSyncResultsHandler handler,
+            final OperationOptions options) {
+        return run(() -> facade.livesync(objectClass, handler, options));
+    }
+
+    @Override
+    public CompletableFuture<Uid> authenticate(final ObjectClass objectClass, final String username,
+            final GuardedString password, final OperationOptions options) {
+        return supply(() -> facade.authenticate(objectClass, username, password, options));
+    }
+
+    @Override
+    public CompletableFuture<Uid> resolveUsername(final ObjectClass objectClass, final String username,
+            final OperationOptions options) {
+        return supply(() -> facade.resolveUsername(objectClass, username, options));
+    }
+
+    @Override
+    public CompletableFuture<Object> runScriptOnConnector(final ScriptContext request,
+            final OperationOptions options) {
+        return supply(() -> facade.runScriptOnConnector(request, options));
+    }
+
+    @Override
+    public CompletableFuture<Object> runScriptOnResource(final ScriptContext request,
+            final OperationOptions options) {
+        return supply(() -> facade.runScriptOnResource(request, options));
+    }
+
+    @Override
+    public CompletableFuture<Schema> schema() {
+        return supply(facade::schema);
+    }
+
+    @Override
+    public CompletableFuture<Void> test() {
+        return run(facade::test);
+    }
+
+    @Override
+    public CompletableFuture<Void> validate() {
+        return run(facade::validate);
+    }
+
+    @Override
+    public CompletableFuture<Map<String, SuggestedValues>> discoverConfiguration() {
+        return supply(facade::discoverConfiguration);
+    }
+
+    private CompletableFuture<Void> run(final Runnable operation) {
+        return supply(() -> {
+            operation.run();
+            return null;
+        });
+    }
+
+    private <T> CompletableFuture<T> supply(final Supplier<T> operation) {
+        final Locale locale = CurrentLocale.get();
+        return CompletableFuture.supplyAsync(() -> {
+            // propagate current locale since this is a thread pool
+            CurrentLocale.set(locale);
+            try {
+                return operation.get();
+            } finally {
+                CurrentLocale.clear();
+            }
+        }, executor);
+    }
+}
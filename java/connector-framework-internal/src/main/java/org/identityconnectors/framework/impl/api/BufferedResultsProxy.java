@@ -28,15 +28,32 @@ package org.identityconnectors.framework.impl.api;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.util.concurrent.ArrayBlockingQueue;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 import org.identityconnectors.common.Assertions;
+import org.identityconnectors.common.l10n.CurrentLocale;
 import org.identityconnectors.common.logging.Log;
 import org.identityconnectors.framework.api.operations.APIOperation;
 import org.identityconnectors.framework.common.exceptions.ConnectorException;
 import org.identityconnectors.framework.common.exceptions.OperationTimeoutException;
 
+/**
+ * Runs the operation with a stream handler in a producer thread and passes the
+ * results to the handler of the caller through a bounded buffer.
+ * <p>
+ * The caller takes all the buffered results at once, so the buffer is locked
+ * once per batch instead of once per result. The size of the buffer adapts to
+ * the speed of the caller, up to the configured size.
+ */
 public class BufferedResultsProxy implements InvocationHandler {
 
     private final static Log LOG = Log.getLog(BufferedResultsProxy.class);
@@ -47,7 +64,20 @@ public class BufferedResultsProxy implements InvocationHandler {
 
     private final long timeoutMillis;
 
+    /**
+     * Runs the producers of the results.
+     */
+    private final Executor executor;
+
     public BufferedResultsProxy(Object target, int bufferSize, long timeoutMillis) {
+        this(target, bufferSize, timeoutMillis, null);
+    }
+
+    /**
+     * @param executor runs the producers of the results, null for the
+     * {@link OperationExecutors#getDefault() default executor}
+     */
+    public BufferedResultsProxy(Object target, int bufferSize, long timeoutMillis, Executor executor) {
         if (target == null) {
             throw new IllegalArgumentException("Target argument must not be null!");
         }
@@ -63,9 +93,167 @@ public class BufferedResultsProxy implements InvocationHandler {
         }
         // create the pipe between the consumer thread an caller..
         this.bufferSize = (bufferSize < 1) ? 100 : bufferSize;
+        this.executor = null == executor ? OperationExecutors.getDefault() : executor;
+    }
+
+    /**
+     * Bounded buffer between the producer and the consumer, the consumer
+     * takes all the buffered objects at once.
+     * <p>
+     * The capacity starts small and doubles, up to the maximum, each time the
+     * consumer finds the buffer full, so a producer faster than the consumer is
+     * blocked and woken up less often. It halves each time the consumer finds
+     * the buffer empty, since a slower producer doesn't need the space.
+     * <p>
+     * The objects taken by the consumer count against the capacity until the
+     * consumer releases them, so the buffered objects and those waiting in the
+     * batch of the consumer never exceed the maximum capacity together.
+     */
+    static final class ResultsBuffer {
+
+        static final int MIN_CAPACITY = 16;
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private final Condition notEmpty = lock.newCondition();
+
+        private final Condition notFull = lock.newCondition();
+
+        private final ArrayDeque<Object> objects = new ArrayDeque<>();
+
+        private final int minCapacity;
+
+        private final int maxCapacity;
+
+        // guarded by lock
+        private int capacity;
+
+        /**
+         * Objects taken by the consumer and not released yet.
+         */
+        private int undelivered;
+
+        private boolean producerWaiting;
+
+        private boolean consumerWaiting;
+
+        private boolean closed;
+
+        ResultsBuffer(final int maxCapacity) {
+            this.maxCapacity = maxCapacity;
+            this.minCapacity = Math.min(MIN_CAPACITY, maxCapacity);
+            this.capacity = minCapacity;
+        }
+
+        /**
+         * Adds the object, waits while the buffer is full.
+         *
+         * @return false if the buffer was closed and the object dropped
+         */
+        boolean put(final Object obj) throws InterruptedException {
+            lock.lockInterruptibly();
+            try {
+                while (objects.size() + undelivered >= capacity && !closed) {
+                    producerWaiting = true;
+                    notFull.await();
+                }
+                if (closed) {
+                    return false;
+                }
+                objects.add(obj);
+                if (consumerWaiting) {
+                    consumerWaiting = false;
+                    notEmpty.signal();
+                }
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Moves all the buffered objects to the batch, waits up to the timeout
+         * if the buffer is empty. The moved objects keep counting against the
+         * capacity until they are {@link #release(int) released}.
+         *
+         * @return false if the timeout elapsed before any object was added
+         */
+        boolean drainTo(final Collection<Object> batch, final long timeoutMillis) throws InterruptedException {
+            long nanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+            lock.lockInterruptibly();
+            try {
+                if (objects.isEmpty()) {
+                    capacity = Math.max(minCapacity, capacity / 2);
+                    while (objects.isEmpty()) {
+                        if (nanos <= 0L) {
+                            return false;
+                        }
+                        consumerWaiting = true;
+                        nanos = notEmpty.awaitNanos(nanos);
+                    }
+                } else if (objects.size() >= capacity) {
+                    capacity = capacity > maxCapacity / 2 ? maxCapacity : capacity * 2;
+                }
+                batch.addAll(objects);
+                undelivered += objects.size();
+                objects.clear();
+                // the capacity may have grown
+                signalProducer();
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Releases the given number of objects taken by the consumer, wakes up
+         * the producer if there is room again.
+         */
+        void release(final int count) {
+            lock.lock();
+            try {
+                undelivered -= count;
+                signalProducer();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // guarded by lock
+        private void signalProducer() {
+            if (producerWaiting && objects.size() + undelivered < capacity) {
+                producerWaiting = false;
+                notFull.signal();
+            }
+        }
+
+        /**
+         * Drops the buffered objects and wakes up the waiting threads, the
+         * objects added later are dropped too.
+         */
+        void close() {
+            lock.lock();
+            try {
+                closed = true;
+                objects.clear();
+                notFull.signalAll();
+                notEmpty.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int getCapacity() {
+            lock.lock();
+            try {
+                return capacity;
+            } finally {
+                lock.unlock();
+            }
+        }
     }
 
-    private static class BufferedResultsHandler extends Thread implements ObjectStreamHandler {
+    private static class BufferedResultsHandler implements Runnable, ObjectStreamHandler {
 
         private static final Object DONE = new Object();
 
@@ -79,7 +267,37 @@ public class BufferedResultsProxy implements InvocationHandler {
 
         private final long timeoutMillis;
 
-        private final ArrayBlockingQueue<Object> buffer;
+        private final ResultsBuffer buffer;
+
+        /**
+         * Objects taken from the buffer, used by the consumer only.
+         */
+        private final ArrayDeque<Object> batch = new ArrayDeque<>();
+
+        /**
+         * Objects of the batch handed out and not released to the buffer yet.
+         */
+        private int handedOut;
+
+        /**
+         * Size of the batch at which the handed out objects are released.
+         */
+        private int releaseAt;
+
+        /**
+         * Locale of the caller, propagated to the producer.
+         */
+        private final Locale locale;
+
+        /**
+         * Task of the producer, done when the producer finished.
+         */
+        private final FutureTask<Void> task = new FutureTask<>(this, null);
+
+        /**
+         * Thread running the producer.
+         */
+        private volatile Thread producer;
 
         private Object result = null;
 
@@ -88,8 +306,16 @@ public class BufferedResultsProxy implements InvocationHandler {
             this.method = method;
             this.target = target;
             this.arguments = arguments;
-            buffer = new ArrayBlockingQueue<Object>(bufferSize);
+            buffer = new ResultsBuffer(bufferSize);
             this.timeoutMillis = timeoutMillis;
+            this.locale = CurrentLocale.get();
+        }
+
+        /**
+         * Starts the producer.
+         */
+        public void start(Executor executor) {
+            executor.execute(task);
         }
 
         @Override
@@ -99,7 +325,9 @@ public class BufferedResultsProxy implements InvocationHandler {
             }
             Assertions.nullCheck(obj, "obj");
             try {
-                buffer.put(obj);
+                if (!buffer.put(obj)) {
+                    return false;
+                }
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
                 throw ConnectorException.wrap(e);
@@ -114,7 +342,7 @@ public class BufferedResultsProxy implements InvocationHandler {
          * @throws OperationTimeoutException If we said to wait and we timed out.
          */
         public void stop(boolean wait) {
-            if (wait && Thread.currentThread() == this) {
+            if (wait && Thread.currentThread() == producer) {
                 throw new IllegalStateException("A thread cannot wait on itself");
             }
 
@@ -122,19 +350,21 @@ public class BufferedResultsProxy implements InvocationHandler {
 
                 // clear out the queue - this will cause the thread to
                 // wakeup so that it can exit
-                buffer.clear();
+                buffer.close();
                 if (wait) {
                     try {
                         // join with a time-limit. this may timeout
                         // if we are blocked in the producer
-                        join(timeoutMillis);
+                        task.get(timeoutMillis, TimeUnit.MILLISECONDS);
                     } catch (InterruptedException e) {
                         Thread.currentThread().interrupt();
                         throw ConnectorException.wrap(e);
-                    }
-                    // if we're still alive, we've timed out
-                    if (isAlive()) {
+                    } catch (TimeoutException e) {
+                        // if we're still alive, we've timed out
                         throw new OperationTimeoutException();
+                    } catch (ExecutionException e) {
+                        // the producer reports its failures through the buffer
+                        LOG.error(e.getCause(), null);
                     }
                 }
             }
@@ -160,6 +390,9 @@ public class BufferedResultsProxy implements InvocationHandler {
 
         @Override
         public void run() {
+            producer = Thread.currentThread();
+            // propagate current locale since this may be a thread pool
+            CurrentLocale.set(locale);
             try {
                 try {
                     result = method.invoke(target, createActualArguments());
@@ -175,6 +408,9 @@ public class BufferedResultsProxy implements InvocationHandler {
                 }
             } catch (InterruptedException e) {
                 LOG.error(e, null);
+            } finally {
+                CurrentLocale.clear();
+                producer = null;
             }
         }
 
@@ -189,12 +425,28 @@ public class BufferedResultsProxy implements InvocationHandler {
             if (isStopped()) {
                 return null;
             }
-            Object obj;
-            try {
-                obj = buffer.poll(timeoutMillis, TimeUnit.MILLISECONDS);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                throw ConnectorException.wrap(e);
+            Object obj = batch.poll();
+            if (obj == null) {
+                try {
+                    if (buffer.drainTo(batch, timeoutMillis)) {
+                        releaseAt = batch.size() / 2;
+                        obj = batch.poll();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw ConnectorException.wrap(e);
+                }
+            }
+            if (obj != null) {
+                // give the space back once half of the batch and once the
+                // whole batch is handed out, so the producer refills the
+                // buffer while the rest of the batch is handled
+                handedOut++;
+                if (batch.size() <= releaseAt) {
+                    buffer.release(handedOut);
+                    handedOut = 0;
+                    releaseAt = 0;
+                }
             }
             if (obj == null) {
                 stop(false); // stop, but don't wait since we've already timed
@@ -249,12 +501,8 @@ public class BufferedResultsProxy implements InvocationHandler {
                     "We only support operations that have a single stream handler " + method);
         }
 
-        // this guy will automatically inherit
-        // CurrentLocale since we are using a new thread
-        // NOTE: if we ever introduce thread pooling
-        // here, it needs to explicitly propagate
-        bufHandler.setDaemon(true);
-        bufHandler.start();
+        // the producer runs in the executor, CurrentLocale is propagated explicitly
+        bufHandler.start(executor);
         while (!bufHandler.isStopped()) {
             Object obj = bufHandler.getNextObject();
             if (obj != null) {
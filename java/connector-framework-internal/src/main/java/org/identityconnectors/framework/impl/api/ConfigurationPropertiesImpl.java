@@ -27,12 +27,10 @@ import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
-import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 import java.util.stream.Collectors;
 import org.identityconnectors.common.CollectionUtil;
 import org.identityconnectors.framework.api.ConfigurationProperties;
@@ -117,16 +115,26 @@ public class ConfigurationPropertiesImpl implements ConfigurationProperties {
     public boolean equals(final Object o) {
         if (o instanceof ConfigurationPropertiesImpl) {
             ConfigurationPropertiesImpl other = (ConfigurationPropertiesImpl) o;
-            Set<ConfigurationPropertyImpl> set1 = new HashSet<>(properties.values());
-            Set<ConfigurationPropertyImpl> set2 = new HashSet<>(other.properties.values());
-            return set1.equals(set2);
+            // the properties are keyed by their name, compare them regardless of their order
+            if (properties.size() != other.properties.size()) {
+                return false;
+            }
+            for (ConfigurationPropertyImpl property : properties.values()) {
+                if (!property.equals(other.properties.get(property.getName()))) {
+                    return false;
+                }
+            }
+            return true;
         }
         return false;
     }
 
     @Override
     public int hashCode() {
-        Set<ConfigurationPropertyImpl> set1 = new HashSet<>(properties.values());
-        return set1.hashCode();
+        int hash = 0;
+        for (ConfigurationPropertyImpl property : properties.values()) {
+            hash += property.hashCode();
+        }
+        return hash;
     }
 }
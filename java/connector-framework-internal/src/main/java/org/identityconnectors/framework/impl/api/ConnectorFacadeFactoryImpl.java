@@ -25,6 +25,7 @@ package org.identityconnectors.framework.impl.api;
 
 import org.identityconnectors.common.logging.Log;
 import org.identityconnectors.framework.api.APIConfiguration;
+import org.identityconnectors.framework.api.AsyncConnectorFacade;
 import org.identityconnectors.framework.api.ConnectorFacade;
 import org.identityconnectors.framework.api.ConnectorFacadeFactory;
 import org.identityconnectors.framework.api.ConnectorInfo;
@@ -32,6 +33,7 @@ import org.identityconnectors.framework.common.exceptions.ConnectorException;
 import org.identityconnectors.framework.impl.api.local.ConnectorPoolManager;
 import org.identityconnectors.framework.impl.api.local.LocalConnectorFacadeImpl;
 import org.identityconnectors.framework.impl.api.local.LocalConnectorInfoImpl;
+import org.identityconnectors.framework.impl.api.remote.RemoteConnectionPoolManager;
 import org.identityconnectors.framework.impl.api.remote.RemoteConnectorFacadeImpl;
 import org.identityconnectors.framework.impl.api.remote.RemoteConnectorInfoImpl;
 
@@ -87,6 +89,15 @@ public class ConnectorFacadeFactoryImpl extends ConnectorFacadeFactory {
         return ret;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public AsyncConnectorFacade newAsyncInstance(final APIConfiguration config) {
+        // not on the operation executor, the operations wait for the tasks they submit to it
+        return new AsyncConnectorFacadeImpl(newInstance(config), null);
+    }
+
     /**
      * Shut down of all object pools and other resources associated with this
      * class.
@@ -96,5 +107,6 @@ public class ConnectorFacadeFactoryImpl extends ConnectorFacadeFactory {
         // Disposal of connector factory means shutdown of all connector pools.
         // This is the end. No more connector instances will be created.
         ConnectorPoolManager.shutdown();
+        RemoteConnectionPoolManager.shutdown();
     }
 }
@@ -25,6 +25,7 @@ package org.identityconnectors.framework.impl.api;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
 import org.identityconnectors.framework.api.operations.APIOperation;
 
 /**
@@ -48,6 +49,11 @@ public class DelegatingTimeoutProxy implements InvocationHandler {
      */
     private final int bufferSize;
 
+    /**
+     * The executor of the timeout handlers, null for the default one
+     */
+    private final Executor executor;
+
     /**
      * Create a new MethodTimeoutProxy.
      *
@@ -56,9 +62,23 @@ public class DelegatingTimeoutProxy implements InvocationHandler {
      * @param timeoutMillis
      */
     public DelegatingTimeoutProxy(Object target, long timeoutMillis, int bufferSize) {
+        this(target, timeoutMillis, bufferSize, null);
+    }
+
+    /**
+     * Create a new MethodTimeoutProxy.
+     *
+     * @param target
+     *            The object we are wrapping
+     * @param timeoutMillis
+     * @param executor
+     *            The executor of the timeout handlers, null for the default one
+     */
+    public DelegatingTimeoutProxy(Object target, long timeoutMillis, int bufferSize, Executor executor) {
         this.target = target;
         this.timeoutMillis = timeoutMillis;
         this.bufferSize = bufferSize;
+        this.executor = executor;
     }
 
     @Override
@@ -77,14 +97,14 @@ public class DelegatingTimeoutProxy implements InvocationHandler {
         // buffered results proxy (if configured)
         if (isStreamHandlerMethod(method)) {
             if (timeoutMillis != APIOperation.NO_TIMEOUT || bufferSize != 0) {
-                handler = new BufferedResultsProxy(target, bufferSize, timeoutMillis);
+                handler = new BufferedResultsProxy(target, bufferSize, timeoutMillis, executor);
             }
         }
         // otherwise it's a basic timeout proxy
         else {
             if (timeoutMillis != APIOperation.NO_TIMEOUT) {
                 // everything else is a general purpose timeout proxy
-                handler = new MethodTimeoutProxy(target, timeoutMillis);
+                handler = new MethodTimeoutProxy(target, timeoutMillis, executor);
             }
         }
 
@@ -40,18 +40,30 @@ public class ManagedConnectorFacadeFactoryImpl extends ConnectorFacadeFactoryImp
      */
     private static final ConcurrentMap<String, ConnectorFacade> CACHE = new ConcurrentHashMap<>();
 
+    /**
+     * The cached ConnectorFacades by the fingerprint of their configuration,
+     * so a cache hit doesn't have to serialize the configuration.
+     */
+    private static final ConcurrentMap<String, ConnectorFacade> FINGERPRINTS = new ConcurrentHashMap<>();
+
     /**
      * {@inheritDoc}
      */
     @Override
     public ConnectorFacade newInstance(final APIConfiguration config) {
-        ConnectorFacade facade = super.newInstance(config);
+        String fingerprint = ((APIConfigurationImpl) config).getFingerprint();
+        ConnectorFacade facade = FINGERPRINTS.get(fingerprint);
+        if (null != facade) {
+            LOG.ok("ConnectorFacade found in cache");
+            return facade;
+        }
+        facade = super.newInstance(config);
         ConnectorFacade ret = CACHE.putIfAbsent(facade.getConnectorFacadeKey(), facade);
         if (null != ret) {
             LOG.ok("ConnectorFacade found in cache");
             facade = ret;
         }
-
+        FINGERPRINTS.putIfAbsent(fingerprint, facade);
         return facade;
     }
 
@@ -87,5 +99,6 @@ public class ManagedConnectorFacadeFactoryImpl extends ConnectorFacadeFactoryImp
             }
         }
         CACHE.clear();
+        FINGERPRINTS.clear();
     }
 }
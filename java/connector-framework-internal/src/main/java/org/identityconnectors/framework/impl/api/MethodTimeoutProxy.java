@@ -29,8 +29,7 @@ import java.lang.reflect.Method;
 import java.util.Locale;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Executor;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -48,11 +47,6 @@ import org.identityconnectors.framework.common.exceptions.OperationTimeoutExcept
  */
 public class MethodTimeoutProxy implements InvocationHandler {
 
-    /**
-     * Get a pool of threads to use for operational timeouts.
-     */
-    private static final ExecutorService THREADPOOL = Executors.newCachedThreadPool();
-
     /**
      * The underlying operation that we are providing a timeout for
      */
@@ -64,15 +58,34 @@ public class MethodTimeoutProxy implements InvocationHandler {
     private final long timeoutMillis;
 
     /**
-     * Create a new MethodTimeoutProxy.
+     * The threads to use for operational timeouts.
+     */
+    private final Executor executor;
+
+    /**
+     * Create a new MethodTimeoutProxy using the {@link OperationExecutors#getDefault() default executor}.
      *
      * @param target
      *            The object we are wrapping
      * @param timeoutMillis
      */
     public MethodTimeoutProxy(Object target, long timeoutMillis) {
+        this(target, timeoutMillis, null);
+    }
+
+    /**
+     * Create a new MethodTimeoutProxy.
+     *
+     * @param target
+     *            The object we are wrapping
+     * @param timeoutMillis
+     * @param executor
+     *            The executor running the calls, null for the default one
+     */
+    public MethodTimeoutProxy(Object target, long timeoutMillis, Executor executor) {
         this.target = target;
         this.timeoutMillis = timeoutMillis;
+        this.executor = null == executor ? OperationExecutors.getDefault() : executor;
     }
 
     @Override
@@ -117,7 +130,7 @@ public class MethodTimeoutProxy implements InvocationHandler {
         FutureTask<Object> t = new FutureTask<Object>(callable);
         try {
             // execute it in the thread pool so we don't waste resources.
-            THREADPOOL.execute(t);
+            executor.execute(t);
             // execute and hope it doesn't timeout :)
             return t.get(timeoutMillis, TimeUnit.MILLISECONDS);
         } catch (TimeoutException ex) {
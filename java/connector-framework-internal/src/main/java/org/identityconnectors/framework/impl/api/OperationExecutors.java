@@ -0,0 +1,133 @@
+/*
+ * ====================
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2026 ConnId. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of the Common Development
+ * and Distribution License("CDDL") (the "License").  You may not use this file
+ * except in compliance with the License.
+ *
+ * You can obtain a copy of the License at
+ * http://opensource.org/licenses/cddl1.php
+ * See the License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * When distributing the Covered Code, include this CDDL Header Notice in each file
+ * and include the License file at http://opensource.org/licenses/cddl1.php.
+ * If applicable, add the following below this CDDL Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyrighted [year] [name of copyright owner]"
+ * ====================
+ */
+package org.identityconnectors.framework.impl.api;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.identityconnectors.common.logging.Log;
+
+/**
+ * Provides the default executor of the threads running the operations with a timeout
+ * ({@link MethodTimeoutProxy}), the producers of the buffered searches ({@link BufferedResultsProxy}),
+ * the workers of parallel queries and parallel syncs, and the operations of the
+ * {@link AsyncConnectorFacadeImpl asynchronous facades}.
+ * <p>
+ * The default is selected by the {@value #THREADS_PROP} system property:
+ * <ul>
+ * <li>{@value #PLATFORM_THREADS} (the default) - cached pool of daemon platform threads,</li>
+ * <li>{@value #VIRTUAL_THREADS} - a new virtual thread per task, falls back to the platform threads
+ * if the JVM does not support virtual threads (before JDK 21).</li>
+ * </ul>
+ * Applications may also set their own executor per facade with
+ * {@link org.identityconnectors.framework.api.APIConfiguration#setOperationExecutor}. Both executors
+ * are unbounded, since the tasks wait for each other.
+ *
+ * @since 1.6.1.0
+ */
+public final class OperationExecutors {
+
+    private static final Log LOG = Log.getLog(OperationExecutors.class);
+
+    /**
+     * System property selecting the default executor.
+     */
+    public static final String THREADS_PROP = "org.identityconnectors.framework.operationThreads";
+
+    public static final String PLATFORM_THREADS = "platform";
+
+    public static final String VIRTUAL_THREADS = "virtual";
+
+    private static volatile ExecutorService defaultExecutor;
+
+    private OperationExecutors() {
+    }
+
+    /**
+     * Get the default executor, created on the first use.
+     */
+    public static ExecutorService getDefault() {
+        ExecutorService executor = defaultExecutor;
+        if (null == executor) {
+            synchronized (OperationExecutors.class) {
+                executor = defaultExecutor;
+                if (null == executor) {
+                    executor = newExecutor(System.getProperty(THREADS_PROP, PLATFORM_THREADS));
+                    defaultExecutor = executor;
+                }
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * Create a new executor of the given kind.
+     *
+     * @param threads {@value #PLATFORM_THREADS} or {@value #VIRTUAL_THREADS}
+     */
+    static ExecutorService newExecutor(final String threads) {
+        if (VIRTUAL_THREADS.equalsIgnoreCase(threads)) {
+            ExecutorService executor = newVirtualThreadExecutor();
+            if (null != executor) {
+                LOG.info("Using virtual threads for connector operations");
+                return executor;
+            }
+            LOG.warn("Virtual threads are not supported by this JVM, using platform threads for connector operations");
+        } else if (!PLATFORM_THREADS.equalsIgnoreCase(threads)) {
+            LOG.warn("Unknown value of {0}: {1}, using platform threads", THREADS_PROP, threads);
+        }
+        return Executors.newCachedThreadPool(new OperationThreadFactory());
+    }
+
+    /**
+     * Create the virtual thread per task executor of JDK 21+.
+     *
+     * @return null if virtual threads are not available
+     */
+    public static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) method.invoke(null);
+        } catch (NoSuchMethodException e) {
+            return null;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // e.g. virtual threads being a preview feature that is not enabled
+            LOG.ok(e, "Virtual threads are not available");
+            return null;
+        }
+    }
+
+    private static class OperationThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            Thread thread = new Thread(runnable, "ConnId operation " + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
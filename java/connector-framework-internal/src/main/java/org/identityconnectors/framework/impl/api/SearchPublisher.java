@@ -0,0 +1,201 @@
+/*
+ * ====================
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2026 ConnId. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of the Common Development
+ * and Distribution License("CDDL") (the "License").  You may not use this file
+ * except in compliance with the License.
+ *
+ * You can obtain a copy of the License at
+ * http://opensource.org/licenses/cddl1.php
+ * See the License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * When distributing the Covered Code, include this CDDL Header Notice in each file
+ * and include the License file at http://opensource.org/licenses/cddl1.php.
+ * If applicable, add the following below this CDDL Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyrighted [year] [name of copyright owner]"
+ * ====================
+ */
+package org.identityconnectors.framework.impl.api;
+
+import java.util.Locale;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import org.identityconnectors.common.Assertions;
+import org.identityconnectors.common.l10n.CurrentLocale;
+import org.identityconnectors.common.logging.Log;
+import org.identityconnectors.framework.api.ConnectorFacade;
+import org.identityconnectors.framework.common.exceptions.ConnectorException;
+import org.identityconnectors.framework.common.objects.ConnectorObject;
+import org.identityconnectors.framework.common.objects.ObjectClass;
+import org.identityconnectors.framework.common.objects.OperationOptions;
+import org.identityconnectors.framework.common.objects.ResultsHandler;
+import org.identityconnectors.framework.common.objects.filter.Filter;
+
+/**
+ * Publishes the results of a search of a {@link ConnectorFacade}.
+ * <p>
+ * Each subscriber gets its own search running on the executor. The thread of
+ * the search delivers the objects to the subscriber and waits inside the
+ * {@link ResultsHandler} while the subscriber has no outstanding demand, so
+ * the search never produces more than it was asked for.
+ *
+ * @since 1.6.1.0
+ */
+public class SearchPublisher implements Flow.Publisher<ConnectorObject> {
+
+    private static final Log LOG = Log.getLog(SearchPublisher.class);
+
+    private final ConnectorFacade facade;
+
+    private final ObjectClass objectClass;
+
+    private final Filter filter;
+
+    private final OperationOptions options;
+
+    private final Executor executor;
+
+    public SearchPublisher(final ConnectorFacade facade, final ObjectClass objectClass, final Filter filter,
+            final OperationOptions options, final Executor executor) {
+        Assertions.nullCheck(facade, "facade");
+        Assertions.nullCheck(executor, "executor");
+        this.facade = facade;
+        this.objectClass = objectClass;
+        this.filter = filter;
+        this.options = options;
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(final Flow.Subscriber<? super ConnectorObject> subscriber) {
+        Assertions.nullCheck(subscriber, "subscriber");
+        SearchSubscription subscription = new SearchSubscription(subscriber, CurrentLocale.get());
+        subscriber.onSubscribe(subscription);
+    }
+
+    private class SearchSubscription implements Flow.Subscription, ResultsHandler, Runnable {
+
+        private final Flow.Subscriber<? super ConnectorObject> subscriber;
+
+        private final Locale locale;
+
+        private final Object lock = new Object();
+
+        // guarded by lock
+        private long demand;
+
+        private boolean started;
+
+        private boolean cancelled;
+
+        private Throwable error;
+
+        SearchSubscription(final Flow.Subscriber<? super ConnectorObject> subscriber, final Locale locale) {
+            this.subscriber = subscriber;
+            this.locale = locale;
+        }
+
+        @Override
+        public void request(final long n) {
+            boolean start;
+            synchronized (lock) {
+                if (cancelled) {
+                    return;
+                }
+                if (n <= 0) {
+                    error = new IllegalArgumentException("Requested " + n + " objects, must be positive");
+                    cancelled = true;
+                } else {
+                    demand += n;
+                    if (demand < 0) {
+                        // effectively unbounded
+                        demand = Long.MAX_VALUE;
+                    }
+                }
+                start = !started;
+                started = true;
+                lock.notifyAll();
+            }
+            if (start) {
+                if (null != error) {
+                    // the search was not started, nobody else signals the subscriber
+                    subscriber.onError(error);
+                } else {
+                    executor.execute(this);
+                }
+            }
+        }
+
+        @Override
+        public void cancel() {
+            synchronized (lock) {
+                cancelled = true;
+                lock.notifyAll();
+            }
+        }
+
+        @Override
+        public boolean handle(final ConnectorObject connectorObject) {
+            synchronized (lock) {
+                while (demand == 0 && !cancelled) {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        error = ConnectorException.wrap(e);
+                        cancelled = true;
+                    }
+                }
+                if (cancelled) {
+                    return false;
+                }
+                if (demand != Long.MAX_VALUE) {
+                    demand--;
+                }
+            }
+            try {
+                subscriber.onNext(connectorObject);
+            } catch (RuntimeException e) {
+                // the subscriber is broken, treat it as a cancellation
+                LOG.warn(e, "Subscriber failed to handle the search result, cancelling the search");
+                cancel();
+                return false;
+            }
+            synchronized (lock) {
+                return !cancelled;
+            }
+        }
+
+        @Override
+        public void run() {
+            Throwable failure = null;
+            CurrentLocale.set(locale);
+            try {
+                facade.search(objectClass, filter, this, options);
+            } catch (RuntimeException | Error e) {
+                failure = e;
+            } finally {
+                CurrentLocale.clear();
+            }
+            synchronized (lock) {
+                if (null != error) {
+                    // invalid request or interrupt, reported even if cancelled
+                    failure = error;
+                } else if (cancelled) {
+                    return;
+                }
+                cancelled = true;
+            }
+            if (null != failure) {
+                subscriber.onError(failure);
+            } else {
+                subscriber.onComplete();
+            }
+        }
+    }
+}
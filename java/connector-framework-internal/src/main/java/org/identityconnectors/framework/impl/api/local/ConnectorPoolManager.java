@@ -25,59 +25,71 @@
  */
 package org.identityconnectors.framework.impl.api.local;
 
+import java.util.Arrays;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import org.identityconnectors.common.Pair;
 import org.identityconnectors.common.logging.Log;
 import org.identityconnectors.common.pooling.ObjectPoolConfiguration;
+import org.identityconnectors.common.pooling.ObjectPoolMetricsFactory;
 import org.identityconnectors.framework.api.ConnectorKey;
 import org.identityconnectors.framework.common.exceptions.ConnectorException;
 import org.identityconnectors.framework.common.serializer.SerializerUtil;
 import org.identityconnectors.framework.impl.api.APIConfigurationImpl;
 import org.identityconnectors.framework.impl.api.ConfigurationPropertiesImpl;
 import org.identityconnectors.framework.impl.api.local.operations.OperationalContext;
+import org.identityconnectors.framework.impl.serializer.DigestObjectEncoder;
 import org.identityconnectors.framework.spi.Configuration;
 import org.identityconnectors.framework.spi.Connector;
 import org.identityconnectors.framework.spi.PoolableConnector;
 
 public class ConnectorPoolManager {
 
+    /**
+     * Identifies the pool of a connector configuration. The configuration is
+     * captured by a fingerprint when the key is made, so the key stays the
+     * same even if the configuration is changed later, and its hash covers
+     * the whole configuration rather than only the connector.
+     */
     public static class ConnectorPoolKey {
 
         private final ConnectorKey connectorKey;
 
-        private final ConfigurationPropertiesImpl configProperties;
+        /**
+         * Fingerprint of the configuration properties and the pool
+         * configuration.
+         */
+        private final byte[] fingerprint;
 
-        private final ObjectPoolConfiguration poolingConfig;
+        private final int hash;
 
         public ConnectorPoolKey(final ConnectorKey connectorKey,
                 final ConfigurationPropertiesImpl configProperties,
                 final ObjectPoolConfiguration poolingConfig) {
 
             this.connectorKey = connectorKey;
-            this.configProperties = configProperties;
-            this.poolingConfig = poolingConfig;
+            DigestObjectEncoder encoder = new DigestObjectEncoder();
+            encoder.writeObjectContents(configProperties);
+            encoder.writeObjectContents(poolingConfig);
+            this.fingerprint = encoder.getFingerprint();
+            this.hash = 31 * connectorKey.hashCode() + Arrays.hashCode(fingerprint);
         }
 
         @Override
         public int hashCode() {
-            return connectorKey.hashCode();
+            return hash;
         }
 
         @Override
         public boolean equals(final Object object) {
+            if (this == object) {
+                return true;
+            }
             if (object instanceof ConnectorPoolKey) {
                 final ConnectorPoolKey other = (ConnectorPoolKey) object;
-                if (!connectorKey.equals(other.connectorKey)) {
-                    return false;
-                }
-                if (!configProperties.equals(other.configProperties)) {
-                    return false;
-                }
-                if (!poolingConfig.equals(other.poolingConfig)) {
-                    return false;
-                }
-                return true;
+                return hash == other.hash
+                        && Arrays.equals(fingerprint, other.fingerprint)
+                        && connectorKey.equals(other.connectorKey);
             }
             return false;
         }
@@ -225,13 +237,16 @@ public class ConnectorPoolManager {
                 LOG.info("Creating new pool: {0}", poolName);
                 // this instance is strictly used for the pool..
                 pool = new ObjectPool<>(
-                        new ConnectorPoolHandler(impl, localInfo), impl.getConnectorPoolConfiguration());
+                        new ConnectorPoolHandler(impl, localInfo), impl.getConnectorPoolConfiguration(),
+                        ObjectPoolMetricsFactory.getInstance().newMetrics(poolName));
                 pool.setPoolName(poolName);
                 // add back to the map of POOLS..
 
                 ObjectPool<PoolableConnector> previousPool = POOLS.putIfAbsent(key, pool);
                 // Use the pool made by other thread
                 if (previousPool != null) {
+                    // the unused pool is still empty, but it may have scheduled its maintenance
+                    pool.shutdown();
                     pool = previousPool;
                 }
             }
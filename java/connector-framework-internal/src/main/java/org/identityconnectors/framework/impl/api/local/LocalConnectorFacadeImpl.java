@@ -27,6 +27,7 @@ package org.identityconnectors.framework.impl.api.local;
 import java.lang.reflect.Constructor;
 import java.util.HashMap;
 import java.util.Map;
+import org.identityconnectors.common.pooling.ObjectPoolStatistics;
 import org.identityconnectors.framework.api.operations.*;
 import org.identityconnectors.framework.common.exceptions.ConnectorException;
 import org.identityconnectors.framework.impl.api.APIConfigurationImpl;
@@ -34,6 +35,7 @@ import org.identityconnectors.framework.impl.api.AbstractConnectorFacade;
 import org.identityconnectors.framework.impl.api.LoggingProxy;
 import org.identityconnectors.framework.impl.api.local.operations.*;
 import org.identityconnectors.framework.spi.Connector;
+import org.identityconnectors.framework.spi.PoolableConnector;
 
 /**
  * Implements all the methods of the facade.
@@ -79,6 +81,7 @@ public class LocalConnectorFacadeImpl extends AbstractConnectorFacade {
         addImplementation(SyncApiOp.class, SyncImpl.class);
         addImplementation(LiveSyncApiOp.class, LiveSyncImpl.class);
         addImplementation(DiscoverConfigurationApiOp.class, DiscoverConfigurationImpl.class);
+        addImplementation(BatchApiOp.class, BatchImpl.class);
     }
 
     // =======================================================================
@@ -94,6 +97,11 @@ public class LocalConnectorFacadeImpl extends AbstractConnectorFacade {
      */
     private final ConnectorOperationalContext operationalContext;
 
+    /**
+     * Snapshots of the objects read for updates, null if disabled.
+     */
+    private final ObjectSnapshotCache snapshotCache;
+
     /**
      * Builds up the maps of supported operations and calls.
      */
@@ -103,23 +111,30 @@ public class LocalConnectorFacadeImpl extends AbstractConnectorFacade {
 
         super(apiConfiguration);
         this.connectorInfo = connectorInfo;
+        this.snapshotCache = createSnapshotCache();
         if (connectorInfo.isConfigurationStateless() && !connectorInfo.isConnectorPoolingSupported()) {
             operationalContext = null;
         } else {
-            operationalContext = new ConnectorOperationalContext(connectorInfo, getAPIConfiguration());
+            operationalContext = new ConnectorOperationalContext(connectorInfo, getAPIConfiguration(), snapshotCache);
         }
     }
 
     public LocalConnectorFacadeImpl(final LocalConnectorInfoImpl connectorInfo, String configuration) {
         super(configuration, connectorInfo);
         this.connectorInfo = connectorInfo;
+        this.snapshotCache = createSnapshotCache();
         if (connectorInfo.isConfigurationStateless() && !connectorInfo.isConnectorPoolingSupported()) {
             operationalContext = null;
         } else {
-            operationalContext = new ConnectorOperationalContext(connectorInfo, getAPIConfiguration());
+            operationalContext = new ConnectorOperationalContext(connectorInfo, getAPIConfiguration(), snapshotCache);
         }
     }
 
+    private ObjectSnapshotCache createSnapshotCache() {
+        int ttl = getAPIConfiguration().getObjectSnapshotTtl();
+        return ttl > 0 ? new ObjectSnapshotCache(ttl) : null;
+    }
+
     @Override
     public void dispose() {
         if (null != operationalContext) {
@@ -127,9 +142,22 @@ public class LocalConnectorFacadeImpl extends AbstractConnectorFacade {
         }
     }
 
+    @Override
+    public ObjectPoolStatistics getPoolStatistics() {
+        if (null == operationalContext) {
+            return null;
+        }
+        ObjectPool<PoolableConnector> pool = operationalContext.getPool();
+        if (null == pool) {
+            return null;
+        }
+        ObjectPool.Statistics statistics = pool.getStatistics();
+        return new ObjectPoolStatistics(statistics.getNumIdle(), statistics.getNumActive(), pool.getMetrics());
+    }
+
     protected ConnectorOperationalContext getOperationalContext() {
         if (null == operationalContext) {
-            return new ConnectorOperationalContext(connectorInfo, getAPIConfiguration());
+            return new ConnectorOperationalContext(connectorInfo, getAPIConfiguration(), snapshotCache);
         }
         return operationalContext;
     }
@@ -137,6 +165,23 @@ public class LocalConnectorFacadeImpl extends AbstractConnectorFacade {
     // =======================================================================
     // ConnectorFacade Interface
     // =======================================================================
+    /**
+     * The validate operation and the facades without a shared operational context create
+     * a new context (and connector configuration) for every call, so their proxies cannot be reused.
+     */
+    @Override
+    protected boolean isOperationImplementationReusable(final Class<? extends APIOperation> api) {
+        return api != ValidateApiOp.class && null != operationalContext;
+    }
+
+    /**
+     * The sync runs in this JVM, so {@link SyncImpl} can hand the deltas to parallel handlers.
+     */
+    @Override
+    protected boolean isParallelSyncSupported() {
+        return true;
+    }
+
     @Override
     protected APIOperation getOperationImplementation(final Class<? extends APIOperation> api) {
         APIOperation proxy;
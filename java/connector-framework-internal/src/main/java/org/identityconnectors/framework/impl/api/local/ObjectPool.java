@@ -26,22 +26,69 @@
 package org.identityconnectors.framework.impl.api.local;
 
 import java.io.IOException;
-import java.util.HashSet;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
 import org.identityconnectors.common.Assertions;
 import org.identityconnectors.common.logging.Log;
 import org.identityconnectors.common.pooling.ObjectPoolConfiguration;
+import org.identityconnectors.common.pooling.ObjectPoolMetrics;
+import org.identityconnectors.common.pooling.ObjectPoolMetrics.DisposeReason;
+import org.identityconnectors.common.pooling.ObjectPoolMetricsFactory;
 import org.identityconnectors.framework.common.exceptions.ConnectorException;
 
 public class ObjectPool<T> {
 
     private static final Log LOG = Log.getLog(ObjectPool.class);
 
+    /**
+     * Triggers the background maintenance of all pools with a positive
+     * {@link ObjectPoolConfiguration#getEvictionIntervalMillis() eviction interval}.
+     * The maintenance itself runs on the {@link #MAINTENANCE_EXECUTOR}.
+     */
+    private static final ScheduledExecutorService MAINTENANCE_SCHEDULER =
+            Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "ObjectPool maintenance scheduler");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+    private static final int MAINTENANCE_THREADS = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+    /**
+     * Runs the background maintenance, at most one pass per pool at a time. A
+     * connector hanging in its test or init holds only the thread of its own
+     * pool, the other pools are maintained by the remaining threads.
+     */
+    private static final ExecutorService MAINTENANCE_EXECUTOR;
+
+    static {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(MAINTENANCE_THREADS, MAINTENANCE_THREADS,
+                60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "ObjectPool maintenance-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        MAINTENANCE_EXECUTOR = executor;
+    }
+
     /**
      * Statistics bean
      */
@@ -161,10 +208,16 @@ public class ObjectPool<T> {
     private final Set<PooledObject> activeObjects;
 
     /**
-     * Queue of idle objects. The one that has been idle for the longest comes
-     * first in the queue
+     * Deque of idle objects ordered by the time they became idle. The most recently returned
+     * object is the first one (and it is borrowed first), the one that has been idle for the
+     * longest is the last one (and it is evicted first).
+     */
+    private final ConcurrentLinkedDeque<PooledObject> idleObjects = new ConcurrentLinkedDeque<>();
+
+    /**
+     * Number of objects in {@link #idleObjects}, the size of the deque is not a constant-time operation.
      */
-    private final ConcurrentLinkedQueue<PooledObject> idleObjects = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger idleCount = new AtomicInteger();
 
     /**
      * Limits the maximum available pooled object in the pool.
@@ -190,6 +243,11 @@ public class ObjectPool<T> {
      */
     private final ObjectPoolConfiguration poolConfiguration;
 
+    /**
+     * Receives the borrow, create, test and dispose events of this pool.
+     */
+    private final ObjectPoolMetrics metrics;
+
     /**
      * Human readable name for the pool. Used for diagnostics.
      */
@@ -202,6 +260,16 @@ public class ObjectPool<T> {
 
     private volatile boolean isDisposing = false;
 
+    /**
+     * Scheduled background maintenance, null if it is not enabled.
+     */
+    private final ScheduledFuture<?> maintenanceTask;
+
+    /**
+     * Whether a maintenance pass is queued or running.
+     */
+    private final AtomicBoolean maintenancePending = new AtomicBoolean();
+
     /**
      * Create a new ObjectPool
      *
@@ -209,14 +277,35 @@ public class ObjectPool<T> {
      * @param config Configuration for the pool
      */
     public ObjectPool(final ObjectPoolHandler<T> handler, final ObjectPoolConfiguration config) {
+        this(handler, config, ObjectPoolMetricsFactory.getInstance().newMetrics(null));
+    }
+
+    /**
+     * Create a new ObjectPool
+     *
+     * @param handler Handler for objects
+     * @param config Configuration for the pool
+     * @param metrics Metrics receiving the events of the pool
+     */
+    public ObjectPool(final ObjectPoolHandler<T> handler, final ObjectPoolConfiguration config,
+            final ObjectPoolMetrics metrics) {
         Assertions.nullCheck(handler, "handler");
         Assertions.nullCheck(config, "config");
+        Assertions.nullCheck(metrics, "metrics");
 
         this.handler = handler;
+        this.metrics = metrics;
         // clone it
         poolConfiguration = this.handler.validate(config);
-        activeObjects = new HashSet<>(poolConfiguration.getMaxObjects());
+        activeObjects = ConcurrentHashMap.newKeySet(poolConfiguration.getMaxObjects());
         totalPermit = new Semaphore(poolConfiguration.getMaxObjects());
+        long interval = poolConfiguration.getEvictionIntervalMillis();
+        if (interval > 0) {
+            maintenanceTask = MAINTENANCE_SCHEDULER.scheduleWithFixedDelay(
+                    this::submitMaintenance, interval, interval, TimeUnit.MILLISECONDS);
+        } else {
+            maintenanceTask = null;
+        }
     }
 
     /**
@@ -240,32 +329,31 @@ public class ObjectPool<T> {
         this.poolName = poolName;
     }
 
+    public ObjectPoolMetrics getMetrics() {
+        return metrics;
+    }
+
     /**
      * Return an object to the pool
      *
      * @param pooled
      */
     private void returnObject(PooledObject pooled) throws InterruptedException {
-        if (isShutdown() || isDisposing() || poolConfiguration.getMaxIdle() < 1) {
-            dispose(pooled);
+        if (isShutdown() || isDisposing()) {
+            dispose(pooled, DisposeReason.POOL_DISPOSED);
+            LOG.ok("Returned object to pool {0}, disposing immediately: {1}", getPoolName(), pooled);
+        } else if (poolConfiguration.getMaxIdle() < 1) {
+            dispose(pooled, DisposeReason.TOO_MANY_IDLE);
             LOG.ok("Returned object to pool {0}, disposing immediately: {1}", getPoolName(), pooled);
         } else {
-            try {
-                for (PooledObject entry : idleObjects) {
-                    if ((poolConfiguration.getMaxIdle() <= idleObjects.size())
-                            || entry.isOlderThan(poolConfiguration.getMinEvictableIdleTimeMillis())) {
-                        if (idleObjects.remove(entry)) {
-                            dispose(entry);
-                            LOG.ok("Disposed pool {0} entry (too many idle objects): {1}", getPoolName(), entry);
-                        }
-                    }
-                }
-            } finally {
-                pooled.setActive(false);
-                pooled.setNew(false);
-                idleObjects.add(pooled);
-                signalNotEmpty();
+            pooled.setActive(false);
+            pooled.setNew(false);
+            if (!addIdleObjectIfOpen(pooled, true)) {
+                dispose(pooled, DisposeReason.POOL_DISPOSED);
+                LOG.ok("Returned object to pool {0}, disposing immediately: {1}", getPoolName(), pooled);
+                return;
             }
+            trimIdleObjects();
         }
         LOG.ok("returned object to {0}: {1}", this, pooled);
     }
@@ -276,11 +364,43 @@ public class ObjectPool<T> {
      * @return An object
      */
     public ObjectPoolEntry<T> borrowObject() {
+        return borrowObject(true);
+    }
+
+    /**
+     * Borrow an object from the pool if one is idle or a new one may be
+     * created, without waiting for an object to be returned.
+     *
+     * @return An object, null if the pool is exhausted
+     * @since 1.6.1.0
+     */
+    public ObjectPoolEntry<T> tryBorrowObject() {
+        return borrowObject(false);
+    }
+
+    private ObjectPoolEntry<T> borrowObject(final boolean wait) {
         PooledObject rv = null;
+        long waitNanos = 0;
         try {
             do {
-                rv = borrowObjectNoTest();
-                if (rv != null && poolConfiguration.getMaxIdleTimeMillis() > 0 && rv.isOlderThan(poolConfiguration.getMaxIdleTimeMillis())) {
+                long start = System.nanoTime();
+                if (wait) {
+                    rv = borrowIdleObjectOrPermit();
+                } else {
+                    if (isShutdown()) {
+                        throw new IllegalStateException("Object pool already shutdown");
+                    }
+                    rv = borrowIdleObject();
+                    if (null == rv && !totalPermit.tryAcquire()) {
+                        LOG.ok("No object to borrow from pool {0} without waiting", this);
+                        return null;
+                    }
+                }
+                waitNanos += System.nanoTime() - start;
+                if (null == rv) {
+                    rv = createObject();
+                }
+                if (poolConfiguration.getMaxIdleTimeMillis() > 0 && rv.isOlderThan(poolConfiguration.getMaxIdleTimeMillis())) {
                     // Note: this implementation of maxIdleTimeMillis is not perfect.
                     // Idle connector instance may be kept in the pool for a long time, it gets disposed only when
                     // there is an attempt to use the instance. Therefore this implementation cannot be used to
@@ -288,28 +408,26 @@ public class ObjectPool<T> {
                     // However, it is useful to avoid reuse of potentially timed-out or stale connection
                     // in connectors that were left in the pool for a long time.
                     //
-                    // This implementation could be improved, however, that would need a special thread to watch
-                    // the pool and dispose idle connectors. We do not want to complicate the framework by adding
-                    // such thread now.
+                    // Pools with a positive evictionIntervalMillis also dispose such instances from the
+                    // background maintenance (see evictIdleObjects), this check covers the time between two runs.
                     LOG.ok("Disposed pool {0} entry (max idle time expired): {1}", getPoolName(), rv);
-                    dispose(rv);
+                    dispose(rv, DisposeReason.IDLE_EXPIRED);
                     rv = null;
                 } else {
                     try {
-                        handler.testObject(rv.getPooledObject());
+                        testObject(rv);
                     } catch (Exception e) {
-                        if (null != rv) {
-                            dispose(rv);
-                            // if it's a new object, break out of the loop immediately
-                            if (rv.isNew()) {
-                                throw ConnectorException.wrap(e);
-                            }
-                            rv = null;
+                        dispose(rv, DisposeReason.TEST_FAILED);
+                        // if it's a new object, break out of the loop immediately
+                        if (rv.isNew()) {
+                            throw ConnectorException.wrap(e);
                         }
+                        rv = null;
                     }
                 }
             } while (null == rv);
             rv.setActive(true);
+            metrics.recordBorrow(waitNanos);
         } catch (InterruptedException e) {
             LOG.error(e, "Failed to borrow object from pool.");
             throw ConnectorException.wrap(e);
@@ -319,84 +437,275 @@ public class ObjectPool<T> {
     }
 
     /**
-     * Borrow an object from the pool, but don't test it (it gets tested by the
-     * caller *outside* of synchronization)
+     * Borrow an idle object from the pool, or wait until there is one or until a new
+     * object may be created. Neither testing nor creating the object is done here, the
+     * caller does it *outside* of synchronization.
      *
-     * @return the object
+     * @return the idle object, null if a new object has to be created (the permit is acquired)
      */
-    private PooledObject borrowObjectNoTest() throws InterruptedException {
+    private PooledObject borrowIdleObjectOrPermit() throws InterruptedException {
         if (isShutdown()) {
             throw new IllegalStateException("Object pool already shutdown");
         }
 
         // First borrow from the idle pool
         PooledObject pooledConn = borrowIdleObject();
-        if (null == pooledConn) {
-            long nanos = TimeUnit.SECONDS.toNanos(poolConfiguration.getMaxWait());
-            final ReentrantLock lock = this.takeLock;
-            lock.lockInterruptibly();
-            try {
-                do {
-                    if (totalPermit.tryAcquire()) {
-                        try {
-                            // If the pool is empty and there are available permits then create a new instance.
-                            return makeObject();
-                        } catch (RuntimeException e) {
-                            totalPermit.release();
-                            throw e;
-                        } catch (Error e) {
-                            totalPermit.release();
-                            throw e;
-                        }
-                    } else {
-                        // Wait for permit or object to became available
-                        try {
-                            nanos = notEmpty.awaitNanos(nanos);
-                        } catch (InterruptedException ie) {
-                            notEmpty.signal(); // propagate to non-interrupted
-                            // thread
-                            throw ConnectorException.wrap(ie);
-                        }
+        if (null != pooledConn) {
+            return pooledConn;
+        }
+        final long maxWaitNanos = TimeUnit.SECONDS.toNanos(poolConfiguration.getMaxWait());
+        long nanos = maxWaitNanos;
+        final ReentrantLock lock = this.takeLock;
+        lock.lockInterruptibly();
+        try {
+            // Returned objects are signalled under the lock, so checking the idle pool
+            // before waiting does not miss any of them.
+            while (!totalPermit.tryAcquire()) {
+                pooledConn = borrowIdleObject();
+                if (null != pooledConn) {
+                    return pooledConn;
+                }
+                // Wait for permit or object to became available
+                try {
+                    nanos = notEmpty.awaitNanos(nanos);
+                } catch (InterruptedException ie) {
+                    notEmpty.signal(); // propagate to non-interrupted
+                    // thread
+                    throw ConnectorException.wrap(ie);
+                }
 
-                        if (nanos <= 0) {
-                            throw new ConnectorException("TimeOut");
-                        }
-                        // Try to borrow from the idle pool
-                        pooledConn = borrowIdleObject();
-                        if (null != pooledConn) {
-                            return pooledConn;
-                        }
-                    }
-                } while (nanos > 0);
-            } finally {
-                lock.unlock();
+                if (nanos <= 0) {
+                    metrics.recordTimeout(maxWaitNanos - nanos);
+                    throw new ConnectorException("TimeOut");
+                }
             }
+        } finally {
+            lock.unlock();
         }
-        return pooledConn;
+        // If the pool is empty and there are available permits then a new instance is created.
+        return null;
     }
 
     /**
-     * Polls the head object from the queue.
+     * Create a new object for a permit acquired by {@link #borrowIdleObjectOrPermit()}.
+     * This may take long, so it is done outside of the lock.
+     */
+    private PooledObject createObject() {
+        try {
+            return makeObject();
+        } catch (RuntimeException | Error e) {
+            totalPermit.release();
+            signalNotEmpty();
+            throw e;
+        }
+    }
+
+    /**
+     * Polls the most recently returned object from the idle pool.
      * <p/>
-     * Polls the head object and before it returns it checks the {@code MaxIdle} size and the
-     * {@code MinEvictableIdleTime} before accepts the object.
+     * Evicts the objects exceeding the {@code MaxIdle} size and the
+     * {@code MinEvictableIdleTime} before (see {@link #trimIdleObjects()}).
      *
      * @return null if there was no fresh/new object in the queue.
      * @throws InterruptedException
      */
     private PooledObject borrowIdleObject() throws InterruptedException {
-        for (PooledObject pooledConn = idleObjects.poll(); pooledConn != null; pooledConn = idleObjects.poll()) {
-            int size = idleObjects.size();
-            if (poolConfiguration.getMinIdle() < size + 1
-                    && ((poolConfiguration.getMaxIdle() < size)
-                    || pooledConn.isOlderThan(poolConfiguration.getMinEvictableIdleTimeMillis()))) {
-
-                dispose(pooledConn);
-            } else {
-                return pooledConn;
+        trimIdleObjects();
+        return pollIdleObject(true);
+    }
+
+    /**
+     * Evicts the idle objects exceeding the {@code MaxIdle} size, then the idle objects exceeding
+     * the {@code MinEvictableIdleTime} as long as more than {@code MinIdle} objects are idle.
+     * <p/>
+     * Only the oldest objects at the end of the idle deque are inspected, so the pass stops
+     * at the first object that may stay, and every object is evicted at most once.
+     *
+     * @throws InterruptedException
+     */
+    private void trimIdleObjects() throws InterruptedException {
+        while (idleCount.get() > poolConfiguration.getMaxIdle()) {
+            PooledObject entry = pollIdleObject(false);
+            if (null == entry) {
+                break;
+            }
+            dispose(entry, DisposeReason.TOO_MANY_IDLE);
+            LOG.ok("Disposed pool {0} entry (too many idle objects): {1}", getPoolName(), entry);
+        }
+        while (idleCount.get() > poolConfiguration.getMinIdle()) {
+            PooledObject entry = idleObjects.peekLast();
+            if (null == entry || !entry.isOlderThan(poolConfiguration.getMinEvictableIdleTimeMillis())) {
+                break;
+            }
+            if (idleObjects.removeLastOccurrence(entry)) {
+                idleCount.decrementAndGet();
+                dispose(entry, DisposeReason.IDLE_EXPIRED);
+                LOG.ok("Disposed pool {0} entry (min evictable idle time expired): {1}", getPoolName(), entry);
             }
         }
-        return null;
+    }
+
+    /**
+     * Removes the first (most recently returned) or the last (idle for the longest) object from the idle pool.
+     */
+    private PooledObject pollIdleObject(final boolean first) {
+        PooledObject entry = first ? idleObjects.pollFirst() : idleObjects.pollLast();
+        if (null != entry) {
+            idleCount.decrementAndGet();
+        }
+        return entry;
+    }
+
+    /**
+     * Adds the object to the beginning (most recently returned) or the end (idle for the longest) of the idle pool.
+     */
+    private void addIdleObject(final PooledObject entry, final boolean first) {
+        if (first) {
+            idleObjects.addFirst(entry);
+        } else {
+            idleObjects.addLast(entry);
+        }
+        idleCount.incrementAndGet();
+    }
+
+    /**
+     * Hands a pass of the pool maintenance to the maintenance threads, unless
+     * the previous one is still queued or running.
+     */
+    private void submitMaintenance() {
+        if (isShutdown() || isDisposing()) {
+            return;
+        }
+        if (!maintenancePending.compareAndSet(false, true)) {
+            LOG.ok("Previous maintenance of pool {0} is still running", getPoolName());
+            return;
+        }
+        try {
+            MAINTENANCE_EXECUTOR.execute(() -> {
+                try {
+                    runMaintenance();
+                } finally {
+                    maintenancePending.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            maintenancePending.set(false);
+            LOG.warn(e, "Failed to start the maintenance of pool {0}", getPoolName());
+        }
+    }
+
+    /**
+     * Runs one pass of the pool maintenance, logging (and otherwise ignoring) any failure.
+     * Scheduled to run repeatedly if the eviction interval is set.
+     */
+    private void runMaintenance() {
+        try {
+            evictIdleObjects();
+            ensureMinIdle();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            LOG.warn(e, "Maintenance of pool {0} failed: {1}", getPoolName(), e.getMessage());
+        }
+    }
+
+    /**
+     * Disposes idle objects exceeding {@code MaxIdleTime}, or exceeding {@code MinEvictableIdleTime}
+     * as long as more than {@code MinIdle} objects are idle. The remaining idle objects are tested
+     * and disposed if the test fails.
+     * <p/>
+     * Each idle object is taken out of the queue while it is being checked, so the check never
+     * blocks the borrowers.
+     *
+     * @throws InterruptedException
+     */
+    void evictIdleObjects() throws InterruptedException {
+        List<PooledObject> keep = new ArrayList<>();
+        try {
+            for (int i = idleCount.get(); i > 0 && !isShutdown() && !isDisposing(); i--) {
+                // start with the one idle for the longest, borrowers take the recent ones meanwhile
+                PooledObject entry = pollIdleObject(false);
+                if (null == entry) {
+                    break;
+                }
+                if (poolConfiguration.getMaxIdleTimeMillis() > 0
+                        && entry.isOlderThan(poolConfiguration.getMaxIdleTimeMillis())) {
+                    LOG.ok("Evicted pool {0} entry (max idle time expired): {1}", getPoolName(), entry);
+                    dispose(entry, DisposeReason.IDLE_EXPIRED);
+                } else if (poolConfiguration.getMinIdle() < idleCount.get() + keep.size() + 1
+                        && entry.isOlderThan(poolConfiguration.getMinEvictableIdleTimeMillis())) {
+                    LOG.ok("Evicted pool {0} entry (min evictable idle time expired): {1}", getPoolName(), entry);
+                    dispose(entry, DisposeReason.IDLE_EXPIRED);
+                } else {
+                    try {
+                        testObject(entry);
+                        keep.add(entry);
+                    } catch (Exception e) {
+                        LOG.ok("Evicted pool {0} entry (test failed: {1}): {2}",
+                                getPoolName(), e.getMessage(), entry);
+                        dispose(entry, DisposeReason.TEST_FAILED);
+                    }
+                }
+            }
+        } finally {
+            // put them back to the end, keeping the one idle for the longest last
+            for (int i = keep.size() - 1; i >= 0; i--) {
+                if (!addIdleObjectIfOpen(keep.get(i), false)) {
+                    dispose(keep.get(i), DisposeReason.POOL_DISPOSED);
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates new idle objects until there are {@code MinIdle} idle objects in the pool
+     * or {@code MaxObjects} is reached.
+     *
+     * @throws InterruptedException
+     */
+    void ensureMinIdle() throws InterruptedException {
+        while (!isShutdown() && !isDisposing()
+                && idleCount.get() < poolConfiguration.getMinIdle() && totalPermit.tryAcquire()) {
+            PooledObject entry;
+            try {
+                entry = makeObject();
+            } catch (RuntimeException | Error e) {
+                totalPermit.release();
+                throw e;
+            }
+            // pre-created objects are treated as pooled ones by borrowObject()
+            entry.setNew(false);
+            // the pool may have been shut down while the object was created
+            if (!addIdleObjectIfOpen(entry, true)) {
+                LOG.ok("Pool {0} has been disposed, disposing the new object: {1}", getPoolName(), entry);
+                dispose(entry, DisposeReason.POOL_DISPOSED);
+                return;
+            }
+            LOG.ok("Created idle object in pool {0}: {1}", getPoolName(), entry);
+        }
+    }
+
+    /**
+     * Adds an idle object and signals a waiting borrower, unless the pool is
+     * shut down or disposing. Both the check and the addition are done under
+     * the lock {@link #disposeAllObjects()} holds while it sets the flag and
+     * disposes the idle objects, so no object is added after it is done.
+     *
+     * @return false if the object was not added and has to be disposed
+     */
+    private boolean addIdleObjectIfOpen(final PooledObject entry, final boolean first) {
+        final ReentrantLock lock = this.takeLock;
+        lock.lock();
+        try {
+            if (isShutdown() || isDisposing()) {
+                return false;
+            }
+            addIdleObject(entry, first);
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
     }
 
     /**
@@ -411,12 +720,15 @@ public class ObjectPool<T> {
             lock.lockInterruptibly();
 
             isDisposing = true;
+            if (null != maintenanceTask) {
+                maintenanceTask.cancel(false);
+            }
             LOG.ok("Disposing all objects from {0}", this);
             // just evict idle objects if there are any active objects still going,
             // leave them alone so they can return gracefully
-            for (PooledObject entry = idleObjects.poll(); entry != null; entry = idleObjects.poll()) {
+            for (PooledObject entry = pollIdleObject(false); entry != null; entry = pollIdleObject(false)) {
                 try {
-                    dispose(entry);
+                    dispose(entry, DisposeReason.POOL_DISPOSED);
                 } catch (InterruptedException e) {
                     LOG.error(e, "Interrupted disposal of PooledObject object {0}", entry);
                 }
@@ -449,7 +761,7 @@ public class ObjectPool<T> {
      * @return The statistics
      */
     public Statistics getStatistics() {
-        return new Statistics(idleObjects.size(), activeObjects.size());
+        return new Statistics(idleCount.get(), activeObjects.size());
     }
 
     /**
@@ -459,10 +771,31 @@ public class ObjectPool<T> {
      * @throws ConnectorException if something happens.
      */
     private PooledObject makeObject() {
-        synchronized (activeObjects) {
+        long start = System.nanoTime();
+        boolean succeeded = false;
+        try {
             PooledObject pooledConn = new PooledObject(handler.makeObject());
             activeObjects.add(pooledConn);
+            succeeded = true;
             return pooledConn;
+        } finally {
+            metrics.recordCreate(System.nanoTime() - start, succeeded);
+        }
+    }
+
+    /**
+     * Test the object with the handler.
+     *
+     * @throws RuntimeException if the test fails
+     */
+    private void testObject(final PooledObject entry) {
+        long start = System.nanoTime();
+        boolean passed = false;
+        try {
+            handler.testObject(entry.getPooledObject());
+            passed = true;
+        } finally {
+            metrics.recordTest(System.nanoTime() - start, passed);
         }
     }
 
@@ -470,27 +803,30 @@ public class ObjectPool<T> {
      * Dispose of an object, but don't throw any exceptions
      *
      * @param entry
+     * @param reason
      */
-    private void dispose(final PooledObject entry) throws InterruptedException {
-        final ReentrantLock lock = this.takeLock;
-        lock.lockInterruptibly();
+    private void dispose(final PooledObject entry, final DisposeReason reason) throws InterruptedException {
         try {
-            synchronized (activeObjects) {
-                // Make sure the disposed object was the last item in the activeObjects
-                activeObjects.remove(entry);
-                handler.disposeObject(entry.getPooledObject());
-            }
+            metrics.recordDispose(reason);
+            activeObjects.remove(entry);
+            handler.disposeObject(entry.getPooledObject());
         } catch (Exception e) {
             LOG.warn(e, "Unexpected error from disposeObject() method: {0}", e.getMessage());
         } finally {
             totalPermit.release();
-            notEmpty.signal();
-            lock.unlock();
+            // the disposal itself may take long, only the signal is done under the lock
+            final ReentrantLock lock = this.takeLock;
+            lock.lockInterruptibly();
+            try {
+                notEmpty.signal();
+            } finally {
+                lock.unlock();
+            }
         }
     }
 
     /**
-     * Signals a waiting take. Called only from borrowObjectNoTest
+     * Signals a waiting take.
      */
     private void signalNotEmpty() {
         final ReentrantLock takeLock = this.takeLock;
@@ -512,7 +848,7 @@ public class ObjectPool<T> {
         if (isShutdown) {
             sb.append(", SHUTTING DOWN");
         }
-        sb.append(", idle=").append(idleObjects.size());
+        sb.append(", idle=").append(idleCount.get());
         sb.append(", active=").append(activeObjects.size());
         sb.append(")");
         return sb.toString();
@@ -0,0 +1,195 @@
+/*
+ * ====================
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2026 ConnId. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of the Common Development
+ * and Distribution License("CDDL") (the "License").  You may not use this file
+ * except in compliance with the License.
+ *
+ * You can obtain a copy of the License at
+ * http://opensource.org/licenses/cddl1.php
+ * See the License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * When distributing the Covered Code, include this CDDL Header Notice in each file
+ * and include the License file at http://opensource.org/licenses/cddl1.php.
+ * If applicable, add the following below this CDDL Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyrighted [year] [name of copyright owner]"
+ * ====================
+ */
+package org.identityconnectors.framework.impl.api.local.operations;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.identityconnectors.common.Assertions;
+import org.identityconnectors.common.logging.Log;
+import org.identityconnectors.framework.api.operations.BatchApiOp;
+import org.identityconnectors.framework.common.exceptions.ConnectorException;
+import org.identityconnectors.framework.common.objects.BatchItem;
+import org.identityconnectors.framework.common.objects.BatchItemResult;
+import org.identityconnectors.framework.common.objects.OperationOptions;
+import org.identityconnectors.framework.common.objects.OperationOptionsBuilder;
+import org.identityconnectors.framework.common.objects.Uid;
+import org.identityconnectors.framework.spi.Connector;
+import org.identityconnectors.framework.spi.operations.BatchOp;
+import org.identityconnectors.framework.spi.operations.CreateOp;
+import org.identityconnectors.framework.spi.operations.DeleteOp;
+import org.identityconnectors.framework.spi.operations.UpdateOp;
+
+/**
+ * Runs a batch with {@link BatchOp} if the connector implements it, and
+ * otherwise item by item with the create, update and delete operations of the
+ * connector. Either way all items run on the one connector instance of this
+ * operation.
+ */
+public class BatchImpl extends ConnectorAPIOperationRunner implements BatchApiOp {
+
+    // Special logger with SPI operation log name. Used for logging operation entry/exit
+    private static final Log OP_LOG = Log.getLog(BatchOp.class);
+
+    /**
+     * Initializes the operation works.
+     */
+    public BatchImpl(final ConnectorOperationalContext context, final Connector connector) {
+        super(context, connector);
+    }
+
+    @Override
+    public List<BatchItemResult> executeBatch(final List<BatchItem> items, OperationOptions options) {
+        Assertions.nullCheck(items, "items");
+        // cast null as empty
+        if (options == null) {
+            options = new OperationOptionsBuilder().build();
+        }
+        if (items.isEmpty()) {
+            return Collections.emptyList();
+        }
+        if (getConnector() instanceof BatchOp) {
+            return executeNative(items, options);
+        }
+        List<BatchItemResult> results = new ArrayList<>(items.size());
+        for (BatchItem item : items) {
+            results.add(execute(item, item.getOptions() == null ? options : item.getOptions()));
+        }
+        return results;
+    }
+
+    /**
+     * Runs one item through the implementation of the single operation, which
+     * checks and normalizes it just like a call of the facade would.
+     */
+    private BatchItemResult execute(final BatchItem item, final OperationOptions options) {
+        Connector connector = getConnector();
+        try {
+            switch (item.getType()) {
+                case CREATE:
+                    if (!(connector instanceof CreateOp)) {
+                        break;
+                    }
+                    return BatchItemResult.success(new CreateImpl(getOperationalContext(), connector).
+                            create(item.getObjectClass(), item.getAttributes(), options));
+                case UPDATE:
+                    if (!(connector instanceof UpdateOp)) {
+                        break;
+                    }
+                    return BatchItemResult.success(new UpdateImpl(getOperationalContext(), connector).
+                            update(item.getObjectClass(), item.getUid(), item.getAttributes(), options));
+                case DELETE:
+                    if (!(connector instanceof DeleteOp)) {
+                        break;
+                    }
+                    new DeleteImpl(getOperationalContext(), connector).
+                            delete(item.getObjectClass(), item.getUid(), options);
+                    return BatchItemResult.success(null);
+                default:
+                    break;
+            }
+            return BatchItemResult.failure(new UnsupportedOperationException(
+                    "Connector does not support batch items of type " + item.getType()));
+        } catch (RuntimeException e) {
+            return BatchItemResult.failure(e);
+        }
+    }
+
+    private List<BatchItemResult> executeNative(final List<BatchItem> items, final OperationOptions options) {
+        BatchItemResult[] results = new BatchItemResult[items.size()];
+        List<BatchItem> valid = new ArrayList<>(items.size());
+        int[] positions = new int[items.size()];
+        for (int i = 0; i < items.size(); i++) {
+            BatchItem item = items.get(i);
+            // the connector tells nothing about the changes of the items that fail,
+            // so drop the snapshots of all the objects the batch may touch
+            if (item.getType() != BatchItem.Type.CREATE && item.getObjectClass() != null
+                    && item.getUid() != null) {
+                invalidateSnapshot(item.getObjectClass(),
+                        (Uid) getNormalizer(item.getObjectClass()).normalizeAttribute(item.getUid()));
+            }
+            try {
+                validate(item);
+            } catch (RuntimeException e) {
+                results[i] = BatchItemResult.failure(e);
+                continue;
+            }
+            ObjectNormalizerFacade normalizer = getNormalizer(item.getObjectClass());
+            positions[valid.size()] = i;
+            valid.add(new BatchItem(item.getType(), item.getObjectClass(),
+                    (Uid) normalizer.normalizeAttribute(item.getUid()),
+                    normalizer.normalizeAttributes(item.getAttributes()),
+                    item.getOptions() == null ? options : item.getOptions()));
+        }
+        if (!valid.isEmpty()) {
+            SpiOperationLoggingUtil.logOpEntry(OP_LOG, getOperationalContext(), BatchOp.class, "executeBatch",
+                    valid, options);
+            List<BatchItemResult> connectorResults;
+            try {
+                connectorResults = ((BatchOp) getConnector()).executeBatch(valid, options);
+            } catch (RuntimeException e) {
+                SpiOperationLoggingUtil.logOpException(
+                        OP_LOG, getOperationalContext(), BatchOp.class, "executeBatch", e);
+                throw e;
+            }
+            SpiOperationLoggingUtil.logOpExit(OP_LOG, getOperationalContext(), BatchOp.class, "executeBatch",
+                    connectorResults);
+
+            if (connectorResults == null || connectorResults.size() != valid.size()) {
+                throw new ConnectorException("Connector returned "
+                        + (connectorResults == null ? "no" : String.valueOf(connectorResults.size()))
+                        + " results for a batch of " + valid.size() + " items");
+            }
+            for (int i = 0; i < valid.size(); i++) {
+                BatchItemResult result = connectorResults.get(i);
+                if (result == null) {
+                    result = BatchItemResult.failure(new ConnectorException("Connector returned no result"));
+                } else if (result.isSuccess() && result.getUid() != null) {
+                    Uid uid = (Uid) getNormalizer(valid.get(i).getObjectClass()).normalizeAttribute(result.getUid());
+                    if (uid != result.getUid()) {
+                        result = BatchItemResult.success(uid);
+                    }
+                }
+                results[positions[i]] = result;
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Checks an item the same way as the single operations do.
+     */
+    private static void validate(final BatchItem item) {
+        switch (item.getType()) {
+            case CREATE:
+                CreateImpl.validateInput(item.getObjectClass(), item.getAttributes());
+                break;
+            case UPDATE:
+                UpdateImpl.validateInput(item.getObjectClass(), item.getUid(), item.getAttributes(), false);
+                break;
+            default:
+                DeleteImpl.validateInput(item.getObjectClass(), item.getUid());
+        }
+    }
+}
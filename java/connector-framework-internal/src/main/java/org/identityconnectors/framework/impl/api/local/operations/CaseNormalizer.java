@@ -25,35 +25,41 @@ package org.identityconnectors.framework.impl.api.local.operations;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 import org.identityconnectors.framework.common.objects.Attribute;
 import org.identityconnectors.framework.common.objects.AttributeBuilder;
 import org.identityconnectors.framework.common.objects.ObjectClass;
 import org.identityconnectors.framework.spi.AttributeNormalizer;
 
 /**
+ * Upper-cases the string values of attributes, independently of the default
+ * locale. Attributes whose values are already upper case are returned as they
+ * are.
+ *
  * @author mederly
  */
 public class CaseNormalizer implements AttributeNormalizer {
 
     public Attribute normalizeAttribute(ObjectClass oclass, Attribute attribute) {
-        Attribute rv = attribute;
-        boolean converted = false;
-
-        List<Object> values = rv.getValue();
-        if (values != null) {
-            List<Object> newValues = new ArrayList<Object>();
-            for (Object value : values) {
-                if (value instanceof String) {
-                    newValues.add(((String) value).toUpperCase());
-                    converted = true;
-                } else {
-                    newValues.add(value);
+        List<Object> values = attribute.getValue();
+        if (values == null) {
+            return attribute;
+        }
+        List<Object> newValues = null;
+        for (int i = 0; i < values.size(); i++) {
+            Object value = values.get(i);
+            if (value instanceof String) {
+                String upper = ((String) value).toUpperCase(Locale.ROOT);
+                // the JDK returns the same instance if nothing changes
+                if (upper != value && !upper.equals(value)) {
+                    if (newValues == null) {
+                        newValues = new ArrayList<Object>(values);
+                    }
+                    newValues.set(i, upper);
                 }
             }
-            if (converted) { // only when something changed; to save a few cpu cycles...
-                rv = AttributeBuilder.build(attribute.getName(), newValues);
-            }
         }
-        return rv;
+        // only when something changed; to save a few cpu cycles...
+        return newValues == null ? attribute : AttributeBuilder.build(attribute.getName(), newValues);
     }
 }
@@ -22,7 +22,17 @@
  */
 package org.identityconnectors.framework.impl.api.local.operations;
 
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import org.identityconnectors.framework.common.exceptions.UnknownUidException;
+import org.identityconnectors.framework.common.objects.Attribute;
+import org.identityconnectors.framework.common.objects.AttributeUtil;
+import org.identityconnectors.framework.common.objects.ConnectorObject;
 import org.identityconnectors.framework.common.objects.ObjectClass;
+import org.identityconnectors.framework.common.objects.OperationOptions;
+import org.identityconnectors.framework.common.objects.OperationOptionsBuilder;
+import org.identityconnectors.framework.common.objects.Uid;
 import org.identityconnectors.framework.spi.AttributeNormalizer;
 import org.identityconnectors.framework.spi.Connector;
 
@@ -65,4 +75,68 @@ public abstract class ConnectorAPIOperationRunner extends APIOperationRunner {
         }
         return new ObjectNormalizerFacade(objectClass, norm);
     }
+
+    /**
+     * Reads the current values of the given attributes of an object for a
+     * simulated update, from the snapshot cache of the facade if possible.
+     *
+     * @return the attributes by name, an attribute without values may be
+     *         missing
+     * @throws UnknownUidException if the object does not exist
+     */
+    final Map<String, Attribute> readForUpdate(final ObjectClass objectClass, final Uid uid,
+            final Set<String> attributeNames, final OperationOptions options) {
+
+        ObjectSnapshotCache cache = getSnapshotCache();
+        if (cache != null) {
+            Map<String, Attribute> snapshot = cache.get(objectClass, uid, attributeNames);
+            if (snapshot != null) {
+                return snapshot;
+            }
+        }
+        // add attrs to get to operation options, so that the
+        // object we fetch has exactly the set of attributes we require
+        // (there may be ones that are not in the default set)
+        OperationOptionsBuilder builder = new OperationOptionsBuilder(options);
+        builder.setAttributesToGet(attributeNames);
+        ConnectorObject o = new GetImpl(new SearchImpl(getOperationalContext(), getConnector()))
+                .getObject(objectClass, uid, builder.build());
+        if (o == null) {
+            throw new UnknownUidException(uid, objectClass);
+        }
+        if (cache != null) {
+            cache.put(objectClass, uid, attributeNames, o.getAttributes());
+        }
+        return AttributeUtil.toMap(o.getAttributes());
+    }
+
+    /**
+     * Keeps the snapshot of an object current after its attributes have been
+     * replaced.
+     *
+     * @param newUid
+     *            the UID the connector returned, null if unknown
+     */
+    final void snapshotWritten(final ObjectClass objectClass, final Uid uid, final Uid newUid,
+            final Collection<Attribute> written) {
+        ObjectSnapshotCache cache = getSnapshotCache();
+        if (cache != null) {
+            cache.update(objectClass, uid, newUid, written);
+        }
+    }
+
+    /**
+     * Drops the snapshot of an object changed in a way the framework can't
+     * follow.
+     */
+    final void invalidateSnapshot(final ObjectClass objectClass, final Uid uid) {
+        ObjectSnapshotCache cache = getSnapshotCache();
+        if (cache != null) {
+            cache.invalidate(objectClass, uid);
+        }
+    }
+
+    private ObjectSnapshotCache getSnapshotCache() {
+        return null == getOperationalContext() ? null : getOperationalContext().getSnapshotCache();
+    }
 }
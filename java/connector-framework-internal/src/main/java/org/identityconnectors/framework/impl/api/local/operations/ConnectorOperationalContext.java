@@ -43,9 +43,25 @@ public class ConnectorOperationalContext extends OperationalContext {
      */
     private ConnectorPoolManager.ConnectorPoolKey connectorPoolKey;
 
+    /**
+     * Snapshots of the objects read for updates, null if disabled.
+     */
+    private final ObjectSnapshotCache snapshotCache;
+
     public ConnectorOperationalContext(final LocalConnectorInfoImpl connectorInfo,
             final APIConfigurationImpl apiConfiguration) {
+        this(connectorInfo, apiConfiguration, null);
+    }
+
+    /**
+     * @param snapshotCache
+     *            the snapshots of the facade, null if disabled.
+     * @since 1.6.1.0
+     */
+    public ConnectorOperationalContext(final LocalConnectorInfoImpl connectorInfo,
+            final APIConfigurationImpl apiConfiguration, final ObjectSnapshotCache snapshotCache) {
         super(connectorInfo, apiConfiguration);
+        this.snapshotCache = snapshotCache;
     }
 
     public ObjectPool<PoolableConnector> getPool() {
@@ -73,6 +89,10 @@ public class ConnectorOperationalContext extends OperationalContext {
         }
     }
 
+    ObjectSnapshotCache getSnapshotCache() {
+        return snapshotCache;
+    }
+
     public Class<? extends Connector> getConnectorClass() {
         return getConnectorInfo().getConnectorClass();
     }
@@ -61,29 +61,11 @@ public class CreateImpl extends ConnectorAPIOperationRunner implements CreateApi
      */
     @Override
     public Uid create(final ObjectClass objectClass, final Set<Attribute> createAttributes, OperationOptions options) {
-        Assertions.nullCheck(objectClass, "objectClass");
-        if (ObjectClass.ALL.equals(objectClass)) {
-            throw new UnsupportedOperationException(
-                    "Operation is not allowed on __ALL__ object class");
-        }
-        Assertions.nullCheck(createAttributes, "createAttributes");
-        // check to make sure there's not a uid..
-        if (AttributeUtil.getUidAttribute(createAttributes) != null) {
-            throw new InvalidAttributeValueException("Parameter 'createAttributes' contains a uid.");
-        }
+        validateInput(objectClass, createAttributes);
         // cast null as empty
         if (options == null) {
             options = new OperationOptionsBuilder().build();
         }
-        // validate input..
-        final Set<String> dups = new HashSet<>();
-        createAttributes.forEach(attr -> {
-            if (dups.contains(attr.getName())) {
-                throw new InvalidAttributeValueException("Duplicate attribute name exists: " + attr.getName());
-            }
-            // add for the detection..s
-            dups.add(attr.getName());
-        });
 
         final Connector connector = getConnector();
         final ObjectNormalizerFacade normalizer = getNormalizer(objectClass);
@@ -105,4 +87,29 @@ public class CreateImpl extends ConnectorAPIOperationRunner implements CreateApi
         Uid uid = (Uid) normalizer.normalizeAttribute(connectorUid);
         return uid;
     }
+
+    /**
+     * Checks the arguments of a create, also used for the create items of a batch.
+     */
+    static void validateInput(final ObjectClass objectClass, final Set<Attribute> createAttributes) {
+        Assertions.nullCheck(objectClass, "objectClass");
+        if (ObjectClass.ALL.equals(objectClass)) {
+            throw new UnsupportedOperationException(
+                    "Operation is not allowed on __ALL__ object class");
+        }
+        Assertions.nullCheck(createAttributes, "createAttributes");
+        // check to make sure there's not a uid..
+        if (AttributeUtil.getUidAttribute(createAttributes) != null) {
+            throw new InvalidAttributeValueException("Parameter 'createAttributes' contains a uid.");
+        }
+        // validate input..
+        final Set<String> dups = new HashSet<>();
+        createAttributes.forEach(attr -> {
+            if (dups.contains(attr.getName())) {
+                throw new InvalidAttributeValueException("Duplicate attribute name exists: " + attr.getName());
+            }
+            // add for the detection..s
+            dups.add(attr.getName());
+        });
+    }
 }
@@ -57,12 +57,7 @@ public class DeleteImpl extends ConnectorAPIOperationRunner implements DeleteApi
     @Override
     public void delete(final ObjectClass objectClass, final Uid uid, OperationOptions options) {
 
-        Assertions.nullCheck(objectClass, "objectClass");
-        if (ObjectClass.ALL.equals(objectClass)) {
-            throw new UnsupportedOperationException(
-                    "Operation is not allowed on __ALL__ object class");
-        }
-        Assertions.nullCheck(uid, "uid");
+        validateInput(objectClass, uid);
         //cast null as empty
         if (options == null) {
             options = new OperationOptionsBuilder().build();
@@ -75,6 +70,7 @@ public class DeleteImpl extends ConnectorAPIOperationRunner implements DeleteApi
         SpiOperationLoggingUtil.logOpEntry(OP_LOG, getOperationalContext(), DeleteOp.class, "delete",
                 objectClass, normalizedUid, options);
 
+        invalidateSnapshot(objectClass, normalizedUid);
         try {
             ((DeleteOp) connector).delete(objectClass, normalizedUid, options);
         } catch (RuntimeException e) {
@@ -84,4 +80,16 @@ public class DeleteImpl extends ConnectorAPIOperationRunner implements DeleteApi
 
         SpiOperationLoggingUtil.logOpExit(OP_LOG, getOperationalContext(), DeleteOp.class, "delete");
     }
+
+    /**
+     * Checks the arguments of a delete, also used for the delete items of a batch.
+     */
+    static void validateInput(final ObjectClass objectClass, final Uid uid) {
+        Assertions.nullCheck(objectClass, "objectClass");
+        if (ObjectClass.ALL.equals(objectClass)) {
+            throw new UnsupportedOperationException(
+                    "Operation is not allowed on __ALL__ object class");
+        }
+        Assertions.nullCheck(uid, "uid");
+    }
 }
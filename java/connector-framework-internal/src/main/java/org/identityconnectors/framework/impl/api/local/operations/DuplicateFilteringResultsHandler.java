@@ -37,7 +37,9 @@ public final class DuplicateFilteringResultsHandler implements SearchResultsHand
     // =======================================================================
     private final SearchResultsHandler handler;
 
-    private final Set<String> visitedUIDs = new HashSet<String>();
+    private final Set<String> visitedUIDs;
+
+    private final FingerprintSet visitedFingerprints;
 
     private boolean stillHandling = true;
 
@@ -51,17 +53,42 @@ public final class DuplicateFilteringResultsHandler implements SearchResultsHand
      *
      */
     public DuplicateFilteringResultsHandler(final SearchResultsHandler handler) {
+        this(handler, false);
+    }
+
+    /**
+     * Filter chain for producers.
+     *
+     * @param handler Producer to filter.
+     * @param compact Remember 64 bit fingerprints of the visited UIDs instead
+     * of the UIDs themselves. This takes a fraction of the memory on large
+     * searches, but two different UIDs with the same fingerprint will be
+     * taken as duplicates; with a million UIDs the odds of that are about one
+     * in 40 million.
+     * @since 1.6.1.0
+     */
+    public DuplicateFilteringResultsHandler(final SearchResultsHandler handler, final boolean compact) {
         // there must be a producer..
         if (handler == null) {
             throw new IllegalArgumentException("Handler must not be null!");
         }
         this.handler = handler;
+        if (compact) {
+            visitedUIDs = null;
+            visitedFingerprints = new FingerprintSet();
+        } else {
+            visitedUIDs = new HashSet<String>();
+            visitedFingerprints = null;
+        }
     }
 
     @Override
     public boolean handle(ConnectorObject object) {
         String uid = object.getUid().getUidValue();
-        if (!visitedUIDs.add(uid)) {
+        boolean added = visitedUIDs != null
+                ? visitedUIDs.add(uid)
+                : visitedFingerprints.add(fingerprint(uid));
+        if (!added) {
             // we've already seen this - don't pass it
             // throw
             return true;
@@ -78,4 +105,76 @@ public final class DuplicateFilteringResultsHandler implements SearchResultsHand
     public boolean isStillHandling() {
         return stillHandling;
     }
+
+    /**
+     * Returns the 64 bit FNV-1a hash of the characters of the uid, with the
+     * bits mixed so that the low ones can be used as a table index.
+     */
+    static long fingerprint(final String uid) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < uid.length(); i++) {
+            char c = uid.charAt(i);
+            h = (h ^ (c & 0xff)) * 0x100000001b3L;
+            h = (h ^ (c >>> 8)) * 0x100000001b3L;
+        }
+        h = (h ^ (h >>> 33)) * 0xff51afd7ed558ccdL;
+        h = (h ^ (h >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return h ^ (h >>> 33);
+    }
+
+    /**
+     * Open addressing set of primitive longs, 8 to 16 bytes per element
+     * instead of the hundred or so of a {@code HashSet<String>} entry.
+     */
+    static final class FingerprintSet {
+
+        private long[] table = new long[64];
+
+        private int size = 0;
+
+        /**
+         * Zero marks the free slots, so it is tracked on its own.
+         */
+        private boolean containsZero = false;
+
+        boolean add(final long value) {
+            if (value == 0L) {
+                if (containsZero) {
+                    return false;
+                }
+                containsZero = true;
+                return true;
+            }
+            if (!insert(table, value)) {
+                return false;
+            }
+            if (++size > table.length >>> 1) {
+                long[] grown = new long[table.length << 1];
+                for (long v : table) {
+                    if (v != 0L) {
+                        insert(grown, v);
+                    }
+                }
+                table = grown;
+            }
+            return true;
+        }
+
+        int size() {
+            return containsZero ? size + 1 : size;
+        }
+
+        private static boolean insert(final long[] table, final long value) {
+            int mask = table.length - 1;
+            int i = (int) value & mask;
+            while (table[i] != 0L) {
+                if (table[i] == value) {
+                    return false;
+                }
+                i = (i + 1) & mask;
+            }
+            table[i] = value;
+            return true;
+        }
+    }
 }
@@ -0,0 +1,600 @@
+/*
+ * ====================
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2026 ConnId. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of the Common Development
+ * and Distribution License("CDDL") (the "License").  You may not use this file
+ * except in compliance with the License.
+ *
+ * You can obtain a copy of the License at
+ * http://opensource.org/licenses/cddl1.php
+ * See the License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * When distributing the Covered Code, include this CDDL Header Notice in each file
+ * and include the License file at http://opensource.org/licenses/cddl1.php.
+ * If applicable, add the following below this CDDL Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyrighted [year] [name of copyright owner]"
+ * ====================
+ */
+package org.identityconnectors.framework.impl.api.local.operations;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntPredicate;
+import org.identityconnectors.common.CollectionUtil;
+import org.identityconnectors.common.logging.Log;
+import org.identityconnectors.framework.common.objects.Attribute;
+import org.identityconnectors.framework.common.objects.ConnectorObject;
+import org.identityconnectors.framework.common.objects.filter.AndFilter;
+import org.identityconnectors.framework.common.objects.filter.AttributeFilter;
+import org.identityconnectors.framework.common.objects.filter.ComparableAttributeFilter;
+import org.identityconnectors.framework.common.objects.filter.CompositeFilter;
+import org.identityconnectors.framework.common.objects.filter.ContainsAllValuesFilter;
+import org.identityconnectors.framework.common.objects.filter.ContainsFilter;
+import org.identityconnectors.framework.common.objects.filter.EndsWithFilter;
+import org.identityconnectors.framework.common.objects.filter.EqualsFilter;
+import org.identityconnectors.framework.common.objects.filter.EqualsIgnoreCaseFilter;
+import org.identityconnectors.framework.common.objects.filter.Filter;
+import org.identityconnectors.framework.common.objects.filter.FilterVisitor;
+import org.identityconnectors.framework.common.objects.filter.GreaterThanFilter;
+import org.identityconnectors.framework.common.objects.filter.GreaterThanOrEqualFilter;
+import org.identityconnectors.framework.common.objects.filter.LessThanFilter;
+import org.identityconnectors.framework.common.objects.filter.LessThanOrEqualFilter;
+import org.identityconnectors.framework.common.objects.filter.NotFilter;
+import org.identityconnectors.framework.common.objects.filter.OrFilter;
+import org.identityconnectors.framework.common.objects.filter.StartsWithFilter;
+import org.identityconnectors.framework.common.objects.filter.StringFilter;
+
+/**
+ * Compiles a {@link Filter} tree into a flat predicate for matching many
+ * objects in memory.
+ * <p>
+ * The compiled filter gives the same results as the original one:
+ * <ul>
+ * <li>an attribute which several nodes test is looked up once per object;</li>
+ * <li>the values of a {@link ContainsAllValuesFilter} are hashed once;</li>
+ * <li>nested {@link AndFilter}s and {@link OrFilter}s are flattened and their
+ * operands ordered by estimated selectivity and cost, so the cheapest operand
+ * most likely to decide the result goes first.</li>
+ * </ul>
+ * Operands which may throw on unexpected values (comparisons, string matches,
+ * {@link ContainsAllValuesFilter}s and filters the compiler doesn't know) keep
+ * their places; only the operands between them are reordered. So an object
+ * with unexpected values fails (or not) exactly as it would with the original
+ * filter, as no operand which would have decided the result before a failing
+ * one is moved behind it, nor the other way round.
+ * <p>
+ * Filters the compiler doesn't know are evaluated through their own
+ * {@link Filter#accept(ConnectorObject)}; a filter tree which can't be visited
+ * is left as it is.
+ *
+ * @since 1.6.1.0
+ */
+public final class FilterCompiler {
+
+    private static final Log LOG = Log.getLog(FilterCompiler.class);
+
+    /**
+     * Marks a slot whose attribute is known to be missing from the object.
+     */
+    private static final Object MISSING = new Object();
+
+    private static final double DEFAULT_SELECTIVITY = 0.5;
+
+    private static final double EQUALITY_SELECTIVITY = 0.05;
+
+    private static final double SUBSTRING_SELECTIVITY = 0.2;
+
+    /**
+     * Compiles the filter.
+     *
+     * @param filter
+     *            the filter to compile.
+     * @return a filter which accepts the same objects and which visitors see
+     *         as the original filter.
+     */
+    public static Filter compile(final Filter filter) {
+        if (filter == null || filter instanceof CompiledFilter) {
+            return filter;
+        }
+        Compiler compiler = new Compiler();
+        Node root;
+        try {
+            root = filter.accept(compiler, null);
+        } catch (RuntimeException e) {
+            // e.g. a custom filter which doesn't support visitors
+            LOG.ok(e, "Failed to compile filter {0}", filter);
+            return filter;
+        }
+        return new CompiledFilter(filter, root, compiler.sharedSlots);
+    }
+
+    private FilterCompiler() {
+    }
+
+    /**
+     * Turns each filter into a node, assigning shared slots to the attributes
+     * which more than one node tests.
+     */
+    private static final class Compiler implements FilterVisitor<Node, Void> {
+
+        /**
+         * Slots by attribute name, -1 for an attribute seen only once so far.
+         */
+        private final Map<String, Integer> slots = CollectionUtil.newCaseInsensitiveMap();
+
+        private final List<AttributeNode> attributeNodes = new ArrayList<>();
+
+        private int sharedSlots = 0;
+
+        private <T extends AttributeNode> T register(T node) {
+            Integer slot = slots.get(node.name);
+            if (slot == null) {
+                slots.put(node.name, -1);
+            } else if (slot < 0) {
+                // second node with this attribute, from now on they share a slot
+                slot = sharedSlots++;
+                slots.put(node.name, slot);
+                for (AttributeNode other : attributeNodes) {
+                    if (other.name.equalsIgnoreCase(node.name)) {
+                        other.slot = slot;
+                    }
+                }
+                node.slot = slot;
+            } else {
+                node.slot = slot;
+            }
+            attributeNodes.add(node);
+            return node;
+        }
+
+        private List<Node> flatten(final Collection<Filter> filters, final Class<? extends Filter> type) {
+            List<Node> nodes = new ArrayList<>();
+            for (Filter filter : filters) {
+                if (type.isInstance(filter)) {
+                    // (a and (b and c)) is (a and b and c)
+                    nodes.addAll(flatten(((CompositeFilter) filter).getFilters(), type));
+                } else {
+                    nodes.add(filter.accept(this, null));
+                }
+            }
+            return nodes;
+        }
+
+        @Override
+        public Node visitAndFilter(final Void p, final AndFilter filter) {
+            List<Node> nodes = flatten(filter.getFilters(), AndFilter.class);
+            // fail fast: cheap operands which are most likely false first
+            order(nodes, Comparator.comparingDouble(n -> n.cost / Math.max(1 - n.selectivity, 0.001)));
+            return new AndNode(nodes.toArray(new Node[nodes.size()]));
+        }
+
+        @Override
+        public Node visitOrFilter(final Void p, final OrFilter filter) {
+            List<Node> nodes = flatten(filter.getFilters(), OrFilter.class);
+            // succeed fast: cheap operands which are most likely true first
+            order(nodes, Comparator.comparingDouble(n -> n.cost / Math.max(n.selectivity, 0.001)));
+            return new OrNode(nodes.toArray(new Node[nodes.size()]));
+        }
+
+        /**
+         * Sorts each run of operands which can't fail, leaving the operands
+         * which can in their places.
+         */
+        private static void order(final List<Node> nodes, final Comparator<Node> comparator) {
+            int from = 0;
+            for (int i = 0; i <= nodes.size(); i++) {
+                if (i == nodes.size() || nodes.get(i).mayFail()) {
+                    nodes.subList(from, i).sort(comparator);
+                    from = i + 1;
+                }
+            }
+        }
+
+        @Override
+        public Node visitNotFilter(final Void p, final NotFilter filter) {
+            return new NotNode(filter.getFilter().accept(this, null));
+        }
+
+        @Override
+        public Node visitEqualsFilter(final Void p, final EqualsFilter filter) {
+            return register(new EqualsNode(filter));
+        }
+
+        @Override
+        public Node visitContainsAllValuesFilter(final Void p, final ContainsAllValuesFilter filter) {
+            if (filter.getClass() != ContainsAllValuesFilter.class) {
+                // a subclass may match differently
+                return new FilterNode(filter);
+            }
+            return register(new ContainsAllValuesNode(filter));
+        }
+
+        @Override
+        public Node visitContainsFilter(final Void p, final ContainsFilter filter) {
+            return register(new StringNode(filter, SUBSTRING_SELECTIVITY));
+        }
+
+        @Override
+        public Node visitStartsWithFilter(final Void p, final StartsWithFilter filter) {
+            return register(new StringNode(filter, SUBSTRING_SELECTIVITY));
+        }
+
+        @Override
+        public Node visitEndsWithFilter(final Void p, final EndsWithFilter filter) {
+            return register(new StringNode(filter, SUBSTRING_SELECTIVITY));
+        }
+
+        @Override
+        public Node visitEqualsIgnoreCaseFilter(final Void p, final EqualsIgnoreCaseFilter filter) {
+            return register(new StringNode(filter, EQUALITY_SELECTIVITY));
+        }
+
+        @Override
+        public Node visitGreaterThanFilter(final Void p, final GreaterThanFilter filter) {
+            return register(new CompareNode(filter, c -> c > 0));
+        }
+
+        @Override
+        public Node visitGreaterThanOrEqualFilter(final Void p, final GreaterThanOrEqualFilter filter) {
+            return register(new CompareNode(filter, c -> c >= 0));
+        }
+
+        @Override
+        public Node visitLessThanFilter(final Void p, final LessThanFilter filter) {
+            return register(new CompareNode(filter, c -> c < 0));
+        }
+
+        @Override
+        public Node visitLessThanOrEqualFilter(final Void p, final LessThanOrEqualFilter filter) {
+            return register(new CompareNode(filter, c -> c <= 0));
+        }
+
+        @Override
+        public Node visitExtendedFilter(final Void p, final Filter filter) {
+            return new FilterNode(filter);
+        }
+    }
+
+    /**
+     * The filter the compiler returns.
+     */
+    private static final class CompiledFilter implements Filter {
+
+        private final Filter filter;
+
+        private final Node root;
+
+        private final int sharedSlots;
+
+        CompiledFilter(final Filter filter, final Node root, final int sharedSlots) {
+            this.filter = filter;
+            this.root = root;
+            this.sharedSlots = sharedSlots;
+        }
+
+        @Override
+        public boolean accept(final ConnectorObject obj) {
+            try {
+                return root.test(obj, sharedSlots > 0 ? new Object[sharedSlots] : null);
+            } catch (RuntimeException e) {
+                // fails the same way, but with the exception of the original filter
+                return filter.accept(obj);
+            }
+        }
+
+        @Override
+        public <R, P> R accept(final FilterVisitor<R, P> v, final P p) {
+            return filter.accept(v, p);
+        }
+
+        @Override
+        public String toString() {
+            return filter.toString();
+        }
+    }
+
+    /**
+     * A node of a compiled filter.
+     */
+    private abstract static class Node {
+
+        /**
+         * Estimated probability that the node matches an object.
+         */
+        final double selectivity;
+
+        /**
+         * Estimated relative cost of evaluating the node.
+         */
+        final double cost;
+
+        Node(final double selectivity, final double cost) {
+            this.selectivity = selectivity;
+            this.cost = cost;
+        }
+
+        /**
+         * @param slots
+         *            the attributes of the object looked up so far by shared
+         *            slot, null if no attribute is shared.
+         */
+        abstract boolean test(ConnectorObject obj, Object[] slots);
+
+        /**
+         * @return whether evaluating the node may throw an exception.
+         */
+        boolean mayFail() {
+            return true;
+        }
+    }
+
+    private static boolean anyMayFail(final Node[] nodes) {
+        for (Node node : nodes) {
+            if (node.mayFail()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class AndNode extends Node {
+
+        private final Node[] nodes;
+
+        AndNode(final Node[] nodes) {
+            super(product(nodes, true), sumCost(nodes));
+            this.nodes = nodes;
+        }
+
+        @Override
+        boolean mayFail() {
+            return anyMayFail(nodes);
+        }
+
+        @Override
+        boolean test(final ConnectorObject obj, final Object[] slots) {
+            for (Node node : nodes) {
+                if (!node.test(obj, slots)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static final class OrNode extends Node {
+
+        private final Node[] nodes;
+
+        OrNode(final Node[] nodes) {
+            super(1 - product(nodes, false), sumCost(nodes));
+            this.nodes = nodes;
+        }
+
+        @Override
+        boolean mayFail() {
+            return anyMayFail(nodes);
+        }
+
+        @Override
+        boolean test(final ConnectorObject obj, final Object[] slots) {
+            for (Node node : nodes) {
+                if (node.test(obj, slots)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static double product(final Node[] nodes, final boolean matching) {
+        double rv = 1;
+        for (Node node : nodes) {
+            rv *= matching ? node.selectivity : 1 - node.selectivity;
+        }
+        return rv;
+    }
+
+    private static double sumCost(final Node[] nodes) {
+        double rv = 0;
+        for (Node node : nodes) {
+            rv += node.cost;
+        }
+        return rv;
+    }
+
+    private static final class NotNode extends Node {
+
+        private final Node node;
+
+        NotNode(final Node node) {
+            super(1 - node.selectivity, node.cost);
+            this.node = node;
+        }
+
+        @Override
+        boolean mayFail() {
+            return node.mayFail();
+        }
+
+        @Override
+        boolean test(final ConnectorObject obj, final Object[] slots) {
+            return !node.test(obj, slots);
+        }
+    }
+
+    /**
+     * Evaluates a filter the compiler doesn't know.
+     */
+    private static final class FilterNode extends Node {
+
+        private final Filter filter;
+
+        FilterNode(final Filter filter) {
+            super(DEFAULT_SELECTIVITY, 4);
+            this.filter = filter;
+        }
+
+        @Override
+        boolean test(final ConnectorObject obj, final Object[] slots) {
+            return filter.accept(obj);
+        }
+    }
+
+    /**
+     * Tests one attribute of the object.
+     */
+    private abstract static class AttributeNode extends Node {
+
+        final String name;
+
+        /**
+         * The shared slot of the attribute, -1 if no other node tests it.
+         */
+        int slot = -1;
+
+        AttributeNode(final AttributeFilter filter, final double selectivity, final double cost) {
+            super(selectivity, cost);
+            name = filter.getName();
+        }
+
+        @Override
+        final boolean test(final ConnectorObject obj, final Object[] slots) {
+            if (slot < 0) {
+                return test(obj.getAttributeByName(name));
+            }
+            Object attr = slots[slot];
+            if (attr == null) {
+                attr = obj.getAttributeByName(name);
+                slots[slot] = attr == null ? MISSING : attr;
+            }
+            return test(attr == MISSING ? null : (Attribute) attr);
+        }
+
+        /**
+         * @param attr
+         *            the attribute of the object, null if it has none.
+         */
+        abstract boolean test(Attribute attr);
+    }
+
+    private static final class EqualsNode extends AttributeNode {
+
+        private final Attribute attribute;
+
+        EqualsNode(final EqualsFilter filter) {
+            super(filter, filter.getAttribute().getValue() == null ? DEFAULT_SELECTIVITY : EQUALITY_SELECTIVITY, 1);
+            attribute = filter.getAttribute();
+        }
+
+        @Override
+        boolean mayFail() {
+            return false;
+        }
+
+        @Override
+        boolean test(final Attribute attr) {
+            if (attr != null) {
+                return attribute.attributeEquals(attr);
+            }
+            return attribute.getValue() == null;
+        }
+    }
+
+    private static final class ContainsAllValuesNode extends AttributeNode {
+
+        private final List<Object> values;
+
+        private final Set<Object> valueSet;
+
+        ContainsAllValuesNode(final ContainsAllValuesFilter filter) {
+            super(filter, EQUALITY_SELECTIVITY, 2);
+            values = filter.getAttribute().getValue();
+            valueSet = values == null ? null : new HashSet<>(values);
+        }
+
+        @Override
+        boolean test(final Attribute attr) {
+            if (attr == null) {
+                return false;
+            }
+            List<Object> value = attr.getValue();
+            if (value == null) {
+                throw new IllegalStateException("Null value found in attribute " + name);
+            }
+            if (valueSet == null || valueSet.size() <= 1 || value.size() <= 1) {
+                return value.containsAll(values);
+            }
+            // each value of the object is looked up in the hashed values of
+            // the filter, until all of them have been seen
+            Set<Object> seen = new HashSet<>();
+            for (Object v : value) {
+                if (valueSet.contains(v) && seen.add(v) && seen.size() == valueSet.size()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static final class StringNode extends AttributeNode {
+
+        private final StringFilter filter;
+
+        StringNode(final StringFilter filter, final double selectivity) {
+            super(filter, selectivity, 1);
+            this.filter = filter;
+        }
+
+        @Override
+        boolean test(final Attribute attr) {
+            if (attr != null && !CollectionUtil.isEmpty(attr.getValue())) {
+                Object value = attr.getValue().get(0);
+                if (!(value instanceof String)) {
+                    throw new IllegalArgumentException("Value must be a string!");
+                }
+                return filter.accept((String) value);
+            }
+            return false;
+        }
+    }
+
+    private static final class CompareNode extends AttributeNode {
+
+        private final Object value;
+
+        private final IntPredicate predicate;
+
+        CompareNode(final ComparableAttributeFilter filter, final IntPredicate predicate) {
+            super(filter, DEFAULT_SELECTIVITY, 1);
+            value = filter.getValue();
+            this.predicate = predicate;
+        }
+
+        @Override
+        boolean test(final Attribute attr) {
+            if (attr == null) {
+                return false;
+            }
+            int rv = -1;
+            if (attr.getValue().size() == 1) {
+                Object o = attr.getValue().get(0);
+                if (!(o instanceof Comparable)) {
+                    throw new IllegalArgumentException("Attribute value must be comparable!");
+                }
+                rv = CollectionUtil.forceCompare(o, value);
+            }
+            return predicate.test(rv);
+        }
+    }
+}
@@ -24,9 +24,9 @@
  */
 package org.identityconnectors.framework.impl.api.local.operations;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
-import java.util.Optional;
 import java.util.Set;
 import org.identityconnectors.common.Assertions;
 import org.identityconnectors.framework.common.objects.Attribute;
@@ -118,7 +118,28 @@ public final class ObjectNormalizerFacade {
      * @return The normalized object.
      */
     public ConnectorObject normalizeObject(ConnectorObject orig) {
-        return new ConnectorObject(orig.getObjectClass(), normalizeAttributes(orig.getAttributes()));
+        if (normalizer == null) {
+            return orig;
+        }
+        Set<Attribute> attributes = orig.getAttributes();
+        Attribute[] normalized = null;
+        int i = 0;
+        for (Attribute attribute : attributes) {
+            Attribute attr = normalizer.normalizeAttribute(objectClass, attribute);
+            if (attr != attribute && normalized == null) {
+                // iterates in the same order as this loop
+                normalized = attributes.toArray(new Attribute[attributes.size()]);
+            }
+            if (normalized != null) {
+                normalized[i] = attr;
+            }
+            i++;
+        }
+        // connectors mostly return normalized values, keep those objects as they are
+        if (normalized == null) {
+            return orig;
+        }
+        return new ConnectorObject(orig.getObjectClass(), new HashSet<>(Arrays.asList(normalized)));
     }
 
     /**
@@ -128,9 +149,12 @@ public final class ObjectNormalizerFacade {
      * @return The normalized delta.
      */
     public SyncDelta normalizeSyncDelta(SyncDelta delta) {
-        SyncDeltaBuilder builder = new SyncDeltaBuilder(delta);
-        Optional.ofNullable(delta.getObject()).ifPresent(o -> builder.setObject(normalizeObject(o)));
-        return builder.build();
+        ConnectorObject object = delta.getObject();
+        ConnectorObject normalized = object == null ? null : normalizeObject(object);
+        if (normalized == object) {
+            return delta;
+        }
+        return new SyncDeltaBuilder(delta).setObject(normalized).build();
     }
 
     /**
@@ -140,9 +164,12 @@ public final class ObjectNormalizerFacade {
      * @return The normalized delta.
      */
     public LiveSyncDelta normalizeLiveSyncDelta(LiveSyncDelta delta) {
-        LiveSyncDeltaBuilder builder = new LiveSyncDeltaBuilder(delta);
-        Optional.ofNullable(delta.getObject()).ifPresent(o -> builder.setObject(normalizeObject(o)));
-        return builder.build();
+        ConnectorObject object = delta.getObject();
+        ConnectorObject normalized = object == null ? null : normalizeObject(object);
+        if (normalized == object) {
+            return delta;
+        }
+        return new LiveSyncDeltaBuilder(delta).setObject(normalized).build();
     }
 
     /**
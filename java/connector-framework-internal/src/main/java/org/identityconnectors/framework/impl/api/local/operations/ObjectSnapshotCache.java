@@ -0,0 +1,204 @@
+/*
+ * ====================
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2026 ConnId. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of the Common Development
+ * and Distribution License("CDDL") (the "License").  You may not use this file
+ * except in compliance with the License.
+ *
+ * You can obtain a copy of the License at
+ * http://opensource.org/licenses/cddl1.php
+ * See the License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * When distributing the Covered Code, include this CDDL Header Notice in each file
+ * and include the License file at http://opensource.org/licenses/cddl1.php.
+ * If applicable, add the following below this CDDL Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyrighted [year] [name of copyright owner]"
+ * ====================
+ */
+package org.identityconnectors.framework.impl.api.local.operations;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.identityconnectors.common.CollectionUtil;
+import org.identityconnectors.framework.common.objects.Attribute;
+import org.identityconnectors.framework.common.objects.AttributeUtil;
+import org.identityconnectors.framework.common.objects.ObjectClass;
+import org.identityconnectors.framework.common.objects.Uid;
+
+/**
+ * Short-lived snapshots of the objects read by the simulated
+ * add/remove-value updates of a facade, shared by its operational contexts.
+ * <p>
+ * A connector without {@link org.identityconnectors.framework.spi.operations.UpdateAttributeValuesOp}
+ * or {@link org.identityconnectors.framework.spi.operations.UpdateDeltaOp}
+ * has to read the current values before every such update. The snapshot
+ * keeps the attributes which were read, updated with the values written, so
+ * a sequence of updates of the same object reads it only once. A snapshot is
+ * used only for the same revision of the UID and only until the time to live
+ * since the read has passed, any other write of the object through the facade
+ * drops it.
+ */
+public final class ObjectSnapshotCache {
+
+    /**
+     * The maximum number of objects kept, the least recently used one is
+     * dropped first.
+     */
+    static final int MAX_ENTRIES = 256;
+
+    private static final class Key {
+
+        private final ObjectClass objectClass;
+
+        private final String uid;
+
+        Key(final ObjectClass objectClass, final Uid uid) {
+            this.objectClass = objectClass;
+            this.uid = uid.getUidValue();
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return objectClass.equals(other.objectClass) && uid.equals(other.uid);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * objectClass.hashCode() + uid.hashCode();
+        }
+    }
+
+    private static final class Snapshot {
+
+        private final String revision;
+
+        private final Set<String> attributeNames;
+
+        private final Map<String, Attribute> attributes;
+
+        private final long expires;
+
+        Snapshot(final String revision, final Set<String> attributeNames,
+                final Map<String, Attribute> attributes, final long expires) {
+            this.revision = revision;
+            this.attributeNames = attributeNames;
+            this.attributes = attributes;
+            this.expires = expires;
+        }
+    }
+
+    private final long ttlNanos;
+
+    // guarded by itself
+    private final Map<Key, Snapshot> snapshots = new LinkedHashMap<Key, Snapshot>(16, 0.75f, true) {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<Key, Snapshot> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+
+    /**
+     * @param ttlMillis
+     *            how long a snapshot may be used after the object was read.
+     */
+    public ObjectSnapshotCache(final long ttlMillis) {
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+    }
+
+    /**
+     * Returns the attributes of the object by name, or null if there is no
+     * usable snapshot with all the given attributes. An attribute of the given
+     * names missing in the result has no values.
+     */
+    Map<String, Attribute> get(final ObjectClass objectClass, final Uid uid, final Set<String> attributeNames) {
+        Key key = new Key(objectClass, uid);
+        synchronized (snapshots) {
+            Snapshot snapshot = snapshots.get(key);
+            if (snapshot == null) {
+                return null;
+            }
+            if (System.nanoTime() - snapshot.expires >= 0) {
+                snapshots.remove(key);
+                return null;
+            }
+            if (!Objects.equals(snapshot.revision, uid.getRevision())
+                    || !snapshot.attributeNames.containsAll(attributeNames)) {
+                return null;
+            }
+            Map<String, Attribute> attributes = CollectionUtil.newCaseInsensitiveMap();
+            attributes.putAll(snapshot.attributes);
+            return attributes;
+        }
+    }
+
+    /**
+     * Keeps the attributes just read from the object.
+     */
+    void put(final ObjectClass objectClass, final Uid uid, final Set<String> attributeNames,
+            final Collection<Attribute> attributes) {
+        Set<String> names = CollectionUtil.newCaseInsensitiveSet();
+        names.addAll(attributeNames);
+        Snapshot snapshot = new Snapshot(uid.getRevision(), names,
+                AttributeUtil.toMap(attributes), System.nanoTime() + ttlNanos);
+        synchronized (snapshots) {
+            snapshots.put(new Key(objectClass, uid), snapshot);
+        }
+    }
+
+    /**
+     * Replaces the values of the written attributes in the snapshot of the
+     * object, which may have got a new UID. The snapshot keeps the expiry of
+     * the read.
+     */
+    void update(final ObjectClass objectClass, final Uid uid, final Uid newUid,
+            final Collection<Attribute> written) {
+        synchronized (snapshots) {
+            Snapshot snapshot = snapshots.remove(new Key(objectClass, uid));
+            if (snapshot == null || newUid == null) {
+                return;
+            }
+            Map<String, Attribute> attributes = CollectionUtil.newCaseInsensitiveMap();
+            attributes.putAll(snapshot.attributes);
+            Set<String> attributeNames = CollectionUtil.newCaseInsensitiveSet();
+            attributeNames.addAll(snapshot.attributeNames);
+            for (Attribute attribute : written) {
+                attributeNames.add(attribute.getName());
+                if (attribute.getValue() == null || attribute.getValue().isEmpty()) {
+                    attributes.remove(attribute.getName());
+                } else {
+                    attributes.put(attribute.getName(), attribute);
+                }
+            }
+            snapshots.put(new Key(objectClass, newUid),
+                    new Snapshot(newUid.getRevision(), attributeNames, attributes, snapshot.expires));
+        }
+    }
+
+    /**
+     * Drops the snapshot of the object.
+     */
+    void invalidate(final ObjectClass objectClass, final Uid uid) {
+        synchronized (snapshots) {
+            snapshots.remove(new Key(objectClass, uid));
+        }
+    }
+}
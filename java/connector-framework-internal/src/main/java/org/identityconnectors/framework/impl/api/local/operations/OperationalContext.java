@@ -23,9 +23,11 @@
  */
 package org.identityconnectors.framework.impl.api.local.operations;
 
+import java.util.concurrent.Executor;
 import org.identityconnectors.common.logging.Log;
 import org.identityconnectors.framework.api.ResultsHandlerConfiguration;
 import org.identityconnectors.framework.impl.api.APIConfigurationImpl;
+import org.identityconnectors.framework.impl.api.OperationExecutors;
 import org.identityconnectors.framework.impl.api.local.JavaClassProperties;
 import org.identityconnectors.framework.impl.api.local.LocalConnectorInfoImpl;
 import org.identityconnectors.framework.spi.Configuration;
@@ -94,6 +96,16 @@ public class OperationalContext {
         return new ResultsHandlerConfiguration(apiConfiguration.getResultsHandlerConfiguration());
     }
 
+    /**
+     * Returns the executor for work an operation does in other threads.
+     *
+     * @since 1.6.1.0
+     */
+    public Executor getOperationExecutor() {
+        Executor executor = apiConfiguration.getOperationExecutor();
+        return null == executor ? OperationExecutors.getDefault() : executor;
+    }
+
     public void dispose() {
         if (configuration instanceof StatefulConfiguration) {
             // dispose it not supposed to throw, but just in case,
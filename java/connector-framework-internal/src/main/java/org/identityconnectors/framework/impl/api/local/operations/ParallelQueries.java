@@ -0,0 +1,257 @@
+/*
+ * ====================
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2026 ConnId. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of the Common Development
+ * and Distribution License("CDDL") (the "License").  You may not use this file
+ * except in compliance with the License.
+ *
+ * You can obtain a copy of the License at
+ * http://opensource.org/licenses/cddl1.php
+ * See the License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * When distributing the Covered Code, include this CDDL Header Notice in each file
+ * and include the License file at http://opensource.org/licenses/cddl1.php.
+ * If applicable, add the following below this CDDL Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyrighted [year] [name of copyright owner]"
+ * ====================
+ */
+package org.identityconnectors.framework.impl.api.local.operations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.identityconnectors.common.l10n.CurrentLocale;
+import org.identityconnectors.common.logging.Log;
+import org.identityconnectors.framework.common.exceptions.ConnectorException;
+import org.identityconnectors.framework.common.objects.ConnectorObject;
+import org.identityconnectors.framework.common.objects.ObjectClass;
+import org.identityconnectors.framework.common.objects.OperationOptions;
+import org.identityconnectors.framework.common.objects.SearchResult;
+import org.identityconnectors.framework.impl.api.local.ConnectorLifecycleUtil;
+import org.identityconnectors.framework.impl.api.local.ObjectPool;
+import org.identityconnectors.framework.impl.api.local.ObjectPoolEntry;
+import org.identityconnectors.framework.impl.api.local.ThreadClassLoaderManager;
+import org.identityconnectors.framework.spi.Connector;
+import org.identityconnectors.framework.spi.PoolableConnector;
+import org.identityconnectors.framework.spi.SearchResultsHandler;
+import org.identityconnectors.framework.spi.operations.SearchOp;
+
+/**
+ * Runs the queries a filter has been translated into concurrently.
+ * <p>
+ * The calling thread runs queries on the connector of the operation, the
+ * other workers on connectors borrowed from the connector pool, or on new
+ * instances if the connector isn't pooled. A worker never waits for the pool:
+ * if no connector is idle and no new one may be created, it leaves the
+ * queries to the others. All workers take the next query
+ * from a shared queue, and all results go through one handler, one at a
+ * time. Once the handler stops or a query fails, the running queries are
+ * stopped through their handlers and no other query is started.
+ * <p>
+ * The calling thread only waits for the workers the executor has started:
+ * once it has run out of queries, it drops the workers still waiting for a
+ * thread, e.g. in the queue of a saturated executor.
+ */
+final class ParallelQueries implements SearchResultsHandler {
+
+    private static final Log LOG = Log.getLog(ParallelQueries.class);
+
+    private final SearchOp<?> search;
+
+    private final ObjectClass objectClass;
+
+    private final List<?> queries;
+
+    private final SearchResultsHandler handler;
+
+    private final OperationOptions options;
+
+    private final ConnectorOperationalContext operationalContext;
+
+    private final AtomicInteger nextQuery = new AtomicInteger();
+
+    private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+    private volatile boolean stopped = false;
+
+    /**
+     * @param handler
+     *            the handler the results of all queries are merged into; it
+     *            is only called by one thread at a time.
+     */
+    ParallelQueries(final SearchOp<?> search, final ObjectClass objectClass, final List<?> queries,
+            final SearchResultsHandler handler, final OperationOptions options,
+            final ConnectorOperationalContext operationalContext) {
+        this.search = search;
+        this.objectClass = objectClass;
+        this.queries = queries;
+        this.handler = handler;
+        this.options = options;
+        this.operationalContext = operationalContext;
+    }
+
+    /**
+     * Runs all queries with at most the given number of workers, and returns
+     * when all of them are done.
+     */
+    void run(final int parallelism) {
+        final ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        final Locale locale = CurrentLocale.get();
+        List<WorkerTask> workers = new ArrayList<>(parallelism - 1);
+        for (int i = 1; i < parallelism; i++) {
+            WorkerTask worker = new WorkerTask(() -> runWorker(loader, locale));
+            try {
+                operationalContext.getOperationExecutor().execute(worker);
+            } catch (RejectedExecutionException e) {
+                LOG.warn(e, "Failed to start a query worker, continuing with {0}", workers.size() + 1);
+                break;
+            }
+            workers.add(worker);
+        }
+        runQueries(search);
+        boolean interrupted = false;
+        for (WorkerTask worker : workers) {
+            if (worker.drop()) {
+                // never started, there's no query left for it anyway
+                continue;
+            }
+            while (true) {
+                try {
+                    worker.get();
+                    break;
+                } catch (InterruptedException e) {
+                    // the workers are stopped through the handler, so just wait for them
+                    interrupted = true;
+                    stop(new ConnectorException("Search has been interrupted", e));
+                } catch (ExecutionException e) {
+                    stop(ConnectorException.wrap(e.getCause()));
+                    break;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        RuntimeException e = failure.get();
+        if (e != null) {
+            throw e;
+        }
+    }
+
+    private void runWorker(final ClassLoader loader, final Locale locale) {
+        if (stopped || nextQuery.get() >= queries.size()) {
+            return;
+        }
+        // pooled threads don't inherit the context of the operation
+        CurrentLocale.set(locale);
+        ThreadClassLoaderManager.getInstance().pushClassLoader(loader);
+        try {
+            ObjectPool<PoolableConnector> pool = operationalContext.getPool();
+            if (pool != null) {
+                ObjectPoolEntry<PoolableConnector> entry;
+                try {
+                    // the caller holds a connector of the pool itself, so
+                    // waiting could stall the search for the whole maxWait
+                    entry = pool.tryBorrowObject();
+                } catch (RuntimeException e) {
+                    LOG.ok(e, "Failed to borrow a connector for a query worker");
+                    return;
+                }
+                if (entry == null) {
+                    // an exhausted pool, the other workers take over the queries
+                    LOG.ok("No connector available for a query worker");
+                    return;
+                }
+                try {
+                    runQueries((SearchOp<?>) entry.getPooledObject());
+                } finally {
+                    try {
+                        entry.close();
+                    } catch (Exception e) {
+                        LOG.error(e, null);
+                    }
+                }
+            } else {
+                Connector connector;
+                try {
+                    connector = operationalContext.getConnectorClass().getDeclaredConstructor().newInstance();
+                    connector.init(operationalContext.getConfiguration());
+                    ConnectorLifecycleUtil.setConnectorInstanceName(connector, operationalContext.getInstanceName());
+                } catch (ReflectiveOperationException | RuntimeException e) {
+                    LOG.ok(e, "Failed to create a connector for a query worker");
+                    return;
+                }
+                try {
+                    runQueries((SearchOp<?>) connector);
+                } finally {
+                    try {
+                        connector.dispose();
+                    } catch (Exception e) {
+                        LOG.error(e, null);
+                    }
+                }
+            }
+        } finally {
+            ThreadClassLoaderManager.getInstance().popClassLoader();
+            CurrentLocale.clear();
+        }
+    }
+
+    private void runQueries(final SearchOp<?> connector) {
+        @SuppressWarnings("unchecked")
+        SearchOp<Object> hack = (SearchOp<Object>) connector;
+        int index;
+        while (!stopped && (index = nextQuery.getAndIncrement()) < queries.size()) {
+            Object query = queries.get(index);
+            SearchImpl.logOpEntry(operationalContext, objectClass, query, handler);
+            try {
+                hack.executeQuery(objectClass, query, this, options);
+                SearchImpl.logOpExit(operationalContext);
+            } catch (RuntimeException e) {
+                SpiOperationLoggingUtil.logOpException(
+                        SearchImpl.OP_LOG, operationalContext, SearchOp.class, "executeQuery", e);
+                stop(e);
+            }
+        }
+    }
+
+    private void stop(final RuntimeException e) {
+        failure.compareAndSet(null, e);
+        stopped = true;
+    }
+
+    @Override
+    public boolean handle(final ConnectorObject object) {
+        if (stopped) {
+            return false;
+        }
+        synchronized (this) {
+            if (stopped) {
+                return false;
+            }
+            try {
+                if (!handler.handle(object)) {
+                    stopped = true;
+                }
+            } catch (RuntimeException e) {
+                stop(e);
+                throw e;
+            }
+            return !stopped;
+        }
+    }
+
+    @Override
+    public synchronized void handleResult(final SearchResult result) {
+        handler.handleResult(result);
+    }
+}
@@ -0,0 +1,308 @@
+/*
+ * ====================
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2026 ConnId. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of the Common Development
+ * and Distribution License("CDDL") (the "License").  You may not use this file
+ * except in compliance with the License.
+ *
+ * You can obtain a copy of the License at
+ * http://opensource.org/licenses/cddl1.php
+ * See the License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * When distributing the Covered Code, include this CDDL Header Notice in each file
+ * and include the License file at http://opensource.org/licenses/cddl1.php.
+ * If applicable, add the following below this CDDL Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyrighted [year] [name of copyright owner]"
+ * ====================
+ */
+package org.identityconnectors.framework.impl.api.local.operations;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.identityconnectors.common.l10n.CurrentLocale;
+import org.identityconnectors.common.logging.Log;
+import org.identityconnectors.framework.common.exceptions.ConnectorException;
+import org.identityconnectors.framework.common.objects.SyncDelta;
+import org.identityconnectors.framework.common.objects.SyncResultsHandler;
+import org.identityconnectors.framework.common.objects.SyncToken;
+import org.identityconnectors.framework.impl.api.local.ThreadClassLoaderManager;
+
+/**
+ * Hands the deltas of a sync over to workers which run the handler
+ * concurrently.
+ * <p>
+ * The deltas are partitioned by UID and each partition is handled by one
+ * worker in the order the connector delivered the deltas, so the deltas of an
+ * object never overtake each other. The connector waits while the queue of a
+ * partition is full. The handled deltas are tracked by their position in the
+ * sync: the watermark is the token of the last delta which has been handled
+ * together with all the deltas before it. Once the handler stops or fails, the
+ * remaining deltas are skipped and the watermark stays where it is.
+ * <p>
+ * Only the workers which the executor starts in time get a partition, the
+ * others are dropped, so no partition waits for a worker queued in a saturated
+ * executor. If no worker starts, the deltas are handled in the thread of the
+ * connector.
+ */
+final class ParallelSyncHandler implements SyncResultsHandler {
+
+    private static final Log LOG = Log.getLog(ParallelSyncHandler.class);
+
+    /**
+     * The number of deltas waiting for a worker, per partition.
+     */
+    static final int QUEUE_SIZE = 256;
+
+    /**
+     * How long the sync waits for the workers to start.
+     */
+    static final long START_TIMEOUT_MILLIS = 1000;
+
+    private static final Object END = new Object();
+
+    private final SyncResultsHandler handler;
+
+    private final List<BlockingQueue<Object>> partitions = new ArrayList<>();
+
+    private final List<WorkerTask> workers = new ArrayList<>();
+
+    private final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+
+    private volatile boolean stopped = false;
+
+    /**
+     * Position of the next delta, used by the thread of the connector only.
+     */
+    private long nextSequence = 0;
+
+    // guarded by this
+    private long watermark = -1;
+
+    private SyncToken watermarkToken;
+
+    private final Map<Long, SyncToken> handledAhead = new HashMap<>();
+
+    private static final class Item {
+
+        private final long sequence;
+
+        private final SyncDelta delta;
+
+        Item(final long sequence, final SyncDelta delta) {
+            this.sequence = sequence;
+            this.delta = delta;
+        }
+    }
+
+    /**
+     * @param handler
+     *            the handler of the deltas, called by several threads at once.
+     */
+    ParallelSyncHandler(final SyncResultsHandler handler) {
+        this.handler = handler;
+    }
+
+    /**
+     * Starts the workers, each with its own partition, and waits up to
+     * {@link #START_TIMEOUT_MILLIS} for them to run.
+     */
+    void start(final Executor executor, final int parallelism) {
+        final ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        final Locale locale = CurrentLocale.get();
+        final Semaphore started = new Semaphore(0);
+        List<BlockingQueue<Object>> submittedPartitions = new ArrayList<>(parallelism);
+        List<WorkerTask> submitted = new ArrayList<>(parallelism);
+        for (int i = 0; i < parallelism; i++) {
+            BlockingQueue<Object> partition = new ArrayBlockingQueue<>(QUEUE_SIZE);
+            WorkerTask worker = new WorkerTask(() -> {
+                started.release();
+                runWorker(partition, loader, locale);
+            });
+            try {
+                executor.execute(worker);
+            } catch (RejectedExecutionException e) {
+                LOG.warn(e, "Failed to start a sync worker, continuing with {0}", submitted.size());
+                break;
+            }
+            submittedPartitions.add(partition);
+            submitted.add(worker);
+        }
+        boolean interrupted = false;
+        try {
+            started.tryAcquire(submitted.size(), START_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            interrupted = true;
+        }
+        for (int i = 0; i < submitted.size(); i++) {
+            WorkerTask worker = submitted.get(i);
+            if (!worker.drop()) {
+                partitions.add(submittedPartitions.get(i));
+                workers.add(worker);
+            }
+        }
+        if (workers.size() < submitted.size()) {
+            LOG.warn("Only {0} of {1} sync workers started, continuing with them",
+                    workers.size(), submitted.size());
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean handle(final SyncDelta delta) {
+        if (stopped) {
+            return false;
+        }
+        Item item = new Item(nextSequence++, delta);
+        if (partitions.isEmpty()) {
+            // no worker has started
+            handle(item);
+            return !stopped;
+        }
+        // the hash of an attribute covers only its name
+        int partition = (delta.getUid().getUidValue().hashCode() & Integer.MAX_VALUE) % partitions.size();
+        try {
+            partitions.get(partition).put(item);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stop(new ConnectorException("Sync has been interrupted", e));
+            return false;
+        }
+        return !stopped;
+    }
+
+    /**
+     * Waits until the workers have handled the queued deltas.
+     *
+     * @return the watermark, null if no delta has been handled
+     * @throws RuntimeException the failure of the handler
+     */
+    SyncToken finish() {
+        boolean interrupted = false;
+        for (BlockingQueue<Object> partition : partitions) {
+            while (true) {
+                try {
+                    partition.put(END);
+                    break;
+                } catch (InterruptedException e) {
+                    // the workers are still draining, just stop handling
+                    interrupted = true;
+                    stop(new ConnectorException("Sync has been interrupted", e));
+                }
+            }
+        }
+        for (WorkerTask worker : workers) {
+            while (true) {
+                try {
+                    worker.get();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                    stop(new ConnectorException("Sync has been interrupted", e));
+                } catch (ExecutionException e) {
+                    stop(ConnectorException.wrap(e.getCause()));
+                    break;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        RuntimeException e = failure.get();
+        if (e != null) {
+            throw e;
+        }
+        return getWatermark();
+    }
+
+    /**
+     * Returns true if the handler has stopped the sync or failed.
+     */
+    boolean isStopped() {
+        return stopped;
+    }
+
+    synchronized SyncToken getWatermark() {
+        return watermarkToken;
+    }
+
+    private void runWorker(final BlockingQueue<Object> partition, final ClassLoader loader, final Locale locale) {
+        // pooled threads don't inherit the context of the operation
+        CurrentLocale.set(locale);
+        ThreadClassLoaderManager.getInstance().pushClassLoader(loader);
+        boolean interrupted = false;
+        try {
+            while (true) {
+                Object next;
+                try {
+                    next = partition.take();
+                } catch (InterruptedException e) {
+                    // keep draining, the connector may be waiting for space
+                    interrupted = true;
+                    stop(new ConnectorException("Sync has been interrupted", e));
+                    continue;
+                }
+                if (next == END) {
+                    break;
+                }
+                if (stopped) {
+                    continue;
+                }
+                handle((Item) next);
+            }
+        } finally {
+            ThreadClassLoaderManager.getInstance().popClassLoader();
+            CurrentLocale.clear();
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void handle(final Item item) {
+        try {
+            boolean keepGoing = handler.handle(item.delta);
+            handled(item);
+            if (!keepGoing) {
+                stopped = true;
+            }
+        } catch (RuntimeException e) {
+            stop(e);
+        }
+    }
+
+    private synchronized void handled(final Item item) {
+        if (item.sequence != watermark + 1) {
+            handledAhead.put(item.sequence, item.delta.getToken());
+            return;
+        }
+        watermark = item.sequence;
+        watermarkToken = item.delta.getToken();
+        while (handledAhead.containsKey(watermark + 1)) {
+            watermark++;
+            watermarkToken = handledAhead.remove(watermark);
+        }
+    }
+
+    private void stop(final RuntimeException e) {
+        failure.compareAndSet(null, e);
+        stopped = true;
+    }
+}
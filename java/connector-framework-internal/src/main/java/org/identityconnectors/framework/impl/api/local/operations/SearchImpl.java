@@ -50,7 +50,7 @@ public class SearchImpl extends ConnectorAPIOperationRunner implements SearchApi
     /**
      * Special logger with SPI operation log name. Used for logging operation entry/exit
      */
-    private static final Log OP_LOG = Log.getLog(SearchOp.class);
+    static final Log OP_LOG = Log.getLog(SearchOp.class);
 
     /**
      * Initializes the operation works.
@@ -182,13 +182,23 @@ public class SearchImpl extends ConnectorAPIOperationRunner implements SearchApi
             // eliminate dups if more than one
             boolean eliminateDups = queries.size() > 1;
             if (eliminateDups) {
-                handler = new DuplicateFilteringResultsHandler(handler);
+                handler = new DuplicateFilteringResultsHandler(handler, null != operationalContext
+                        && operationalContext.getResultsHandlerConfiguration().isEnableCompactDuplicateFiltering());
                 if (options.getPageSize() != null && options.getPageSize() > 0) {
                     throw new IllegalArgumentException(
                             "Paged search is requested, but the filter was translated into more than one query."
                             + "This is not supported. Queries = " + queries);
                 }
             }
+            int parallelism = null == operationalContext
+                    ? 1
+                    : Math.min(queries.size(), operationalContext.getResultsHandlerConfiguration()
+                            .getMaxParallelQueries());
+            if (parallelism > 1) {
+                new ParallelQueries(search, objectClass, queries, handler, options, operationalContext)
+                        .run(parallelism);
+                return;
+            }
             for (Object query : queries) {
                 @SuppressWarnings("unchecked")
                 SearchOp<Object> hack = (SearchOp<Object>) search;
@@ -216,7 +226,7 @@ public class SearchImpl extends ConnectorAPIOperationRunner implements SearchApi
         return OP_LOG.isLoggable(SpiOperationLoggingUtil.LOG_LEVEL);
     }
 
-    private static void logOpEntry(
+    static void logOpEntry(
             ConnectorOperationalContext operationalContext,
             ObjectClass objectClass,
             Object object,
@@ -230,7 +240,7 @@ public class SearchImpl extends ConnectorAPIOperationRunner implements SearchApi
                 OP_LOG, operationalContext, SearchOp.class, "executeQuery", objectClass, object, origHandler);
     }
 
-    private static void logOpExit(ConnectorOperationalContext operationalContext) {
+    static void logOpExit(ConnectorOperationalContext operationalContext) {
         SpiOperationLoggingUtil.logOpExit(OP_LOG, operationalContext, SearchOp.class, "executeQuery");
     }
 
@@ -82,6 +82,13 @@ public class SyncImpl extends ConnectorAPIOperationRunner implements SyncApiOp {
             handler = new NormalizingSyncResultsHandler(handler, getNormalizer(objectClass));
         }
 
+        // hand the deltas over to workers
+        ParallelSyncHandler parallelHandler = null;
+        if (hdlCfg.getMaxParallelSyncHandlers() > 1 && null != getOperationalContext()) {
+            parallelHandler = new ParallelSyncHandler(handler);
+            handler = parallelHandler;
+        }
+
         final SyncResultsHandler handlerChain = handler;
         final AtomicReference<SyncToken> result = new AtomicReference<>(null);
 
@@ -131,15 +138,34 @@ public class SyncImpl extends ConnectorAPIOperationRunner implements SyncApiOp {
         SpiOperationLoggingUtil.logOpEntry(OP_LOG, getOperationalContext(), SyncOp.class, "sync",
                 objectClass, token, syncHandler, options);
 
+        if (parallelHandler != null) {
+            parallelHandler.start(getOperationalContext().getOperationExecutor(),
+                    hdlCfg.getMaxParallelSyncHandlers());
+        }
         try {
             ((SyncOp) getConnector()).sync(objectClass, token, syncHandler, options);
         } catch (RuntimeException e) {
             SpiOperationLoggingUtil.logOpException(OP_LOG, getOperationalContext(), SyncOp.class, "sync", e);
+            if (parallelHandler != null) {
+                try {
+                    parallelHandler.finish();
+                } catch (RuntimeException e2) {
+                    // don't mask the failure of the connector
+                    HANDLER_LOG.error(e2, null);
+                }
+            }
             throw e;
         }
 
         SpiOperationLoggingUtil.logOpExit(OP_LOG, getOperationalContext(), SyncOp.class, "sync");
 
+        if (parallelHandler != null) {
+            SyncToken watermark = parallelHandler.finish();
+            // the final token of the connector only once all the deltas are handled
+            if (parallelHandler.isStopped() || result.get() == null) {
+                return watermark;
+            }
+        }
         return result.get();
     }
 
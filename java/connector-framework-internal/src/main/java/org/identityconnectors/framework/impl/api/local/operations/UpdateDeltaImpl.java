@@ -34,16 +34,12 @@ import java.util.stream.Collectors;
 import org.identityconnectors.common.Assertions;
 import org.identityconnectors.common.CollectionUtil;
 import org.identityconnectors.common.logging.Log;
-import org.identityconnectors.framework.api.operations.GetApiOp;
 import org.identityconnectors.framework.api.operations.UpdateDeltaApiOp;
 import org.identityconnectors.framework.common.exceptions.InvalidAttributeValueException;
-import org.identityconnectors.framework.common.exceptions.UnknownUidException;
 import org.identityconnectors.framework.common.objects.Attribute;
 import org.identityconnectors.framework.common.objects.AttributeBuilder;
 import org.identityconnectors.framework.common.objects.AttributeDelta;
 import org.identityconnectors.framework.common.objects.AttributeDeltaBuilder;
-import org.identityconnectors.framework.common.objects.AttributeUtil;
-import org.identityconnectors.framework.common.objects.ConnectorObject;
 import org.identityconnectors.framework.common.objects.Name;
 import org.identityconnectors.framework.common.objects.ObjectClass;
 import org.identityconnectors.framework.common.objects.OperationOptions;
@@ -148,6 +144,7 @@ public class UpdateDeltaImpl extends ConnectorAPIOperationRunner implements Upda
 
             logOpEntry("updateDelta", objclass, uid, modifications, options);
 
+            invalidateSnapshot(objclass, uid);
             Set<AttributeDelta> attrsDelta;
             try {
                 attrsDelta = deltaOp.updateDelta(objclass, uid, modifications, options);
@@ -182,6 +179,7 @@ public class UpdateDeltaImpl extends ConnectorAPIOperationRunner implements Upda
                 }
             }
 
+            invalidateSnapshot(objclass, uid);
             Uid newUid = uid;
             if (!valuesToReplace.isEmpty()) {
                 try {
@@ -234,27 +232,15 @@ public class UpdateDeltaImpl extends ConnectorAPIOperationRunner implements Upda
                 throw new UnsupportedOperationException("Connector must support: " + SearchOp.class);
             }
 
-            // add attrs to get to operation options, so that the object we fetch has exactly the set of attributes we
-            // require (there may be ones that are not in the default set)
-            OperationOptionsBuilder builder = new OperationOptionsBuilder(options);
             Set<String> attrNames = new HashSet<>();
             for (AttributeDelta attributeDelta : modifications) {
                 attrNames.add(attributeDelta.getName());
             }
-            builder.setAttributesToGet(attrNames);
-            options = builder.build();
 
-            // get the connector object from the resource...
-            ConnectorObject o = getConnectorObject(objclass, uid, options);
-            if (o == null) {
-                throw new UnknownUidException(uid, objclass);
-            }
-            // get actual attributes
-            Set<Attribute> attrsFromSearch = o.getAttributes();
+            // get the actual attributes from the resource...
+            Map<String, Attribute> attrsFromSearchMap = readForUpdate(objclass, uid, attrNames, options);
             // create set attributes for update operation
             Set<Attribute> attributesForUpdate = new HashSet<>();
-            // create map that can be modified to get the subset of changes
-            Map<String, Attribute> attrsFromSearchMap = AttributeUtil.toMap(attrsFromSearch);
             // run through attributesDelta of the current object..
             for (final AttributeDelta attrFromModification : modifications) {
                 // get the name of the update attributes
@@ -281,9 +267,7 @@ public class UpdateDeltaImpl extends ConnectorAPIOperationRunner implements Upda
                         }
                         if (attrFromModification.getValuesToRemove() != null) {
                             //remove values if exist on target
-                            attrFromModification.getValuesToRemove().forEach((val) -> {
-                                values.remove(val);
-                            });
+                            values = UpdateImpl.removeValues(values, attrFromModification.getValuesToRemove());
                         }
 
                         // create attribute with edit values
@@ -301,11 +285,13 @@ public class UpdateDeltaImpl extends ConnectorAPIOperationRunner implements Upda
                 //execute update for valuesToReplace
                 ret = op.update(objclass, uid, attributesForUpdate, options);
             } catch (RuntimeException e) {
+                invalidateSnapshot(objclass, uid);
                 logOpException("update", e);
                 throw e;
             }
 
             logOpExit("update", ret);
+            snapshotWritten(objclass, uid, (Uid) normalizer.normalizeAttribute(ret), attributesForUpdate);
             if (ret == null) {
                 return null;
             }
@@ -381,15 +367,6 @@ public class UpdateDeltaImpl extends ConnectorAPIOperationRunner implements Upda
                 collect(Collectors.toList());
     }
 
-    /**
-     * Get the {@link ConnectorObject} to modify.
-     */
-    private ConnectorObject getConnectorObject(ObjectClass oclass, Uid uid, OperationOptions options) {
-        // attempt to get the connector object..
-        GetApiOp get = new GetImpl(new SearchImpl(getOperationalContext(), getConnector()));
-        return get.getObject(oclass, uid, options);
-    }
-
     private void logOpEntry(String opName, Object... params) {
         SpiOperationLoggingUtil.logOpEntry(OP_LOG, getOperationalContext(), UpdateDeltaOp.class, opName, params);
     }
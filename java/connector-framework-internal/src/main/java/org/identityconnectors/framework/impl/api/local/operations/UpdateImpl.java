@@ -25,6 +25,8 @@
  */
 package org.identityconnectors.framework.impl.api.local.operations;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -32,14 +34,11 @@ import java.util.Set;
 import org.identityconnectors.common.Assertions;
 import org.identityconnectors.common.CollectionUtil;
 import org.identityconnectors.common.logging.Log;
-import org.identityconnectors.framework.api.operations.GetApiOp;
 import org.identityconnectors.framework.api.operations.UpdateApiOp;
 import org.identityconnectors.framework.common.exceptions.InvalidAttributeValueException;
-import org.identityconnectors.framework.common.exceptions.UnknownUidException;
 import org.identityconnectors.framework.common.objects.Attribute;
 import org.identityconnectors.framework.common.objects.AttributeBuilder;
 import org.identityconnectors.framework.common.objects.AttributeUtil;
-import org.identityconnectors.framework.common.objects.ConnectorObject;
 import org.identityconnectors.framework.common.objects.Name;
 import org.identityconnectors.framework.common.objects.ObjectClass;
 import org.identityconnectors.framework.common.objects.OperationOptions;
@@ -101,13 +100,16 @@ public class UpdateImpl extends ConnectorAPIOperationRunner implements UpdateApi
         try {
             ret = op.update(objectClass, uid, replaceAttributes, options);
         } catch (RuntimeException e) {
+            invalidateSnapshot(objectClass, uid);
             SpiOperationLoggingUtil.logOpException(OP_LOG, getOperationalContext(), UpdateOp.class, "update", e);
             throw e;
         }
 
         logOpExit("update", ret);
 
-        return (Uid) normalizer.normalizeAttribute(ret);
+        ret = (Uid) normalizer.normalizeAttribute(ret);
+        snapshotWritten(objectClass, uid, ret, replaceAttributes);
+        return ret;
     }
 
     @Override
@@ -127,6 +129,7 @@ public class UpdateImpl extends ConnectorAPIOperationRunner implements UpdateApi
         if (op instanceof UpdateAttributeValuesOp) {
             UpdateAttributeValuesOp valueOp = (UpdateAttributeValuesOp) op;
             logOpEntry("addAttributeValues", objclass, uid, valuesToAdd, options);
+            invalidateSnapshot(objclass, uid);
             try {
                 ret = valueOp.addAttributeValues(objclass, uid, valuesToAdd, options);
             } catch (RuntimeException e) {
@@ -140,10 +143,12 @@ public class UpdateImpl extends ConnectorAPIOperationRunner implements UpdateApi
             try {
                 ret = op.update(objclass, uid, replaceAttributes, options);
             } catch (RuntimeException e) {
+                invalidateSnapshot(objclass, uid);
                 logOpException("update", e);
                 throw e;
             }
             logOpExit("update", ret);
+            snapshotWritten(objclass, uid, (Uid) normalizer.normalizeAttribute(ret), replaceAttributes);
         }
         return (Uid) normalizer.normalizeAttribute(ret);
     }
@@ -167,6 +172,7 @@ public class UpdateImpl extends ConnectorAPIOperationRunner implements UpdateApi
         if (op instanceof UpdateAttributeValuesOp) {
             UpdateAttributeValuesOp valueOp = (UpdateAttributeValuesOp) op;
             logOpEntry("removeAttributeValues", objclass, uid, valuesToRemove, options);
+            invalidateSnapshot(objclass, uid);
             try {
                 ret = valueOp.removeAttributeValues(objclass, uid, valuesToRemove, options);
             } catch (RuntimeException e) {
@@ -180,10 +186,12 @@ public class UpdateImpl extends ConnectorAPIOperationRunner implements UpdateApi
             try {
                 ret = op.update(objclass, uid, replaceAttributes, options);
             } catch (RuntimeException e) {
+                invalidateSnapshot(objclass, uid);
                 logOpException("update", e);
                 throw e;
             }
             logOpExit("update", ret);
+            snapshotWritten(objclass, uid, (Uid) normalizer.normalizeAttribute(ret), replaceAttributes);
         }
         return (Uid) normalizer.normalizeAttribute(ret);
     }
@@ -196,24 +204,15 @@ public class UpdateImpl extends ConnectorAPIOperationRunner implements UpdateApi
             throw new UnsupportedOperationException("Connector must support: " + SearchOp.class);
         }
 
-        // add attrs to get to operation options, so that the
-        // object we fetch has exactly the set of attributes we require
-        // (there may be ones that are not in the default set)
-        OperationOptionsBuilder builder = new OperationOptionsBuilder(options);
         Set<String> attrNames = new HashSet<>();
         valuesToChange.forEach((attribute) -> {
             attrNames.add(attribute.getName());
         });
-        builder.setAttributesToGet(attrNames);
-        options = builder.build();
 
-        // get the connector object from the resource...
-        ConnectorObject o = getConnectorObject(objclass, uid, options);
-        if (o == null) {
-            throw new UnknownUidException(uid, objclass);
-        }
+        // get the current values from the resource...
+        Map<String, Attribute> baseAttrMap = readForUpdate(objclass, uid, attrNames, options);
         // merge the update data..
-        Set<Attribute> mergeAttrs = merge(valuesToChange, o.getAttributes(), add);
+        Set<Attribute> mergeAttrs = merge(valuesToChange, baseAttrMap, add);
         return mergeAttrs;
     }
 
@@ -221,10 +220,12 @@ public class UpdateImpl extends ConnectorAPIOperationRunner implements UpdateApi
      * Merges two connector objects into a single updated object.
      */
     public Set<Attribute> merge(Set<Attribute> updateAttrs, Set<Attribute> baseAttrs, boolean add) {
+        return merge(updateAttrs, AttributeUtil.toMap(baseAttrs), add);
+    }
+
+    private Set<Attribute> merge(Set<Attribute> updateAttrs, Map<String, Attribute> baseAttrMap, boolean add) {
         // return the merged attributes
         Set<Attribute> ret = new HashSet<>();
-        // create map that can be modified to get the subset of changes
-        Map<String, Attribute> baseAttrMap = AttributeUtil.toMap(baseAttrs);
         // run through attributes of the current object..
         for (final Attribute updateAttr : updateAttrs) {
             // get the name of the update attributes
@@ -248,10 +249,7 @@ public class UpdateImpl extends ConnectorAPIOperationRunner implements UpdateApi
                     continue;
                 } else {
                     // create a list with the base attribute to remove from..
-                    values = CollectionUtil.newList(baseAttr.getValue());
-                    updateAttr.getValue().forEach((val) -> {
-                        values.remove(val);
-                    });
+                    values = removeValues(baseAttr.getValue(), updateAttr.getValue());
                     // if the values are empty send a null to the connector..
                     if (values.isEmpty()) {
                         modifiedAttr = AttributeBuilder.build(name);
@@ -266,12 +264,33 @@ public class UpdateImpl extends ConnectorAPIOperationRunner implements UpdateApi
     }
 
     /**
-     * Get the {@link ConnectorObject} to modify.
+     * Removes one occurrence of each value to remove, like
+     * {@link List#remove(Object)} for each of them but in linear time.
+     *
+     * @return a new list with the remaining values in their order
      */
-    private ConnectorObject getConnectorObject(ObjectClass oclass, Uid uid, OperationOptions options) {
-        // attempt to get the connector object..
-        GetApiOp get = new GetImpl(new SearchImpl(getOperationalContext(), getConnector()));
-        return get.getObject(oclass, uid, options);
+    static List<Object> removeValues(List<Object> values, List<Object> valuesToRemove) {
+        List<Object> ret = new ArrayList<>(values.size());
+        if (valuesToRemove == null || valuesToRemove.isEmpty()) {
+            ret.addAll(values);
+            return ret;
+        }
+        // number of occurrences still to remove per value
+        Map<Object, Integer> pending = new HashMap<>();
+        for (Object val : valuesToRemove) {
+            pending.merge(val, 1, Integer::sum);
+        }
+        for (Object val : values) {
+            Integer count = pending.get(val);
+            if (count == null) {
+                ret.add(val);
+            } else if (count == 1) {
+                pending.remove(val);
+            } else {
+                pending.put(val, count - 1);
+            }
+        }
+        return ret;
     }
 
     /**
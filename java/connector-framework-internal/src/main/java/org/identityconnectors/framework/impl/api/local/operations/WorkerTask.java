@@ -0,0 +1,61 @@
+/*
+ * ====================
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2026 ConnId. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of the Common Development
+ * and Distribution License("CDDL") (the "License").  You may not use this file
+ * except in compliance with the License.
+ *
+ * You can obtain a copy of the License at
+ * http://opensource.org/licenses/cddl1.php
+ * See the License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * When distributing the Covered Code, include this CDDL Header Notice in each file
+ * and include the License file at http://opensource.org/licenses/cddl1.php.
+ * If applicable, add the following below this CDDL Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyrighted [year] [name of copyright owner]"
+ * ====================
+ */
+package org.identityconnectors.framework.impl.api.local.operations;
+
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Task of a worker helping an operation, which is either started by the
+ * executor or dropped by the operation. An operation drops the workers the
+ * executor hasn't started yet instead of waiting for them, e.g. when they are
+ * queued in a saturated executor.
+ */
+final class WorkerTask extends FutureTask<Void> {
+
+    private final AtomicBoolean claimed = new AtomicBoolean();
+
+    WorkerTask(final Runnable runnable) {
+        super(runnable, null);
+    }
+
+    @Override
+    public void run() {
+        if (claimed.compareAndSet(false, true)) {
+            super.run();
+        }
+    }
+
+    /**
+     * Drops the worker unless it has been started already.
+     *
+     * @return true if the worker won't run
+     */
+    boolean drop() {
+        if (claimed.compareAndSet(false, true)) {
+            cancel(false);
+            return true;
+        }
+        return false;
+    }
+}
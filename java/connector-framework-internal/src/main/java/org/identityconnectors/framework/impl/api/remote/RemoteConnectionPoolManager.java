@@ -0,0 +1,156 @@
+/*
+ * ====================
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2026 ConnId. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of the Common Development
+ * and Distribution License("CDDL") (the "License").  You may not use this file
+ * except in compliance with the License.
+ *
+ * You can obtain a copy of the License at
+ * http://opensource.org/licenses/cddl1.php
+ * See the License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * When distributing the Covered Code, include this CDDL Header Notice in each file
+ * and include the License file at http://opensource.org/licenses/cddl1.php.
+ * If applicable, add the following below this CDDL Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyrighted [year] [name of copyright owner]"
+ * ====================
+ */
+package org.identityconnectors.framework.impl.api.remote;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.identityconnectors.common.logging.Log;
+import org.identityconnectors.common.pooling.ObjectPoolConfiguration;
+import org.identityconnectors.common.pooling.ObjectPoolMetricsFactory;
+import org.identityconnectors.framework.api.RemoteFrameworkConnectionInfo;
+import org.identityconnectors.framework.common.serializer.SerializerUtil;
+import org.identityconnectors.framework.impl.api.local.ObjectPool;
+import org.identityconnectors.framework.impl.api.local.ObjectPoolHandler;
+
+/**
+ * Keeps the pools of open {@link RemoteFrameworkConnection}s, one pool for each
+ * {@link RemoteFrameworkConnectionInfo} with connection pooling enabled.
+ * <p/>
+ * The connector server processes any number of requests sent over the same
+ * connection, so the TCP connect, the SSL handshake and the stream setup are
+ * paid only when a new connection is added to the pool.
+ */
+public class RemoteConnectionPoolManager {
+
+    private static final Log LOG = Log.getLog(RemoteConnectionPoolManager.class);
+
+    private static class RemoteConnectionPoolHandler implements ObjectPoolHandler<RemoteFrameworkConnection> {
+
+        private final RemoteFrameworkConnectionInfo connectionInfo;
+
+        public RemoteConnectionPoolHandler(final RemoteFrameworkConnectionInfo connectionInfo) {
+            this.connectionInfo = connectionInfo;
+        }
+
+        @Override
+        public ObjectPoolConfiguration validate(final ObjectPoolConfiguration original) {
+            ObjectPoolConfiguration configuration =
+                    (ObjectPoolConfiguration) SerializerUtil.cloneObject(original);
+            configuration.validate();
+            return configuration;
+        }
+
+        @Override
+        public RemoteFrameworkConnection makeObject() {
+            return new RemoteFrameworkConnection(connectionInfo);
+        }
+
+        @Override
+        public void testObject(final RemoteFrameworkConnection object) {
+            object.checkAlive();
+        }
+
+        @Override
+        public void disposeObject(final RemoteFrameworkConnection object) {
+            try {
+                object.close();
+            } catch (Exception e) {
+                LOG.ok(e, "Failed to close pooled connection to {0}", connectionInfo);
+            }
+        }
+
+        @Override
+        public void shutdown() {
+            // nothing to release
+        }
+    }
+
+    /**
+     * Cache of the various POOLS..
+     */
+    private static final ConcurrentMap<RemoteFrameworkConnectionInfo, ObjectPool<RemoteFrameworkConnection>> POOLS =
+            new ConcurrentHashMap<>();
+
+    /**
+     * Get the pool of connections to the remote framework if connection pooling is enabled.
+     *
+     * @param connectionInfo The remote framework connection info
+     * @return the pool or null if the connections should not be pooled
+     */
+    public static ObjectPool<RemoteFrameworkConnection> getPool(final RemoteFrameworkConnectionInfo connectionInfo) {
+        if (!connectionInfo.isConnectionPoolingEnabled()) {
+            return null;
+        }
+        ObjectPool<RemoteFrameworkConnection> pool = POOLS.get(connectionInfo);
+        if (pool == null) {
+            LOG.info("Creating new remote connection pool: {0}", connectionInfo);
+            String poolName = connectionInfo.toString();
+            pool = new ObjectPool<>(
+                    new RemoteConnectionPoolHandler(connectionInfo), connectionInfo.getConnectionPoolConfiguration(),
+                    ObjectPoolMetricsFactory.getInstance().newMetrics(poolName));
+            pool.setPoolName(poolName);
+
+            ObjectPool<RemoteFrameworkConnection> previousPool = POOLS.putIfAbsent(connectionInfo, pool);
+            // Use the pool made by other thread
+            if (previousPool != null) {
+                // the unused pool is still empty, but it may have scheduled its maintenance
+                pool.shutdown();
+                pool = previousPool;
+            }
+        }
+        return pool;
+    }
+
+    /**
+     * Closes all the idle connections to the given remote framework.
+     */
+    public static void dispose(final RemoteFrameworkConnectionInfo connectionInfo) {
+        synchronized (POOLS) {
+            ObjectPool<RemoteFrameworkConnection> pool = POOLS.remove(connectionInfo);
+            if (null != pool) {
+                try {
+                    pool.shutdown();
+                } catch (Exception e) {
+                    LOG.warn(e, "Failed to shutdown pool {0}: {1}", pool.getPoolName(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Shuts down all the remote connection pools.
+     */
+    public static void shutdown() {
+        LOG.info("Shutting down all remote connection pools");
+        synchronized (POOLS) {
+            POOLS.values().forEach(pool -> {
+                try {
+                    pool.shutdown();
+                } catch (Exception e) {
+                    LOG.warn(e, "Failed to shutdown pool {0}: {1}", pool.getPoolName(), e.getMessage());
+                }
+            });
+            POOLS.clear();
+        }
+    }
+}
@@ -42,6 +42,8 @@ public class RemoteConnectorFacadeImpl extends AbstractConnectorFacade {
         APIConfigurationImpl copy = new APIConfigurationImpl(configuration);
         copy.setProducerBufferSize(0);
         copy.setTimeoutMap(new HashMap<>());
+        // The results are written to a single connection on the server side
+        copy.getResultsHandlerConfiguration().setMaxParallelSyncHandlers(1);
         return SerializerUtil.serializeBase64Object(copy);
     }
 
@@ -55,6 +57,7 @@ public class RemoteConnectorFacadeImpl extends AbstractConnectorFacade {
         // Restore the original configuration settings
         getAPIConfiguration().setProducerBufferSize(configuration.getProducerBufferSize());
         getAPIConfiguration().setTimeoutMap(configuration.getTimeoutMap());
+        getAPIConfiguration().setOperationExecutor(configuration.getOperationExecutor());
         remoteConnectorFacadeKey = getConnectorFacadeKey();
     }
 
@@ -83,6 +86,7 @@ public class RemoteConnectorFacadeImpl extends AbstractConnectorFacade {
 
     @Override
     public void dispose() {
-        // Nothing to do here. No connection pools are maintained for remote connectors.
+        // Nothing to do here. Remote connection pools are shared by connection info and are shut down
+        // together with the ConnectorFacadeFactory.
     }
 }
@@ -22,17 +22,27 @@
  */
 package org.identityconnectors.framework.impl.api.remote;
 
+import java.io.BufferedInputStream;
 import java.io.Closeable;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.net.SocketException;
+import java.net.SocketTimeoutException;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
 import javax.net.ssl.SSLContext;
 import javax.net.ssl.SSLSocket;
 import javax.net.ssl.SSLSocketFactory;
 import javax.net.ssl.TrustManager;
+import org.identityconnectors.common.l10n.CurrentLocale;
 import org.identityconnectors.common.logging.Log;
 import org.identityconnectors.framework.api.RemoteFrameworkConnectionInfo;
 import org.identityconnectors.framework.common.exceptions.ConnectorException;
@@ -40,13 +50,77 @@ import org.identityconnectors.framework.common.exceptions.ConnectorIOException;
 import org.identityconnectors.framework.common.serializer.BinaryObjectDeserializer;
 import org.identityconnectors.framework.common.serializer.BinaryObjectSerializer;
 import org.identityconnectors.framework.common.serializer.ObjectSerializerFactory;
+import org.identityconnectors.framework.impl.api.remote.messages.ErrorResponse;
+import org.identityconnectors.framework.impl.api.remote.messages.HelloRequest;
+import org.identityconnectors.framework.impl.api.remote.messages.HelloResponse;
+import org.identityconnectors.framework.impl.serializer.binary.BinaryObjectDecoder;
+import org.identityconnectors.framework.impl.serializer.binary.BinaryObjectEncoder;
 
 public class RemoteFrameworkConnection implements Closeable {
 
     private static final Log LOG = Log.getLog(RemoteFrameworkConnection.class);
+
+    /**
+     * Connections idle for a shorter time are considered alive without probing the socket.
+     */
+    private static final long ALIVE_CHECK_IDLE_MILLIS = 1000;
+
+    /**
+     * System property which makes new connections to a connector server ask
+     * for the {@link BinaryObjectEncoder#COMPACT_ENCODING_VERSION compact encoding}.
+     * Servers which don't support it keep using the default encoding.
+     *
+     * @since 1.6.1.0
+     */
+    public static final String COMPACT_ENCODING_PROP = "org.identityconnectors.framework.remote.compactEncoding";
+
+    /**
+     * Size of the buffers of the compressed streams.
+     */
+    private static final int COMPRESSION_BUFFER_SIZE = 8192;
+
+    /**
+     * What each connector server accepted, by its address and the requested
+     * encoding and compression. Later connections to a server which accepted
+     * something don't wait for the answer to their {@link HelloRequest}, and
+     * those to a server which accepted nothing don't send one.
+     */
+    private static final ConcurrentMap<String, Negotiation> NEGOTIATIONS = new ConcurrentHashMap<>();
+
+    private static final class Negotiation {
+
+        private final int encodingVersion;
+
+        private final boolean compression;
+
+        Negotiation(int encodingVersion, boolean compression) {
+            this.encodingVersion = encodingVersion;
+            this.compression = compression;
+        }
+
+        boolean isSwitching() {
+            return encodingVersion != BinaryObjectEncoder.ENCODING_VERSION || compression;
+        }
+    }
+
     private Socket socket;
+    /**
+     * The buffered input of the socket, shared by the decoders before and
+     * after the streams are restarted.
+     */
+    private BufferedInputStream socketInput;
+    private InputStream input;
+    private Deflater deflater;
+    private Inflater inflater;
     private BinaryObjectSerializer encoder;
     private BinaryObjectDeserializer decoder;
+    private volatile long lastUsedTimestamp;
+    /**
+     * The expected answer to a {@link HelloRequest} which has been sent but
+     * not read yet.
+     */
+    private Negotiation pendingNegotiation;
+    private String negotiationKey;
 
     public RemoteFrameworkConnection(RemoteFrameworkConnectionInfo info) {
         try {
@@ -58,6 +132,19 @@ public class RemoteFrameworkConnection implements Closeable {
             throw new ConnectorException("Failed to init remote connection to "
                     + (null != info ? info.toString() : "null"), e);
         }
+        boolean compact = Boolean.getBoolean(COMPACT_ENCODING_PROP);
+        if (compact || info.getCompressionLevel() > 0) {
+            try {
+                negotiateEncoding(info, compact);
+            } catch (RuntimeException e) {
+                try {
+                    closeSocket();
+                } catch (RuntimeException e2) {
+                    LOG.ok(e2, "Failed to close remote connection");
+                }
+                throw e;
+            }
+        }
     }
 
     public RemoteFrameworkConnection(Socket socket) {
@@ -116,29 +203,248 @@ public class RemoteFrameworkConnection implements Closeable {
 
     private void init(Socket socket) throws Exception {
         this.socket = socket;
-        InputStream inputStream = this.socket.getInputStream();
+        socketInput = new BufferedInputStream(this.socket.getInputStream(), COMPRESSION_BUFFER_SIZE);
+        input = socketInput;
         OutputStream outputStream = this.socket.getOutputStream();
         ObjectSerializerFactory factory = ObjectSerializerFactory.getInstance();
         encoder = factory.newBinarySerializer(outputStream);
-        decoder = factory.newBinaryDeserializer(inputStream);
+        decoder = factory.newBinaryDeserializer(input);
+        lastUsedTimestamp = System.currentTimeMillis();
+    }
+
+    /**
+     * Asks the connector server to switch this connection to the compact
+     * encoding and/or to compress it, with a {@link HelloRequest} which
+     * requests no information.
+     * <p/>
+     * Only the first connection to a server waits for the answer. Later ones
+     * switch their output right after the request and read the answer before
+     * the response to the first operation, so the negotiation costs no round
+     * trip of its own.
+     */
+    private void negotiateEncoding(RemoteFrameworkConnectionInfo info, boolean compact) {
+        String key = info.getHost() + ':' + info.getPort() + ':' + info.getUseSSL()
+                + ':' + compact + ':' + info.getCompressionLevel();
+        Negotiation known = NEGOTIATIONS.get(key);
+        if (known != null && !known.isSwitching()) {
+            return;
+        }
+        writeObject(CurrentLocale.get());
+        writeObject(info.getKey());
+        writeObject(new HelloRequest(0, compact ? BinaryObjectEncoder.COMPACT_ENCODING_VERSION : 0,
+                info.getCompressionLevel() > 0));
+        if (known != null) {
+            restartOutput(known.encodingVersion, known.compression ? info.getCompressionLevel() : 0);
+            pendingNegotiation = known;
+            negotiationKey = key;
+            return;
+        }
+        Negotiation negotiation = readNegotiation();
+        if (compact && negotiation.encodingVersion != BinaryObjectEncoder.COMPACT_ENCODING_VERSION) {
+            LOG.ok("Remote framework {0} doesn't support the compact encoding", info);
+        }
+        if (info.getCompressionLevel() > 0 && !negotiation.compression) {
+            LOG.ok("Remote framework {0} doesn't accept compression", info);
+        }
+        NEGOTIATIONS.put(key, negotiation);
+        if (negotiation.isSwitching()) {
+            restartStreams(negotiation.encodingVersion,
+                    negotiation.compression ? info.getCompressionLevel() : 0);
+        }
+    }
+
+    private Negotiation readNegotiation() {
+        Object response = readObject();
+        if (response instanceof HelloResponse) {
+            HelloResponse hello = (HelloResponse) response;
+            if (hello.getException() != null) {
+                throw ConnectorException.wrap(hello.getException());
+            }
+            Object version = hello.getServerInfo().get(HelloResponse.ENCODING_VERSION);
+            return new Negotiation(version instanceof Integer
+                    ? (Integer) version
+                    : BinaryObjectEncoder.ENCODING_VERSION,
+                    Boolean.TRUE.equals(hello.getServerInfo().get(HelloResponse.COMPRESSION)));
+        } else if (response instanceof ErrorResponse
+                && ((ErrorResponse) response).getException() != null) {
+            throw ConnectorException.wrap(((ErrorResponse) response).getException());
+        } else {
+            throw new ConnectorException("Received unknown response object type: " + response);
+        }
+    }
+
+    /**
+     * Reads the answer to the {@link HelloRequest} sent without waiting, and
+     * switches the input like the server switched its output.
+     */
+    private void completeNegotiation() {
+        Negotiation expected = pendingNegotiation;
+        pendingNegotiation = null;
+        Negotiation negotiation = readNegotiation();
+        if (negotiation.encodingVersion != expected.encodingVersion
+                || negotiation.compression != expected.compression) {
+            // the server changed, the next connection asks again
+            NEGOTIATIONS.remove(negotiationKey);
+            throw new ConnectorIOException("Remote framework no longer accepts the negotiated encoding: "
+                    + socket);
+        }
+        restartInput(expected.compression);
+    }
+
+    /**
+     * Continues the conversation with new streams of the given binary encoding
+     * version, starting with empty constant pools. Both sides switch their
+     * output right after the {@link HelloResponse} which announced the
+     * version has been written, and their input right after it has been read.
+     * The input stays buffered underneath the decoders, so whatever the peer
+     * sent after the switch is read by the new streams.
+     * <p/>
+     * With a positive compression level everything written from then on is
+     * deflated, and flushing the encoder performs a sync flush so that each
+     * message can be inflated as soon as it arrives. The input is inflated in
+     * the same case; the level of the peer doesn't matter for that.
+     *
+     * @param encodingVersion
+     *            the binary encoding version of the new streams.
+     * @param compressionLevel
+     *            the {@link Deflater} level, 0 for no compression.
+     * @since 1.6.1.0
+     */
+    public void restartStreams(int encodingVersion, int compressionLevel) {
+        restartOutput(encodingVersion, compressionLevel);
+        restartInput(compressionLevel > 0);
+    }
+
+    private void restartOutput(int encodingVersion, int compressionLevel) {
+        flush();
+        try {
+            OutputStream output = socket.getOutputStream();
+            if (compressionLevel > 0) {
+                deflater = new Deflater(compressionLevel);
+                output = new CompressedOutputStream(output, deflater);
+            }
+            encoder = new BinaryObjectEncoder(output, encodingVersion);
+        } catch (IOException e) {
+            throw new ConnectorIOException("Failed to restart the streams of " + socket, e);
+        }
+    }
+
+    private void restartInput(boolean compressed) {
+        input = socketInput;
+        if (compressed) {
+            inflater = new Inflater();
+            input = new InflaterInputStream(socketInput, inflater, COMPRESSION_BUFFER_SIZE);
+        }
+        decoder = new BinaryObjectDecoder(input);
+    }
+
+    /**
+     * Deflates with a sync flush whenever there is new data to flush. Flushing
+     * without new data doesn't write anything, so that a connection with
+     * nothing to send stays silent.
+     */
+    private static final class CompressedOutputStream extends DeflaterOutputStream {
+
+        private boolean written;
+
+        CompressedOutputStream(OutputStream out, Deflater deflater) {
+            super(out, deflater, COMPRESSION_BUFFER_SIZE, true);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            super.write(b, off, len);
+            written |= len > 0;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (written) {
+                written = false;
+                super.flush();
+            } else {
+                out.flush();
+            }
+        }
+    }
+
+    /**
+     * Checks whether this connection can be used for another request.
+     * <p/>
+     * Connections which were idle for a while are probed with a short read: a
+     * remote framework never sends anything between two requests, so either
+     * the read times out (the connection is alive) or the peer has closed it.
+     *
+     * @throws ConnectorIOException if the connection is broken.
+     */
+    public void checkAlive() {
+        if (socket.isClosed() || !socket.isConnected() || socket.isInputShutdown() || socket.isOutputShutdown()) {
+            throw new ConnectorIOException("Remote framework connection is closed: " + socket);
+        }
+        if (pendingNegotiation != null
+                || System.currentTimeMillis() - lastUsedTimestamp < ALIVE_CHECK_IDLE_MILLIS) {
+            // a pending answer to the HelloRequest is not to be probed away
+            return;
+        }
+        int timeout = 0;
+        try {
+            timeout = socket.getSoTimeout();
+            socket.setSoTimeout(1);
+            // read through the inflater, if any, which may still have to
+            // consume the empty block ending the last sync flush of the peer
+            int read = input.read();
+            throw new ConnectorIOException(read < 0
+                    ? "Remote framework connection has been closed by peer: " + socket
+                    : "Unexpected data on idle remote framework connection: " + socket);
+        } catch (SocketTimeoutException e) {
+            // nothing to read, the connection is alive
+            lastUsedTimestamp = System.currentTimeMillis();
+        } catch (IOException e) {
+            throw new ConnectorIOException("Remote framework connection is broken: " + socket, e);
+        } finally {
+            try {
+                if (!socket.isClosed()) {
+                    socket.setSoTimeout(timeout);
+                }
+            } catch (SocketException e) {
+                LOG.ok(e, "Failed to restore socket timeout");
+            }
+        }
     }
 
     @Override
     public void close() {
-        flush();
+        try {
+            flush();
+        } finally {
+            closeSocket();
+        }
+    }
+
+    private void closeSocket() {
         try {
             if (socket instanceof SSLSocket) {
                 // SSLSocket doesn't like shutdownOutput/shutdownInput
                 socket.close();
             } else {
-                socket.shutdownOutput();
-                socket.shutdownInput();
-                socket.close();
+                try {
+                    socket.shutdownOutput();
+                    socket.shutdownInput();
+                } finally {
+                    socket.close();
+                }
                 LOG.info("Remote framework connection has been closed");
             }
         } catch (Exception e) {
             LOG.info(e, "Failed to close connection.");
             throw ConnectorException.wrap(e);
+        } finally {
+            if (deflater != null) {
+                deflater.end();
+            }
+            if (inflater != null) {
+                inflater.end();
+            }
         }
     }
 
@@ -148,12 +454,18 @@ public class RemoteFrameworkConnection implements Closeable {
 
     public void writeObject(Object object) {
         encoder.writeObject(object);
+        lastUsedTimestamp = System.currentTimeMillis();
     }
 
     public Object readObject() {
         // flush first in case there is any data in the
         // output buffer
         flush();
-        return decoder.readObject();
+        if (pendingNegotiation != null) {
+            completeNegotiation();
+        }
+        Object object = decoder.readObject();
+        lastUsedTimestamp = System.currentTimeMillis();
+        return object;
     }
 }
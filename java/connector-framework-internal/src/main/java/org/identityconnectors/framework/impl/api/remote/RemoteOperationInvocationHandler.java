@@ -30,15 +30,20 @@ import java.util.ArrayList;
 import java.util.List;
 import org.identityconnectors.common.CollectionUtil;
 import org.identityconnectors.common.l10n.CurrentLocale;
+import org.identityconnectors.common.logging.Log;
 import org.identityconnectors.framework.api.RemoteFrameworkConnectionInfo;
 import org.identityconnectors.framework.api.operations.APIOperation;
 import org.identityconnectors.framework.common.exceptions.ConnectorException;
 import org.identityconnectors.framework.impl.api.ObjectStreamHandler;
 import org.identityconnectors.framework.impl.api.StreamHandlerUtil;
+import org.identityconnectors.framework.impl.api.local.ObjectPool;
+import org.identityconnectors.framework.impl.api.local.ObjectPoolEntry;
 import org.identityconnectors.framework.impl.api.remote.messages.ErrorResponse;
 import org.identityconnectors.framework.impl.api.remote.messages.OperationRequest;
+import org.identityconnectors.framework.impl.api.remote.messages.OperationRequestCredit;
 import org.identityconnectors.framework.impl.api.remote.messages.OperationRequestMoreData;
 import org.identityconnectors.framework.impl.api.remote.messages.OperationRequestStopData;
+import org.identityconnectors.framework.impl.api.remote.messages.OperationResponseBatch;
 import org.identityconnectors.framework.impl.api.remote.messages.OperationResponseEnd;
 import org.identityconnectors.framework.impl.api.remote.messages.OperationResponsePart;
 import org.identityconnectors.framework.impl.api.remote.messages.OperationResponsePause;
@@ -48,6 +53,28 @@ import org.identityconnectors.framework.impl.api.remote.messages.OperationRespon
  */
 public class RemoteOperationInvocationHandler implements InvocationHandler {
 
+    private static final Log LOG = Log.getLog(RemoteOperationInvocationHandler.class);
+
+    /**
+     * System property with the maximum number of stream results the server
+     * may pack into one frame. {@code 0} turns batching off.
+     *
+     * @since 1.6.1.0
+     */
+    public static final String BATCH_SIZE_PROP = "org.identityconnectors.framework.remote.batchSize";
+
+    /**
+     * System property with the number of stream results the server may send
+     * ahead of the client.
+     *
+     * @since 1.6.1.0
+     */
+    public static final String WINDOW_PROP = "org.identityconnectors.framework.remote.window";
+
+    private static final int BATCH_SIZE = Integer.getInteger(BATCH_SIZE_PROP, 100);
+
+    private static final int WINDOW = Integer.getInteger(WINDOW_PROP, 1000);
+
     private final RemoteConnectorInfoImpl connectorInfo;
 
     private final String connectorFacadeKey;
@@ -75,14 +102,26 @@ public class RemoteOperationInvocationHandler implements InvocationHandler {
 
         // build the request object
         RemoteFrameworkConnectionInfo connectionInfo = connectorInfo.getRemoteConnectionInfo();
-        OperationRequest request = new OperationRequest(
-                connectorInfo.getConnectorKey(), connectorFacadeKey, operation, method.getName(), simpleMarshallArgs);
+        OperationRequest request = streamHandlerArg == null
+                ? new OperationRequest(connectorInfo.getConnectorKey(), connectorFacadeKey, operation,
+                        method.getName(), simpleMarshallArgs)
+                : new OperationRequest(connectorInfo.getConnectorKey(), connectorFacadeKey, operation,
+                        method.getName(), simpleMarshallArgs, BATCH_SIZE, WINDOW);
 
-        // create the connection
+        // borrow a pooled connection or create a new one
+        ObjectPool<RemoteFrameworkConnection> pool = RemoteConnectionPoolManager.getPool(connectionInfo);
+        ObjectPoolEntry<RemoteFrameworkConnection> poolEntry = null;
         RemoteFrameworkConnection connection = null;
+        // true once the whole response has been read and the connection can serve another request
+        boolean completed = false;
 
         try {
-            connection = new RemoteFrameworkConnection(connectionInfo);
+            if (pool != null) {
+                poolEntry = pool.borrowObject();
+                connection = poolEntry.getPooledObject();
+            } else {
+                connection = new RemoteFrameworkConnection(connectionInfo);
+            }
             connection.writeObject(CurrentLocale.get());
             connection.writeObject(connectionInfo.getKey());
             // send the request
@@ -90,7 +129,7 @@ public class RemoteOperationInvocationHandler implements InvocationHandler {
 
             // now process the response stream (if any)
             if (streamHandlerArg != null) {
-                handleStreamResponse(connection, streamHandlerArg);
+                handleStreamResponse(connection, streamHandlerArg, request);
             }
 
             // finally return the actual return value
@@ -98,6 +137,7 @@ public class RemoteOperationInvocationHandler implements InvocationHandler {
             Object response = connection.readObject();
 
             if (response instanceof OperationResponsePart) {
+                completed = true;
 
                 OperationResponsePart part = (OperationResponsePart) response;
 
@@ -121,19 +161,56 @@ public class RemoteOperationInvocationHandler implements InvocationHandler {
 
         } finally {
             if (null != connection) {
-                connection.close();
+                if (poolEntry == null) {
+                    connection.close();
+                } else {
+                    releaseConnection(poolEntry, completed);
+                }
             }
         }
 
     }
 
+    /**
+     * Returns the connection to the pool. A connection left in the middle of a
+     * request is closed first, so that the pool disposes of it instead of
+     * handing it out again.
+     */
+    private static void releaseConnection(
+            final ObjectPoolEntry<RemoteFrameworkConnection> poolEntry, final boolean completed) {
+
+        if (!completed) {
+            try {
+                poolEntry.getPooledObject().close();
+            } catch (Exception e) {
+                LOG.ok(e, "Failed to close broken remote connection");
+            }
+        }
+        try {
+            poolEntry.close();
+        } catch (Exception e) {
+            // don't let pool exceptions propagate or mask other exceptions. do log it though.
+            LOG.error(e, null);
+        }
+    }
+
     /**
      * Handles a stream response until the end of the stream.
+     * <p/>
+     * Servers which accepted the batch size of the request answer with
+     * {@link OperationResponseBatch}'s. For those, one message is sent back
+     * every {@link OperationRequest#getCreditInterval()} results: a credit
+     * grant while the handler accepts more results, or a stop request after
+     * which nothing else is sent.
      */
     private static void handleStreamResponse(final RemoteFrameworkConnection connection,
-            final ObjectStreamHandler streamHandler) throws ConnectorException {
+            final ObjectStreamHandler streamHandler, final OperationRequest request)
+            throws ConnectorException {
 
+        final int creditInterval = request.getCreditInterval();
+        long batchedCount = 0;
         boolean handleMore = true;
+        boolean stopSent = false;
         while (true) {
             Object response = connection.readObject();
             if (response instanceof OperationResponsePart) {
@@ -145,6 +222,21 @@ public class RemoteOperationInvocationHandler implements InvocationHandler {
                 if (handleMore) {
                     handleMore = streamHandler.handle(object);
                 }
+            } else if (response instanceof OperationResponseBatch) {
+                for (Object object : ((OperationResponseBatch) response).getResults()) {
+                    if (handleMore) {
+                        handleMore = streamHandler.handle(object);
+                    }
+                    if (++batchedCount % creditInterval == 0 && !stopSent) {
+                        if (handleMore) {
+                            connection.writeObject(new OperationRequestCredit(creditInterval));
+                        } else {
+                            connection.writeObject(new OperationRequestStopData());
+                            stopSent = true;
+                        }
+                        connection.flush();
+                    }
+                }
             } else if (response instanceof OperationResponsePause) {
                 if (handleMore) {
                     connection.writeObject(new OperationRequestMoreData());
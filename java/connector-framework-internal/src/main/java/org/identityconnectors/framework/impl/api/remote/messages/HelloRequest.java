@@ -37,14 +37,56 @@ public class HelloRequest implements Message {
 
     private final int level;
 
+    /**
+     * The binary encoding version the client would like to switch the
+     * connection to, zero to keep the current one.
+     */
+    private final int encodingVersion;
+
+    /**
+     * Whether the client would like the rest of the conversation to be
+     * deflate compressed.
+     */
+    private final boolean compression;
+
     public HelloRequest(int infoLevel) {
+        this(infoLevel, 0);
+    }
+
+    /**
+     * @since 1.6.1.0
+     */
+    public HelloRequest(int infoLevel, int encodingVersion) {
+        this(infoLevel, encodingVersion, false);
+    }
+
+    /**
+     * @since 1.6.1.0
+     */
+    public HelloRequest(int infoLevel, int encodingVersion, boolean compression) {
         level = infoLevel;
+        this.encodingVersion = encodingVersion;
+        this.compression = compression;
     }
 
     public int getInfoLevel() {
         return level;
     }
 
+    /**
+     * @since 1.6.1.0
+     */
+    public int getEncodingVersion() {
+        return encodingVersion;
+    }
+
+    /**
+     * @since 1.6.1.0
+     */
+    public boolean isCompression() {
+        return compression;
+    }
+
     private boolean checkInfoLevel(int info) {
         return ((level & info) == info);
     }
@@ -36,6 +36,23 @@ import org.identityconnectors.framework.impl.api.remote.RemoteConnectorInfoImpl;
 public class HelloResponse implements Message {
 
     public static final String SERVER_START_TIME = "SERVER_START_TIME";
+
+    /**
+     * The binary encoding version both sides switch the connection to right
+     * after this response. Missing if the server keeps the current encoding.
+     *
+     * @since 1.6.1.0
+     */
+    public static final String ENCODING_VERSION = "ENCODING_VERSION";
+
+    /**
+     * Set to {@link Boolean#TRUE} if both sides deflate the rest of the
+     * conversation, starting right after this response.
+     *
+     * @since 1.6.1.0
+     */
+    public static final String COMPRESSION = "COMPRESSION";
+
     /**
      * The exception
      */
@@ -31,6 +31,11 @@ import org.identityconnectors.framework.api.operations.APIOperation;
 /**
  * Sent to request an operation. Response will consist of one-or-more
  * {@link OperationResponsePart}'s followed by an {@link OperationResponseEnd}.
+ * <p/>
+ * A request with a positive {@link #getBatchSize() batch size} asks for the
+ * results of a stream to be sent in {@link OperationResponseBatch}'s with
+ * credit based flow control instead of pausing every few results. Servers
+ * which don't know about batching ignore it and answer with individual parts.
  */
 public class OperationRequest implements Message {
 
@@ -62,14 +67,37 @@ public class OperationRequest implements Message {
      */
     private final List<Object> arguments;
 
+    /**
+     * The maximum number of stream results per batch, zero if the client
+     * doesn't accept batches.
+     */
+    private final int batchSize;
+
+    /**
+     * The number of stream results the server may send before it has to wait
+     * for an {@link OperationRequestCredit}.
+     */
+    private final int window;
+
     public OperationRequest(ConnectorKey key, String connectorFacadeKey,
             Class<? extends APIOperation> operation, String operationMethodName,
             List<Object> arguments) {
+        this(key, connectorFacadeKey, operation, operationMethodName, arguments, 0, 0);
+    }
+
+    /**
+     * @since 1.6.1.0
+     */
+    public OperationRequest(ConnectorKey key, String connectorFacadeKey,
+            Class<? extends APIOperation> operation, String operationMethodName,
+            List<Object> arguments, int batchSize, int window) {
         connectorKey = key;
         configuration = connectorFacadeKey;
         this.operation = operation;
         this.operationMethodName = operationMethodName;
         this.arguments = CollectionUtil.newReadOnlyList(arguments);
+        this.batchSize = Math.max(0, batchSize);
+        this.window = Math.max(this.batchSize, window);
     }
 
     public ConnectorKey getConnectorKey() {
@@ -91,4 +119,29 @@ public class OperationRequest implements Message {
     public List<Object> getArguments() {
         return arguments;
     }
+
+    /**
+     * @since 1.6.1.0
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * @since 1.6.1.0
+     */
+    public int getWindow() {
+        return window;
+    }
+
+    /**
+     * Returns the credit the client grants each time it has received that
+     * many batched results. Both sides derive it from the window so the server
+     * knows how many grants are still in flight when the stream ends.
+     *
+     * @since 1.6.1.0
+     */
+    public int getCreditInterval() {
+        return Math.max(1, window / 2);
+    }
 }
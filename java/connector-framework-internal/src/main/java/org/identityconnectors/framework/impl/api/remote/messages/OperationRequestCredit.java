@@ -0,0 +1,46 @@
+/*
+ * ====================
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2026 ConnId. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of the Common Development
+ * and Distribution License("CDDL") (the "License").  You may not use this file
+ * except in compliance with the License.
+ *
+ * You can obtain a copy of the License at
+ * http://opensource.org/licenses/cddl1.php
+ * See the License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * When distributing the Covered Code, include this CDDL Header Notice in each file
+ * and include the License file at http://opensource.org/licenses/cddl1.php.
+ * If applicable, add the following below this CDDL Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyrighted [year] [name of copyright owner]"
+ * ====================
+ */
+package org.identityconnectors.framework.impl.api.remote.messages;
+
+/**
+ * Sent by the client during a batched stream response to allow the server to
+ * send more results. The client grants credit as it consumes results, so the
+ * server does not need to stop and wait for it as long as the client keeps up.
+ *
+ * @since 1.6.1.0
+ */
+public class OperationRequestCredit implements Message {
+
+    private final int credit;
+
+    public OperationRequestCredit(int credit) {
+        this.credit = credit;
+    }
+
+    /**
+     * Returns the number of additional results the server may send.
+     */
+    public int getCredit() {
+        return credit;
+    }
+}
@@ -61,6 +61,8 @@ class APIConfigurationHandlers {
                 rv.setMinIdle(decoder.readIntField("minIdle", rv.getMinIdle()));
                 rv.setMaxIdleTimeMillis(decoder.readLongField(
                         "maxIdleTimeMillis", rv.getMaxIdleTimeMillis()));
+                rv.setEvictionIntervalMillis(decoder.readLongField(
+                        "evictionIntervalMillis", rv.getEvictionIntervalMillis()));
                 return rv;
             }
 
@@ -73,6 +75,7 @@ class APIConfigurationHandlers {
                 encoder.writeLongField("minEvictableIdleTimeMillis", val.getMinEvictableIdleTimeMillis());
                 encoder.writeIntField("minIdle", val.getMinIdle());
                 encoder.writeLongField("maxIdleTimeMillis", val.getMaxIdleTimeMillis());
+                encoder.writeLongField("evictionIntervalMillis", val.getEvictionIntervalMillis());
             }
 
         });
@@ -94,6 +97,11 @@ class APIConfigurationHandlers {
                 rv.setEnableAttributesToGetSearchResultsHandler(decoder.readBooleanField(
                         "enableAttributesToGetSearchResultsHandler", rv
                                 .isEnableAttributesToGetSearchResultsHandler()));
+                rv.setMaxParallelQueries(decoder.readIntField("maxParallelQueries", rv.getMaxParallelQueries()));
+                rv.setEnableCompactDuplicateFiltering(decoder.readBooleanField(
+                        "enableCompactDuplicateFiltering", rv.isEnableCompactDuplicateFiltering()));
+                rv.setMaxParallelSyncHandlers(decoder.readIntField(
+                        "maxParallelSyncHandlers", rv.getMaxParallelSyncHandlers()));
                 return rv;
             }
 
@@ -110,6 +118,10 @@ class APIConfigurationHandlers {
                         .isEnableCaseInsensitiveFilter());
                 encoder.writeBooleanField("enableAttributesToGetSearchResultsHandler", val
                         .isEnableAttributesToGetSearchResultsHandler());
+                encoder.writeIntField("maxParallelQueries", val.getMaxParallelQueries());
+                encoder.writeBooleanField("enableCompactDuplicateFiltering",
+                        val.isEnableCompactDuplicateFiltering());
+                encoder.writeIntField("maxParallelSyncHandlers", val.getMaxParallelSyncHandlers());
             }
         });
 
@@ -200,6 +212,7 @@ class APIConfigurationHandlers {
                 rv.setSupportedOperations(set);
                 rv.setProducerBufferSize(decoder.readIntField("producerBufferSize", 0));
                 rv.setInstanceName(decoder.readStringField("instanceName", null));
+                rv.setObjectSnapshotTtl(decoder.readIntField("objectSnapshotTtl", 0));
                 return rv;
             }
 
@@ -218,6 +231,7 @@ class APIConfigurationHandlers {
                 encoder.writeObjectField("timeoutMap", val.getTimeoutMap(), false);
                 encoder.writeObjectField("SupportedOperations", val.getSupportedOperations(), true);
                 encoder.writeStringField("instanceName", val.getInstanceName());
+                encoder.writeIntField("objectSnapshotTtl", val.getObjectSnapshotTtl());
             }
         });
 
@@ -82,7 +82,7 @@ class CommonObjectHandlers {
         @Override
         public final void serialize(final Object object, final ObjectEncoder encoder) {
             final Attribute val = (Attribute) object;
-            encoder.writeStringField("name", val.getName());
+            encoder.writeSymbolField("name", val.getName());
             encoder.writeObjectField("Values", val.getValue(), true);
         }
 
@@ -468,7 +468,7 @@ class CommonObjectHandlers {
             @Override
             public void serialize(final Object object, final ObjectEncoder encoder) {
                 final ObjectClass val = (ObjectClass) object;
-                encoder.writeStringField("type", val.getObjectClassValue());
+                encoder.writeSymbolField("type", val.getObjectClassValue());
             }
         });
 
@@ -766,6 +766,54 @@ class CommonObjectHandlers {
             }
         });
 
+        HANDLERS.add(new EnumSerializationHandler(BatchItem.Type.class, "BatchItemType"));
+
+        HANDLERS.add(new AbstractObjectSerializationHandler(BatchItem.class, "BatchItem") {
+
+            @Override
+            public Object deserialize(final ObjectDecoder decoder) {
+                @SuppressWarnings("unchecked")
+                Set<Attribute> atts = (Set<Attribute>) decoder.readObjectField("Attributes", Set.class, null);
+                return new BatchItem(
+                        (BatchItem.Type) decoder.readObjectField("BatchItemType", BatchItem.Type.class, null),
+                        (ObjectClass) decoder.readObjectField("ObjectClass", ObjectClass.class, null),
+                        (Uid) decoder.readObjectField("Uid", Uid.class, null),
+                        atts,
+                        (OperationOptions) decoder.readObjectField("OperationOptions", OperationOptions.class, null));
+            }
+
+            @Override
+            public void serialize(final Object object, final ObjectEncoder encoder) {
+                final BatchItem val = (BatchItem) object;
+                encoder.writeObjectField("BatchItemType", val.getType(), true);
+                encoder.writeObjectField("ObjectClass", val.getObjectClass(), true);
+                encoder.writeObjectField("Uid", val.getUid(), true);
+                encoder.writeObjectField("Attributes", val.getAttributes(), true);
+                encoder.writeObjectField("OperationOptions", val.getOptions(), true);
+            }
+        });
+
+        HANDLERS.add(new AbstractObjectSerializationHandler(BatchItemResult.class, "BatchItemResult") {
+
+            @Override
+            public Object deserialize(final ObjectDecoder decoder) {
+                RemoteWrappedException error = (RemoteWrappedException) decoder.
+                        readObjectField("RemoteWrappedException", RemoteWrappedException.class, null);
+                return error == null
+                        ? BatchItemResult.success((Uid) decoder.readObjectField("Uid", Uid.class, null))
+                        : BatchItemResult.failure(error);
+            }
+
+            @Override
+            public void serialize(final Object object, final ObjectEncoder encoder) {
+                final BatchItemResult val = (BatchItemResult) object;
+                encoder.writeObjectField("Uid", val.getUid(), true);
+                // like the exceptions of operations, any error goes as a RemoteWrappedException
+                encoder.writeObjectField("RemoteWrappedException",
+                        val.isSuccess() ? null : RemoteWrappedException.wrap(val.getError()), true);
+            }
+        });
+
         HANDLERS.add(new AbstractObjectSerializationHandler(AttributeDelta.class, "AttributeDelta") {
 
             @Override
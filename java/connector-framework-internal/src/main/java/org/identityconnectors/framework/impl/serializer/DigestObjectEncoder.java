@@ -0,0 +1,274 @@
+/*
+ * ====================
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2026 ConnId. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of the Common Development
+ * and Distribution License("CDDL") (the "License").  You may not use this file
+ * except in compliance with the License.
+ *
+ * You can obtain a copy of the License at
+ * http://opensource.org/licenses/cddl1.php
+ * See the License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * When distributing the Covered Code, include this CDDL Header Notice in each file
+ * and include the License file at http://opensource.org/licenses/cddl1.php.
+ * If applicable, add the following below this CDDL Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyrighted [year] [name of copyright owner]"
+ * ====================
+ */
+package org.identityconnectors.framework.impl.serializer;
+
+import java.lang.reflect.Array;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import org.identityconnectors.framework.common.exceptions.ConnectorException;
+
+/**
+ * Computes a fingerprint of an object graph instead of serializing it.
+ * <p>
+ * The graph is walked with the same {@link ObjectSerializationHandler}s as
+ * the serializers and every field is fed to a digest as it is written, so two
+ * objects have the same fingerprint exactly when they serialize to the same
+ * content, but no buffer is built. The fingerprint is 128 bits of a SHA-256
+ * digest.
+ *
+ * @since 1.6.1.0
+ */
+public final class DigestObjectEncoder implements ObjectEncoder {
+
+    /**
+     * The length of a fingerprint in bytes.
+     */
+    public static final int FINGERPRINT_LENGTH = 16;
+
+    private static final byte TYPE_NULL = 1;
+
+    private static final byte TYPE_CLASS = 2;
+
+    private static final byte TYPE_ARRAY = 3;
+
+    private static final byte FIELD_ANONYMOUS = 4;
+
+    private static final byte FIELD_NAMED = 5;
+
+    private static final byte END_OBJECT = 6;
+
+    private static final byte TYPE_STRING = 7;
+
+    private final MessageDigest digest;
+
+    private final byte[] scratch = new byte[8];
+
+    public DigestObjectEncoder() {
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw ConnectorException.wrap(e);
+        }
+    }
+
+    /**
+     * Returns the fingerprint of an object.
+     */
+    public static byte[] fingerprint(final Object object) {
+        DigestObjectEncoder encoder = new DigestObjectEncoder();
+        encoder.writeObjectContents(object);
+        return encoder.getFingerprint();
+    }
+
+    /**
+     * Returns the fingerprint of everything written so far and resets the
+     * encoder.
+     */
+    public byte[] getFingerprint() {
+        return Arrays.copyOf(digest.digest(), FINGERPRINT_LENGTH);
+    }
+
+    @Override
+    public void writeObjectField(final String fieldName, final Object object, final boolean inline) {
+        startField(fieldName);
+        writeObject(object);
+    }
+
+    @Override
+    public void writeBooleanField(final String fieldName, final boolean v) {
+        startField(fieldName);
+        digest.update(v ? (byte) 1 : (byte) 0);
+    }
+
+    @Override
+    public void writeIntField(final String fieldName, final int v) {
+        startField(fieldName);
+        writeInt(v);
+    }
+
+    @Override
+    public void writeLongField(final String fieldName, final long v) {
+        startField(fieldName);
+        writeLong(v);
+    }
+
+    @Override
+    public void writeFloatField(final String fieldName, final float v) {
+        startField(fieldName);
+        writeInt(Float.floatToIntBits(v));
+    }
+
+    @Override
+    public void writeDoubleField(final String fieldName, final double v) {
+        startField(fieldName);
+        writeLong(Double.doubleToLongBits(v));
+    }
+
+    @Override
+    public void writeClassField(final String fieldName, final Class<?> v) {
+        startField(fieldName);
+        writeClass(v);
+    }
+
+    @Override
+    public void writeStringField(final String fieldName, final String v) {
+        startField(fieldName);
+        writeString(v);
+    }
+
+    @Override
+    public void writeSymbolField(final String fieldName, final String v) {
+        writeStringField(fieldName, v);
+    }
+
+    @Override
+    public void writeStringContents(final String str) {
+        digest.update(FIELD_ANONYMOUS);
+        writeString(str);
+    }
+
+    @Override
+    public void writeBooleanContents(final boolean v) {
+        digest.update(FIELD_ANONYMOUS);
+        digest.update(v ? (byte) 1 : (byte) 0);
+    }
+
+    @Override
+    public void writeIntContents(final int v) {
+        digest.update(FIELD_ANONYMOUS);
+        writeInt(v);
+    }
+
+    @Override
+    public void writeLongContents(final long v) {
+        digest.update(FIELD_ANONYMOUS);
+        writeLong(v);
+    }
+
+    @Override
+    public void writeFloatContents(final float v) {
+        digest.update(FIELD_ANONYMOUS);
+        writeInt(Float.floatToIntBits(v));
+    }
+
+    @Override
+    public void writeDoubleContents(final double v) {
+        digest.update(FIELD_ANONYMOUS);
+        writeLong(Double.doubleToLongBits(v));
+    }
+
+    @Override
+    public void writeByteContents(final byte v) {
+        digest.update(FIELD_ANONYMOUS);
+        digest.update(v);
+    }
+
+    @Override
+    public void writeByteArrayContents(final byte[] v) {
+        digest.update(FIELD_ANONYMOUS);
+        writeInt(v.length);
+        digest.update(v);
+    }
+
+    @Override
+    public void writeClassContents(final Class<?> v) {
+        digest.update(FIELD_ANONYMOUS);
+        writeClass(v);
+    }
+
+    @Override
+    public void writeObjectContents(final Object o) {
+        digest.update(FIELD_ANONYMOUS);
+        writeObject(o);
+    }
+
+    private void startField(final String fieldName) {
+        digest.update(FIELD_NAMED);
+        writeString(fieldName);
+    }
+
+    private void writeObject(final Object object) {
+        if (object == null) {
+            digest.update(TYPE_NULL);
+            return;
+        }
+        Class<?> clazz = object.getClass();
+        writeClass(clazz);
+        ObjectSerializationHandler handler = ObjectSerializerRegistry.getHandlerByObjectType(clazz);
+        if (handler != null) {
+            handler.serialize(object, this);
+        } else if (clazz.isArray()) {
+            int length = Array.getLength(object);
+            for (int i = 0; i < length; i++) {
+                writeObjectContents(Array.get(object, i));
+            }
+        } else {
+            throw new ConnectorException("No serializer for class: " + clazz);
+        }
+        digest.update(END_OBJECT);
+    }
+
+    private void writeClass(final Class<?> clazz) {
+        if (clazz == null) {
+            digest.update(TYPE_NULL);
+            return;
+        }
+        ObjectSerializationHandler handler = ObjectSerializerRegistry.getHandlerByObjectType(clazz);
+        ObjectTypeMapper mapper = ObjectSerializerRegistry.getMapperByObjectType(clazz);
+        if (handler == null && clazz.isArray()) {
+            digest.update(TYPE_ARRAY);
+            writeClass(clazz.getComponentType());
+        } else if (mapper == null) {
+            throw new ConnectorException("No serializer for class: " + clazz);
+        } else {
+            digest.update(TYPE_CLASS);
+            writeString(mapper.getHandledSerialType());
+        }
+    }
+
+    private void writeString(final String str) {
+        if (str == null) {
+            digest.update(TYPE_NULL);
+            return;
+        }
+        byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+        digest.update(TYPE_STRING);
+        writeInt(bytes.length);
+        digest.update(bytes);
+    }
+
+    private void writeInt(final int v) {
+        scratch[0] = (byte) (v >>> 24);
+        scratch[1] = (byte) (v >>> 16);
+        scratch[2] = (byte) (v >>> 8);
+        scratch[3] = (byte) v;
+        digest.update(scratch, 0, 4);
+    }
+
+    private void writeLong(final long v) {
+        writeInt((int) (v >>> 32));
+        writeInt((int) v);
+    }
+}
@@ -35,8 +35,10 @@ import org.identityconnectors.framework.impl.api.remote.messages.ErrorResponse;
 import org.identityconnectors.framework.impl.api.remote.messages.HelloRequest;
 import org.identityconnectors.framework.impl.api.remote.messages.HelloResponse;
 import org.identityconnectors.framework.impl.api.remote.messages.OperationRequest;
+import org.identityconnectors.framework.impl.api.remote.messages.OperationRequestCredit;
 import org.identityconnectors.framework.impl.api.remote.messages.OperationRequestMoreData;
 import org.identityconnectors.framework.impl.api.remote.messages.OperationRequestStopData;
+import org.identityconnectors.framework.impl.api.remote.messages.OperationResponseBatch;
 import org.identityconnectors.framework.impl.api.remote.messages.OperationResponseEnd;
 import org.identityconnectors.framework.impl.api.remote.messages.OperationResponsePart;
 import org.identityconnectors.framework.impl.api.remote.messages.OperationResponsePause;
@@ -54,12 +56,19 @@ class MessageHandlers {
 
             public Object deserialize(final ObjectDecoder decoder) {
                 return new HelloRequest(decoder.readIntField("infoLevel",
-                        HelloRequest.CONNECTOR_INFO));
+                        HelloRequest.CONNECTOR_INFO), decoder.readIntField("encodingVersion", 0),
+                        decoder.readBooleanField("compression", false));
             }
 
             public void serialize(final Object object, final ObjectEncoder encoder) {
                 HelloRequest val = (HelloRequest) object;
                 encoder.writeIntField("infoLevel", val.getInfoLevel());
+                if (val.getEncodingVersion() > 0) {
+                    encoder.writeIntField("encodingVersion", val.getEncodingVersion());
+                }
+                if (val.isCompression()) {
+                    encoder.writeBooleanField("compression", true);
+                }
             }
         });
 
@@ -107,8 +116,10 @@ class MessageHandlers {
                 @SuppressWarnings("unchecked")
                 final List<Object> arguments =
                         (List) decoder.readObjectField("Arguments", List.class, null);
+                final int batchSize = decoder.readIntField("batchSize", 0);
+                final int window = decoder.readIntField("window", 0);
                 return new OperationRequest(connectorKey, connectorFacadeKey, operation,
-                        operationMethodName, arguments);
+                        operationMethodName, arguments, batchSize, window);
             }
 
             public void serialize(final Object object, final ObjectEncoder encoder) {
@@ -118,6 +129,10 @@ class MessageHandlers {
                 encoder.writeObjectField("ConnectorKey", val.getConnectorKey(), true);
                 encoder.writeStringField("connectorFacadeKey", val.getConnectorFacadeKey());
                 encoder.writeObjectField("Arguments", val.getArguments(), true);
+                if (val.getBatchSize() > 0) {
+                    encoder.writeIntField("batchSize", val.getBatchSize());
+                    encoder.writeIntField("window", val.getWindow());
+                }
             }
         });
 
@@ -150,6 +165,35 @@ class MessageHandlers {
             }
         });
 
+        HANDLERS.add(new AbstractObjectSerializationHandler(OperationResponseBatch.class,
+                "OperationResponseBatch") {
+
+            public Object deserialize(final ObjectDecoder decoder) {
+                @SuppressWarnings("unchecked")
+                final List<Object> results =
+                        (List) decoder.readObjectField("Results", List.class, null);
+                return new OperationResponseBatch(results);
+            }
+
+            public void serialize(final Object object, final ObjectEncoder encoder) {
+                final OperationResponseBatch val = (OperationResponseBatch) object;
+                encoder.writeObjectField("Results", val.getResults(), true);
+            }
+        });
+
+        HANDLERS.add(new AbstractObjectSerializationHandler(OperationRequestCredit.class,
+                "OperationRequestCredit") {
+
+            public Object deserialize(final ObjectDecoder decoder) {
+                return new OperationRequestCredit(decoder.readIntField("credit", 0));
+            }
+
+            public void serialize(final Object object, final ObjectEncoder encoder) {
+                final OperationRequestCredit val = (OperationRequestCredit) object;
+                encoder.writeIntField("credit", val.getCredit());
+            }
+        });
+
         HANDLERS.add(new AbstractObjectSerializationHandler(OperationRequestMoreData.class,
                 "OperationRequestMoreData") {
 
@@ -94,6 +94,16 @@ public interface ObjectEncoder {
      */
     public void writeStringField(String fieldName, String v);
 
+    /**
+     * Writes a String which recurs in many objects, such as an attribute name.
+     * Read back with {@link ObjectDecoder#readStringField(String, String)}.
+     * @param fieldName A hint of the field name. Ignored for binary
+     * serialization. Becomes the attribute name for xml serialization
+     * @param v The value to serialize
+     * @since 1.6.1.0
+     */
+    public void writeSymbolField(String fieldName, String v);
+
     /**
      * Writes the value in-line.
      */
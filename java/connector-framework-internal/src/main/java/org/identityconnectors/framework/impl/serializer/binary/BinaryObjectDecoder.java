@@ -79,6 +79,8 @@ public class BinaryObjectDecoder implements ObjectDecoder, BinaryObjectDeseriali
 
         private boolean firstObject = true;
 
+        private boolean compact = false;
+
         private final Map<Integer, String> constantPool = new HashMap<>();
 
         private final Stack<ReadState> readStateStack = new Stack<>();
@@ -97,7 +99,9 @@ public class BinaryObjectDecoder implements ObjectDecoder, BinaryObjectDeseriali
                     throw new ConnectorException("Bad magic number: " + magic);
                 }
                 int version = readInt();
-                if (version != BinaryObjectEncoder.ENCODING_VERSION) {
+                if (version == BinaryObjectEncoder.COMPACT_ENCODING_VERSION) {
+                    compact = true;
+                } else if (version != BinaryObjectEncoder.ENCODING_VERSION) {
                     throw new ConnectorException("Unexpected version: " + version);
                 }
                 firstObject = false;
@@ -105,10 +109,10 @@ public class BinaryObjectDecoder implements ObjectDecoder, BinaryObjectDeseriali
 
             // if it's a top-level object, it's proceeded by a constant pool
             if (readStateStack.isEmpty()) {
-                int size = readInt();
+                int size = readLength();
                 for (int i = 0; i < size; i++) {
-                    String constant = readString(false);
-                    int code = readInt();
+                    String constant = new String(readByteArray(), StandardCharsets.UTF_8);
+                    int code = readLength();
                     constantPool.put(code, constant);
                 }
             }
@@ -200,6 +204,10 @@ public class BinaryObjectDecoder implements ObjectDecoder, BinaryObjectDeseriali
 
         public int readInt() {
             try {
+                if (compact) {
+                    int v = (int) readVarint(getCurrentInput());
+                    return (v >>> 1) ^ -(v & 1);
+                }
                 return getCurrentInput().readInt();
             } catch (IOException e) {
                 throw ConnectorException.wrap(e);
@@ -208,12 +216,39 @@ public class BinaryObjectDecoder implements ObjectDecoder, BinaryObjectDeseriali
 
         public long readLong() {
             try {
+                if (compact) {
+                    long v = readVarint(getCurrentInput());
+                    return (v >>> 1) ^ -(v & 1);
+                }
                 return getCurrentInput().readLong();
             } catch (IOException e) {
                 throw ConnectorException.wrap(e);
             }
         }
 
+        private int readLength() {
+            try {
+                if (compact) {
+                    return (int) readVarint(getCurrentInput());
+                }
+                return getCurrentInput().readInt();
+            } catch (IOException e) {
+                throw ConnectorException.wrap(e);
+            }
+        }
+
+        private static long readVarint(DataInputStream input) throws IOException {
+            long v = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = input.readByte();
+                v |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return v;
+                }
+            }
+            throw new ConnectorException("Malformed variable length integer");
+        }
+
         public double readDouble() {
             try {
                 return getCurrentInput().readDouble();
@@ -224,7 +259,7 @@ public class BinaryObjectDecoder implements ObjectDecoder, BinaryObjectDeseriali
 
         public byte[] readByteArray() {
             try {
-                int length = getCurrentInput().readInt();
+                int length = readLength();
                 byte[] rv = new byte[length];
                 getCurrentInput().readFully(rv);
                 return rv;
@@ -251,17 +286,33 @@ public class BinaryObjectDecoder implements ObjectDecoder, BinaryObjectDeseriali
 
         public String readString(boolean interned) {
             if (interned) {
-                int code = readInt();
-                String name = constantPool.get(code);
-                if (name == null) {
-                    throw new ConnectorException("Undeclared code: " + code);
+                return readConstant(readLength());
+            }
+            if (compact) {
+                // the lowest bit tells a string from a symbol
+                int header = readLength();
+                if ((header & 1) != 0) {
+                    return readConstant(header >>> 1);
+                }
+                try {
+                    byte[] bytes = new byte[header >>> 1];
+                    getCurrentInput().readFully(bytes);
+                    return new String(bytes, StandardCharsets.UTF_8);
+                } catch (IOException e) {
+                    throw ConnectorException.wrap(e);
                 }
-                return name;
             }
-
             return new String(readByteArray(), StandardCharsets.UTF_8);
         }
 
+        private String readConstant(int code) {
+            String name = constantPool.get(code);
+            if (name == null) {
+                throw new ConnectorException("Undeclared code: " + code);
+            }
+            return name;
+        }
+
         private DataInputStream getCurrentInput() {
             if (readStateStack.size() > 0) {
                 ReadState state = readStateStack.get(readStateStack.size() - 1);
@@ -274,9 +325,15 @@ public class BinaryObjectDecoder implements ObjectDecoder, BinaryObjectDeseriali
 
     private final InternalDecoder internalDecoder;
 
+    /**
+     * Creates a decoder reading the given stream. A stream which is already
+     * buffered is read as it is, so that the decoder never takes more bytes
+     * from it than the objects it reads and a new decoder can take over the
+     * stream.
+     */
     public BinaryObjectDecoder(InputStream in) {
-        internalDecoder =
-                new InternalDecoder(new DataInputStream(new BufferedInputStream(in, 4096)));
+        internalDecoder = new InternalDecoder(new DataInputStream(
+                in instanceof BufferedInputStream ? in : new BufferedInputStream(in, 4096)));
     }
 
     @Override
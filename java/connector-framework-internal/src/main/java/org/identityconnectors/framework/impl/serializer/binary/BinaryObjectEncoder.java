@@ -31,11 +31,10 @@ import java.io.OutputStream;
 import java.lang.reflect.Array;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Stack;
-import org.identityconnectors.common.Pair;
 import org.identityconnectors.framework.common.exceptions.ConnectorException;
 import org.identityconnectors.framework.common.serializer.BinaryObjectSerializer;
 import org.identityconnectors.framework.impl.serializer.ObjectEncoder;
@@ -51,6 +50,22 @@ public class BinaryObjectEncoder implements ObjectEncoder, BinaryObjectSerialize
      */
     public static final int ENCODING_VERSION = 2;
 
+    /**
+     * Compact version of the encoding, only used once both sides agreed on it.
+     * Lengths, codes and integers are written as variable length integers, and
+     * strings written with {@link #writeSymbolField(String, String)} are added
+     * to the constant pool of the stream, so that they are sent only once.
+     *
+     * @since 1.6.1.0
+     */
+    public static final int COMPACT_ENCODING_VERSION = 3;
+
+    /**
+     * Symbols are no longer added to a constant pool this big, but written in
+     * full, so that a stream of arbitrary symbols can't grow it without bounds.
+     */
+    private static final int MAX_SYMBOLS = 16 * 1024;
+
     public static final int OBJECT_MAGIC = 0xFAFB;
 
     public static final byte OBJECT_TYPE_NULL = 60;
@@ -65,15 +80,120 @@ public class BinaryObjectEncoder implements ObjectEncoder, BinaryObjectSerialize
 
     public static final byte FIELD_TYPE_END_OBJECT = 72;
 
-    private static class OutputBuffer extends Pair<ByteArrayOutputStream, DataOutputStream> {
+    /**
+     * Number of bytes reserved for the length of a field in the compact
+     * encoding, enough for any int. Only the bytes the length needs are sent.
+     */
+    private static final int VARINT_FIELD_SIZE = 5;
+
+    private static final byte[] VARINT_PLACEHOLDER = new byte[VARINT_FIELD_SIZE];
+
+    /**
+     * Buffer of one top-level object, exposing its array so that field lengths
+     * can be written once the field is complete.
+     */
+    private static class ObjectBuffer extends ByteArrayOutputStream {
+
+        /**
+         * Buffers grown beyond this size are dropped after use, instead of
+         * being kept for the next object.
+         */
+        private static final int MAX_RETAINED_SIZE = 1024 * 1024;
+
+        /**
+         * Unused bytes of reserved field lengths, each as its offset shifted
+         * left by three bits and its length in the low bits.
+         */
+        private long[] gaps = new long[64];
+
+        private int gapCount = 0;
+
+        private int gapBytes = 0;
+
+        public ObjectBuffer() {
+            super(4096);
+        }
+
+        public void patchInt(int offset, int v) {
+            buf[offset] = (byte) (v >>> 24);
+            buf[offset + 1] = (byte) (v >>> 16);
+            buf[offset + 2] = (byte) (v >>> 8);
+            buf[offset + 3] = (byte) v;
+        }
+
+        /**
+         * Writes a variable length integer into the {@link #VARINT_FIELD_SIZE}
+         * bytes reserved at the given offset. The bytes which follow never
+         * move, the unused part of the reservation is skipped by
+         * {@link #writeTo(OutputStream)} instead.
+         */
+        public void patchVarint(int offset, int v) {
+            int pos = offset;
+            while ((v & ~0x7F) != 0) {
+                buf[pos++] = (byte) ((v & 0x7F) | 0x80);
+                v >>>= 7;
+            }
+            buf[pos++] = (byte) v;
+            int gap = offset + VARINT_FIELD_SIZE - pos;
+            if (gap > 0) {
+                if (gapCount == gaps.length) {
+                    gaps = Arrays.copyOf(gaps, gapCount * 2);
+                }
+                gaps[gapCount++] = (long) pos << 3 | gap;
+                gapBytes += gap;
+            }
+        }
+
+        /**
+         * Returns the number of bytes written so far which are not sent.
+         */
+        public int gapBytes() {
+            return gapBytes;
+        }
 
-        public OutputBuffer(ByteArrayOutputStream buf, DataOutputStream data) {
-            super(buf, data);
+        @Override
+        public synchronized void writeTo(OutputStream out) throws IOException {
+            if (gapCount == 0) {
+                super.writeTo(out);
+                return;
+            }
+            // inner fields end first, so the gaps are recorded out of order
+            Arrays.sort(gaps, 0, gapCount);
+            int pos = 0;
+            for (int i = 0; i < gapCount; i++) {
+                int gapOffset = (int) (gaps[i] >>> 3);
+                out.write(buf, pos, gapOffset - pos);
+                pos = gapOffset + (int) (gaps[i] & 7);
+            }
+            out.write(buf, pos, count - pos);
+        }
+
+        public void recycle() {
+            if (buf.length > MAX_RETAINED_SIZE) {
+                buf = new byte[4096];
+            }
+            if (gaps.length > MAX_RETAINED_SIZE / VARINT_FIELD_SIZE) {
+                gaps = new long[64];
+            }
+            gapCount = 0;
+            gapBytes = 0;
+            reset();
         }
     }
 
+    /**
+     * Writes each top-level object into a single reusable buffer. A field is
+     * written with a placeholder length which is filled in when the field
+     * ends, so nested objects are never copied into their parents. The
+     * buffer is needed at all only because the constant pool of an object
+     * precedes the object on the stream.
+     */
     private static class InternalEncoder {
 
+        private final int version;
+
+        private final boolean compact;
+
         /**
          * Mapping from type name to the ID we serialize so we only have to
          */
@@ -81,33 +201,73 @@ public class BinaryObjectEncoder implements ObjectEncoder, BinaryObjectSerialize
 
         private final List<String> constantBuffer = new ArrayList<>();
 
-        private final Stack<OutputBuffer> outputBufferStack = new Stack<>();
+        private final ObjectBuffer objectBuffer = new ObjectBuffer();
+
+        private final DataOutputStream objectOutput = new DataOutputStream(objectBuffer);
+
+        /**
+         * Offsets of the length of the fields being written.
+         */
+        private int[] fieldOffsets = new int[16];
+
+        /**
+         * Bytes skipped before the fields being written, in the compact
+         * encoding the length of a field excludes those skipped within it.
+         */
+        private int[] fieldGapBytes = new int[16];
+
+        private int fieldDepth = 0;
+
+        private int objectDepth = 0;
 
         private final DataOutputStream rootOutput;
 
         private boolean firstObject = true;
 
-        public InternalEncoder(DataOutputStream output) {
+        public InternalEncoder(DataOutputStream output, int version) {
             rootOutput = output;
+            this.version = version;
+            compact = version == COMPACT_ENCODING_VERSION;
         }
 
         public void writeObject(ObjectEncoder encoder, Object object) {
-
-            if (firstObject) {
-                writeInt(OBJECT_MAGIC);
-                writeInt(ENCODING_VERSION);
-                firstObject = false;
+            if (objectDepth > 0) {
+                writeObjectContents(encoder, object);
+                return;
             }
 
-            // push the stack
-            OutputBuffer objectBuffer;
-            {
-                ByteArrayOutputStream baos = new ByteArrayOutputStream();
-                DataOutputStream data = new DataOutputStream(baos);
-                objectBuffer = new OutputBuffer(baos, data);
-                outputBufferStack.push(objectBuffer);
+            objectDepth++;
+            try {
+                if (firstObject) {
+                    rootOutput.writeInt(OBJECT_MAGIC);
+                    rootOutput.writeInt(version);
+                    firstObject = false;
+                }
+
+                writeObjectContents(encoder, object);
+
+                // it's a top-level object, flush the constant pool
+                writeLength(rootOutput, constantBuffer.size());
+                for (String constant : constantBuffer) {
+                    byte[] bytes = constant.getBytes(StandardCharsets.UTF_8);
+                    writeLength(rootOutput, bytes.length);
+                    rootOutput.write(bytes);
+                    writeLength(rootOutput, constantPool.get(constant));
+                }
+                constantBuffer.clear();
+
+                // now write the actual object
+                objectBuffer.writeTo(rootOutput);
+            } catch (IOException e) {
+                throw ConnectorException.wrap(e);
+            } finally {
+                objectDepth--;
+                fieldDepth = 0;
+                objectBuffer.recycle();
             }
+        }
 
+        private void writeObjectContents(ObjectEncoder encoder, Object object) {
             if (object == null) {
                 writeByte(OBJECT_TYPE_NULL);
             } else {
@@ -133,30 +293,7 @@ public class BinaryObjectEncoder implements ObjectEncoder, BinaryObjectSerialize
                     handler.serialize(object, encoder);
                 }
             }
-            writeByte(FIELD_TYPE_END_OBJECT); // write end-object into the
-            // current obj buffer
-
-            // pop the stack
-            outputBufferStack.pop();
-
-            // it's a top-level object, flush the constant pool
-            if (outputBufferStack.isEmpty()) {
-                writeInt(constantBuffer.size());
-                constantBuffer.forEach(constant -> {
-                    writeString(constant, false);
-                    writeInt(constantPool.get(constant));
-                });
-                constantBuffer.clear();
-            }
-
-            // now write the actual object
-            try {
-                objectBuffer.second.close();
-            } catch (IOException e) {
-                throw ConnectorException.wrap(e);
-            }
-            byte[] bytes = objectBuffer.first.toByteArray();
-            writeBytes(bytes);
+            writeByte(FIELD_TYPE_END_OBJECT);
         }
 
         public void writeClass(Class<?> clazz) {
@@ -178,49 +315,83 @@ public class BinaryObjectEncoder implements ObjectEncoder, BinaryObjectSerialize
 
         public void startAnonymousField() {
             writeByte(FIELD_TYPE_ANONYMOUS_FIELD);
-            ByteArrayOutputStream buf = new ByteArrayOutputStream();
-            DataOutputStream data = new DataOutputStream(buf);
-            outputBufferStack.push(new OutputBuffer(buf, data));
+            startFieldContents();
         }
 
         public void startField(String name) {
             writeByte(FIELD_TYPE_NAMED_FIELD);
             writeString(name, true);
-            ByteArrayOutputStream buf = new ByteArrayOutputStream();
-            DataOutputStream data = new DataOutputStream(buf);
-            outputBufferStack.push(new OutputBuffer(buf, data));
+            startFieldContents();
+        }
+
+        private void startFieldContents() {
+            if (fieldDepth == fieldOffsets.length) {
+                fieldOffsets = Arrays.copyOf(fieldOffsets, fieldDepth * 2);
+                fieldGapBytes = Arrays.copyOf(fieldGapBytes, fieldDepth * 2);
+            }
+            fieldGapBytes[fieldDepth] = objectBuffer.gapBytes();
+            fieldOffsets[fieldDepth++] = objectBuffer.size();
+            // the length is filled in by endField
+            if (compact) {
+                objectBuffer.write(VARINT_PLACEHOLDER, 0, VARINT_FIELD_SIZE);
+            } else {
+                writeLength(0);
+            }
         }
 
         public void endField() {
-            OutputBuffer buf = outputBufferStack.pop();
+            int offset = fieldOffsets[--fieldDepth];
+            if (compact) {
+                int skipped = objectBuffer.gapBytes() - fieldGapBytes[fieldDepth];
+                objectBuffer.patchVarint(offset, objectBuffer.size() - offset - VARINT_FIELD_SIZE - skipped);
+            } else {
+                objectBuffer.patchInt(offset, objectBuffer.size() - offset - 4);
+            }
+        }
+
+        public void writeInt(int v) {
             try {
-                buf.second.close();
+                if (compact) {
+                    writeVarint(objectOutput, ((v << 1) ^ (v >> 31)) & 0xFFFFFFFFL);
+                } else {
+                    objectOutput.writeInt(v);
+                }
             } catch (IOException e) {
                 throw ConnectorException.wrap(e);
             }
-            byte[] bytes = buf.first.toByteArray();
-            writeByteArray(bytes);
         }
 
-        public void writeInt(int v) {
+        public void writeLong(long v) {
             try {
-                getCurrentOutput().writeInt(v);
+                if (compact) {
+                    writeVarint(objectOutput, (v << 1) ^ (v >> 63));
+                } else {
+                    objectOutput.writeLong(v);
+                }
             } catch (IOException e) {
                 throw ConnectorException.wrap(e);
             }
         }
 
-        public void writeLong(long v) {
+        private void writeLength(int v) {
             try {
-                getCurrentOutput().writeLong(v);
+                writeLength(objectOutput, v);
             } catch (IOException e) {
                 throw ConnectorException.wrap(e);
             }
         }
 
+        private void writeLength(DataOutputStream output, int v) throws IOException {
+            if (compact) {
+                writeVarint(output, v & 0xFFFFFFFFL);
+            } else {
+                output.writeInt(v);
+            }
+        }
+
         public void writeDouble(double l) {
             try {
-                getCurrentOutput().writeDouble(l);
+                objectOutput.writeDouble(l);
             } catch (IOException e) {
                 throw ConnectorException.wrap(e);
             }
@@ -228,8 +399,8 @@ public class BinaryObjectEncoder implements ObjectEncoder, BinaryObjectSerialize
 
         public void writeByteArray(byte[] v) {
             try {
-                getCurrentOutput().writeInt(v.length);
-                getCurrentOutput().write(v);
+                writeLength(objectOutput, v.length);
+                objectOutput.write(v);
             } catch (IOException e) {
                 throw ConnectorException.wrap(e);
             }
@@ -237,7 +408,7 @@ public class BinaryObjectEncoder implements ObjectEncoder, BinaryObjectSerialize
 
         public void writeByte(byte b) {
             try {
-                getCurrentOutput().writeByte(b);
+                objectOutput.writeByte(b);
             } catch (IOException e) {
                 throw ConnectorException.wrap(e);
             }
@@ -245,7 +416,7 @@ public class BinaryObjectEncoder implements ObjectEncoder, BinaryObjectSerialize
 
         public void writeBoolean(boolean b) {
             try {
-                getCurrentOutput().writeBoolean(b);
+                objectOutput.writeBoolean(b);
             } catch (IOException e) {
                 throw ConnectorException.wrap(e);
             }
@@ -254,15 +425,30 @@ public class BinaryObjectEncoder implements ObjectEncoder, BinaryObjectSerialize
         public void writeString(String str, boolean intern) {
             if (intern) {
                 int code = internIdentifier(str);
-                writeInt(code);
+                writeLength(code);
                 return;
             }
-            writeByteArray(str.getBytes(StandardCharsets.UTF_8));
+            byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+            if (compact) {
+                // the lowest bit tells a string from a symbol
+                writeLength(bytes.length << 1);
+                writeBytes(bytes);
+            } else {
+                writeByteArray(bytes);
+            }
+        }
+
+        public void writeSymbol(String str) {
+            if (compact && (constantPool.size() < MAX_SYMBOLS || constantPool.containsKey(str))) {
+                writeLength(internIdentifier(str) << 1 | 1);
+            } else {
+                writeString(str, false);
+            }
         }
 
         private void writeBytes(byte[] v) {
             try {
-                getCurrentOutput().write(v);
+                objectOutput.write(v);
             } catch (IOException e) {
                 throw ConnectorException.wrap(e);
             }
@@ -277,20 +463,33 @@ public class BinaryObjectEncoder implements ObjectEncoder, BinaryObjectSerialize
             }
             return code;
         }
+    }
 
-        private DataOutputStream getCurrentOutput() {
-            if (outputBufferStack.isEmpty()) {
-                return rootOutput;
-            } else {
-                return outputBufferStack.peek().second;
-            }
+    private static void writeVarint(DataOutputStream output, long v) throws IOException {
+        while ((v & ~0x7FL) != 0) {
+            output.writeByte((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
         }
+        output.writeByte((int) v);
     }
 
     private final InternalEncoder internalEncoder;
 
     public BinaryObjectEncoder(OutputStream output) {
-        internalEncoder = new InternalEncoder(new DataOutputStream(new BufferedOutputStream(output, 4096)));
+        this(output, ENCODING_VERSION);
+    }
+
+    /**
+     * Creates an encoder writing the given version of the encoding.
+     *
+     * @param version {@link #ENCODING_VERSION} or {@link #COMPACT_ENCODING_VERSION}
+     * @since 1.6.1.0
+     */
+    public BinaryObjectEncoder(OutputStream output, int version) {
+        if (version != ENCODING_VERSION && version != COMPACT_ENCODING_VERSION) {
+            throw new IllegalArgumentException("Unsupported encoding version: " + version);
+        }
+        internalEncoder = new InternalEncoder(new DataOutputStream(new BufferedOutputStream(output, 4096)), version);
     }
 
     @Override
@@ -448,4 +647,13 @@ public class BinaryObjectEncoder implements ObjectEncoder, BinaryObjectSerialize
             internalEncoder.endField();
         }
     }
+
+    @Override
+    public void writeSymbolField(String fieldName, String v) {
+        if (v != null) {
+            internalEncoder.startField(fieldName);
+            internalEncoder.writeSymbol(v);
+            internalEncoder.endField();
+        }
+    }
 }
@@ -167,6 +167,11 @@ public class XmlObjectEncoder implements ObjectEncoder {
         }
     }
 
+    @Override
+    public void writeSymbolField(String fieldName, String str) {
+        writeStringField(fieldName, str);
+    }
+
     static String encodeBoolean(boolean b) {
         return String.valueOf(b);
     }
@@ -0,0 +1,112 @@
+/*
+ * ====================
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2026 ConnId. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of the Common Development
+ * and Distribution License("CDDL") (the "License").  You may not use this file
+ * except in compliance with the License.
+ *
+ * You can obtain a copy of the License at
+ * http://opensource.org/licenses/cddl1.php
+ * See the License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * When distributing the Covered Code, include this CDDL Header Notice in each file
+ * and include the License file at http://opensource.org/licenses/cddl1.php.
+ * If applicable, add the following below this CDDL Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyrighted [year] [name of copyright owner]"
+ * ====================
+ */
+package org.identityconnectors.framework.server;
+
+/**
+ * Limits of a bulkhead of the {@link ConnectorServer}: how many operations of
+ * a connector or of an operation type execute at once and how many more wait
+ * for their turn. Operations over both limits are rejected right away with a
+ * {@link org.identityconnectors.framework.common.exceptions.RetryableException}.
+ *
+ * @since 1.6.1.0
+ */
+public final class BulkheadLimits {
+
+    /**
+     * No limits, the bulkhead only counts the operations.
+     */
+    public static final BulkheadLimits UNLIMITED = new BulkheadLimits(0, 0);
+
+    private final int maxConcurrent;
+
+    private final int maxQueued;
+
+    /**
+     * @param maxConcurrent the max number of executing operations, 0 for no limit
+     * @param maxQueued the max number of operations waiting for a free slot,
+     * ignored if the concurrency is not limited
+     */
+    public BulkheadLimits(final int maxConcurrent, final int maxQueued) {
+        if (maxConcurrent < 0 || maxQueued < 0) {
+            throw new IllegalArgumentException("Bulkhead limits must not be negative: "
+                    + maxConcurrent + "/" + maxQueued);
+        }
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = maxQueued;
+    }
+
+    /**
+     * Parses limits in the form {@code maxConcurrent/maxQueued}, or just
+     * {@code maxConcurrent} if no operation may wait.
+     *
+     * @param value the limits, e.g. {@code 10/20}
+     * @return the parsed limits
+     */
+    public static BulkheadLimits parse(final String value) {
+        String trimmed = value.trim();
+        int slash = trimmed.indexOf('/');
+        try {
+            if (slash < 0) {
+                return new BulkheadLimits(Integer.parseInt(trimmed), 0);
+            }
+            return new BulkheadLimits(Integer.parseInt(trimmed.substring(0, slash).trim()),
+                    Integer.parseInt(trimmed.substring(slash + 1).trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid bulkhead limits: " + value, e);
+        }
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int getMaxQueued() {
+        return maxQueued;
+    }
+
+    public boolean isUnlimited() {
+        return maxConcurrent == 0;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof BulkheadLimits)) {
+            return false;
+        }
+        BulkheadLimits other = (BulkheadLimits) obj;
+        return maxConcurrent == other.maxConcurrent && maxQueued == other.maxQueued;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * maxConcurrent + maxQueued;
+    }
+
+    @Override
+    public String toString() {
+        return maxConcurrent + "/" + maxQueued;
+    }
+}
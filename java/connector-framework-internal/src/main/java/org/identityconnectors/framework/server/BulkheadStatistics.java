@@ -0,0 +1,79 @@
+/*
+ * ====================
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2026 ConnId. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of the Common Development
+ * and Distribution License("CDDL") (the "License").  You may not use this file
+ * except in compliance with the License.
+ *
+ * You can obtain a copy of the License at
+ * http://opensource.org/licenses/cddl1.php
+ * See the License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * When distributing the Covered Code, include this CDDL Header Notice in each file
+ * and include the License file at http://opensource.org/licenses/cddl1.php.
+ * If applicable, add the following below this CDDL Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyrighted [year] [name of copyright owner]"
+ * ====================
+ */
+package org.identityconnectors.framework.server;
+
+/**
+ * Snapshot of the state of a bulkhead of the {@link ConnectorServer}.
+ *
+ * @see ConnectorServer#getBulkheadStatistics()
+ * @since 1.6.1.0
+ */
+public final class BulkheadStatistics {
+
+    private final BulkheadLimits limits;
+
+    private final int running;
+
+    private final int queued;
+
+    private final long rejected;
+
+    public BulkheadStatistics(final BulkheadLimits limits, final int running, final int queued,
+            final long rejected) {
+        this.limits = limits;
+        this.running = running;
+        this.queued = queued;
+        this.rejected = rejected;
+    }
+
+    public BulkheadLimits getLimits() {
+        return limits;
+    }
+
+    /**
+     * Returns the number of the executing operations.
+     */
+    public int getRunning() {
+        return running;
+    }
+
+    /**
+     * Returns the number of operations waiting for a free slot, the queue depth.
+     */
+    public int getQueued() {
+        return queued;
+    }
+
+    /**
+     * Returns the number of operations rejected since the server started.
+     */
+    public long getRejected() {
+        return rejected;
+    }
+
+    @Override
+    public String toString() {
+        return "BulkheadStatistics{limits=" + limits + ", running=" + running + ", queued=" + queued
+                + ", rejected=" + rejected + "}";
+    }
+}
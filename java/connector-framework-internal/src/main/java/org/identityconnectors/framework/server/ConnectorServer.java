@@ -27,9 +27,12 @@ package org.identityconnectors.framework.server;
 
 import java.net.InetAddress;
 import java.net.URL;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import javax.net.ssl.KeyManager;
 import org.identityconnectors.common.CollectionUtil;
+import org.identityconnectors.framework.api.operations.APIOperation;
 import org.identityconnectors.framework.common.exceptions.ConnectorException;
 
 /**
@@ -76,6 +79,39 @@ public abstract class ConnectorServer {
      */
     private boolean useSSL = false;
 
+    /**
+     * The deflate level of the responses to clients which ask for compression.
+     */
+    private int compressionLevel = 1;
+
+    /**
+     * Serve each connection on its own virtual thread instead of a worker of
+     * the pool.
+     */
+    private boolean useVirtualThreads = false;
+
+    /**
+     * The maximum number of concurrently executing operations, 0 for the
+     * maximum number of worker threads.
+     */
+    private int maxOperations = 0;
+
+    /**
+     * The limits of the operations of each connector.
+     */
+    private BulkheadLimits connectorBulkhead = BulkheadLimits.UNLIMITED;
+
+    /**
+     * The limits of the operations of particular connectors, by connector
+     * name.
+     */
+    private Map<String, BulkheadLimits> connectorBulkheads = Collections.emptyMap();
+
+    /**
+     * The limits of the operations of a type, across all connectors.
+     */
+    private Map<Class<? extends APIOperation>, BulkheadLimits> operationBulkheads = Collections.emptyMap();
+
     /**
      * The bundle URLs for connectors to be hosted in this server.
      */
@@ -233,6 +269,177 @@ public abstract class ConnectorServer {
         useSSL = ssl;
     }
 
+    /**
+     * Returns the level used to compress the traffic of clients which ask for
+     * compression.
+     *
+     * @return the {@link java.util.zip.Deflater} level, 0 if compression is
+     *         turned off.
+     * @since 1.6.1.0
+     */
+    public int getCompressionLevel() {
+        return compressionLevel;
+    }
+
+    /**
+     * Sets the level used to compress the traffic of clients which ask for
+     * compression, from 1 (fastest, the default) to 9 (best compression).
+     *
+     * @param level
+     *            the {@link java.util.zip.Deflater} level, 0 to refuse
+     *            compression.
+     * @since 1.6.1.0
+     */
+    public void setCompressionLevel(final int level) {
+        assertNotStarted();
+        if (level < 0 || level > 9) {
+            throw new IllegalArgumentException("Compression level must be between 0 and 9: " + level);
+        }
+        compressionLevel = level;
+    }
+
+    /**
+     * Returns true if each connection is served by its own virtual thread.
+     *
+     * @return true if we are to use virtual threads.
+     * @since 1.6.1.0
+     */
+    public boolean getUseVirtualThreads() {
+        return useVirtualThreads;
+    }
+
+    /**
+     * Sets whether each connection is served by its own virtual thread.
+     * <p>
+     * The number of connections is then not limited by the worker threads,
+     * so that many mostly idle clients can stay connected, and only the
+     * {@link #getMaxOperations() executing operations} are limited. Platform
+     * threads are used instead if the JVM doesn't support virtual threads.
+     *
+     * @param virtualThreads
+     *            true if we are to use virtual threads.
+     * @since 1.6.1.0
+     */
+    public void setUseVirtualThreads(final boolean virtualThreads) {
+        assertNotStarted();
+        useVirtualThreads = virtualThreads;
+    }
+
+    /**
+     * Returns the max number of concurrently executing operations.
+     *
+     * @return The max number of executing operations, {@link #getMaxWorkers()}
+     *         if not set.
+     * @since 1.6.1.0
+     */
+    public int getMaxOperations() {
+        return maxOperations > 0 ? maxOperations : maxWorkers;
+    }
+
+    /**
+     * Sets the max number of concurrently executing operations. Requests
+     * over the limit wait until a running operation finishes. Idle
+     * connections don't count.
+     *
+     * @param maxOperations
+     *            The max number of executing operations, 0 for
+     *            {@link #getMaxWorkers()}.
+     * @since 1.6.1.0
+     */
+    public void setMaxOperations(final int maxOperations) {
+        assertNotStarted();
+        if (maxOperations < 0) {
+            throw new IllegalArgumentException("Max operations must not be negative: " + maxOperations);
+        }
+        this.maxOperations = maxOperations;
+    }
+
+    /**
+     * Returns the limits of the operations of each connector.
+     *
+     * @return The limits applied to every {@link org.identityconnectors.framework.api.ConnectorKey}
+     *         without its own limits.
+     * @since 1.6.1.0
+     */
+    public BulkheadLimits getConnectorBulkhead() {
+        return connectorBulkhead;
+    }
+
+    /**
+     * Sets the limits of the operations of each connector. Every
+     * {@link org.identityconnectors.framework.api.ConnectorKey} gets its own
+     * bulkhead with these limits, so that a slow resource can't take up the
+     * workers needed by the other connectors.
+     *
+     * @param limits
+     *            The limits, {@link BulkheadLimits#UNLIMITED} (the default)
+     *            for no limit.
+     * @since 1.6.1.0
+     */
+    public void setConnectorBulkhead(final BulkheadLimits limits) {
+        assertNotStarted();
+        connectorBulkhead = null == limits ? BulkheadLimits.UNLIMITED : limits;
+    }
+
+    /**
+     * Returns the limits of particular connectors.
+     *
+     * @return The limits by connector name.
+     * @since 1.6.1.0
+     */
+    public Map<String, BulkheadLimits> getConnectorBulkheads() {
+        return connectorBulkheads;
+    }
+
+    /**
+     * Sets the limits of particular connectors, used instead of
+     * {@link #getConnectorBulkhead()} for each version of the connector.
+     *
+     * @param limits
+     *            The limits by connector name.
+     * @since 1.6.1.0
+     */
+    public void setConnectorBulkheads(final Map<String, BulkheadLimits> limits) {
+        assertNotStarted();
+        connectorBulkheads = CollectionUtil.newReadOnlyMap(limits);
+    }
+
+    /**
+     * Returns the limits of the operation types.
+     *
+     * @return The limits by operation.
+     * @since 1.6.1.0
+     */
+    public Map<Class<? extends APIOperation>, BulkheadLimits> getOperationBulkheads() {
+        return operationBulkheads;
+    }
+
+    /**
+     * Sets the limits of the operation types, shared by all the connectors.
+     * An operation must get into both the bulkhead of its connector and the
+     * bulkhead of its type.
+     *
+     * @param limits
+     *            The limits by operation.
+     * @since 1.6.1.0
+     */
+    public void setOperationBulkheads(final Map<Class<? extends APIOperation>, BulkheadLimits> limits) {
+        assertNotStarted();
+        operationBulkheads = CollectionUtil.newReadOnlyMap(limits);
+    }
+
+    /**
+     * Returns the current state of the bulkheads, e.g. to monitor their queue
+     * depth.
+     *
+     * @return The statistics by bulkhead name: the connector key or the simple
+     *         name of the operation. Empty if the server is not running.
+     * @since 1.6.1.0
+     */
+    public Map<String, BulkheadStatistics> getBulkheadStatistics() {
+        return Collections.emptyMap();
+    }
+
     /**
      * Returns the base-64 encoded SHA1 hash of the key.
      *
@@ -31,13 +31,17 @@ import java.net.URL;
 import java.net.URLClassLoader;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 import java.util.logging.LogManager;
 import org.identityconnectors.common.IOUtil;
 import org.identityconnectors.common.logging.Log;
 import org.identityconnectors.common.security.SecurityUtil;
 import org.identityconnectors.framework.api.ConnectorInfoManagerFactory;
+import org.identityconnectors.framework.api.operations.APIOperation;
+import org.identityconnectors.framework.common.FrameworkUtil;
 import org.identityconnectors.framework.common.exceptions.ConnectorException;
 import org.slf4j.bridge.SLF4JBridgeHandler;
 
@@ -51,6 +55,16 @@ public final class Main {
 
     private static final String PROP_SSL = "connectorserver.usessl";
 
+    private static final String PROP_COMPRESSION_LEVEL = "connectorserver.compressionLevel";
+
+    private static final String PROP_VIRTUAL_THREADS = "connectorserver.useVirtualThreads";
+
+    private static final String PROP_MAX_OPERATIONS = "connectorserver.maxOperations";
+
+    private static final String PROP_CONNECTOR_BULKHEAD = "connectorserver.bulkhead.connector";
+
+    private static final String PROP_OPERATION_BULKHEAD = "connectorserver.bulkhead.operation";
+
     private static final String PROP_IFADDRESS = "connectorserver.ifaddress";
 
     private static final String PROP_KEY = "connectorserver.key";
@@ -133,6 +147,9 @@ public final class Main {
         String bundleDirStr = properties.getProperty(PROP_BUNDLE_DIR);
         String libDirStr = properties.getProperty(PROP_LIB_DIR);
         String useSSLStr = properties.getProperty(PROP_SSL);
+        String compressionLevelStr = properties.getProperty(PROP_COMPRESSION_LEVEL);
+        String virtualThreadsStr = properties.getProperty(PROP_VIRTUAL_THREADS);
+        String maxOperationsStr = properties.getProperty(PROP_MAX_OPERATIONS);
         String ifAddress = properties.getProperty(PROP_IFADDRESS);
         String keyHash = properties.getProperty(PROP_KEY);
         String loggerClass = properties.getProperty(PROP_LOGGER_CLASS);
@@ -180,14 +197,52 @@ public final class Main {
             boolean useSSL = Boolean.parseBoolean(useSSLStr);
             connectorServer.setUseSSL(useSSL);
         }
+        if (compressionLevelStr != null) {
+            connectorServer.setCompressionLevel(Integer.parseInt(compressionLevelStr));
+        }
+        if (virtualThreadsStr != null) {
+            connectorServer.setUseVirtualThreads(Boolean.parseBoolean(virtualThreadsStr));
+        }
+        if (maxOperationsStr != null) {
+            connectorServer.setMaxOperations(Integer.parseInt(maxOperationsStr));
+        }
         if (ifAddress != null) {
             connectorServer.setIfAddress(InetAddress.getByName(ifAddress));
         }
+        setBulkheads(properties);
         connectorServer.start();
         getLog().info("Connector server listening on port " + port);
         connectorServer.awaitStop();
     }
 
+    /**
+     * Reads the bulkhead limits of all connectors ({@value #PROP_CONNECTOR_BULKHEAD}),
+     * of a connector ({@value #PROP_CONNECTOR_BULKHEAD}.connectorName) and of an
+     * operation ({@value #PROP_OPERATION_BULKHEAD}.SearchApiOp).
+     */
+    private static void setBulkheads(Properties properties) {
+        Map<String, BulkheadLimits> connectorBulkheads = new HashMap<>();
+        Map<Class<? extends APIOperation>, BulkheadLimits> operationBulkheads = new HashMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            String value = properties.getProperty(name);
+            if (name.equals(PROP_CONNECTOR_BULKHEAD)) {
+                connectorServer.setConnectorBulkhead(BulkheadLimits.parse(value));
+            } else if (name.startsWith(PROP_CONNECTOR_BULKHEAD + ".")) {
+                connectorBulkheads.put(name.substring(PROP_CONNECTOR_BULKHEAD.length() + 1),
+                        BulkheadLimits.parse(value));
+            } else if (name.startsWith(PROP_OPERATION_BULKHEAD + ".")) {
+                String operationName = name.substring(PROP_OPERATION_BULKHEAD.length() + 1);
+                Class<? extends APIOperation> operation = FrameworkUtil.allAPIOperations().stream().
+                        filter(op -> op.getSimpleName().equals(operationName)).
+                        findFirst().
+                        orElseThrow(() -> new ConnectorException("Unknown operation in " + name));
+                operationBulkheads.put(operation, BulkheadLimits.parse(value));
+            }
+        }
+        connectorServer.setConnectorBulkheads(connectorBulkheads);
+        connectorServer.setOperationBulkheads(operationBulkheads);
+    }
+
     public static void stop(String[] args) {
         if (connectorServer == null) {
             // Procrun called stop() without calling main().
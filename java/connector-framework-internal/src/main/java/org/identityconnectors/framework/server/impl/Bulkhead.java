@@ -0,0 +1,84 @@
+/*
+ * ====================
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2026 ConnId. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of the Common Development
+ * and Distribution License("CDDL") (the "License").  You may not use this file
+ * except in compliance with the License.
+ *
+ * You can obtain a copy of the License at
+ * http://opensource.org/licenses/cddl1.php
+ * See the License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * When distributing the Covered Code, include this CDDL Header Notice in each file
+ * and include the License file at http://opensource.org/licenses/cddl1.php.
+ * If applicable, add the following below this CDDL Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyrighted [year] [name of copyright owner]"
+ * ====================
+ */
+package org.identityconnectors.framework.server.impl;
+
+import org.identityconnectors.framework.server.BulkheadLimits;
+import org.identityconnectors.framework.server.BulkheadStatistics;
+
+/**
+ * Limits the concurrently executing operations and the operations waiting for
+ * them to finish.
+ */
+final class Bulkhead {
+
+    private final BulkheadLimits limits;
+
+    // guarded by this
+    private int running;
+
+    private int queued;
+
+    private long rejected;
+
+    Bulkhead(final BulkheadLimits limits) {
+        this.limits = limits;
+    }
+
+    /**
+     * Takes a slot, waits in the queue if all the slots are taken.
+     *
+     * @return false if the queue is full too
+     */
+    synchronized boolean enter() throws InterruptedException {
+        if (limits.isUnlimited() || (running < limits.getMaxConcurrent() && queued == 0)) {
+            running++;
+            return true;
+        }
+        if (queued >= limits.getMaxQueued()) {
+            rejected++;
+            return false;
+        }
+        queued++;
+        try {
+            while (running >= limits.getMaxConcurrent()) {
+                wait();
+            }
+        } finally {
+            queued--;
+        }
+        running++;
+        return true;
+    }
+
+    /**
+     * Releases the slot taken by {@link #enter()}.
+     */
+    synchronized void exit() {
+        running--;
+        notify();
+    }
+
+    synchronized BulkheadStatistics getStatistics() {
+        return new BulkheadStatistics(limits, running, queued, rejected);
+    }
+}
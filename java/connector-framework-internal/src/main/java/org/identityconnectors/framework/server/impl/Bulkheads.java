@@ -0,0 +1,116 @@
+/*
+ * ====================
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2026 ConnId. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of the Common Development
+ * and Distribution License("CDDL") (the "License").  You may not use this file
+ * except in compliance with the License.
+ *
+ * You can obtain a copy of the License at
+ * http://opensource.org/licenses/cddl1.php
+ * See the License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * When distributing the Covered Code, include this CDDL Header Notice in each file
+ * and include the License file at http://opensource.org/licenses/cddl1.php.
+ * If applicable, add the following below this CDDL Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyrighted [year] [name of copyright owner]"
+ * ====================
+ */
+package org.identityconnectors.framework.server.impl;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.identityconnectors.common.CollectionUtil;
+import org.identityconnectors.framework.api.ConnectorKey;
+import org.identityconnectors.framework.api.operations.APIOperation;
+import org.identityconnectors.framework.common.exceptions.RetryableException;
+import org.identityconnectors.framework.server.BulkheadLimits;
+import org.identityconnectors.framework.server.BulkheadStatistics;
+import org.identityconnectors.framework.server.ConnectorServer;
+
+/**
+ * The bulkheads of a running {@link ConnectorServer}, one per
+ * {@link ConnectorKey} and one per limited {@link APIOperation}.
+ */
+final class Bulkheads {
+
+    private final BulkheadLimits connectorLimits;
+
+    private final Map<String, BulkheadLimits> connectorNameLimits;
+
+    private final ConcurrentMap<ConnectorKey, Bulkhead> connectorBulkheads = new ConcurrentHashMap<>();
+
+    private final Map<Class<? extends APIOperation>, Bulkhead> operationBulkheads = new LinkedHashMap<>();
+
+    Bulkheads(final ConnectorServer server) {
+        connectorLimits = server.getConnectorBulkhead();
+        connectorNameLimits = server.getConnectorBulkheads();
+        for (Map.Entry<Class<? extends APIOperation>, BulkheadLimits> entry
+                : server.getOperationBulkheads().entrySet()) {
+            operationBulkheads.put(entry.getKey(), new Bulkhead(entry.getValue()));
+        }
+    }
+
+    /**
+     * Enters the bulkhead of the connector and then the bulkhead of the
+     * operation, waits if they are busy.
+     *
+     * @throws RetryableException if a bulkhead is full
+     */
+    void enter(final ConnectorKey key, final Class<? extends APIOperation> operation)
+            throws InterruptedException {
+        Bulkhead connectorBulkhead = getConnectorBulkhead(key);
+        if (!connectorBulkhead.enter()) {
+            throw RetryableException.wrap("Too many operations of connector " + key
+                    + " are running, try again later", (Throwable) null);
+        }
+        boolean entered = false;
+        try {
+            Bulkhead operationBulkhead = operationBulkheads.get(operation);
+            if (operationBulkhead != null && !operationBulkhead.enter()) {
+                throw RetryableException.wrap("Too many " + operation.getSimpleName()
+                        + " operations are running, try again later", (Throwable) null);
+            }
+            entered = true;
+        } finally {
+            if (!entered) {
+                connectorBulkhead.exit();
+            }
+        }
+    }
+
+    /**
+     * Leaves the bulkheads entered by {@link #enter(ConnectorKey, Class)}.
+     */
+    void exit(final ConnectorKey key, final Class<? extends APIOperation> operation) {
+        Bulkhead operationBulkhead = operationBulkheads.get(operation);
+        if (operationBulkhead != null) {
+            operationBulkhead.exit();
+        }
+        getConnectorBulkhead(key).exit();
+    }
+
+    Map<String, BulkheadStatistics> getStatistics() {
+        Map<String, BulkheadStatistics> statistics = new LinkedHashMap<>();
+        for (Map.Entry<ConnectorKey, Bulkhead> entry : connectorBulkheads.entrySet()) {
+            statistics.put(entry.getKey().toString(), entry.getValue().getStatistics());
+        }
+        for (Map.Entry<Class<? extends APIOperation>, Bulkhead> entry : operationBulkheads.entrySet()) {
+            statistics.put(entry.getKey().getSimpleName(), entry.getValue().getStatistics());
+        }
+        return CollectionUtil.asReadOnlyMap(statistics);
+    }
+
+    private Bulkhead getConnectorBulkhead(final ConnectorKey key) {
+        return connectorBulkheads.computeIfAbsent(key, k -> {
+            BulkheadLimits limits = connectorNameLimits.get(k.getConnectorName());
+            return new Bulkhead(null == limits ? connectorLimits : limits);
+        });
+    }
+}
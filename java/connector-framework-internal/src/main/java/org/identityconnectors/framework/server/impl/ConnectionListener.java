@@ -27,11 +27,14 @@ import java.net.Socket;
 import java.net.SocketException;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import org.identityconnectors.common.logging.Log;
 import org.identityconnectors.framework.common.exceptions.ConnectorException;
+import org.identityconnectors.framework.impl.api.OperationExecutors;
 import org.identityconnectors.framework.server.ConnectorServer;
 
 class ConnectionListener extends CCLWatchThread {
@@ -60,6 +63,16 @@ class ConnectionListener extends CCLWatchThread {
      */
     private final ExecutorService threadPool;
 
+    /**
+     * Permits of the concurrently executing operations.
+     */
+    private final Semaphore operationPermits;
+
+    /**
+     * Limits of the operations per connector and operation type.
+     */
+    private final Bulkheads bulkheads;
+
     /**
      * Set to indicated we need to start shutting down
      */
@@ -75,14 +88,35 @@ class ConnectionListener extends CCLWatchThread {
         super("ConnectionListener");
         connectorServer = server;
         this.socket = socket;
-        // idle time timeout
-        threadPool =
-                new ThreadPoolExecutor(server.getMinWorkers(), server.getMaxWorkers(), 30,
-                        TimeUnit.SECONDS, new ArrayBlockingQueue<Runnable>(INTERNAL_QUEUE_SIZE,
-                        true), // fair
-                        new CCLWatchThreadFactory());
-        LOG.ok("Initialized instance of Connection listener with min amount of worker threads: {0} ,and " +
-                "max worker threads: {1}", server.getMinWorkers(), server.getMaxWorkers());
+        operationPermits = new Semaphore(server.getMaxOperations(), true);
+        bulkheads = new Bulkheads(server);
+        if (server.getUseVirtualThreads()) {
+            threadPool = createConnectionThreads();
+            LOG.ok("Initialized instance of Connection listener with a thread per connection and " +
+                    "max executing operations: {0}", server.getMaxOperations());
+        } else {
+            // idle time timeout
+            threadPool =
+                    new ThreadPoolExecutor(server.getMinWorkers(), server.getMaxWorkers(), 30,
+                            TimeUnit.SECONDS, new ArrayBlockingQueue<Runnable>(INTERNAL_QUEUE_SIZE,
+                            true), // fair
+                            new CCLWatchThreadFactory());
+            LOG.ok("Initialized instance of Connection listener with min amount of worker threads: {0} ,and " +
+                    "max worker threads: {1}", server.getMinWorkers(), server.getMaxWorkers());
+        }
+    }
+
+    /**
+     * Creates the unbounded executor running a thread per connection, the
+     * number of busy threads is limited by the operation permits.
+     */
+    private static ExecutorService createConnectionThreads() {
+        ExecutorService executor = OperationExecutors.newVirtualThreadExecutor();
+        if (executor == null) {
+            LOG.warn("Virtual threads are not supported by this JVM, using a platform thread per connection");
+            executor = Executors.newCachedThreadPool(new CCLWatchThreadFactory());
+        }
+        return executor;
     }
 
     @Override
@@ -91,7 +125,7 @@ class ConnectionListener extends CCLWatchThread {
             try {
                 Socket connection = socket.accept();
                 ConnectionProcessor processor =
-                        new ConnectionProcessor(connectorServer, connection);
+                        new ConnectionProcessor(connectorServer, connection, operationPermits, bulkheads);
                 // this really sucks - ideally, execute would block
                 // if the queue is full. now we have to do a busy wait
                 // the effect is that eventually our socket's accept
@@ -131,6 +165,10 @@ class ConnectionListener extends CCLWatchThread {
         }
     }
 
+    Bulkheads getBulkheads() {
+        return bulkheads;
+    }
+
     private synchronized void markStopped() {
         stopped = true;
     }
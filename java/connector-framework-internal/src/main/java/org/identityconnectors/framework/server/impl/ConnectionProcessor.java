@@ -35,6 +35,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.Semaphore;
 import org.identityconnectors.common.l10n.CurrentLocale;
 import org.identityconnectors.common.logging.Log;
 import org.identityconnectors.common.security.GuardedString;
@@ -47,6 +48,7 @@ import org.identityconnectors.framework.api.ConnectorKey;
 import org.identityconnectors.framework.api.operations.APIOperation;
 import org.identityconnectors.framework.common.exceptions.ConnectorException;
 import org.identityconnectors.framework.common.exceptions.InvalidCredentialException;
+import org.identityconnectors.framework.common.exceptions.RetryableException;
 import org.identityconnectors.framework.common.serializer.SerializerUtil;
 import org.identityconnectors.framework.impl.api.ConnectorInfoManagerFactoryImpl;
 import org.identityconnectors.framework.impl.api.ObjectStreamHandler;
@@ -59,10 +61,14 @@ import org.identityconnectors.framework.impl.api.remote.messages.ErrorResponse;
 import org.identityconnectors.framework.impl.api.remote.messages.HelloRequest;
 import org.identityconnectors.framework.impl.api.remote.messages.HelloResponse;
 import org.identityconnectors.framework.impl.api.remote.messages.OperationRequest;
+import org.identityconnectors.framework.impl.api.remote.messages.OperationRequestCredit;
 import org.identityconnectors.framework.impl.api.remote.messages.OperationRequestMoreData;
+import org.identityconnectors.framework.impl.api.remote.messages.OperationRequestStopData;
+import org.identityconnectors.framework.impl.api.remote.messages.OperationResponseBatch;
 import org.identityconnectors.framework.impl.api.remote.messages.OperationResponseEnd;
 import org.identityconnectors.framework.impl.api.remote.messages.OperationResponsePart;
 import org.identityconnectors.framework.impl.api.remote.messages.OperationResponsePause;
+import org.identityconnectors.framework.impl.serializer.binary.BinaryObjectEncoder;
 import org.identityconnectors.framework.server.ConnectorServer;
 
 public class ConnectionProcessor implements Runnable {
@@ -72,7 +78,7 @@ public class ConnectionProcessor implements Runnable {
     private static class RemoteResultsHandler implements ObjectStreamHandler {
         private static final int PAUSE_INTERVAL = 200;
 
-        private final RemoteFrameworkConnection connection;
+        protected final RemoteFrameworkConnection connection;
         private long count = 0;
 
         public RemoteResultsHandler(RemoteFrameworkConnection conn) {
@@ -93,22 +99,160 @@ public class ConnectionProcessor implements Runnable {
                     return true;
                 }
             } catch (RuntimeException e) {
-                if (e.getCause() instanceof IOException) {
-                    throw new BrokenConnectionException((IOException) e.getCause());
-                } else {
-                    throw e;
+                throw wrapConnectionException(e);
+            }
+        }
+
+        /**
+         * Called once the operation has produced all results, before the end
+         * of the stream is written.
+         */
+        public void complete() {
+        }
+
+        /**
+         * Called when the operation failed, before the error is written.
+         */
+        public void abort() {
+        }
+    }
+
+    /**
+     * Sends the results in {@link OperationResponseBatch}'s. The client grants
+     * credit as it consumes the results, so the server only waits for the
+     * client once the granted credit is used up.
+     * <p/>
+     * The client sends one message every {@link OperationRequest#getCreditInterval()}
+     * results it receives: an {@link OperationRequestCredit} while it accepts
+     * more results, or an {@link OperationRequestStopData} after which it
+     * sends nothing else. Before the stream ends all these messages are read,
+     * so that none of them is left on the connection for the next request.
+     */
+    private static class BatchedResultsHandler extends RemoteResultsHandler {
+
+        private final int batchSize;
+        private final int creditInterval;
+        private final List<Object> batch;
+        private long credit;
+        private long sent = 0;
+        private long received = 0;
+        private boolean stopped = false;
+
+        public BatchedResultsHandler(RemoteFrameworkConnection conn, OperationRequest request) {
+            super(conn);
+            batchSize = request.getBatchSize();
+            creditInterval = request.getCreditInterval();
+            credit = request.getWindow();
+            batch = new ArrayList<Object>(batchSize);
+        }
+
+        @Override
+        public boolean handle(Object obj) {
+            try {
+                while (credit <= 0 && !stopped) {
+                    readClientMessage();
+                }
+                if (stopped) {
+                    return false;
+                }
+                batch.add(obj);
+                credit--;
+                if (batch.size() >= batchSize || credit <= 0) {
+                    writeBatch();
                 }
+                return true;
+            } catch (RuntimeException e) {
+                throw wrapConnectionException(e);
+            }
+        }
+
+        @Override
+        public void complete() {
+            try {
+                if (!batch.isEmpty()) {
+                    writeBatch();
+                }
+                readPendingMessages();
+            } catch (RuntimeException e) {
+                throw wrapConnectionException(e);
             }
         }
 
+        @Override
+        public void abort() {
+            batch.clear();
+            try {
+                readPendingMessages();
+            } catch (RuntimeException e) {
+                throw wrapConnectionException(e);
+            }
+        }
+
+        private void writeBatch() {
+            connection.writeObject(new OperationResponseBatch(batch));
+            connection.flush();
+            sent += batch.size();
+            batch.clear();
+        }
+
+        private void readPendingMessages() {
+            while (!stopped && received < sent / creditInterval) {
+                readClientMessage();
+            }
+        }
+
+        private void readClientMessage() {
+            Object message = connection.readObject();
+            received++;
+            if (message instanceof OperationRequestCredit) {
+                credit += ((OperationRequestCredit) message).getCredit();
+            } else if (message instanceof OperationRequestStopData) {
+                stopped = true;
+            } else {
+                throw new ConnectorException("Unexpected message: " + message);
+            }
+        }
+    }
+
+    private static RuntimeException wrapConnectionException(RuntimeException e) {
+        if (e.getCause() instanceof IOException) {
+            return new BrokenConnectionException((IOException) e.getCause());
+        } else {
+            return e;
+        }
     }
 
     private final ConnectorServer connectorServer;
     private final RemoteFrameworkConnection connection;
 
+    /**
+     * Limits the concurrently executing operations of all connections, null
+     * if not limited.
+     */
+    private final Semaphore operationPermits;
+
+    /**
+     * Limits the operations per connector and operation type, null if not
+     * limited.
+     */
+    private final Bulkheads bulkheads;
+
     public ConnectionProcessor(ConnectorServer server, Socket socket) {
+        this(server, socket, null, null);
+    }
+
+    /**
+     * @param operationPermits a permit is held while an operation requested
+     * through this connection executes, null for no limit
+     * @param bulkheads the bulkheads an operation has to enter first, null
+     * for no limit
+     */
+    ConnectionProcessor(ConnectorServer server, Socket socket, Semaphore operationPermits,
+            Bulkheads bulkheads) {
         connectorServer = server;
         connection = new RemoteFrameworkConnection(socket);
+        this.operationPermits = operationPermits;
+        this.bulkheads = bulkheads;
     }
 
     @Override
@@ -191,6 +335,19 @@ public class ConnectionProcessor implements Runnable {
             } else {
                 HelloResponse response = processHelloRequest((HelloRequest) requestObject);
                 connection.writeObject(response);
+                if (response.getException() == null) {
+                    Object encodingVersion = response.getServerInfo().get(HelloResponse.ENCODING_VERSION);
+                    boolean compression = Boolean.TRUE.equals(response.getServerInfo().get(HelloResponse.COMPRESSION));
+                    if (encodingVersion instanceof Integer || compression) {
+                        int version = encodingVersion instanceof Integer
+                                ? (Integer) encodingVersion
+                                : BinaryObjectEncoder.ENCODING_VERSION;
+                        LOG.ok("Switching connection to encoding version {0}, compression {1}",
+                                version, compression);
+                        connection.restartStreams(version,
+                                compression ? connectorServer.getCompressionLevel() : 0);
+                    }
+                }
             }
         } else if (requestObject instanceof OperationRequest) {
 
@@ -200,8 +357,35 @@ public class ConnectionProcessor implements Runnable {
                 connection.writeObject(part);
             } else {
                 OperationRequest opRequest = (OperationRequest) requestObject;
-                OperationResponsePart part = processOperationRequest(opRequest);
-                connection.writeObject(part);
+                if (bulkheads != null) {
+                    // queued in a bulkhead before taking a permit, so that
+                    // the operations of a busy connector don't hold them
+                    try {
+                        bulkheads.enter(opRequest.getConnectorKey(), opRequest.getOperation());
+                    } catch (RetryableException e) {
+                        LOG.warn("Rejecting the operation request: {0}", e.getMessage());
+                        connection.writeObject(new OperationResponsePart(e, null));
+                        return true;
+                    }
+                }
+                try {
+                    // idle connections don't hold a permit, only the running operations
+                    if (operationPermits != null) {
+                        operationPermits.acquire();
+                    }
+                    try {
+                        OperationResponsePart part = processOperationRequest(opRequest);
+                        connection.writeObject(part);
+                    } finally {
+                        if (operationPermits != null) {
+                            operationPermits.release();
+                        }
+                    }
+                } finally {
+                    if (bulkheads != null) {
+                        bulkheads.exit(opRequest.getConnectorKey(), opRequest.getOperation());
+                    }
+                }
             }
         } else if (requestObject instanceof EchoMessage) {
 
@@ -241,7 +425,13 @@ public class ConnectionProcessor implements Runnable {
         Map<String, Object> serverInfo = null;
         Exception exception = null;
         try {
-            serverInfo = new HashMap<String, Object>(1);
+            serverInfo = new HashMap<String, Object>(2);
+            if (request.getEncodingVersion() == BinaryObjectEncoder.COMPACT_ENCODING_VERSION) {
+                serverInfo.put(HelloResponse.ENCODING_VERSION, BinaryObjectEncoder.COMPACT_ENCODING_VERSION);
+            }
+            if (request.isCompression() && connectorServer.getCompressionLevel() > 0) {
+                serverInfo.put(HelloResponse.COMPRESSION, Boolean.TRUE);
+            }
             if (request.isServerInfo()) {
                 serverInfo.put(HelloResponse.SERVER_START_TIME, connectorServer.getStartTime());
 
@@ -308,12 +498,16 @@ public class ConnectionProcessor implements Runnable {
             throws IOException {
         Object result;
         Throwable exception = null;
+        RemoteResultsHandler resultsHandler = null;
         try {
             Method method = getOperationMethod(request);
             APIOperation operation = getAPIOperation(request);
             List<Object> arguments = request.getArguments();
+            resultsHandler = request.getBatchSize() > 0
+                    ? new BatchedResultsHandler(connection, request)
+                    : new RemoteResultsHandler(connection);
             List<Object> argumentsAndStreamHandlers =
-                    populateStreamHandlers(method.getParameterTypes(), arguments);
+                    populateStreamHandlers(method.getParameterTypes(), arguments, resultsHandler);
 
             try {
 
@@ -333,6 +527,7 @@ public class ConnectionProcessor implements Runnable {
             }
             boolean anyStreams = argumentsAndStreamHandlers.size() > arguments.size();
             if (anyStreams) {
+                resultsHandler.complete();
                 try {
                     LOG.ok("Writing blank operation response");
                     connection.writeObject(new OperationResponseEnd());
@@ -351,12 +546,20 @@ public class ConnectionProcessor implements Runnable {
             LOG.error(e, "Exception occurred during the processing of an operation request: {0}", e.getLocalizedMessage());
             exception = e;
             result = null;
+            if (resultsHandler != null) {
+                try {
+                    resultsHandler.abort();
+                } catch (BrokenConnectionException w) {
+                    throw w.getIOException();
+                }
+            }
         }
         LOG.ok("Writing the processed request result out as operation response");
         return new OperationResponsePart(exception, result);
     }
 
-    private List<Object> populateStreamHandlers(Class<?>[] paramTypes, List<Object> arguments) {
+    private List<Object> populateStreamHandlers(Class<?>[] paramTypes, List<Object> arguments,
+            ObjectStreamHandler osh) {
         List<Object> rv = new ArrayList<Object>();
         boolean firstStream = true;
         Iterator<Object> argIt = arguments.iterator();
@@ -366,7 +569,6 @@ public class ConnectionProcessor implements Runnable {
                     throw new UnsupportedOperationException(
                             "At most one stream handler is supported");
                 }
-                ObjectStreamHandler osh = new RemoteResultsHandler(connection);
                 rv.add(StreamHandlerUtil.adaptFromObjectStreamHandler(paramType, osh));
                 firstStream = false;
             } else {
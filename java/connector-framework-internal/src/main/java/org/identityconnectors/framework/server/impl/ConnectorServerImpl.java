@@ -27,6 +27,7 @@ package org.identityconnectors.framework.server.impl;
 import java.net.InetAddress;
 import java.net.ServerSocket;
 import java.util.Calendar;
+import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 import javax.net.ServerSocketFactory;
 import javax.net.ssl.KeyManager;
@@ -37,6 +38,7 @@ import org.identityconnectors.framework.api.ConnectorFacadeFactory;
 import org.identityconnectors.framework.api.ConnectorInfoManagerFactory;
 import org.identityconnectors.framework.common.exceptions.ConnectorException;
 import org.identityconnectors.framework.impl.api.ConnectorInfoManagerFactoryImpl;
+import org.identityconnectors.framework.server.BulkheadStatistics;
 import org.identityconnectors.framework.server.ConnectorServer;
 
 public class ConnectorServerImpl extends ConnectorServer {
@@ -158,6 +160,12 @@ public class ConnectorServerImpl extends ConnectorServer {
         ConnectorFacadeFactory.getManagedInstance().dispose();
     }
 
+    @Override
+    public Map<String, BulkheadStatistics> getBulkheadStatistics() {
+        final ConnectionListener listener = this.listener;
+        return listener == null ? super.getBulkheadStatistics() : listener.getBulkheads().getStatistics();
+    }
+
     @Override
     public void awaitStop() throws InterruptedException {
         stopLatch.await();
@@ -0,0 +1,195 @@
+/*
+ * ====================
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2026 ConnId. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of the Common Development
+ * and Distribution License("CDDL") (the "License").  You may not use this file
+ * except in compliance with the License.
+ *
+ * You can obtain a copy of the License at
+ * http://opensource.org/licenses/cddl1.php
+ * See the License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * When distributing the Covered Code, include this CDDL Header Notice in each file
+ * and include the License file at http://opensource.org/licenses/cddl1.php.
+ * If applicable, add the following below this CDDL Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyrighted [year] [name of copyright owner]"
+ * ====================
+ */
+package org.identityconnectors.common.security.impl;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import javax.crypto.Cipher;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import org.identityconnectors.common.logging.Log;
+import org.identityconnectors.common.security.Encryptor;
+import org.junit.jupiter.api.Test;
+
+public class EncryptorImplTests {
+
+    private static final Log LOG = Log.getLog(EncryptorImplTests.class);
+
+    private static final int ITERATIONS = 20000;
+
+    @Test
+    public void testRoundTrip() {
+        for (Encryptor encryptor : Arrays.asList(new EncryptorImpl(true), new EncryptorImpl(false))) {
+            for (int i = 0; i < 100; i++) {
+                byte[] clear = clearBytes(i);
+                byte[] encrypted = encryptor.encrypt(clear);
+                assertArrayEquals(encrypted, encryptor.encrypt(clear));
+                assertArrayEquals(clear, encryptor.decrypt(encrypted));
+            }
+        }
+    }
+
+    @Test
+    public void testDefaultKeyIsStable() throws Exception {
+        // the default key protects serialized strings, a cached cipher must
+        // produce what a freshly initialized one does
+        byte[] encrypted = new EncryptorImpl(true).encrypt(clearBytes(42));
+        Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
+        cipher.init(Cipher.DECRYPT_MODE, new SecretKeySpec(new byte[] {
+            (byte) 0x23, (byte) 0x65, (byte) 0x87, (byte) 0x22,
+            (byte) 0x59, (byte) 0x78, (byte) 0x54, (byte) 0x43,
+            (byte) 0x64, (byte) 0x05, (byte) 0x6A, (byte) 0xBD,
+            (byte) 0x34, (byte) 0xA2, (byte) 0x34, (byte) 0x57, }, "AES"),
+                new IvParameterSpec(new byte[] {
+                    (byte) 0x51, (byte) 0x65, (byte) 0x22, (byte) 0x23,
+                    (byte) 0x64, (byte) 0x05, (byte) 0x6A, (byte) 0xBE,
+                    (byte) 0x51, (byte) 0x65, (byte) 0x22, (byte) 0x23,
+                    (byte) 0x64, (byte) 0x05, (byte) 0x6A, (byte) 0xBE, }));
+        assertArrayEquals(clearBytes(42), cipher.doFinal(encrypted));
+    }
+
+    @Test
+    public void testRecoversFromFailure() {
+        Encryptor encryptor = new EncryptorImpl(false);
+        byte[] encrypted = encryptor.encrypt(clearBytes(20));
+        assertArrayEquals(clearBytes(20), encryptor.decrypt(encrypted));
+
+        assertThrows(RuntimeException.class, () -> encryptor.decrypt(Arrays.copyOf(encrypted, 17)));
+        assertArrayEquals(clearBytes(20), encryptor.decrypt(encrypted));
+
+        byte[] corrupted = encrypted.clone();
+        corrupted[corrupted.length - 1]++;
+        assertThrows(RuntimeException.class, () -> encryptor.decrypt(corrupted));
+        assertArrayEquals(clearBytes(20), encryptor.decrypt(encrypted));
+        assertArrayEquals(encrypted, encryptor.encrypt(clearBytes(20)));
+    }
+
+    @Test
+    public void testConcurrentUse() throws Exception {
+        Encryptor encryptor = new EncryptorImpl(false);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                final int offset = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 1000; i++) {
+                        byte[] clear = clearBytes(offset + i % 50);
+                        assertArrayEquals(clear, encryptor.decrypt(encryptor.encrypt(clear)));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testCiphersSharedByThreads() throws Exception {
+        EncryptorImpl encryptor = new EncryptorImpl(false);
+        byte[] encrypted = encryptor.encrypt(clearBytes(20));
+        // a thread per call, as with virtual threads, still reuses the pooled ciphers
+        for (int i = 0; i < 20; i++) {
+            FutureTask<byte[]> task = new FutureTask<>(() -> encryptor.decrypt(encryptor.encrypt(clearBytes(20))));
+            new Thread(task).start();
+            assertArrayEquals(clearBytes(20), task.get());
+        }
+        assertEquals(1, encryptor.encryptCiphers.size());
+        assertEquals(1, encryptor.decryptCiphers.size());
+
+        List<FutureTask<Void>> tasks = new ArrayList<>();
+        for (int t = 0; t < 4 * EncryptorImpl.MAX_POOLED_CIPHERS; t++) {
+            tasks.add(new FutureTask<>(() -> {
+                for (int i = 0; i < 100; i++) {
+                    assertArrayEquals(encrypted, encryptor.encrypt(clearBytes(20)));
+                }
+                return null;
+            }));
+        }
+        tasks.forEach(task -> new Thread(task).start());
+        for (FutureTask<Void> task : tasks) {
+            task.get();
+        }
+        assertTrue(encryptor.encryptCiphers.size() <= EncryptorImpl.MAX_POOLED_CIPHERS);
+    }
+
+    /**
+     * Encryption of a short password as done for every guarded string access,
+     * compared with initializing a cipher for each call.
+     */
+    @Test
+    public void testThroughput() throws Exception {
+        EncryptorImpl encryptor = new EncryptorImpl(false);
+        byte[] clear = clearBytes(12);
+        byte[] encrypted = encryptor.encrypt(clear);
+        int checksum = 0;
+        for (int i = 0; i < ITERATIONS / 10; i++) {
+            checksum += encryptor.decrypt(encryptor.encrypt(clear)).length;
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            checksum += encryptor.decrypt(encryptor.encrypt(clear)).length;
+        }
+        long cached = (System.nanoTime() - start) / ITERATIONS;
+
+        SecretKeySpec key = new SecretKeySpec(clearBytes(16), "AES");
+        IvParameterSpec iv = new IvParameterSpec(clearBytes(16));
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
+            cipher.init(Cipher.ENCRYPT_MODE, key, iv);
+            byte[] bytes = cipher.doFinal(clear);
+            cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
+            cipher.init(Cipher.DECRYPT_MODE, key, iv);
+            checksum += cipher.doFinal(bytes).length;
+        }
+        long uncached = (System.nanoTime() - start) / ITERATIONS;
+
+        assertEquals((ITERATIONS / 10 + 2 * ITERATIONS) * clear.length, checksum);
+        assertArrayEquals(clear, encryptor.decrypt(encrypted));
+        LOG.info("Encrypt and decrypt: {0} ns with cached ciphers, {1} ns with new ciphers", cached, uncached);
+    }
+
+    private static byte[] clearBytes(int length) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            builder.append((char) ('a' + i % 26));
+        }
+        return builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
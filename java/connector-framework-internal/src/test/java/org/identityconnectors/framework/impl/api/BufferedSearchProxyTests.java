@@ -24,12 +24,19 @@
 package org.identityconnectors.framework.impl.api;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.lang.reflect.Proxy;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.identityconnectors.framework.api.operations.SearchApiOp;
 import org.identityconnectors.framework.common.exceptions.OperationTimeoutException;
 import org.identityconnectors.framework.common.objects.ConnectorObject;
@@ -182,6 +189,71 @@ public class BufferedSearchProxyTests {
         expected.assertFinished();
     }
 
+    @Test
+    public void adaptiveBuffer() throws Exception {
+        BufferedResultsProxy.ResultsBuffer buffer = new BufferedResultsProxy.ResultsBuffer(100);
+        assertEquals(BufferedResultsProxy.ResultsBuffer.MIN_CAPACITY, buffer.getCapacity());
+        List<Object> batch = new ArrayList<>();
+        // the consumer finds the buffer full, it grows up to the limit
+        for (int expected : new int[] { 32, 64, 100, 100 }) {
+            int capacity = buffer.getCapacity();
+            for (int i = 0; i < capacity; i++) {
+                assertTrue(buffer.put(i));
+            }
+            batch.clear();
+            assertTrue(buffer.drainTo(batch, 1000));
+            assertEquals(capacity, batch.size());
+            assertEquals(expected, buffer.getCapacity());
+            buffer.release(batch.size());
+        }
+        // the consumer waits for the producer, it shrinks
+        batch.clear();
+        assertFalse(buffer.drainTo(batch, 10));
+        assertTrue(batch.isEmpty());
+        assertEquals(50, buffer.getCapacity());
+
+        buffer.close();
+        assertFalse(buffer.put(0));
+    }
+
+    @Test
+    public void bufferCountsTakenObjects() throws Exception {
+        BufferedResultsProxy.ResultsBuffer buffer = new BufferedResultsProxy.ResultsBuffer(16);
+        for (int i = 0; i < 16; i++) {
+            assertTrue(buffer.put(i));
+        }
+        List<Object> batch = new ArrayList<>();
+        assertTrue(buffer.drainTo(batch, 1000));
+        assertEquals(16, batch.size());
+
+        // the batch still takes up the whole buffer
+        CountDownLatch added = new CountDownLatch(1);
+        Thread producer = new Thread(() -> {
+            try {
+                buffer.put(16);
+                added.countDown();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+        assertFalse(added.await(200, TimeUnit.MILLISECONDS));
+
+        buffer.release(8);
+        assertTrue(added.await(10, TimeUnit.SECONDS));
+        producer.join();
+    }
+
+    @Test
+    public void fastProducer() {
+        ExpectedTestResults expected = new ExpectedTestResults();
+        expected.addExpectedRange(0, 10000);
+        SearchApiOp search = new Searches.ConnectorObjectSearch(10000);
+        SearchApiOp proxy = createSearchProxy(search, 100, 50000);
+        proxy.search(ObjectClass.ACCOUNT, null, expected, null);
+        expected.assertFinished();
+    }
+
     @Test
     public void slowProducer() {
         // test the limit on a range..
@@ -196,8 +268,36 @@ public class BufferedSearchProxyTests {
         }
     }
 
+    @Test
+    public void withExecutor() {
+        AtomicInteger executed = new AtomicInteger();
+        // falls back to platform threads before JDK 21
+        ExecutorService threads = OperationExecutors.newExecutor(OperationExecutors.VIRTUAL_THREADS);
+        try {
+            Executor executor = task -> {
+                executed.incrementAndGet();
+                threads.execute(task);
+            };
+            for (int i = 0; i < 3; i++) {
+                ExpectedTestResults expected = new ExpectedTestResults();
+                expected.addExpectedRange(0, 10);
+                SearchApiOp search = new Searches.ConnectorObjectSearch(10);
+                SearchApiOp proxy = createSearchProxy(search, 2, 50000, executor);
+                proxy.search(ObjectClass.ACCOUNT, null, expected, null);
+                expected.assertFinished();
+            }
+            assertEquals(3, executed.get());
+        } finally {
+            threads.shutdown();
+        }
+    }
+
     private static SearchApiOp createSearchProxy(SearchApiOp search, int bufSize, long timeout) {
-        BufferedResultsProxy timeoutHandler = new BufferedResultsProxy(search, bufSize, timeout);
+        return createSearchProxy(search, bufSize, timeout, null);
+    }
+
+    private static SearchApiOp createSearchProxy(SearchApiOp search, int bufSize, long timeout, Executor executor) {
+        BufferedResultsProxy timeoutHandler = new BufferedResultsProxy(search, bufSize, timeout, executor);
         return (SearchApiOp) Proxy.newProxyInstance(SearchApiOp.class.getClassLoader(),
                 new Class<?>[] { SearchApiOp.class },
                 timeoutHandler);
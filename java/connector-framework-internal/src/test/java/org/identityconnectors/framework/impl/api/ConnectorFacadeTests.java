@@ -25,6 +25,9 @@
 package org.identityconnectors.framework.impl.api;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
@@ -38,6 +41,7 @@ import org.identityconnectors.framework.api.APIConfiguration;
 import org.identityconnectors.framework.api.ConnectorFacade;
 import org.identityconnectors.framework.api.ConnectorFacadeFactory;
 import org.identityconnectors.framework.api.operations.APIOperation;
+import org.identityconnectors.framework.api.operations.CreateApiOp;
 import org.identityconnectors.framework.api.operations.GetApiOp;
 import org.identityconnectors.framework.api.operations.SearchApiOp;
 import org.identityconnectors.framework.api.operations.UpdateApiOp;
@@ -191,6 +195,23 @@ public class ConnectorFacadeTests {
         });
     }
 
+    @Test
+    public void repeatedCallPattern() {
+        // the connector is neither pooled nor stateful, so each call gets its own connector instance
+        Configuration config = new MockConfiguration(false);
+        APIConfiguration impl = TestHelpers.createTestConfiguration(MockAllOpsConnector.class, config);
+        ConnectorFacade facade = ConnectorFacadeFactory.getInstance().newInstance(impl);
+        facade.schema();
+        facade.schema();
+        List<MockConnector.Call> calls = MockConnector.getCallPattern();
+        for (int i = 0; i < 2; i++) {
+            assertEquals("init", calls.remove(0).getMethodName());
+            assertEquals("schema", calls.remove(0).getMethodName());
+            assertEquals("dispose", calls.remove(0).getMethodName());
+        }
+        assertTrue(calls.isEmpty());
+    }
+
     @Test
     public void authenticateCallPattern() {
         testCallPattern(new TestOperationPattern() {
@@ -636,6 +657,49 @@ public class ConnectorFacadeTests {
         assertTrue(obj.getAttributeByName("does not exist") == null);
     }
 
+    @Test
+    public void managedFacadeCache() {
+        ConnectorFacadeFactory factory = ConnectorFacadeFactory.getManagedInstance();
+        APIConfiguration config1 = TestHelpers.createTestConfiguration(
+                MockAllOpsConnector.class, new MockConfiguration(false));
+        APIConfiguration config2 = TestHelpers.createTestConfiguration(
+                MockAllOpsConnector.class, new MockConfiguration(false));
+        String fingerprint = ((APIConfigurationImpl) config1).getFingerprint();
+        assertEquals(fingerprint, ((APIConfigurationImpl) config2).getFingerprint());
+
+        ConnectorFacade facade = factory.newInstance(config1);
+        assertSame(facade, factory.newInstance(config2));
+
+        // changes after the facade was created are seen
+        config2.setTimeout(CreateApiOp.class, 1000);
+        assertNotEquals(fingerprint, ((APIConfigurationImpl) config2).getFingerprint());
+        assertNotSame(facade, factory.newInstance(config2));
+        config1.getConfigurationProperties().setPropertyValue("fail", true);
+        assertNotEquals(fingerprint, ((APIConfigurationImpl) config1).getFingerprint());
+        assertNotSame(facade, factory.newInstance(config1));
+        config1.getConfigurationProperties().setPropertyValue("fail", false);
+        assertSame(facade, factory.newInstance(config1));
+    }
+
+    @Test
+    public void fingerprintOfGuardedValue() {
+        ConfigurationPropertyImpl prop = new ConfigurationPropertyImpl();
+        prop.setName("password");
+        prop.setType(GuardedString.class);
+        prop.setValue(new GuardedString("secret".toCharArray()));
+        ConfigurationPropertiesImpl props = new ConfigurationPropertiesImpl();
+        props.setProperties(CollectionUtil.newList(prop));
+        APIConfigurationImpl config = new APIConfigurationImpl();
+        config.setConfigurationProperties(props);
+        config.setSupportedOperations(new HashSet<>());
+
+        String fingerprint = config.getFingerprint();
+        props.setPropertyValue("password", new GuardedString("secret".toCharArray()));
+        assertEquals(fingerprint, config.getFingerprint());
+        props.setPropertyValue("password", new GuardedString("other".toCharArray()));
+        assertNotEquals(fingerprint, config.getFingerprint());
+    }
+
     static Uid newUid(int id) {
         return new Uid(Integer.toString(id));
     }
@@ -26,6 +26,7 @@ package org.identityconnectors.framework.impl.api;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
@@ -40,11 +41,19 @@ import java.util.List;
 import java.util.Locale;
 import java.util.ResourceBundle;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
 import org.identityconnectors.common.CollectionUtil;
 import org.identityconnectors.common.Version;
 import org.identityconnectors.common.l10n.CurrentLocale;
+import org.identityconnectors.common.pooling.InMemoryObjectPoolMetrics;
+import org.identityconnectors.common.pooling.ObjectPoolStatistics;
 import org.identityconnectors.common.security.GuardedString;
 import org.identityconnectors.framework.api.APIConfiguration;
+import org.identityconnectors.framework.api.AsyncConnectorFacade;
 import org.identityconnectors.framework.api.ConfigurationProperties;
 import org.identityconnectors.framework.api.ConfigurationProperty;
 import org.identityconnectors.framework.api.ConnectorFacade;
@@ -53,6 +62,7 @@ import org.identityconnectors.framework.api.ConnectorInfo;
 import org.identityconnectors.framework.api.ConnectorInfoManager;
 import org.identityconnectors.framework.api.ConnectorKey;
 import org.identityconnectors.framework.api.operations.APIOperation;
+import org.identityconnectors.framework.api.operations.BatchApiOp;
 import org.identityconnectors.framework.api.operations.CreateApiOp;
 import org.identityconnectors.framework.api.operations.LiveSyncApiOp;
 import org.identityconnectors.framework.api.operations.SearchApiOp;
@@ -63,6 +73,8 @@ import org.identityconnectors.framework.common.exceptions.OperationTimeoutExcept
 import org.identityconnectors.framework.common.objects.Attribute;
 import org.identityconnectors.framework.common.objects.AttributeBuilder;
 import org.identityconnectors.framework.common.objects.AttributeInfo;
+import org.identityconnectors.framework.common.objects.BatchItem;
+import org.identityconnectors.framework.common.objects.BatchItemResult;
 import org.identityconnectors.framework.common.objects.ConnectorObject;
 import org.identityconnectors.framework.common.objects.ConnectorObjectIdentification;
 import org.identityconnectors.framework.common.objects.ConnectorObjectReference;
@@ -75,6 +87,7 @@ import org.identityconnectors.framework.common.objects.Schema;
 import org.identityconnectors.framework.common.objects.ScriptContextBuilder;
 import org.identityconnectors.framework.common.objects.SyncDelta;
 import org.identityconnectors.framework.common.objects.SyncToken;
+import org.identityconnectors.framework.common.objects.Uid;
 import org.identityconnectors.framework.impl.api.local.ConnectorPoolManager;
 import org.identityconnectors.testconnector.TstConnector;
 import org.junit.jupiter.api.AfterEach;
@@ -334,6 +347,21 @@ public abstract class ConnectorInfoManagerTestBase {
             ConnectorObject obj = results.get(i);
             assertEquals(String.valueOf(i), obj.getUid().getUidValue());
         }
+
+        // stopping in the middle of a batch must leave the connection usable for the next request
+        results.clear();
+        facade.search(ObjectClass.ACCOUNT, null, (final ConnectorObject obj) -> {
+            results.add(obj);
+            return results.size() < 7;
+        }, null);
+        assertEquals(7, results.size());
+
+        results.clear();
+        facade.search(ObjectClass.ACCOUNT, null, (final ConnectorObject obj) -> {
+            results.add(obj);
+            return true;
+        }, null);
+        assertEquals(1000, results.size());
     }
 
     @Test
@@ -627,10 +655,177 @@ public abstract class ConnectorInfoManagerTestBase {
         config.getConnectorPoolConfiguration().setMinIdle(1);
         config.getConnectorPoolConfiguration().setMaxIdle(2);
         facade1 = ConnectorFacadeFactory.getInstance().newInstance(config);
+        // the operation proxies of a pooled connector are built once
+        assertSame(facade1.getOperation(CreateApiOp.class), facade1.getOperation(CreateApiOp.class));
         assertEquals("5", facade1.create(ObjectClass.ACCOUNT, attrs, options).getUidValue());
         assertEquals("5", facade1.create(ObjectClass.ACCOUNT, attrs, options).getUidValue());
         assertEquals("5", facade1.create(ObjectClass.ACCOUNT, attrs, options).getUidValue());
         assertEquals("5", facade1.create(ObjectClass.ACCOUNT, attrs, options).getUidValue());
+
+        // the pool is only visible when the connector runs locally
+        ObjectPoolStatistics statistics = facade1.getPoolStatistics();
+        if (null != statistics) {
+            assertEquals(1, statistics.getNumIdle());
+            assertEquals(0, statistics.getNumActive());
+            InMemoryObjectPoolMetrics metrics = (InMemoryObjectPoolMetrics) statistics.getMetrics();
+            assertEquals(4, metrics.getBorrowWait().getCount());
+            assertEquals(1, metrics.getCreateLatency().getCount());
+            assertEquals(0, metrics.getTimeouts());
+        }
+    }
+
+    @Test
+    public void testBatch() throws Exception {
+        ConnectorInfoManager manager = getConnectorInfoManager();
+        ConnectorInfo info = findConnectorInfo(manager,
+                "1.0.0.0",
+                "org.identityconnectors.testconnector.TstConnector");
+        assertNotNull(info);
+        ConnectorFacade facade = ConnectorFacadeFactory.getInstance().newInstance(
+                info.createDefaultAPIConfiguration());
+        // the connector has no BatchOp, the facade runs the items one after another
+        assertFalse(facade.getSupportedOperations().contains(BatchApiOp.class));
+
+        OperationOptions options = new OperationOptionsBuilder().setOption("testPooling", "true").build();
+        Set<Attribute> attrs = CollectionUtil.<Attribute>newReadOnlySet();
+        List<BatchItem> items = new ArrayList<>();
+        items.add(BatchItem.create(ObjectClass.ACCOUNT, attrs, null));
+        items.add(BatchItem.create(ObjectClass.ACCOUNT, CollectionUtil.<Attribute>newReadOnlySet(new Uid("1")), null));
+        items.add(BatchItem.delete(ObjectClass.ACCOUNT, new Uid("1"), null));
+        items.add(BatchItem.create(ObjectClass.ACCOUNT, attrs, null));
+        List<BatchItemResult> results = facade.executeBatch(items, options);
+
+        assertEquals(4, results.size());
+        // all items run on one connector
+        assertTrue(results.get(0).isSuccess());
+        assertEquals(results.get(0).getUid(), results.get(3).getUid());
+        // a uid can't be created
+        assertFalse(results.get(1).isSuccess());
+        // the connector can't delete
+        assertFalse(results.get(2).isSuccess());
+        assertNotNull(results.get(2).getError());
+    }
+
+    @Test
+    public void testAsyncFacade() throws Exception {
+        ConnectorInfoManager manager = getConnectorInfoManager();
+        ConnectorInfo info = findConnectorInfo(manager,
+                "1.0.0.0",
+                "org.identityconnectors.testconnector.TstConnector");
+        assertNotNull(info);
+        APIConfiguration api = info.createDefaultAPIConfiguration();
+        api.getConfigurationProperties().getProperty("numResults").setValue(1000);
+        AsyncConnectorFacade facade = ConnectorFacadeFactory.getInstance().newAsyncInstance(api);
+
+        assertNotNull(facade.schema().get(30, TimeUnit.SECONDS));
+
+        // pull all the objects ten at a time
+        CollectingSubscriber all = new CollectingSubscriber(10, Integer.MAX_VALUE);
+        facade.search(ObjectClass.ACCOUNT, null, null).subscribe(all);
+        assertTrue(all.done.await(30, TimeUnit.SECONDS));
+        assertNull(all.error);
+        assertTrue(all.completed);
+        assertEquals(1000, all.results.size());
+        for (int i = 0; i < all.results.size(); i++) {
+            assertEquals(String.valueOf(i), all.results.get(i).getUid().getUidValue());
+        }
+
+        // cancel in the middle of the third request
+        CollectingSubscriber some = new CollectingSubscriber(10, 25);
+        facade.search(ObjectClass.ACCOUNT, null, null).subscribe(some);
+        assertTrue(some.done.await(30, TimeUnit.SECONDS));
+        assertNull(some.error);
+        assertFalse(some.completed);
+        assertEquals(25, some.results.size());
+
+        CollectingSubscriber invalid = new CollectingSubscriber(0, Integer.MAX_VALUE);
+        facade.search(ObjectClass.ACCOUNT, null, null).subscribe(invalid);
+        assertTrue(invalid.done.await(30, TimeUnit.SECONDS));
+        assertTrue(invalid.error instanceof IllegalArgumentException);
+        assertTrue(invalid.results.isEmpty());
+    }
+
+    @Test
+    public void testAsyncFacadeWithBoundedExecutor() throws Exception {
+        ConnectorInfoManager manager = getConnectorInfoManager();
+        ConnectorInfo info = findConnectorInfo(manager,
+                "1.0.0.0",
+                "org.identityconnectors.testconnector.TstConnector");
+        assertNotNull(info);
+        APIConfiguration api = info.createDefaultAPIConfiguration();
+        api.getConfigurationProperties().getProperty("numResults").setValue(100);
+        // the buffered search submits its producer to the operation executor and waits for it
+        ExecutorService executor = Executors.newFixedThreadPool(1);
+        api.setOperationExecutor(executor);
+        try {
+            AsyncConnectorFacade facade = ConnectorFacadeFactory.getInstance().newAsyncInstance(api);
+            CollectingSubscriber first = new CollectingSubscriber(10, Integer.MAX_VALUE);
+            CollectingSubscriber second = new CollectingSubscriber(10, Integer.MAX_VALUE);
+            facade.search(ObjectClass.ACCOUNT, null, null).subscribe(first);
+            facade.search(ObjectClass.ACCOUNT, null, null).subscribe(second);
+            assertTrue(first.done.await(30, TimeUnit.SECONDS));
+            assertTrue(second.done.await(30, TimeUnit.SECONDS));
+            assertNull(first.error);
+            assertNull(second.error);
+            assertEquals(100, first.results.size());
+            assertEquals(100, second.results.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Requests the objects in steps and cancels the subscription after the limit.
+     */
+    private static class CollectingSubscriber implements Flow.Subscriber<ConnectorObject> {
+
+        private final int step;
+
+        private final int limit;
+
+        private final List<ConnectorObject> results = new ArrayList<>();
+
+        private final CountDownLatch done = new CountDownLatch(1);
+
+        private Flow.Subscription subscription;
+
+        private volatile boolean completed;
+
+        private volatile Throwable error;
+
+        CollectingSubscriber(int step, int limit) {
+            this.step = step;
+            this.limit = limit;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(step);
+        }
+
+        @Override
+        public void onNext(ConnectorObject item) {
+            results.add(item);
+            if (results.size() == limit) {
+                subscription.cancel();
+                done.countDown();
+            } else if (results.size() % step == 0) {
+                subscription.request(step);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            done.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+            done.countDown();
+        }
     }
 
     @Test
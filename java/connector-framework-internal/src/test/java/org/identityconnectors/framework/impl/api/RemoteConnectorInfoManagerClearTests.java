@@ -25,17 +25,32 @@ package org.identityconnectors.framework.impl.api;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 
 import java.net.InetAddress;
+import java.net.Socket;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.List;
+import org.identityconnectors.common.l10n.CurrentLocale;
 import org.identityconnectors.common.security.GuardedString;
 import org.identityconnectors.common.security.SecurityUtil;
+import org.identityconnectors.framework.api.APIConfiguration;
+import org.identityconnectors.framework.api.ConnectorFacade;
 import org.identityconnectors.framework.api.ConnectorFacadeFactory;
+import org.identityconnectors.framework.api.ConnectorInfo;
 import org.identityconnectors.framework.api.ConnectorInfoManager;
 import org.identityconnectors.framework.api.ConnectorInfoManagerFactory;
 import org.identityconnectors.framework.api.RemoteFrameworkConnectionInfo;
+import org.identityconnectors.framework.api.operations.SyncApiOp;
+import org.identityconnectors.framework.common.objects.ObjectClass;
+import org.identityconnectors.framework.common.objects.OperationOptions;
+import org.identityconnectors.framework.common.objects.SyncResultsHandler;
+import org.identityconnectors.framework.common.objects.SyncToken;
+import org.identityconnectors.framework.common.serializer.SerializerUtil;
 import org.identityconnectors.framework.impl.api.remote.RemoteConnectorInfoManagerImpl;
+import org.identityconnectors.framework.impl.api.remote.RemoteFrameworkConnection;
+import org.identityconnectors.framework.impl.api.remote.messages.EchoMessage;
 import org.identityconnectors.framework.impl.api.remote.messages.HelloResponse;
 import org.identityconnectors.framework.server.ConnectorServer;
 import org.junit.jupiter.api.Test;
@@ -46,6 +61,8 @@ public class RemoteConnectorInfoManagerClearTests extends ConnectorInfoManagerTe
 
     private final int PORT = 8759;
 
+    private int compressionLevel = 0;
+
     /**
      * To be overridden by subclasses to get different ConnectorInfoManagers
      *
@@ -69,7 +86,8 @@ public class RemoteConnectorInfoManagerClearTests extends ConnectorInfoManagerTe
         ConnectorInfoManagerFactory fact = ConnectorInfoManagerFactory.getInstance();
 
         RemoteFrameworkConnectionInfo connInfo = new RemoteFrameworkConnectionInfo(
-                "127.0.0.1", PORT, new GuardedString("changeit".toCharArray()), false, null, 0);
+                "127.0.0.1", PORT, new GuardedString("changeit".toCharArray()), false, null, 0, null,
+                compressionLevel);
 
         return fact.getRemoteManager(connInfo);
     }
@@ -95,4 +113,126 @@ public class RemoteConnectorInfoManagerClearTests extends ConnectorInfoManagerTe
         assertNotNull(mgr.getServerInfo().get(HelloResponse.SERVER_START_TIME));
         assertEquals(mgr.getConnectorKeys().size(), 4);
     }
+
+    @Test
+    public void testIdleConnections() throws Exception {
+        final int port = 8763;
+        ConnectorServer server = ConnectorServer.newInstance();
+        server.setKeyHash(SecurityUtil.computeBase64SHA1Hash("changeit".toCharArray()));
+        server.setBundleURLs(getTestBundles());
+        server.setPort(port);
+        server.setIfAddress(InetAddress.getByName("127.0.0.1"));
+        server.setMinWorkers(1);
+        server.setMaxWorkers(2);
+        server.setUseVirtualThreads(true);
+        server.start();
+        List<Socket> idle = new ArrayList<>();
+        try {
+            // many more idle clients than workers
+            for (int i = 0; i < 20; i++) {
+                idle.add(new Socket("127.0.0.1", port));
+            }
+            ConnectorInfoManager manager = new RemoteConnectorInfoManagerImpl(
+                    new RemoteFrameworkConnectionInfo("127.0.0.1", port, new GuardedString("changeit".toCharArray())));
+            ConnectorInfo info = manager.getConnectorInfos().stream().
+                    filter(i -> "org.identityconnectors.testconnector.TstConnector".equals(
+                    i.getConnectorKey().getConnectorName())).
+                    findFirst().orElse(null);
+            assertNotNull(info);
+            ConnectorFacade facade = ConnectorFacadeFactory.getInstance().newInstance(
+                    info.createDefaultAPIConfiguration());
+            assertNotNull(facade.schema());
+        } finally {
+            for (Socket socket : idle) {
+                socket.close();
+            }
+            server.stop();
+        }
+    }
+
+    @Test
+    public void testCompactEncoding() throws Exception {
+        System.setProperty(RemoteFrameworkConnection.COMPACT_ENCODING_PROP, "true");
+        try {
+            testSearchWithManyResults();
+            testRemoteHelloRequest();
+        } finally {
+            System.clearProperty(RemoteFrameworkConnection.COMPACT_ENCODING_PROP);
+        }
+    }
+
+    @Test
+    public void testCompression() throws Exception {
+        compressionLevel = 1;
+        testSearchWithManyResults();
+        testSyncWithManyResults();
+        System.setProperty(RemoteFrameworkConnection.COMPACT_ENCODING_PROP, "true");
+        try {
+            testSearchWithManyResults();
+        } finally {
+            System.clearProperty(RemoteFrameworkConnection.COMPACT_ENCODING_PROP);
+        }
+    }
+
+    @Test
+    public void testNegotiatedConnections() throws Exception {
+        getConnectorInfoManager();
+        System.setProperty(RemoteFrameworkConnection.COMPACT_ENCODING_PROP, "true");
+        try {
+            for (int level : new int[] { 0, 1 }) {
+                RemoteFrameworkConnectionInfo info = new RemoteFrameworkConnectionInfo(
+                        "127.0.0.1", PORT, new GuardedString("changeit".toCharArray()), false, null, 0, null,
+                        level);
+                // the first connection waits for the answer to its hello,
+                // the others read it together with their first response
+                for (int i = 0; i < 3; i++) {
+                    try (RemoteFrameworkConnection connection = new RemoteFrameworkConnection(info)) {
+                        for (int j = 0; j < 2; j++) {
+                            connection.writeObject(CurrentLocale.get());
+                            connection.writeObject(info.getKey());
+                            connection.writeObject(new EchoMessage("echo " + i + j, null));
+                            assertEquals("echo " + i + j, ((EchoMessage) connection.readObject()).getObject());
+                        }
+                    }
+                }
+            }
+        } finally {
+            System.clearProperty(RemoteFrameworkConnection.COMPACT_ENCODING_PROP);
+        }
+    }
+
+    @Test
+    public void testParallelSyncKeepsBuffer() throws Exception {
+        ConnectorInfo info = getConnectorInfoManager().getConnectorInfos().stream().
+                filter(i -> "org.identityconnectors.testconnector.TstConnector".equals(
+                i.getConnectorKey().getConnectorName())).
+                findFirst().orElse(null);
+        assertNotNull(info);
+        APIConfiguration api = info.createDefaultAPIConfiguration();
+        api.getResultsHandlerConfiguration().setMaxParallelSyncHandlers(4);
+        api.setTimeout(SyncApiOp.class, 60000);
+        AbstractConnectorFacade facade = (AbstractConnectorFacade) ConnectorFacadeFactory.getInstance().
+                newInstance(info, SerializerUtil.serializeBase64Object(api));
+
+        final List<Thread> producers = new ArrayList<>();
+        SyncApiOp sync = (SyncApiOp) facade.createTimeoutProxy(SyncApiOp.class, new SyncApiOp() {
+
+            @Override
+            public SyncToken sync(ObjectClass objectClass, SyncToken token, SyncResultsHandler handler,
+                    OperationOptions options) {
+                producers.add(Thread.currentThread());
+                return null;
+            }
+
+            @Override
+            public SyncToken getLatestSyncToken(ObjectClass objectClass) {
+                return null;
+            }
+        });
+        sync.sync(ObjectClass.ACCOUNT, null, delta -> true, null);
+
+        // the handler of a remote sync is called serially, the deltas are still buffered
+        assertEquals(1, producers.size());
+        assertNotSame(Thread.currentThread(), producers.get(0));
+    }
 }
@@ -0,0 +1,131 @@
+/*
+ * ====================
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2026 ConnId. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of the Common Development
+ * and Distribution License("CDDL") (the "License").  You may not use this file
+ * except in compliance with the License.
+ *
+ * You can obtain a copy of the License at
+ * http://opensource.org/licenses/cddl1.php
+ * See the License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * When distributing the Covered Code, include this CDDL Header Notice in each file
+ * and include the License file at http://opensource.org/licenses/cddl1.php.
+ * If applicable, add the following below this CDDL Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyrighted [year] [name of copyright owner]"
+ * ====================
+ */
+package org.identityconnectors.framework.impl.api;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.net.InetAddress;
+import java.net.URL;
+import java.util.List;
+import org.identityconnectors.common.pooling.ObjectPoolConfiguration;
+import org.identityconnectors.common.security.GuardedString;
+import org.identityconnectors.common.security.SecurityUtil;
+import org.identityconnectors.framework.api.APIConfiguration;
+import org.identityconnectors.framework.api.ConnectorFacade;
+import org.identityconnectors.framework.api.ConnectorFacadeFactory;
+import org.identityconnectors.framework.api.ConnectorInfo;
+import org.identityconnectors.framework.api.ConnectorInfoManager;
+import org.identityconnectors.framework.api.ConnectorInfoManagerFactory;
+import org.identityconnectors.framework.api.RemoteFrameworkConnectionInfo;
+import org.identityconnectors.framework.impl.api.local.ObjectPool;
+import org.identityconnectors.framework.impl.api.local.ObjectPoolEntry;
+import org.identityconnectors.framework.impl.api.remote.RemoteConnectionPoolManager;
+import org.identityconnectors.framework.impl.api.remote.RemoteFrameworkConnection;
+import org.identityconnectors.framework.server.ConnectorServer;
+import org.junit.jupiter.api.Test;
+
+public class RemoteConnectorInfoManagerPooledTests extends ConnectorInfoManagerTestBase {
+
+    private static ConnectorServer _server;
+
+    private final int PORT = 8762;
+
+    private RemoteFrameworkConnectionInfo getConnectionInfo() {
+        ObjectPoolConfiguration poolConfiguration = new ObjectPoolConfiguration();
+        poolConfiguration.setMaxObjects(4);
+        poolConfiguration.setMaxIdle(4);
+        return new RemoteFrameworkConnectionInfo(
+                "127.0.0.1", PORT, new GuardedString("changeit".toCharArray()), false, null, 0, poolConfiguration);
+    }
+
+    @Override
+    protected ConnectorInfoManager getConnectorInfoManager() throws Exception {
+        List<URL> urls = getTestBundles();
+
+        synchronized (RemoteConnectorInfoManagerPooledTests.class) {
+            if (_server == null) {
+                _server = ConnectorServer.newInstance();
+                _server.setKeyHash(SecurityUtil.computeBase64SHA1Hash("changeit".toCharArray()));
+                _server.setBundleURLs(urls);
+                _server.setPort(PORT);
+                _server.setIfAddress(InetAddress.getByName("127.0.0.1"));
+                _server.start();
+            }
+        }
+        return ConnectorInfoManagerFactory.getInstance().getRemoteManager(getConnectionInfo());
+    }
+
+    @Override
+    protected synchronized void shutdownConnnectorInfoManager() {
+        synchronized (RemoteConnectorInfoManagerPooledTests.class) {
+            if (_server != null) {
+                _server.stop();
+                _server = null;
+            }
+        }
+        // These are initialized by the connector server.
+        ConnectorFacadeFactory.getInstance().dispose();
+        ConnectorInfoManagerFactory.getInstance().clearLocalCache();
+    }
+
+    @Test
+    public void testConnectionReuse() throws Exception {
+        ConnectorInfoManager manager = getConnectorInfoManager();
+        ConnectorInfo info = manager.getConnectorInfos().stream().
+                filter(i -> "org.identityconnectors.testconnector.TstConnector".equals(
+                i.getConnectorKey().getConnectorName())).
+                findFirst().orElse(null);
+        assertNotNull(info);
+
+        APIConfiguration config = info.createDefaultAPIConfiguration();
+        ConnectorFacade facade = ConnectorFacadeFactory.getInstance().newInstance(config);
+        for (int i = 0; i < 10; i++) {
+            assertNotNull(facade.schema());
+        }
+
+        ObjectPool<RemoteFrameworkConnection> pool = RemoteConnectionPoolManager.getPool(getConnectionInfo());
+        assertEquals(1, pool.getStatistics().getNumIdle());
+        assertEquals(0, pool.getStatistics().getNumActive());
+    }
+
+    @Test
+    public void testBrokenConnectionIsDisposed() throws Exception {
+        getConnectorInfoManager();
+        ObjectPool<RemoteFrameworkConnection> pool = RemoteConnectionPoolManager.getPool(getConnectionInfo());
+
+        RemoteFrameworkConnection first;
+        try (ObjectPoolEntry<RemoteFrameworkConnection> entry = pool.borrowObject()) {
+            first = entry.getPooledObject();
+        }
+        try (ObjectPoolEntry<RemoteFrameworkConnection> entry = pool.borrowObject()) {
+            assertSame(first, entry.getPooledObject());
+            entry.getPooledObject().close();
+        }
+        try (ObjectPoolEntry<RemoteFrameworkConnection> entry = pool.borrowObject()) {
+            assertNotSame(first, entry.getPooledObject());
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * ====================
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2026 ConnId. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of the Common Development
+ * and Distribution License("CDDL") (the "License").  You may not use this file
+ * except in compliance with the License.
+ *
+ * You can obtain a copy of the License at
+ * http://opensource.org/licenses/cddl1.php
+ * See the License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * When distributing the Covered Code, include this CDDL Header Notice in each file
+ * and include the License file at http://opensource.org/licenses/cddl1.php.
+ * If applicable, add the following below this CDDL Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyrighted [year] [name of copyright owner]"
+ * ====================
+ */
+package org.identityconnectors.framework.impl.api.local;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.identityconnectors.common.Pair;
+import org.identityconnectors.common.logging.Log;
+import org.identityconnectors.framework.impl.api.APIConfigurationImpl;
+import org.identityconnectors.framework.impl.api.local.ConnectorPoolManager.ConnectorPoolKey;
+import org.identityconnectors.framework.spi.AbstractConfiguration;
+import org.identityconnectors.framework.spi.Configuration;
+import org.identityconnectors.framework.spi.PoolableConnector;
+import org.identityconnectors.test.common.TestHelpers;
+import org.junit.jupiter.api.Test;
+
+public class ConnectorPoolManagerTests {
+
+    private static final Log LOG = Log.getLog(ConnectorPoolManagerTests.class);
+
+    private static final int TENANTS = 500;
+
+    private static final int ROUNDS = 200;
+
+    @Test
+    public void testKeyIdentity() {
+        APIConfigurationImpl config1 = newConfiguration("tenant");
+        APIConfigurationImpl config2 = newConfiguration("tenant");
+        ConnectorPoolKey key1 = newKey(config1);
+        ConnectorPoolKey key2 = newKey(config2);
+        assertEquals(key1, key2);
+        assertEquals(key1.hashCode(), key2.hashCode());
+
+        // the key keeps the configuration it was made for
+        config1.getConfigurationProperties().setPropertyValue("host", "other");
+        assertEquals(key1, key2);
+        assertNotEquals(key1, newKey(config1));
+
+        config2.getConnectorPoolConfiguration().setMaxObjects(1);
+        assertNotEquals(key2, newKey(config2));
+    }
+
+    /**
+     * A multi-tenant deployment: many instances of one connector which only
+     * differ in their configuration.
+     */
+    @Test
+    public void testManyInstancesOfOneConnector() {
+        List<APIConfigurationImpl> configs = new ArrayList<>();
+        List<Pair<ConnectorPoolKey, ObjectPool<PoolableConnector>>> pools = new ArrayList<>();
+        Set<Integer> hashes = new HashSet<>();
+        try {
+            for (int i = 0; i < TENANTS; i++) {
+                APIConfigurationImpl config = newConfiguration("tenant-" + i + ".example.com");
+                configs.add(config);
+                Pair<ConnectorPoolKey, ObjectPool<PoolableConnector>> pool =
+                        ConnectorPoolManager.getPool(config, (LocalConnectorInfoImpl) config.getConnectorInfo());
+                pools.add(pool);
+                hashes.add(pool.getKey().hashCode());
+            }
+            assertTrue(hashes.size() > TENANTS * 99 / 100, "pool keys share hash codes: " + hashes.size());
+            assertEquals(TENANTS, pools.stream().map(Pair::getValue).distinct().count());
+
+            // the lookup an operation does with the key of its context
+            long start = System.nanoTime();
+            for (int round = 0; round < ROUNDS; round++) {
+                for (Pair<ConnectorPoolKey, ObjectPool<PoolableConnector>> pool : pools) {
+                    assertSame(pool.getValue(), ConnectorPoolManager.getPool(pool.getKey()));
+                }
+            }
+            long lookup = (System.nanoTime() - start) / ((long) ROUNDS * TENANTS);
+
+            // the lookup of a new facade
+            start = System.nanoTime();
+            for (int i = 0; i < TENANTS; i++) {
+                APIConfigurationImpl config = configs.get(i);
+                assertSame(pools.get(i).getValue(), ConnectorPoolManager.getPool(
+                        config, (LocalConnectorInfoImpl) config.getConnectorInfo()).getValue());
+            }
+            long create = (System.nanoTime() - start) / TENANTS;
+            LOG.info("Pool lookup with {0} instances: {1} ns by key, {2} ns by configuration",
+                    TENANTS, lookup, create);
+        } finally {
+            pools.forEach(pool -> ConnectorPoolManager.dispose(pool.getKey()));
+        }
+    }
+
+    private static APIConfigurationImpl newConfiguration(String host) {
+        TenantConfiguration config = new TenantConfiguration();
+        config.setHost(host);
+        return (APIConfigurationImpl) TestHelpers.createTestConfiguration(TenantConnector.class, config);
+    }
+
+    private static ConnectorPoolKey newKey(APIConfigurationImpl config) {
+        return new ConnectorPoolKey(config.getConnectorInfo().getConnectorKey(),
+                config.getConfigurationProperties(), config.getConnectorPoolConfiguration());
+    }
+
+    public static class TenantConfiguration extends AbstractConfiguration {
+
+        private String host;
+
+        public String getHost() {
+            return host;
+        }
+
+        public void setHost(String host) {
+            this.host = host;
+        }
+
+        @Override
+        public void validate() {
+        }
+    }
+
+    public static class TenantConnector implements PoolableConnector {
+
+        @Override
+        public Configuration getConfiguration() {
+            return null;
+        }
+
+        @Override
+        public void init(Configuration cfg) {
+        }
+
+        @Override
+        public void dispose() {
+        }
+
+        @Override
+        public void checkAlive() {
+        }
+    }
+}
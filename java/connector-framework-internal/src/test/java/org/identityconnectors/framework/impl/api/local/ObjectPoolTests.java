@@ -25,10 +25,19 @@ package org.identityconnectors.framework.impl.api.local;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.identityconnectors.common.pooling.InMemoryObjectPoolMetrics;
 import org.identityconnectors.common.pooling.ObjectPoolConfiguration;
+import org.identityconnectors.common.pooling.ObjectPoolMetrics.DisposeReason;
 import org.identityconnectors.framework.common.exceptions.ConnectorException;
 import org.identityconnectors.framework.common.serializer.SerializerUtil;
 import org.identityconnectors.framework.impl.api.local.ObjectPool.Statistics;
@@ -62,6 +71,8 @@ public class ObjectPoolTests {
 
         private int _totalCreatedConnections = 0;
 
+        private final List<MyTestConnection> _createdConnections = Collections.synchronizedList(new ArrayList<>());
+
         @Override
         public ObjectPoolConfiguration validate(ObjectPoolConfiguration original) {
             ObjectPoolConfiguration configuration = (ObjectPoolConfiguration) SerializerUtil.cloneObject(original);
@@ -77,6 +88,7 @@ public class ObjectPoolTests {
             if (_createBadConnection) {
                 rv.dispose();
             }
+            _createdConnections.add(rv);
             return rv;
         }
 
@@ -95,6 +107,10 @@ public class ObjectPoolTests {
             return _totalCreatedConnections;
         }
 
+        public List<MyTestConnection> getCreatedConnections() {
+            return _createdConnections;
+        }
+
         public void setCreateBadConnection(boolean v) {
             _createBadConnection = v;
         }
@@ -104,6 +120,27 @@ public class ObjectPoolTests {
         }
     }
 
+    /**
+     * Blocks in makeObject until it is released.
+     */
+    private class BlockingConnectionFactory extends MyTestConnectionFactory {
+
+        private final CountDownLatch _making = new CountDownLatch(1);
+
+        private final CountDownLatch _release = new CountDownLatch(1);
+
+        @Override
+        public MyTestConnection makeObject() {
+            _making.countDown();
+            try {
+                _release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return super.makeObject();
+        }
+    }
+
     private class MyTestThread extends Thread {
 
         private final ObjectPool<MyTestConnection> _pool;
@@ -267,6 +304,217 @@ public class ObjectPoolTests {
         assertEquals(0, pool.getStatistics().getNumActive());
     }
 
+    @Test
+    public void testMostRecentlyReturnedFirst() throws Exception {
+        ObjectPoolConfiguration config = new ObjectPoolConfiguration();
+        config.setMaxObjects(3);
+        config.setMaxIdle(2);
+        config.setMinIdle(0);
+        MyTestConnectionFactory fact = new MyTestConnectionFactory();
+
+        ObjectPool<MyTestConnection> pool = new ObjectPool<>(fact, config);
+
+        ObjectPoolEntry<MyTestConnection> conn1 = pool.borrowObject();
+        ObjectPoolEntry<MyTestConnection> conn2 = pool.borrowObject();
+        ObjectPoolEntry<MyTestConnection> conn3 = pool.borrowObject();
+        conn1.close();
+        conn2.close();
+        conn3.close();
+
+        // the one idle for the longest is evicted when max idle is exceeded
+        assertEquals(false, conn1.getPooledObject().isGood());
+        assertEquals(2, pool.getStatistics().getNumIdle());
+        assertEquals(0, pool.getStatistics().getNumActive());
+
+        assertSame(conn3, pool.borrowObject());
+        assertSame(conn2, pool.borrowObject());
+        assertEquals(0, pool.getStatistics().getNumIdle());
+        assertEquals(2, pool.getStatistics().getNumActive());
+        assertEquals(3, fact.getTotalCreatedConnections());
+        pool.shutdown();
+    }
+
+    @Test
+    public void testEvictIdleObjects() throws Exception {
+        ObjectPoolConfiguration config = new ObjectPoolConfiguration();
+        config.setMaxObjects(3);
+        config.setMaxIdle(3);
+        config.setMinIdle(1);
+        config.setMinEvictableIdleTimeMillis(200);
+        config.setMaxIdleTimeMillis(200);
+        MyTestConnectionFactory fact = new MyTestConnectionFactory();
+
+        ObjectPool<MyTestConnection> pool = new ObjectPool<>(fact, config);
+
+        ObjectPoolEntry<MyTestConnection> conn1 = pool.borrowObject();
+        ObjectPoolEntry<MyTestConnection> conn2 = pool.borrowObject();
+        conn1.close();
+        conn2.close();
+        assertEquals(2, pool.getStatistics().getNumIdle());
+
+        // nothing expired yet, both pass the test
+        pool.evictIdleObjects();
+        assertEquals(2, pool.getStatistics().getNumIdle());
+
+        // bad idle objects are evicted
+        conn1.getPooledObject().dispose();
+        pool.evictIdleObjects();
+        assertEquals(1, pool.getStatistics().getNumIdle());
+        assertEquals(true, conn2.getPooledObject().isGood());
+
+        // expired idle objects are evicted even below min idle
+        Thread.sleep(config.getMaxIdleTimeMillis() + 100);
+        pool.evictIdleObjects();
+        assertEquals(0, pool.getStatistics().getNumIdle());
+        assertEquals(false, conn2.getPooledObject().isGood());
+
+        pool.ensureMinIdle();
+        assertEquals(1, pool.getStatistics().getNumIdle());
+        assertEquals(0, pool.getStatistics().getNumActive());
+        assertEquals(3, fact.getTotalCreatedConnections());
+        pool.shutdown();
+    }
+
+    @Test
+    public void testBackgroundMaintenance() throws Exception {
+        ObjectPoolConfiguration config = new ObjectPoolConfiguration();
+        config.setMaxObjects(3);
+        config.setMaxIdle(3);
+        config.setMinIdle(2);
+        config.setEvictionIntervalMillis(50);
+        MyTestConnectionFactory fact = new MyTestConnectionFactory();
+
+        ObjectPool<MyTestConnection> pool = new ObjectPool<>(fact, config);
+
+        // warm-up up to min idle
+        Thread.sleep(500);
+        assertEquals(2, pool.getStatistics().getNumIdle());
+        assertEquals(2, fact.getTotalCreatedConnections());
+
+        ObjectPoolEntry<MyTestConnection> conn = pool.borrowObject();
+        // one of the warmed-up objects, the maintenance may have replaced it meanwhile
+        assertTrue(fact.getCreatedConnections().indexOf(conn.getPooledObject()) < 2);
+        conn.getPooledObject().dispose();
+        conn.close();
+
+        // the bad object is evicted and replaced off the request path
+        Thread.sleep(500);
+        assertEquals(2, pool.getStatistics().getNumIdle());
+        assertEquals(3, fact.getTotalCreatedConnections());
+
+        pool.shutdown();
+        Thread.sleep(200);
+        assertEquals(0, pool.getStatistics().getNumIdle());
+        assertEquals(3, fact.getTotalCreatedConnections());
+    }
+
+    @Test
+    public void testMaintenanceDuringShutdown() throws Exception {
+        ObjectPoolConfiguration config = new ObjectPoolConfiguration();
+        config.setMinIdle(1);
+        config.setEvictionIntervalMillis(20);
+        BlockingConnectionFactory fact = new BlockingConnectionFactory();
+
+        ObjectPool<MyTestConnection> pool = new ObjectPool<>(fact, config);
+        assertTrue(fact._making.await(10, TimeUnit.SECONDS));
+        // shut down while the maintenance creates an idle object
+        pool.shutdown();
+        fact._release.countDown();
+
+        for (int i = 0; i < 100 && fact.getCreatedConnections().isEmpty(); i++) {
+            Thread.sleep(20);
+        }
+        Thread.sleep(100);
+        assertEquals(1, fact.getTotalCreatedConnections());
+        assertEquals(false, fact.getCreatedConnections().get(0).isGood());
+        assertEquals(0, pool.getStatistics().getNumIdle());
+        assertEquals(0, pool.getStatistics().getNumActive());
+    }
+
+    @Test
+    public void testHangingMaintenance() throws Exception {
+        ObjectPoolConfiguration config = new ObjectPoolConfiguration();
+        config.setMinIdle(1);
+        config.setEvictionIntervalMillis(20);
+        BlockingConnectionFactory hangingFact = new BlockingConnectionFactory();
+        MyTestConnectionFactory fact = new MyTestConnectionFactory();
+
+        ObjectPool<MyTestConnection> hangingPool = new ObjectPool<>(hangingFact, config);
+        ObjectPool<MyTestConnection> pool = null;
+        try {
+            assertTrue(hangingFact._making.await(10, TimeUnit.SECONDS));
+            // the hanging pool neither blocks other pools nor queues up passes
+            pool = new ObjectPool<>(fact, config);
+            Thread.sleep(500);
+            assertEquals(1, pool.getStatistics().getNumIdle());
+            assertEquals(0, hangingFact.getTotalCreatedConnections());
+        } finally {
+            hangingPool.shutdown();
+            hangingFact._release.countDown();
+            if (pool != null) {
+                pool.shutdown();
+            }
+        }
+    }
+
+    @Test
+    public void testTryBorrow() throws Exception {
+        ObjectPoolConfiguration config = new ObjectPoolConfiguration();
+        config.setMaxObjects(2);
+        config.setMaxIdle(2);
+        config.setMinIdle(0);
+        MyTestConnectionFactory fact = new MyTestConnectionFactory();
+
+        ObjectPool<MyTestConnection> pool = new ObjectPool<>(fact, config);
+
+        ObjectPoolEntry<MyTestConnection> conn1 = pool.tryBorrowObject();
+        ObjectPoolEntry<MyTestConnection> conn2 = pool.tryBorrowObject();
+        long start = System.nanoTime();
+        assertNull(pool.tryBorrowObject());
+        assertEquals(true, System.nanoTime() - start < 1000000000L);
+
+        conn1.close();
+        assertSame(conn1, pool.tryBorrowObject());
+        assertEquals(2, pool.getStatistics().getNumActive());
+        assertEquals(2, fact.getTotalCreatedConnections());
+        conn1.close();
+        conn2.close();
+        pool.shutdown();
+    }
+
+    @Test
+    public void testMetrics() throws Exception {
+        ObjectPoolConfiguration config = new ObjectPoolConfiguration();
+        config.setMaxObjects(2);
+        config.setMaxIdle(1);
+        config.setMinIdle(0);
+        MyTestConnectionFactory fact = new MyTestConnectionFactory();
+        InMemoryObjectPoolMetrics metrics = new InMemoryObjectPoolMetrics();
+
+        ObjectPool<MyTestConnection> pool = new ObjectPool<>(fact, config, metrics);
+        assertSame(metrics, pool.getMetrics());
+
+        ObjectPoolEntry<MyTestConnection> conn1 = pool.borrowObject();
+        ObjectPoolEntry<MyTestConnection> conn2 = pool.borrowObject();
+        conn1.close();
+        conn2.close();
+        assertEquals(1, metrics.getDisposals(DisposeReason.TOO_MANY_IDLE));
+
+        // the idle one fails the test and gets replaced
+        conn2.getPooledObject().dispose();
+        pool.borrowObject().close();
+
+        assertEquals(3, metrics.getBorrowWait().getCount());
+        assertEquals(3, metrics.getCreateLatency().getCount());
+        assertEquals(4, metrics.getTestLatency().getCount());
+        assertEquals(1, metrics.getTestFailures());
+        assertEquals(1, metrics.getDisposals(DisposeReason.TEST_FAILED));
+        assertEquals(0, metrics.getTimeouts());
+
+        pool.shutdown();
+        assertEquals(1, metrics.getDisposals(DisposeReason.POOL_DISPOSED));
+    }
+
     @Test
     public void testCreateBadConnection()
             throws Exception {
@@ -0,0 +1,164 @@
+/*
+ * ====================
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2026 ConnId. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of the Common Development
+ * and Distribution License("CDDL") (the "License").  You may not use this file
+ * except in compliance with the License.
+ *
+ * You can obtain a copy of the License at
+ * http://opensource.org/licenses/cddl1.php
+ * See the License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * When distributing the Covered Code, include this CDDL Header Notice in each file
+ * and include the License file at http://opensource.org/licenses/cddl1.php.
+ * If applicable, add the following below this CDDL Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyrighted [year] [name of copyright owner]"
+ * ====================
+ */
+package org.identityconnectors.framework.impl.api.local.operations;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.identityconnectors.common.CollectionUtil;
+import org.identityconnectors.framework.api.APIConfiguration;
+import org.identityconnectors.framework.api.ConnectorFacade;
+import org.identityconnectors.framework.api.ConnectorFacadeFactory;
+import org.identityconnectors.framework.api.operations.BatchApiOp;
+import org.identityconnectors.framework.common.exceptions.ConnectorException;
+import org.identityconnectors.framework.common.exceptions.InvalidAttributeValueException;
+import org.identityconnectors.framework.common.objects.Attribute;
+import org.identityconnectors.framework.common.objects.AttributeBuilder;
+import org.identityconnectors.framework.common.objects.BatchItem;
+import org.identityconnectors.framework.common.objects.BatchItemResult;
+import org.identityconnectors.framework.common.objects.ObjectClass;
+import org.identityconnectors.framework.common.objects.OperationOptions;
+import org.identityconnectors.framework.common.objects.OperationOptionsBuilder;
+import org.identityconnectors.framework.common.objects.Uid;
+import org.identityconnectors.framework.spi.Configuration;
+import org.identityconnectors.framework.spi.Connector;
+import org.identityconnectors.framework.spi.operations.BatchOp;
+import org.identityconnectors.mockconnector.MockConfiguration;
+import org.identityconnectors.test.common.TestHelpers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class BatchImplTests {
+
+    private ConnectorFacade facade;
+
+    @BeforeEach
+    public void before() {
+        NativeBatchConnector.BATCHES.clear();
+        APIConfiguration impl = TestHelpers.createTestConfiguration(
+                NativeBatchConnector.class, new MockConfiguration(false));
+        facade = ConnectorFacadeFactory.getInstance().newInstance(impl);
+    }
+
+    @Test
+    public void testNativeBatch() {
+        assertTrue(facade.getSupportedOperations().contains(BatchApiOp.class));
+
+        OperationOptions batchOptions = new OperationOptionsBuilder().setOption("batch", "true").build();
+        OperationOptions itemOptions = new OperationOptionsBuilder().setOption("item", "true").build();
+        List<BatchItem> items = Arrays.asList(
+                BatchItem.create(ObjectClass.ACCOUNT, CollectionUtil.newSet(
+                        AttributeBuilder.build("a", "1"), new Uid("u1")), null),
+                BatchItem.create(ObjectClass.ACCOUNT, CollectionUtil.<Attribute>newSet(
+                        AttributeBuilder.build("a", "1")), null),
+                BatchItem.update(ObjectClass.ACCOUNT, new Uid("u2"), CollectionUtil.<Attribute>newSet(
+                        AttributeBuilder.build("b", "2")), itemOptions),
+                BatchItem.delete(ObjectClass.ALL, new Uid("u3"), null),
+                BatchItem.delete(ObjectClass.ACCOUNT, new Uid("fail"), null));
+        List<BatchItemResult> results = facade.executeBatch(items, batchOptions);
+
+        // the invalid items don't reach the connector
+        assertEquals(1, NativeBatchConnector.BATCHES.size());
+        List<BatchItem> batch = NativeBatchConnector.BATCHES.get(0);
+        assertEquals(3, batch.size());
+        assertEquals(BatchItem.Type.CREATE, batch.get(0).getType());
+        assertEquals("true", batch.get(0).getOptions().getOptions().get("batch"));
+        assertEquals(BatchItem.Type.UPDATE, batch.get(1).getType());
+        assertEquals("true", batch.get(1).getOptions().getOptions().get("item"));
+        assertEquals(BatchItem.Type.DELETE, batch.get(2).getType());
+
+        assertEquals(5, results.size());
+        assertTrue(results.get(0).getError() instanceof InvalidAttributeValueException);
+        assertEquals(new Uid("created0"), results.get(1).getUid());
+        assertEquals(new Uid("u2"), results.get(2).getUidOrThrow());
+        assertTrue(results.get(3).getError() instanceof UnsupportedOperationException);
+        assertFalse(results.get(4).isSuccess());
+        assertEquals("fail", results.get(4).getError().getMessage());
+    }
+
+    @Test
+    public void testEmptyBatch() {
+        assertTrue(facade.executeBatch(new ArrayList<>(), null).isEmpty());
+        assertTrue(NativeBatchConnector.BATCHES.isEmpty());
+    }
+
+    @Test
+    public void testWrongResultCount() {
+        BatchItem item = BatchItem.delete(ObjectClass.ACCOUNT, new Uid("nothing"), null);
+        assertThrows(ConnectorException.class, () -> facade.executeBatch(Arrays.asList(item), null));
+    }
+
+    @Test
+    public void testItem() {
+        BatchItem item = BatchItem.delete(ObjectClass.ACCOUNT, new Uid("u1"), null);
+        assertNull(item.getOptions());
+        assertTrue(item.getAttributes().isEmpty());
+        assertThrows(RuntimeException.class, () -> BatchItem.update(ObjectClass.ACCOUNT, null, null, null));
+        assertThrows(RuntimeException.class, () -> BatchItemResult.failure(null));
+    }
+
+    /**
+     * Runs batches natively, remembering the items it got.
+     */
+    public static class NativeBatchConnector implements BatchOp, Connector {
+
+        static final List<List<BatchItem>> BATCHES = new ArrayList<>();
+
+        @Override
+        public List<BatchItemResult> executeBatch(List<BatchItem> items, OperationOptions options) {
+            BATCHES.add(items);
+            List<BatchItemResult> results = new ArrayList<>();
+            for (BatchItem item : items) {
+                if (item.getUid() != null && item.getUid().getUidValue().equals("nothing")) {
+                    continue;
+                } else if (item.getUid() != null && item.getUid().getUidValue().equals("fail")) {
+                    results.add(BatchItemResult.failure(new ConnectorException("fail")));
+                } else if (item.getType() == BatchItem.Type.CREATE) {
+                    results.add(BatchItemResult.success(new Uid("created" + results.size())));
+                } else {
+                    results.add(BatchItemResult.success(item.getUid()));
+                }
+            }
+            return results;
+        }
+
+        @Override
+        public Configuration getConfiguration() {
+            return null;
+        }
+
+        @Override
+        public void init(Configuration cfg) {
+        }
+
+        @Override
+        public void dispose() {
+        }
+    }
+}
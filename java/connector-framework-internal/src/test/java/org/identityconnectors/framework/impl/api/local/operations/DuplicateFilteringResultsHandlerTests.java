@@ -0,0 +1,110 @@
+/*
+ * ====================
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2026 ConnId. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of the Common Development
+ * and Distribution License("CDDL") (the "License").  You may not use this file
+ * except in compliance with the License.
+ *
+ * You can obtain a copy of the License at
+ * http://opensource.org/licenses/cddl1.php
+ * See the License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * When distributing the Covered Code, include this CDDL Header Notice in each file
+ * and include the License file at http://opensource.org/licenses/cddl1.php.
+ * If applicable, add the following below this CDDL Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyrighted [year] [name of copyright owner]"
+ * ====================
+ */
+package org.identityconnectors.framework.impl.api.local.operations;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.identityconnectors.framework.common.objects.ConnectorObject;
+import org.identityconnectors.framework.common.objects.ConnectorObjectBuilder;
+import org.identityconnectors.framework.common.objects.SearchResult;
+import org.identityconnectors.framework.spi.SearchResultsHandler;
+import org.junit.jupiter.api.Test;
+
+public class DuplicateFilteringResultsHandlerTests {
+
+    @Test
+    public void testExact() {
+        checkDuplicates(false);
+    }
+
+    @Test
+    public void testCompact() {
+        checkDuplicates(true);
+    }
+
+    private void checkDuplicates(boolean compact) {
+        final List<String> results = new ArrayList<>();
+        DuplicateFilteringResultsHandler handler = new DuplicateFilteringResultsHandler(new SearchResultsHandler() {
+
+            @Override
+            public boolean handle(ConnectorObject object) {
+                results.add(object.getUid().getUidValue());
+                return results.size() < 1500;
+            }
+
+            @Override
+            public void handleResult(SearchResult result) {
+            }
+        }, compact);
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(handler.handle(createObject("uid" + i)));
+        }
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(handler.handle(createObject("uid" + i)));
+        }
+        assertEquals(1000, results.size());
+        for (int i = 500; i < 1499; i++) {
+            assertTrue(handler.handle(createObject("uid" + i)));
+        }
+        assertEquals(1499, results.size());
+        assertFalse(handler.handle(createObject("uid" + 1499)));
+        assertFalse(handler.isStillHandling());
+        assertEquals("uid1499", results.get(1499));
+    }
+
+    @Test
+    public void testFingerprint() {
+        assertEquals(DuplicateFilteringResultsHandler.fingerprint("abc"),
+                DuplicateFilteringResultsHandler.fingerprint(new String("abc")));
+        assertNotEquals(DuplicateFilteringResultsHandler.fingerprint("abc"),
+                DuplicateFilteringResultsHandler.fingerprint("abd"));
+        // the high byte of each character counts as well
+        assertNotEquals(DuplicateFilteringResultsHandler.fingerprint("\u0161"),
+                DuplicateFilteringResultsHandler.fingerprint("a"));
+    }
+
+    @Test
+    public void testFingerprintSet() {
+        DuplicateFilteringResultsHandler.FingerprintSet set = new DuplicateFilteringResultsHandler.FingerprintSet();
+        for (long i = -50000; i < 50000; i++) {
+            assertTrue(set.add(i * 0x9e3779b97f4a7c15L));
+        }
+        assertEquals(100000, set.size());
+        for (long i = -50000; i < 50000; i++) {
+            assertFalse(set.add(i * 0x9e3779b97f4a7c15L));
+        }
+        assertEquals(100000, set.size());
+    }
+
+    private static ConnectorObject createObject(String uid) {
+        ConnectorObjectBuilder bld = new ConnectorObjectBuilder();
+        bld.setUid(uid);
+        bld.setName(uid);
+        return bld.build();
+    }
+}
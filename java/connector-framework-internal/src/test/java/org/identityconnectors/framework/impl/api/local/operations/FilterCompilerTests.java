@@ -0,0 +1,175 @@
+/*
+ * ====================
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2026 ConnId. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of the Common Development
+ * and Distribution License("CDDL") (the "License").  You may not use this file
+ * except in compliance with the License.
+ *
+ * You can obtain a copy of the License at
+ * http://opensource.org/licenses/cddl1.php
+ * See the License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * When distributing the Covered Code, include this CDDL Header Notice in each file
+ * and include the License file at http://opensource.org/licenses/cddl1.php.
+ * If applicable, add the following below this CDDL Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyrighted [year] [name of copyright owner]"
+ * ====================
+ */
+package org.identityconnectors.framework.impl.api.local.operations;
+
+import static org.identityconnectors.framework.common.objects.filter.FilterBuilder.and;
+import static org.identityconnectors.framework.common.objects.filter.FilterBuilder.containsAllValues;
+import static org.identityconnectors.framework.common.objects.filter.FilterBuilder.endsWith;
+import static org.identityconnectors.framework.common.objects.filter.FilterBuilder.equalTo;
+import static org.identityconnectors.framework.common.objects.filter.FilterBuilder.equalsIgnoreCase;
+import static org.identityconnectors.framework.common.objects.filter.FilterBuilder.greaterThan;
+import static org.identityconnectors.framework.common.objects.filter.FilterBuilder.lessThanOrEqualTo;
+import static org.identityconnectors.framework.common.objects.filter.FilterBuilder.not;
+import static org.identityconnectors.framework.common.objects.filter.FilterBuilder.or;
+import static org.identityconnectors.framework.common.objects.filter.FilterBuilder.startsWith;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import org.identityconnectors.framework.common.objects.AttributeBuilder;
+import org.identityconnectors.framework.common.objects.ConnectorObject;
+import org.identityconnectors.framework.common.objects.ConnectorObjectBuilder;
+import org.identityconnectors.framework.common.objects.filter.Filter;
+import org.identityconnectors.framework.common.objects.filter.FilterVisitor;
+import org.identityconnectors.framework.impl.api.local.operations.FilteredResultsHandlerTests.RangeFilter;
+import org.junit.jupiter.api.Test;
+
+public class FilterCompilerTests {
+
+    private static List<ConnectorObject> newObjects() {
+        List<ConnectorObject> objects = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            ConnectorObjectBuilder bld = new ConnectorObjectBuilder();
+            bld.setUid(String.valueOf(i));
+            bld.setName("user" + i);
+            bld.addAttribute("count", i);
+            bld.addAttribute("department", "dep" + (i % 7));
+            if (i % 3 == 0) {
+                bld.addAttribute("groups", "g" + (i % 5), "g" + (i % 4), "g9");
+            }
+            objects.add(bld.build());
+        }
+        return objects;
+    }
+
+    private static void assertSameResults(final Filter filter) {
+        Filter compiled = FilterCompiler.compile(filter);
+        assertNotSame(filter, compiled);
+        int matched = 0;
+        for (ConnectorObject obj : newObjects()) {
+            boolean expected = filter.accept(obj);
+            assertEquals(expected, compiled.accept(obj), filter + " on " + obj);
+            matched += expected ? 1 : 0;
+        }
+        assertTrue(matched > 0, "no object matched " + filter);
+    }
+
+    @Test
+    public void testLeafFilters() {
+        assertSameResults(equalTo(AttributeBuilder.build("department", "dep3")));
+        assertSameResults(equalsIgnoreCase(AttributeBuilder.build("DEPARTMENT", "DEP3")));
+        assertSameResults(startsWith(AttributeBuilder.build("__NAME__", "user1")));
+        assertSameResults(endsWith(AttributeBuilder.build("__name__", "7")));
+        assertSameResults(greaterThan(AttributeBuilder.build("count", 150)));
+        assertSameResults(lessThanOrEqualTo(AttributeBuilder.build("count", 10)));
+        assertSameResults(containsAllValues(AttributeBuilder.build("groups", "g9", "g1")));
+        assertSameResults(containsAllValues(AttributeBuilder.build("groups", "g9", "g9")));
+        assertSameResults(containsAllValues(AttributeBuilder.build("groups", "g0")));
+    }
+
+    @Test
+    public void testCompositeFilters() {
+        assertSameResults(and(greaterThan(AttributeBuilder.build("count", 20)),
+                or(equalTo(AttributeBuilder.build("department", "dep1")),
+                        equalTo(AttributeBuilder.build("Department", "dep2")),
+                        not(startsWith(AttributeBuilder.build("department", "dep"))))));
+        assertSameResults(or(and(lessThanOrEqualTo(AttributeBuilder.build("count", 50)),
+                greaterThan(AttributeBuilder.build("count", 10))),
+                and(containsAllValues(AttributeBuilder.build("groups", "g2", "g9")),
+                        new RangeFilter(100, 190))));
+    }
+
+    @Test
+    public void testErrorsAsOriginal() {
+        // the string filter fails on the integer value unless the equality matches first
+        Filter filter = or(equalTo(AttributeBuilder.build("count", 5)),
+                startsWith(AttributeBuilder.build("count", "5")));
+        Filter compiled = FilterCompiler.compile(filter);
+        for (ConnectorObject obj : newObjects()) {
+            if (obj.getUid().getUidValue().equals("5")) {
+                assertTrue(compiled.accept(obj));
+            } else {
+                assertThrows(IllegalArgumentException.class, () -> compiled.accept(obj));
+            }
+        }
+    }
+
+    @Test
+    public void testErrorsNotHiddenByReordering() {
+        ConnectorObjectBuilder bld = new ConnectorObjectBuilder();
+        bld.setUid("1");
+        bld.setName("user1");
+        bld.addAttribute("count", new byte[] { 1 });
+        bld.addAttribute("department", "dep1");
+        ConnectorObject obj = bld.build();
+        // the cheaper, more selective equality must not decide before the failing comparison
+        Filter filter = and(greaterThan(AttributeBuilder.build("count", 5)),
+                equalTo(AttributeBuilder.build("department", "x")));
+        assertThrows(IllegalArgumentException.class, () -> filter.accept(obj));
+        assertThrows(IllegalArgumentException.class, () -> FilterCompiler.compile(filter).accept(obj));
+
+        Filter orFilter = or(startsWith(AttributeBuilder.build("count", "5")),
+                equalTo(AttributeBuilder.build("department", "dep1")));
+        assertThrows(IllegalArgumentException.class, () -> orFilter.accept(obj));
+        assertThrows(IllegalArgumentException.class, () -> FilterCompiler.compile(orFilter).accept(obj));
+
+        // operands after the failing one are still reordered among themselves
+        assertSameResults(and(greaterThan(AttributeBuilder.build("count", 20)),
+                or(equalTo(AttributeBuilder.build("department", "dep1")),
+                        not(equalTo(AttributeBuilder.build("department", "dep2")))),
+                equalTo(AttributeBuilder.build("department", "dep3"))));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testVisitors() {
+        Filter filter = and(equalTo(AttributeBuilder.build("department", "dep3")),
+                greaterThan(AttributeBuilder.build("count", 20)));
+        Filter compiled = FilterCompiler.compile(filter);
+        assertSame(compiled, FilterCompiler.compile(compiled));
+        assertEquals(filter.toString(), compiled.toString());
+        // visitors like translators see the original tree
+        FilterVisitor<String, Void> visitor = (FilterVisitor<String, Void>) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[] { FilterVisitor.class },
+                (proxy, method, args) -> method.getName());
+        assertEquals("visitAndFilter", compiled.accept(visitor, null));
+        Filter custom = new Filter() {
+
+            @Override
+            public boolean accept(ConnectorObject obj) {
+                return true;
+            }
+
+            @Override
+            public <R, P> R accept(FilterVisitor<R, P> v, P p) {
+                throw new UnsupportedOperationException();
+            }
+        };
+        assertSame(custom, FilterCompiler.compile(custom));
+    }
+}
@@ -25,6 +25,10 @@ package org.identityconnectors.framework.impl.api.local.operations;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Locale;
 
 import org.identityconnectors.framework.common.objects.Attribute;
 import org.identityconnectors.framework.common.objects.AttributeBuilder;
@@ -191,6 +195,45 @@ public class ObjectNormalizerFacadeTests {
         assertFalse(expected.equals(v1));
     }
 
+    @Test
+    public void testNormalizedConnectorObject() {
+        ConnectorObjectBuilder builder = new ConnectorObjectBuilder();
+        builder.setName("MYNAME");
+        builder.setUid("MYUID");
+        builder.addAttribute(AttributeBuilder.build("foo", "BAR", 1));
+        ConnectorObject obj = builder.build();
+        ObjectNormalizerFacade facade = new ObjectNormalizerFacade(ObjectClass.ACCOUNT, new CaseNormalizer());
+        assertSame(obj, facade.normalizeObject(obj));
+
+        SyncDelta delta = new SyncDeltaBuilder().setDeltaType(SyncDeltaType.CREATE)
+                .setToken(new SyncToken("mytoken")).setObject(obj).build();
+        assertSame(delta, facade.normalizeSyncDelta(delta));
+    }
+
+    @Test
+    public void testCaseNormalizer() {
+        CaseNormalizer normalizer = new CaseNormalizer();
+        Attribute upper = AttributeBuilder.build("foo", "BAR", 1, "BAZ");
+        assertSame(upper, normalizer.normalizeAttribute(ObjectClass.ACCOUNT, upper));
+
+        // not the interned literal, which would be the same instance anyway
+        Attribute mixed = AttributeBuilder.build("foo", new String("BAR"), 1, "baz");
+        Attribute normalized = normalizer.normalizeAttribute(ObjectClass.ACCOUNT, mixed);
+        assertNotSame(mixed, normalized);
+        assertEquals(AttributeBuilder.build("foo", "BAR", 1, "BAZ"), normalized);
+        // unchanged values are kept
+        assertSame(mixed.getValue().get(0), normalized.getValue().get(0));
+
+        Locale locale = Locale.getDefault();
+        try {
+            Locale.setDefault(new Locale("tr", "TR"));
+            assertEquals(AttributeBuilder.build("foo", "ID"),
+                    normalizer.normalizeAttribute(ObjectClass.ACCOUNT, AttributeBuilder.build("foo", "id")));
+        } finally {
+            Locale.setDefault(locale);
+        }
+    }
+
     @Test
     public void testLiveSyncDelta() {
         ConnectorObjectBuilder objbuilder = new ConnectorObjectBuilder();
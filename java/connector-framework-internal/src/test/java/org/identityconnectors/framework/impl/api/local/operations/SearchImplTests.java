@@ -25,12 +25,20 @@
 package org.identityconnectors.framework.impl.api.local.operations;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.identityconnectors.common.CollectionUtil;
+import org.identityconnectors.framework.api.APIConfiguration;
+import org.identityconnectors.framework.api.ConnectorFacade;
+import org.identityconnectors.framework.api.ConnectorFacadeFactory;
 import org.identityconnectors.framework.common.objects.AttributeBuilder;
 import org.identityconnectors.framework.common.objects.ConnectorObject;
 import org.identityconnectors.framework.common.objects.ConnectorObjectBuilder;
@@ -38,12 +46,19 @@ import org.identityconnectors.framework.common.objects.ObjectClass;
 import org.identityconnectors.framework.common.objects.OperationOptions;
 import org.identityconnectors.framework.common.objects.OperationOptionsBuilder;
 import org.identityconnectors.framework.common.objects.ResultsHandler;
+import org.identityconnectors.framework.common.objects.Uid;
+import org.identityconnectors.framework.common.objects.filter.CompositeFilter;
+import org.identityconnectors.framework.common.objects.filter.EqualsFilter;
 import org.identityconnectors.framework.common.objects.filter.Filter;
+import org.identityconnectors.framework.common.objects.filter.FilterBuilder;
 import org.identityconnectors.framework.common.objects.filter.FilterTranslator;
 import org.identityconnectors.framework.common.objects.filter.FilterVisitor;
 import org.identityconnectors.framework.spi.Configuration;
+import org.identityconnectors.framework.impl.api.local.LocalConnectorFacadeImpl;
 import org.identityconnectors.framework.spi.Connector;
+import org.identityconnectors.framework.spi.PoolableConnector;
 import org.identityconnectors.framework.spi.operations.SearchOp;
+import org.identityconnectors.mockconnector.MockConfiguration;
 import org.identityconnectors.test.common.TestHelpers;
 import org.junit.jupiter.api.Test;
 
@@ -115,6 +130,101 @@ public class SearchImplTests {
         assertEquals(expecteList, actual);
     }
 
+    @Test
+    public void testParallelQueries() {
+        ConnectorFacade facade = newSlowQueryFacade(4);
+        final Set<String> uids = new HashSet<>();
+        facade.search(ObjectClass.ACCOUNT, newUidFilter(8), obj -> {
+            assertTrue(uids.add(obj.getUid().getUidValue()), "duplicate " + obj);
+            return true;
+        }, null);
+        assertEquals(8, uids.size());
+        assertEquals(8, SlowQueryConnector.QUERIES.get());
+        assertTrue(SlowQueryConnector.MAX_RUNNING.get() > 1, "queries did not run in parallel");
+        assertTrue(SlowQueryConnector.MAX_RUNNING.get() <= 4);
+    }
+
+    @Test
+    public void testParallelQueriesStop() {
+        ConnectorFacade facade = newSlowQueryFacade(2);
+        final List<ConnectorObject> results = new ArrayList<>();
+        facade.search(ObjectClass.ACCOUNT, newUidFilter(8), obj -> {
+            results.add(obj);
+            return false;
+        }, null);
+        assertEquals(1, results.size());
+        // the queries which were running when the handler stopped
+        assertTrue(SlowQueryConnector.QUERIES.get() <= 2);
+    }
+
+    @Test
+    public void testParallelQueriesExhaustedPool() {
+        APIConfiguration impl = newSlowQueryConfiguration(PooledSlowQueryConnector.class, 4);
+        // the connector of the caller is the only one, the workers must not
+        // wait for it to be returned
+        impl.getConnectorPoolConfiguration().setMaxObjects(1);
+        impl.getConnectorPoolConfiguration().setMaxIdle(1);
+        ConnectorFacade facade = ConnectorFacadeFactory.getInstance().newInstance(impl);
+        try {
+            final Set<String> uids = new HashSet<>();
+            long start = System.currentTimeMillis();
+            facade.search(ObjectClass.ACCOUNT, newUidFilter(8), obj -> uids.add(obj.getUid().getUidValue()), null);
+            assertTrue(System.currentTimeMillis() - start < 10000, "search waited for the pool");
+            assertEquals(8, uids.size());
+            assertEquals(8, SlowQueryConnector.QUERIES.get());
+            assertEquals(1, SlowQueryConnector.MAX_RUNNING.get());
+        } finally {
+            ((LocalConnectorFacadeImpl) facade).dispose();
+        }
+    }
+
+    @Test
+    public void testParallelQueriesSaturatedExecutor() throws Exception {
+        APIConfiguration impl = newSlowQueryConfiguration(SlowQueryConnector.class, 4);
+        // an executor which queues the workers but has no thread to run them
+        final List<Runnable> queued = new ArrayList<>();
+        impl.setOperationExecutor(queued::add);
+        ConnectorFacade facade = ConnectorFacadeFactory.getInstance().newInstance(impl);
+        final Set<String> uids = new HashSet<>();
+        CompletableFuture.runAsync(() -> facade.search(ObjectClass.ACCOUNT, newUidFilter(8),
+                obj -> uids.add(obj.getUid().getUidValue()), null)).get(30, TimeUnit.SECONDS);
+        assertEquals(8, uids.size());
+        assertEquals(3, queued.size());
+
+        // the workers started late have nothing to do
+        for (Runnable worker : queued) {
+            worker.run();
+        }
+        assertEquals(8, SlowQueryConnector.QUERIES.get());
+        assertEquals(1, SlowQueryConnector.MAX_RUNNING.get());
+    }
+
+    private static ConnectorFacade newSlowQueryFacade(int maxParallelQueries) {
+        return ConnectorFacadeFactory.getInstance().newInstance(
+                newSlowQueryConfiguration(SlowQueryConnector.class, maxParallelQueries));
+    }
+
+    private static APIConfiguration newSlowQueryConfiguration(Class<? extends Connector> connectorClass,
+            int maxParallelQueries) {
+        SlowQueryConnector.QUERIES.set(0);
+        SlowQueryConnector.RUNNING.set(0);
+        SlowQueryConnector.MAX_RUNNING.set(0);
+        APIConfiguration impl = TestHelpers.createTestConfiguration(
+                connectorClass, new MockConfiguration(false));
+        impl.getResultsHandlerConfiguration().setMaxParallelQueries(maxParallelQueries);
+        // stop the queries as soon as the handler does, not when the buffer is drained
+        impl.setProducerBufferSize(0);
+        return impl;
+    }
+
+    private static Filter newUidFilter(int count) {
+        Filter filter = FilterBuilder.equalTo(new Uid("0"));
+        for (int i = 1; i < count; i++) {
+            filter = FilterBuilder.or(filter, FilterBuilder.equalTo(new Uid(String.valueOf(i))));
+        }
+        return filter;
+    }
+
     ConnectorObject createObject(int uid) {
         ConnectorObjectBuilder bld = new ConnectorObjectBuilder();
         bld.setUid("" + uid);
@@ -177,6 +287,83 @@ public class SearchImplTests {
         }
     }
 
+    /**
+     * Runs one slow query per uid of an or filter, returning the object and
+     * its successor.
+     */
+    public static class SlowQueryConnector implements SearchOp<String>, Connector {
+
+        static final AtomicInteger QUERIES = new AtomicInteger();
+
+        static final AtomicInteger RUNNING = new AtomicInteger();
+
+        static final AtomicInteger MAX_RUNNING = new AtomicInteger();
+
+        @Override
+        public FilterTranslator<String> createFilterTranslator(ObjectClass objectClass, OperationOptions options) {
+            return filter -> {
+                List<String> queries = new ArrayList<>();
+                collectUids(filter, queries);
+                return queries;
+            };
+        }
+
+        private static void collectUids(Filter filter, List<String> queries) {
+            if (filter instanceof CompositeFilter) {
+                for (Filter f : ((CompositeFilter) filter).getFilters()) {
+                    collectUids(f, queries);
+                }
+            } else if (filter instanceof EqualsFilter) {
+                queries.add(((EqualsFilter) filter).getAttribute().getValue().get(0).toString());
+            }
+        }
+
+        @Override
+        public void executeQuery(ObjectClass objectClass, String query, ResultsHandler handler,
+                OperationOptions options) {
+            QUERIES.incrementAndGet();
+            MAX_RUNNING.accumulateAndGet(RUNNING.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(100);
+                int uid = Integer.parseInt(query);
+                if (handler.handle(createObject(uid))) {
+                    handler.handle(createObject((uid + 1) % 8));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                RUNNING.decrementAndGet();
+            }
+        }
+
+        private static ConnectorObject createObject(int uid) {
+            ConnectorObjectBuilder bld = new ConnectorObjectBuilder();
+            bld.setUid(String.valueOf(uid));
+            bld.setName(String.valueOf(uid));
+            return bld.build();
+        }
+
+        @Override
+        public void dispose() {
+        }
+
+        @Override
+        public Configuration getConfiguration() {
+            return null;
+        }
+
+        @Override
+        public void init(Configuration cfg) {
+        }
+    }
+
+    public static class PooledSlowQueryConnector extends SlowQueryConnector implements PoolableConnector {
+
+        @Override
+        public void checkAlive() {
+        }
+    }
+
     /**
      * Use the filter to pass objects to the filter translator.
      */
@@ -0,0 +1,243 @@
+/*
+ * ====================
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2026 ConnId. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of the Common Development
+ * and Distribution License("CDDL") (the "License").  You may not use this file
+ * except in compliance with the License.
+ *
+ * You can obtain a copy of the License at
+ * http://opensource.org/licenses/cddl1.php
+ * See the License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * When distributing the Covered Code, include this CDDL Header Notice in each file
+ * and include the License file at http://opensource.org/licenses/cddl1.php.
+ * If applicable, add the following below this CDDL Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyrighted [year] [name of copyright owner]"
+ * ====================
+ */
+package org.identityconnectors.framework.impl.api.local.operations;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.identityconnectors.framework.api.APIConfiguration;
+import org.identityconnectors.framework.api.ConnectorFacade;
+import org.identityconnectors.framework.api.ConnectorFacadeFactory;
+import org.identityconnectors.framework.common.exceptions.ConnectorException;
+import org.identityconnectors.framework.common.objects.ObjectClass;
+import org.identityconnectors.framework.common.objects.OperationOptions;
+import org.identityconnectors.framework.common.objects.SyncDelta;
+import org.identityconnectors.framework.common.objects.SyncDeltaBuilder;
+import org.identityconnectors.framework.common.objects.SyncDeltaType;
+import org.identityconnectors.framework.common.objects.SyncResultsHandler;
+import org.identityconnectors.framework.common.objects.SyncToken;
+import org.identityconnectors.framework.common.objects.Uid;
+import org.identityconnectors.framework.spi.Configuration;
+import org.identityconnectors.framework.spi.Connector;
+import org.identityconnectors.framework.spi.SyncTokenResultsHandler;
+import org.identityconnectors.framework.spi.operations.SyncOp;
+import org.identityconnectors.mockconnector.MockConfiguration;
+import org.identityconnectors.test.common.TestHelpers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class SyncImplTests {
+
+    private static final int DELTAS = 2000;
+
+    private static final int OBJECTS = 37;
+
+    private ConnectorFacade facade;
+
+    @BeforeEach
+    public void before() {
+        DeltaConnector.finalToken = null;
+        APIConfiguration impl = TestHelpers.createTestConfiguration(
+                DeltaConnector.class, new MockConfiguration(false));
+        impl.getResultsHandlerConfiguration().setMaxParallelSyncHandlers(4);
+        facade = ConnectorFacadeFactory.getInstance().newInstance(impl);
+    }
+
+    @Test
+    public void testParallelSync() {
+        Map<Uid, List<Integer>> seen = Collections.synchronizedMap(new HashMap<>());
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        SyncToken token = facade.sync(ObjectClass.ACCOUNT, null, (SyncDelta delta) -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(0, 50000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            seen.computeIfAbsent(delta.getUid(), uid -> Collections.synchronizedList(new ArrayList<>()))
+                    .add((Integer) delta.getToken().getValue());
+            running.decrementAndGet();
+            return true;
+        }, null);
+
+        // no final token from the connector, the last delta is the watermark
+        assertEquals(DELTAS - 1, token.getValue());
+        assertEquals(OBJECTS, seen.size());
+        int count = 0;
+        for (List<Integer> tokens : seen.values()) {
+            for (int i = 1; i < tokens.size(); i++) {
+                assertTrue(tokens.get(i - 1) < tokens.get(i), "deltas of an object out of order");
+            }
+            count += tokens.size();
+        }
+        assertEquals(DELTAS, count);
+        assertTrue(maxRunning.get() > 1, "deltas never handled concurrently");
+    }
+
+    @Test
+    public void testFinalToken() {
+        DeltaConnector.finalToken = new SyncToken("final");
+        SyncToken token = facade.sync(ObjectClass.ACCOUNT, null, (SyncDelta delta) -> true, null);
+        assertEquals("final", token.getValue());
+    }
+
+    @Test
+    public void testStoppedSync() {
+        List<Integer> handled = Collections.synchronizedList(new ArrayList<>());
+        DeltaConnector.finalToken = new SyncToken("final");
+        SyncToken token = facade.sync(ObjectClass.ACCOUNT, null, (SyncDelta delta) -> {
+            int value = (Integer) delta.getToken().getValue();
+            handled.add(value);
+            return value < DELTAS / 2;
+        }, null);
+
+        // not the final token, but every delta up to the watermark has been handled
+        assertNotEquals("final", token.getValue());
+        int watermark = (Integer) token.getValue();
+        for (int i = 0; i <= watermark; i++) {
+            assertTrue(handled.contains(i), "delta " + i + " is below the watermark but not handled");
+        }
+    }
+
+    @Test
+    public void testFailedHandler() {
+        ConnectorException e = assertThrows(ConnectorException.class,
+                () -> facade.sync(ObjectClass.ACCOUNT, null, (SyncDelta delta) -> {
+                    if (delta.getToken().getValue().equals(100)) {
+                        throw new ConnectorException("handler failed");
+                    }
+                    return true;
+                }, null));
+        assertEquals("handler failed", e.getMessage());
+    }
+
+    @Test
+    public void testSaturatedExecutor() throws Exception {
+        // queues the workers, but never runs them
+        List<Runnable> queued = new ArrayList<>();
+        Thread caller = Thread.currentThread();
+        AtomicInteger count = new AtomicInteger();
+        SyncToken token = newFacade(queued::add).sync(ObjectClass.ACCOUNT, null, (SyncDelta delta) -> {
+            assertTrue(Thread.currentThread() == caller);
+            count.incrementAndGet();
+            return true;
+        }, null);
+        assertEquals(DELTAS - 1, token.getValue());
+        assertEquals(DELTAS, count.get());
+        assertEquals(4, queued.size());
+    }
+
+    @Test
+    public void testPartlySaturatedExecutor() throws Exception {
+        // runs the first worker, queues the others
+        List<Runnable> queued = Collections.synchronizedList(new ArrayList<>());
+        Executor executor = task -> {
+            if (queued.isEmpty()) {
+                new Thread(task).start();
+            }
+            queued.add(task);
+        };
+        Map<Uid, List<Integer>> seen = Collections.synchronizedMap(new HashMap<>());
+        ConnectorFacade saturated = newFacade(executor);
+        SyncToken token = CompletableFuture.supplyAsync(
+                () -> saturated.sync(ObjectClass.ACCOUNT, null, (SyncDelta delta) -> {
+                    seen.computeIfAbsent(delta.getUid(), uid -> new ArrayList<>())
+                            .add((Integer) delta.getToken().getValue());
+                    return true;
+                }, null)).get(30, TimeUnit.SECONDS);
+
+        assertEquals(DELTAS - 1, token.getValue());
+        int count = 0;
+        for (List<Integer> tokens : seen.values()) {
+            for (int i = 1; i < tokens.size(); i++) {
+                assertTrue(tokens.get(i - 1) < tokens.get(i), "deltas of an object out of order");
+            }
+            count += tokens.size();
+        }
+        assertEquals(DELTAS, count);
+    }
+
+    private static ConnectorFacade newFacade(Executor executor) {
+        APIConfiguration impl = TestHelpers.createTestConfiguration(
+                DeltaConnector.class, new MockConfiguration(false));
+        impl.getResultsHandlerConfiguration().setMaxParallelSyncHandlers(4);
+        impl.setOperationExecutor(executor);
+        return ConnectorFacadeFactory.getInstance().newInstance(impl);
+    }
+
+    /**
+     * Sends deltas of a few objects, the token is the position of the delta.
+     */
+    public static class DeltaConnector implements SyncOp, Connector {
+
+        static volatile SyncToken finalToken;
+
+        @Override
+        public void sync(ObjectClass objectClass, SyncToken token, SyncResultsHandler handler,
+                OperationOptions options) {
+            for (int i = 0; i < DELTAS; i++) {
+                SyncDeltaBuilder builder = new SyncDeltaBuilder();
+                builder.setDeltaType(SyncDeltaType.DELETE);
+                builder.setObjectClass(objectClass);
+                builder.setUid(new Uid("u" + (i % OBJECTS)));
+                builder.setToken(new SyncToken(i));
+                if (!handler.handle(builder.build())) {
+                    return;
+                }
+            }
+            if (finalToken != null) {
+                ((SyncTokenResultsHandler) handler).handleResult(finalToken);
+            }
+        }
+
+        @Override
+        public SyncToken getLatestSyncToken(ObjectClass objectClass) {
+            return new SyncToken(DELTAS);
+        }
+
+        @Override
+        public Configuration getConfiguration() {
+            return null;
+        }
+
+        @Override
+        public void init(Configuration cfg) {
+        }
+
+        @Override
+        public void dispose() {
+        }
+    }
+}
@@ -24,21 +24,49 @@
 package org.identityconnectors.framework.impl.api.local.operations;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import org.identityconnectors.common.CollectionUtil;
+import org.identityconnectors.framework.api.APIConfiguration;
+import org.identityconnectors.framework.api.ConnectorFacade;
+import org.identityconnectors.framework.api.ConnectorFacadeFactory;
 import org.identityconnectors.framework.common.exceptions.InvalidAttributeValueException;
+import org.identityconnectors.framework.common.exceptions.UnknownUidException;
 import org.identityconnectors.framework.common.objects.Attribute;
 import org.identityconnectors.framework.common.objects.AttributeBuilder;
+import org.identityconnectors.framework.common.objects.AttributeDeltaBuilder;
+import org.identityconnectors.framework.common.objects.BatchItem;
+import org.identityconnectors.framework.common.objects.BatchItemResult;
+import org.identityconnectors.framework.common.objects.ConnectorObject;
+import org.identityconnectors.framework.common.objects.ConnectorObjectBuilder;
 import org.identityconnectors.framework.common.objects.Name;
 import org.identityconnectors.framework.common.objects.ObjectClass;
+import org.identityconnectors.framework.common.objects.OperationOptions;
+import org.identityconnectors.framework.common.objects.ResultsHandler;
 import org.identityconnectors.framework.common.objects.Uid;
+import org.identityconnectors.framework.common.objects.filter.AbstractFilterTranslator;
+import org.identityconnectors.framework.common.objects.filter.FilterTranslator;
+import org.identityconnectors.framework.spi.Configuration;
+import org.identityconnectors.framework.spi.Connector;
+import org.identityconnectors.framework.spi.operations.BatchOp;
+import org.identityconnectors.framework.spi.operations.DeleteOp;
+import org.identityconnectors.framework.spi.operations.SearchOp;
+import org.identityconnectors.framework.spi.operations.UpdateOp;
+import org.identityconnectors.mockconnector.MockConfiguration;
+import org.identityconnectors.test.common.TestHelpers;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -188,4 +216,200 @@ public class UpdateImplTests {
         actual = up.merge(changeset, base, false);
         assertEquals(actual, expected);
     }
+
+    @Test
+    public void mergeDeleteOneOccurrence() {
+        List<Object> values = Arrays.asList(1, 2, 3, 2, 1, 2);
+        assertEquals(Arrays.asList(3, 2, 1, 2), UpdateImpl.removeValues(values, Arrays.asList(2, 1, 4)));
+        assertEquals(Arrays.asList(1, 3, 1), UpdateImpl.removeValues(values, Arrays.asList(2, 2, 2, 2)));
+        assertEquals(values, UpdateImpl.removeValues(values, Collections.emptyList()));
+    }
+
+    @Test
+    public void snapshotCache() {
+        ConnectorFacade facade = newSnapshotFacade(60000);
+        Uid uid = new Uid("g1");
+        for (int i = 0; i < 5; i++) {
+            facade.addAttributeValues(ObjectClass.GROUP, uid,
+                    CollectionUtil.newSet(AttributeBuilder.build("member", "m" + i)), null);
+        }
+        facade.removeAttributeValues(ObjectClass.GROUP, uid,
+                CollectionUtil.newSet(AttributeBuilder.build("member", "m0")), null);
+        facade.updateDelta(ObjectClass.GROUP, uid,
+                CollectionUtil.newSet(AttributeDeltaBuilder.build("member", Arrays.asList("m5"), null)), null);
+        // read once, the rest from the snapshot
+        assertEquals(1, SnapshotConnector.searches);
+        assertEquals(Arrays.asList("m1", "m2", "m3", "m4", "m5"), SnapshotConnector.members());
+
+        // a different revision is not served from the snapshot
+        facade.addAttributeValues(ObjectClass.GROUP, new Uid("g1", "2"),
+                CollectionUtil.newSet(AttributeBuilder.build("member", "m6")), null);
+        assertEquals(2, SnapshotConnector.searches);
+
+        // a replace keeps the snapshot current under the returned uid
+        facade.update(ObjectClass.GROUP, uid,
+                CollectionUtil.newSet(AttributeBuilder.build("member", "x")), null);
+        facade.addAttributeValues(ObjectClass.GROUP, uid,
+                CollectionUtil.newSet(AttributeBuilder.build("member", "y")), null);
+        assertEquals(2, SnapshotConnector.searches);
+        assertEquals(Arrays.asList("x", "y"), SnapshotConnector.members());
+
+        // other attributes are read
+        facade.addAttributeValues(ObjectClass.GROUP, uid,
+                CollectionUtil.newSet(AttributeBuilder.build("owner", "o")), null);
+        assertEquals(3, SnapshotConnector.searches);
+
+        // a delete drops it
+        facade.delete(ObjectClass.GROUP, uid, null);
+        assertThrows(UnknownUidException.class, () -> facade.addAttributeValues(ObjectClass.GROUP, uid,
+                CollectionUtil.newSet(AttributeBuilder.build("member", "z")), null));
+    }
+
+    @Test
+    public void noSnapshotCache() {
+        ConnectorFacade facade = newSnapshotFacade(0);
+        for (int i = 0; i < 3; i++) {
+            facade.addAttributeValues(ObjectClass.GROUP, new Uid("g1"),
+                    CollectionUtil.newSet(AttributeBuilder.build("member", "m" + i)), null);
+        }
+        assertEquals(3, SnapshotConnector.searches);
+    }
+
+    @Test
+    public void snapshotCacheNativeBatch() {
+        SnapshotConnector.reset();
+        BatchSnapshotConnector.failing = false;
+        APIConfiguration impl = TestHelpers.createTestConfiguration(
+                BatchSnapshotConnector.class, new MockConfiguration(false));
+        impl.setObjectSnapshotTtl(60000);
+        ConnectorFacade facade = ConnectorFacadeFactory.getInstance().newInstance(impl);
+        Uid uid = new Uid("g1");
+        facade.addAttributeValues(ObjectClass.GROUP, uid,
+                CollectionUtil.newSet(AttributeBuilder.build("member", "m0")), null);
+        assertEquals(1, SnapshotConnector.searches);
+
+        // the batch changes the group behind the snapshot
+        List<BatchItemResult> results = facade.executeBatch(Arrays.asList(BatchItem.update(ObjectClass.GROUP, uid,
+                CollectionUtil.newSet(AttributeBuilder.build("member", "x")), null)), null);
+        assertTrue(results.get(0).isSuccess());
+        facade.addAttributeValues(ObjectClass.GROUP, uid,
+                CollectionUtil.newSet(AttributeBuilder.build("member", "y")), null);
+        assertEquals(2, SnapshotConnector.searches);
+        assertEquals(Arrays.asList("x", "y"), SnapshotConnector.members());
+
+        // so does a failed item
+        BatchSnapshotConnector.failing = true;
+        results = facade.executeBatch(Arrays.asList(BatchItem.update(ObjectClass.GROUP, uid,
+                CollectionUtil.newSet(AttributeBuilder.build("member", "z")), null)), null);
+        assertFalse(results.get(0).isSuccess());
+        facade.addAttributeValues(ObjectClass.GROUP, uid,
+                CollectionUtil.newSet(AttributeBuilder.build("member", "y")), null);
+        assertEquals(3, SnapshotConnector.searches);
+        assertEquals(Arrays.asList("z", "y"), SnapshotConnector.members());
+    }
+
+    @Test
+    public void snapshotExpiry() throws InterruptedException {
+        ObjectSnapshotCache cache = new ObjectSnapshotCache(1);
+        Uid uid = new Uid("g1");
+        Set<String> names = CollectionUtil.newSet("member");
+        cache.put(ObjectClass.GROUP, uid, names, Collections.<Attribute>emptySet());
+        Thread.sleep(10);
+        assertNull(cache.get(ObjectClass.GROUP, uid, names));
+    }
+
+    private ConnectorFacade newSnapshotFacade(int ttl) {
+        SnapshotConnector.reset();
+        APIConfiguration impl = TestHelpers.createTestConfiguration(
+                SnapshotConnector.class, new MockConfiguration(false));
+        impl.setObjectSnapshotTtl(ttl);
+        return ConnectorFacadeFactory.getInstance().newInstance(impl);
+    }
+
+    /**
+     * Keeps one group, counting the searches.
+     */
+    public static class SnapshotConnector implements UpdateOp, DeleteOp, SearchOp<String>, Connector {
+
+        static Map<String, Attribute> group;
+
+        static int searches;
+
+        static void reset() {
+            group = new HashMap<>();
+            searches = 0;
+        }
+
+        static List<Object> members() {
+            return group.get("member").getValue();
+        }
+
+        @Override
+        public Uid update(ObjectClass objclass, Uid uid, Set<Attribute> replaceAttributes,
+                OperationOptions options) {
+            replaceAttributes.forEach(attr -> group.put(attr.getName(), attr));
+            return uid;
+        }
+
+        @Override
+        public void delete(ObjectClass objClass, Uid uid, OperationOptions options) {
+            group = null;
+        }
+
+        @Override
+        public FilterTranslator<String> createFilterTranslator(ObjectClass objectClass,
+                OperationOptions options) {
+            return new AbstractFilterTranslator<String>() {
+            };
+        }
+
+        @Override
+        public void executeQuery(ObjectClass objectClass, String query, ResultsHandler handler,
+                OperationOptions options) {
+            searches++;
+            if (group == null) {
+                return;
+            }
+            ConnectorObjectBuilder builder = new ConnectorObjectBuilder();
+            builder.setObjectClass(objectClass);
+            builder.setUid("g1");
+            builder.setName("g1");
+            group.values().stream().filter(attr -> attr.getValue() != null).forEach(builder::addAttribute);
+            ConnectorObject object = builder.build();
+            handler.handle(object);
+        }
+
+        @Override
+        public Configuration getConfiguration() {
+            return null;
+        }
+
+        @Override
+        public void init(Configuration cfg) {
+        }
+
+        @Override
+        public void dispose() {
+        }
+    }
+
+    /**
+     * Runs the updates of a batch, failing them after the change if asked to.
+     */
+    public static class BatchSnapshotConnector extends SnapshotConnector implements BatchOp {
+
+        static boolean failing;
+
+        @Override
+        public List<BatchItemResult> executeBatch(List<BatchItem> items, OperationOptions options) {
+            List<BatchItemResult> results = new ArrayList<>();
+            for (BatchItem item : items) {
+                update(item.getObjectClass(), item.getUid(), item.getAttributes(), options);
+                results.add(failing
+                        ? BatchItemResult.failure(new IllegalStateException("Partly applied"))
+                        : BatchItemResult.success(item.getUid()));
+            }
+            return results;
+        }
+    }
 }
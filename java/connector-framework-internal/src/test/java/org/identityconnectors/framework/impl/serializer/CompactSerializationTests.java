@@ -0,0 +1,49 @@
+/*
+ * ====================
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2026 ConnId. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of the Common Development
+ * and Distribution License("CDDL") (the "License").  You may not use this file
+ * except in compliance with the License.
+ *
+ * You can obtain a copy of the License at
+ * http://opensource.org/licenses/cddl1.php
+ * See the License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * When distributing the Covered Code, include this CDDL Header Notice in each file
+ * and include the License file at http://opensource.org/licenses/cddl1.php.
+ * If applicable, add the following below this CDDL Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyrighted [year] [name of copyright owner]"
+ * ====================
+ */
+package org.identityconnectors.framework.impl.serializer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import org.identityconnectors.framework.impl.serializer.binary.BinaryObjectDecoder;
+import org.identityconnectors.framework.impl.serializer.binary.BinaryObjectEncoder;
+
+/**
+ * Runs the serialization tests with the compact binary encoding.
+ */
+public class CompactSerializationTests extends ObjectSerializationTests {
+
+    @Override
+    protected Object cloneObject(Object o) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryObjectEncoder encoder =
+                new BinaryObjectEncoder(out, BinaryObjectEncoder.COMPACT_ENCODING_VERSION);
+        // the second copy refers to the constants declared by the first one
+        encoder.writeObject(o);
+        encoder.writeObject(o);
+        encoder.close();
+
+        BinaryObjectDecoder decoder = new BinaryObjectDecoder(new ByteArrayInputStream(out.toByteArray()));
+        decoder.readObject();
+        return decoder.readObject();
+    }
+}
@@ -33,6 +33,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.lang.reflect.Field;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.net.URI;
@@ -86,6 +87,7 @@ import org.identityconnectors.framework.common.objects.filter.OrFilter;
 import org.identityconnectors.framework.common.objects.filter.StartsWithFilter;
 import org.identityconnectors.framework.common.serializer.SerializerUtil;
 import org.identityconnectors.framework.impl.api.APIConfigurationImpl;
+import org.identityconnectors.framework.impl.api.remote.RemoteWrappedException;
 import org.identityconnectors.framework.impl.api.ConfigurationPropertiesImpl;
 import org.identityconnectors.framework.impl.api.ConfigurationPropertyImpl;
 import org.identityconnectors.framework.impl.api.ConnectorMessagesImpl;
@@ -94,11 +96,14 @@ import org.identityconnectors.framework.impl.api.remote.messages.EchoMessage;
 import org.identityconnectors.framework.impl.api.remote.messages.HelloRequest;
 import org.identityconnectors.framework.impl.api.remote.messages.HelloResponse;
 import org.identityconnectors.framework.impl.api.remote.messages.OperationRequest;
+import org.identityconnectors.framework.impl.api.remote.messages.OperationRequestCredit;
 import org.identityconnectors.framework.impl.api.remote.messages.OperationRequestMoreData;
 import org.identityconnectors.framework.impl.api.remote.messages.OperationRequestStopData;
+import org.identityconnectors.framework.impl.api.remote.messages.OperationResponseBatch;
 import org.identityconnectors.framework.impl.api.remote.messages.OperationResponseEnd;
 import org.identityconnectors.framework.impl.api.remote.messages.OperationResponsePart;
 import org.identityconnectors.framework.impl.api.remote.messages.OperationResponsePause;
+import org.identityconnectors.mockconnector.MockAllOpsConnector;
 import org.junit.jupiter.api.Test;
 
 public class ObjectSerializationTests {
@@ -399,6 +404,7 @@ public class ObjectSerializationTests {
         v1.setMinEvictableIdleTimeMillis(4);
         v1.setMinIdle(5);
         v1.setMaxIdleTimeMillis(6);
+        v1.setEvictionIntervalMillis(7);
 
         ObjectPoolConfiguration v2 =
                 (ObjectPoolConfiguration) cloneObject(v1);
@@ -411,6 +417,7 @@ public class ObjectSerializationTests {
         assertEquals(4, v2.getMinEvictableIdleTimeMillis());
         assertEquals(5, v2.getMinIdle());
         assertEquals(6, v2.getMaxIdleTimeMillis());
+        assertEquals(7, v2.getEvictionIntervalMillis());
     }
 
     @Test
@@ -541,6 +548,40 @@ public class ObjectSerializationTests {
         assertNotNull(v2.getDefaultAPIConfiguration());
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testRemoteConnectorInfoForOlderPeers() throws Exception {
+        RemoteConnectorInfoImpl v1 = new RemoteConnectorInfoImpl();
+        v1.setMessages(new ConnectorMessagesImpl());
+        v1.setConnectorKey(new ConnectorKey("my bundle", "my version", "my connector"));
+        ConfigurationPropertiesImpl configProperties = new ConfigurationPropertiesImpl();
+        configProperties.setProperties(new ArrayList<>());
+        APIConfigurationImpl apiImpl = new APIConfigurationImpl();
+        apiImpl.setConfigurationProperties(configProperties);
+        // can create, update and delete, but doesn't run batches natively
+        apiImpl.setSupportedOperations(FrameworkUtil.getDefaultSupportedOperations(MockAllOpsConnector.class));
+        v1.setDefaultAPIConfiguration(apiImpl);
+        SchemaBuilder schemaBuilder = new SchemaBuilder(MockAllOpsConnector.class);
+        schemaBuilder.defineObjectClass(ObjectClass.ACCOUNT_NAME, Collections.<AttributeInfo>emptySet());
+        List<Object> infos = CollectionUtil.newList(v1, schemaBuilder.build());
+        byte[] bytes = SerializerUtil.serializeBinaryObject(infos);
+
+        // a decoder of an older framework has no mapping for the operations added since
+        Field field = ObjectSerializerRegistry.class.getDeclaredField("HANDLERS_BY_SERIAL_TYPE");
+        field.setAccessible(true);
+        Map<String, ObjectTypeMapper> mappers = (Map<String, ObjectTypeMapper>) field.get(null);
+        ObjectTypeMapper batch = mappers.remove("BatchApiOp");
+        try {
+            List<Object> decoded = (List<Object>) SerializerUtil.deserializeBinaryObject(bytes);
+            RemoteConnectorInfoImpl v2 = (RemoteConnectorInfoImpl) decoded.get(0);
+            assertEquals(apiImpl.getSupportedOperations(), v2.getDefaultAPIConfiguration().getSupportedOperations());
+            assertTrue(v2.getDefaultAPIConfiguration().getSupportedOperations().contains(CreateApiOp.class));
+            assertNotNull(((Schema) decoded.get(1)).findObjectClassInfo(ObjectClass.ACCOUNT_NAME));
+        } finally {
+            mappers.put("BatchApiOp", batch);
+        }
+    }
+
     @Test
     public void testAttribute() {
         Attribute v1 = AttributeBuilder.build("foo", "val1", "val2");
@@ -943,6 +984,14 @@ public class ObjectSerializationTests {
         assertEquals(CreateApiOp.class, v2.getOperation());
         assertEquals("mymethodName", v2.getOperationMethodName());
         assertEquals(args, v2.getArguments());
+        assertEquals(0, v2.getBatchSize());
+
+        OperationRequest v3 = new OperationRequest(
+                v1.getConnectorKey(), v1.getConnectorFacadeKey(), CreateApiOp.class, "mymethodName", args, 50, 400);
+        OperationRequest v4 = (OperationRequest) cloneObject(v3);
+        assertEquals(50, v4.getBatchSize());
+        assertEquals(400, v4.getWindow());
+        assertEquals(200, v4.getCreditInterval());
     }
 
     @Test
@@ -961,6 +1010,20 @@ public class ObjectSerializationTests {
         assertEquals("bar", v2.getResult());
     }
 
+    @Test
+    public void testOperationResponseBatch() {
+        OperationResponseBatch v1 = new OperationResponseBatch(Arrays.<Object>asList("foo", "bar"));
+        OperationResponseBatch v2 = (OperationResponseBatch) cloneObject(v1);
+        assertEquals(Arrays.asList("foo", "bar"), v2.getResults());
+    }
+
+    @Test
+    public void testOperationRequestCredit() {
+        OperationRequestCredit v1 = new OperationRequestCredit(42);
+        OperationRequestCredit v2 = (OperationRequestCredit) cloneObject(v1);
+        assertEquals(42, v2.getCredit());
+    }
+
     @Test
     public void testOperationResponsePause() {
         OperationResponsePause v1 = new OperationResponsePause();
@@ -1076,6 +1139,42 @@ public class ObjectSerializationTests {
         assertEquals(v1, v2);
     }
 
+    @Test
+    public void testBatchItem() {
+        OperationOptions options = new OperationOptionsBuilder().setOption("foo", "bar").build();
+        BatchItem v1 = BatchItem.update(ObjectClass.GROUP, new Uid("foo"),
+                CollectionUtil.newSet(AttributeBuilder.build("attr", "value")), options);
+        BatchItem v2 = (BatchItem) cloneObject(v1);
+        assertEquals(BatchItem.Type.UPDATE, v2.getType());
+        assertEquals(ObjectClass.GROUP, v2.getObjectClass());
+        assertEquals(new Uid("foo"), v2.getUid());
+        assertEquals(v1.getAttributes(), v2.getAttributes());
+        assertEquals("bar", v2.getOptions().getOptions().get("foo"));
+
+        v1 = BatchItem.create(ObjectClass.ACCOUNT, null, null);
+        v2 = (BatchItem) cloneObject(v1);
+        assertEquals(BatchItem.Type.CREATE, v2.getType());
+        assertNull(v2.getUid());
+        assertTrue(v2.getAttributes().isEmpty());
+        assertNull(v2.getOptions());
+    }
+
+    @Test
+    public void testBatchItemResult() {
+        BatchItemResult v1 = BatchItemResult.success(new Uid("foo"));
+        BatchItemResult v2 = (BatchItemResult) cloneObject(v1);
+        assertTrue(v2.isSuccess());
+        assertEquals(new Uid("foo"), v2.getUid());
+
+        v1 = BatchItemResult.failure(new UnknownUidException("missing"));
+        v2 = (BatchItemResult) cloneObject(v1);
+        assertFalse(v2.isSuccess());
+        assertNull(v2.getUid());
+        assertEquals("missing", v2.getError().getMessage());
+        assertEquals(UnknownUidException.class.getName(),
+                ((RemoteWrappedException) v2.getError()).getExceptionClass());
+    }
+
     @Test
     public void testLiveSyncDelta() {
         ConnectorObjectBuilder bld = new ConnectorObjectBuilder();
@@ -0,0 +1,183 @@
+/*
+ * ====================
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2026 ConnId. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of the Common Development
+ * and Distribution License("CDDL") (the "License").  You may not use this file
+ * except in compliance with the License.
+ *
+ * You can obtain a copy of the License at
+ * http://opensource.org/licenses/cddl1.php
+ * See the License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * When distributing the Covered Code, include this CDDL Header Notice in each file
+ * and include the License file at http://opensource.org/licenses/cddl1.php.
+ * If applicable, add the following below this CDDL Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyrighted [year] [name of copyright owner]"
+ * ====================
+ */
+package org.identityconnectors.framework.impl.serializer.binary;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import org.identityconnectors.framework.common.objects.AttributeUtil;
+import org.identityconnectors.framework.common.objects.ConnectorObject;
+import org.identityconnectors.framework.common.objects.ConnectorObjectBuilder;
+import org.identityconnectors.framework.common.objects.Name;
+import org.identityconnectors.framework.common.objects.ObjectClass;
+import org.identityconnectors.framework.common.objects.OperationalAttributes;
+import org.identityconnectors.framework.common.serializer.SerializerUtil;
+import org.junit.jupiter.api.Test;
+
+public class BinaryObjectEncoderTests {
+
+    /**
+     * The object of {@link #testWireFormat()} as written by encoding version 2.
+     */
+    private static final String VERSION_2_BYTES =
+            "AAD6+wAAAAIAAAAQAAAABExpc3QAAAAAAAAAD0Nvbm5lY3Rvck9iamVjdAAAAAEAAAALT2JqZWN0Q2xh"
+            + "c3MAAAACAAAABHR5cGUAAAADAAAACkF0dHJpYnV0ZXMAAAAEAAAAA1NldAAAAAUAAAAJQXR0cmlidXRl"
+            + "AAAABgAAAARuYW1lAAAABwAAAAZWYWx1ZXMAAAAIAAAAB0ludGVnZXIAAAAJAAAABE5hbWUAAAAKAAAA"
+            + "A1VpZAAAAAsAAAADdWlkAAAADAAAAAhuYW1lSGludAAAAA0AAAAGU3RyaW5nAAAADgAAAARMb25nAAAA"
+            + "Dz0AAAAARgAAATM9AAAAAUcAAAACAAAAHD0AAAACRwAAAAMAAAANAAAACV9fR1JPVVBfX0hHAAAABAAA"
+            + "AP89AAAABUYAAAA6PQAAAAZHAAAABwAAAAgAAAAEc2l6ZUcAAAAIAAAAGj0AAAAARgAAAA89AAAACUYA"
+            + "AAAEAAAAA0hISEYAAAAYPQAAAApGAAAADQAAAAlncm91cCBvbmVIRgAAACA9AAAAC0cAAAAMAAAABgAA"
+            + "AAJnMUcAAAANAAAAAjxISEYAAABzPQAAAAZHAAAABwAAAAoAAAAGbWVtYmVyRwAAAAgAAABRPQAAAABG"
+            + "AAAAFD0AAAAORgAAAAkAAAAFdWlkPWFIRgAAABQ9AAAADkYAAAAJAAAABXVpZD1iSEYAAAAUPQAAAA5G"
+            + "AAAACQAAAAV1aWQ9Y0hISEhIRgAAACM+PQAAAA5GAAAAED0AAAAORgAAAAUAAAABeEhGAAAAAjxISEYA"
+            + "AAATPQAAAA9GAAAACAAAAAAAAAAqSEg=";
+
+    private static ConnectorObject newGroup(String uid, int members) {
+        List<Object> values = new ArrayList<>(members);
+        for (int i = 0; i < members; i++) {
+            values.add("uid=" + (char) ('a' + i % 26) + i);
+        }
+        ConnectorObjectBuilder builder = new ConnectorObjectBuilder();
+        builder.setObjectClass(ObjectClass.GROUP);
+        builder.setUid(uid);
+        builder.setName("group " + uid);
+        builder.addAttribute("member", values);
+        builder.addAttribute("size", members);
+        return builder.build();
+    }
+
+    @Test
+    public void testWireFormat() {
+        // peers running older versions must be able to read what we write
+        ConnectorObjectBuilder builder = new ConnectorObjectBuilder();
+        builder.setObjectClass(ObjectClass.GROUP);
+        builder.setUid("g1");
+        builder.setName("group one");
+        builder.addAttribute("member", "uid=a", "uid=b", "uid=c");
+        builder.addAttribute("size", 3);
+        Object object = Arrays.asList(builder.build(), new String[] { "x", null }, 42L);
+
+        assertArrayEquals(Base64.getDecoder().decode(VERSION_2_BYTES),
+                SerializerUtil.serializeBinaryObject(object));
+    }
+
+    @Test
+    public void testLargeMultiValuedAttribute() {
+        ConnectorObject group = newGroup("big", 50000);
+
+        ConnectorObject copy =
+                (ConnectorObject) SerializerUtil.deserializeBinaryObject(SerializerUtil.serializeBinaryObject(group));
+
+        assertEquals(group, copy);
+        assertEquals(50000, AttributeUtil.getIntegerValue(copy.getAttributeByName("size")).intValue());
+    }
+
+    @Test
+    public void testObjectStream() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryObjectEncoder encoder = new BinaryObjectEncoder(out);
+        List<ConnectorObject> groups = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            // objects bigger than the retained buffer alternate with small ones
+            ConnectorObject group = newGroup(String.valueOf(i), i % 2 == 0 ? 100000 : i);
+            groups.add(group);
+            encoder.writeObject(group);
+        }
+        encoder.close();
+
+        BinaryObjectDecoder decoder = new BinaryObjectDecoder(new ByteArrayInputStream(out.toByteArray()));
+        for (ConnectorObject group : groups) {
+            assertEquals(group, decoder.readObject());
+        }
+    }
+
+    @Test
+    public void testCompactEncoding() {
+        List<ConnectorObject> accounts = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            ConnectorObjectBuilder builder = new ConnectorObjectBuilder();
+            builder.setUid(String.valueOf(i));
+            builder.setName("user" + i);
+            builder.addAttribute("givenName", "Given" + i);
+            builder.addAttribute("sn", "Surname" + i);
+            builder.addAttribute("mail", "user" + i + "@example.com");
+            builder.addAttribute("employeeNumber", i);
+            builder.addAttribute("memberOf", "cn=staff,ou=groups", "cn=group" + i % 10 + ",ou=groups");
+            builder.addAttribute(OperationalAttributes.ENABLE_NAME, true);
+            accounts.add(builder.build());
+        }
+
+        byte[] standard = encode(accounts, BinaryObjectEncoder.ENCODING_VERSION);
+        byte[] compact = encode(accounts, BinaryObjectEncoder.COMPACT_ENCODING_VERSION);
+        assertTrue(compact.length * 2 < standard.length,
+                "Bytes per object: " + standard.length / accounts.size() + " / " + compact.length / accounts.size());
+
+        BinaryObjectDecoder decoder = new BinaryObjectDecoder(new ByteArrayInputStream(compact));
+        for (ConnectorObject account : accounts) {
+            ConnectorObject copy = (ConnectorObject) decoder.readObject();
+            assertEquals(account, copy);
+            assertEquals(account.getName(), copy.getAttributeByName(Name.NAME));
+        }
+    }
+
+    private static byte[] encode(List<?> objects, int version) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryObjectEncoder encoder = new BinaryObjectEncoder(out, version);
+        objects.forEach(encoder::writeObject);
+        encoder.close();
+        return out.toByteArray();
+    }
+
+    @Test
+    public void testCompactNestedObjects() {
+        // field lengths of every size, nested in fields of every size
+        List<Object> objects = new ArrayList<>();
+        for (int members : new int[] { 0, 1, 10, 100, 1000, 50000 }) {
+            objects.add(Arrays.asList(newGroup(String.valueOf(members), members),
+                    Arrays.asList(newGroup("inner", members / 2), "x")));
+        }
+        byte[] bytes = encode(objects, BinaryObjectEncoder.COMPACT_ENCODING_VERSION);
+        assertTrue(bytes.length < encode(objects, BinaryObjectEncoder.ENCODING_VERSION).length);
+
+        BinaryObjectDecoder decoder = new BinaryObjectDecoder(new ByteArrayInputStream(bytes));
+        for (Object object : objects) {
+            assertEquals(object, decoder.readObject());
+        }
+    }
+
+    @Test
+    public void testCompactIntegers() {
+        List<Object> values = Arrays.asList(0, -1, 63, -64, 64, Integer.MAX_VALUE, Integer.MIN_VALUE,
+                0L, -1L, Long.MAX_VALUE, Long.MIN_VALUE, 1L << 35);
+        byte[] bytes = encode(Arrays.asList(values), BinaryObjectEncoder.COMPACT_ENCODING_VERSION);
+        BinaryObjectDecoder decoder = new BinaryObjectDecoder(new ByteArrayInputStream(bytes));
+        assertEquals(values, decoder.readObject());
+    }
+}
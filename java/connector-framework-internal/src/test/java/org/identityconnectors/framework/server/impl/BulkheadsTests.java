@@ -0,0 +1,118 @@
+/*
+ * ====================
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2026 ConnId. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of the Common Development
+ * and Distribution License("CDDL") (the "License").  You may not use this file
+ * except in compliance with the License.
+ *
+ * You can obtain a copy of the License at
+ * http://opensource.org/licenses/cddl1.php
+ * See the License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * When distributing the Covered Code, include this CDDL Header Notice in each file
+ * and include the License file at http://opensource.org/licenses/cddl1.php.
+ * If applicable, add the following below this CDDL Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyrighted [year] [name of copyright owner]"
+ * ====================
+ */
+package org.identityconnectors.framework.server.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.identityconnectors.framework.api.ConnectorKey;
+import org.identityconnectors.framework.api.operations.CreateApiOp;
+import org.identityconnectors.framework.api.operations.SearchApiOp;
+import org.identityconnectors.framework.common.exceptions.RetryableException;
+import org.identityconnectors.framework.server.BulkheadLimits;
+import org.identityconnectors.framework.server.BulkheadStatistics;
+import org.identityconnectors.framework.server.ConnectorServer;
+import org.junit.jupiter.api.Test;
+
+public class BulkheadsTests {
+
+    private static final ConnectorKey SLOW = new ConnectorKey("bundle", "1.0", "SlowConnector");
+
+    private static final ConnectorKey FAST = new ConnectorKey("bundle", "1.0", "FastConnector");
+
+    @Test
+    public void testParseLimits() {
+        assertEquals(new BulkheadLimits(10, 20), BulkheadLimits.parse(" 10 / 20 "));
+        assertEquals(new BulkheadLimits(5, 0), BulkheadLimits.parse("5"));
+        assertTrue(BulkheadLimits.parse("0/10").isUnlimited());
+        assertThrows(IllegalArgumentException.class, () -> BulkheadLimits.parse("ten"));
+        assertThrows(IllegalArgumentException.class, () -> BulkheadLimits.parse("-1/0"));
+    }
+
+    @Test
+    public void testConnectorBulkhead() throws Exception {
+        ConnectorServer server = ConnectorServer.newInstance();
+        server.setConnectorBulkhead(new BulkheadLimits(1, 1));
+        server.setConnectorBulkheads(Collections.singletonMap("FastConnector", BulkheadLimits.UNLIMITED));
+        final Bulkheads bulkheads = new Bulkheads(server);
+
+        bulkheads.enter(SLOW, SearchApiOp.class);
+        // the second operation waits in the queue
+        final CountDownLatch entered = new CountDownLatch(1);
+        Thread queued = new Thread(() -> {
+            try {
+                bulkheads.enter(SLOW, CreateApiOp.class);
+                entered.countDown();
+                bulkheads.exit(SLOW, CreateApiOp.class);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        queued.start();
+        while (bulkheads.getStatistics().get(SLOW.toString()).getQueued() == 0) {
+            Thread.sleep(10);
+        }
+        // the third one is rejected, the other connector is not affected
+        assertThrows(RetryableException.class, () -> bulkheads.enter(SLOW, CreateApiOp.class));
+        bulkheads.enter(FAST, CreateApiOp.class);
+        bulkheads.enter(FAST, CreateApiOp.class);
+
+        BulkheadStatistics slow = bulkheads.getStatistics().get(SLOW.toString());
+        assertEquals(1, slow.getRunning());
+        assertEquals(1, slow.getQueued());
+        assertEquals(1, slow.getRejected());
+        assertEquals(2, bulkheads.getStatistics().get(FAST.toString()).getRunning());
+
+        bulkheads.exit(SLOW, SearchApiOp.class);
+        assertTrue(entered.await(10, TimeUnit.SECONDS));
+        queued.join();
+        slow = bulkheads.getStatistics().get(SLOW.toString());
+        assertEquals(0, slow.getRunning());
+        assertEquals(0, slow.getQueued());
+    }
+
+    @Test
+    public void testOperationBulkhead() throws Exception {
+        ConnectorServer server = ConnectorServer.newInstance();
+        server.setOperationBulkheads(Collections.singletonMap(SearchApiOp.class, new BulkheadLimits(1, 0)));
+        Bulkheads bulkheads = new Bulkheads(server);
+
+        bulkheads.enter(SLOW, SearchApiOp.class);
+        assertThrows(RetryableException.class, () -> bulkheads.enter(FAST, SearchApiOp.class));
+        bulkheads.enter(FAST, CreateApiOp.class);
+
+        Map<String, BulkheadStatistics> statistics = bulkheads.getStatistics();
+        assertEquals(1, statistics.get("SearchApiOp").getRejected());
+        // the rejected operation left the bulkhead of its connector
+        assertEquals(1, statistics.get(FAST.toString()).getRunning());
+
+        bulkheads.exit(SLOW, SearchApiOp.class);
+        bulkheads.enter(FAST, SearchApiOp.class);
+        assertEquals(1, bulkheads.getStatistics().get("SearchApiOp").getRunning());
+    }
+}
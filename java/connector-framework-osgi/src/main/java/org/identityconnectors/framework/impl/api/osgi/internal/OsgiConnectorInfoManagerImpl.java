@@ -44,6 +44,7 @@ import org.identityconnectors.common.event.ConnectorEvent;
 import org.identityconnectors.common.event.ConnectorEventHandler;
 import org.identityconnectors.common.event.ConnectorEventPublisher;
 import org.identityconnectors.framework.api.APIConfiguration;
+import org.identityconnectors.framework.api.AsyncConnectorFacade;
 import org.identityconnectors.framework.api.ConnectorFacade;
 import org.identityconnectors.framework.api.ConnectorFacadeFactory;
 import org.identityconnectors.framework.api.ConnectorInfo;
@@ -54,6 +55,7 @@ import org.identityconnectors.framework.common.exceptions.ConfigurationException
 import org.identityconnectors.framework.common.exceptions.ConnectorException;
 import org.identityconnectors.framework.impl.api.APIConfigurationImpl;
 import org.identityconnectors.framework.impl.api.AbstractConnectorInfo;
+import org.identityconnectors.framework.impl.api.AsyncConnectorFacadeImpl;
 import org.identityconnectors.framework.impl.api.ConnectorMessagesImpl;
 import org.identityconnectors.framework.impl.api.local.ConnectorPoolManager;
 import org.identityconnectors.framework.impl.api.local.JavaClassProperties;
@@ -155,6 +157,12 @@ public class OsgiConnectorInfoManagerImpl extends ConnectorFacadeFactory impleme
         return ret;
     }
 
+    @Override
+    public AsyncConnectorFacade newAsyncInstance(APIConfiguration config) {
+        // not on the operation executor, the operations wait for the tasks they submit to it
+        return new AsyncConnectorFacadeImpl(newInstance(config), null);
+    }
+
     @Override
     public void addingEntries(Bundle bundle, List<ManifestEntry> list) {
         NullArgumentException.validateNotNull(bundle, "Bundle");
@@ -0,0 +1,153 @@
+/*
+ * ====================
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2026 ConnId. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of the Common Development
+ * and Distribution License("CDDL") (the "License").  You may not use this file
+ * except in compliance with the License.
+ *
+ * You can obtain a copy of the License at
+ * http://opensource.org/licenses/cddl1.php
+ * See the License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * When distributing the Covered Code, include this CDDL Header Notice in each file
+ * and include the License file at http://opensource.org/licenses/cddl1.php.
+ * If applicable, add the following below this CDDL Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyrighted [year] [name of copyright owner]"
+ * ====================
+ */
+package org.identityconnectors.common.pooling;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Default {@link ObjectPoolMetrics} keeping counters and {@link LatencyHistogram histograms}
+ * in memory.
+ *
+ * @since 1.6.1.0
+ */
+public class InMemoryObjectPoolMetrics implements ObjectPoolMetrics {
+
+    private final LatencyHistogram borrowWait = new LatencyHistogram();
+
+    private final LatencyHistogram createLatency = new LatencyHistogram();
+
+    private final LatencyHistogram testLatency = new LatencyHistogram();
+
+    private final LongAdder timeouts = new LongAdder();
+
+    private final LongAdder createFailures = new LongAdder();
+
+    private final LongAdder testFailures = new LongAdder();
+
+    private final Map<DisposeReason, LongAdder> disposals = new EnumMap<>(DisposeReason.class);
+
+    public InMemoryObjectPoolMetrics() {
+        for (DisposeReason reason : DisposeReason.values()) {
+            disposals.put(reason, new LongAdder());
+        }
+    }
+
+    @Override
+    public void recordBorrow(final long waitNanos) {
+        borrowWait.record(waitNanos);
+    }
+
+    @Override
+    public void recordTimeout(final long waitNanos) {
+        timeouts.increment();
+    }
+
+    @Override
+    public void recordCreate(final long nanos, final boolean succeeded) {
+        createLatency.record(nanos);
+        if (!succeeded) {
+            createFailures.increment();
+        }
+    }
+
+    @Override
+    public void recordTest(final long nanos, final boolean passed) {
+        testLatency.record(nanos);
+        if (!passed) {
+            testFailures.increment();
+        }
+    }
+
+    @Override
+    public void recordDispose(final DisposeReason reason) {
+        disposals.get(reason).increment();
+    }
+
+    /**
+     * Get the time the borrowers waited for an idle object or for a free slot in the pool.
+     * Long waits mean the pool is too small.
+     */
+    public LatencyHistogram getBorrowWait() {
+        return borrowWait;
+    }
+
+    /**
+     * Get the duration of the object creation, including the failed ones.
+     */
+    public LatencyHistogram getCreateLatency() {
+        return createLatency;
+    }
+
+    /**
+     * Get the duration of the object tests, including the failed ones.
+     */
+    public LatencyHistogram getTestLatency() {
+        return testLatency;
+    }
+
+    /**
+     * Get the number of borrowers that timed out waiting for an object.
+     */
+    public long getTimeouts() {
+        return timeouts.sum();
+    }
+
+    /**
+     * Get the number of failed object creations.
+     */
+    public long getCreateFailures() {
+        return createFailures.sum();
+    }
+
+    /**
+     * Get the number of failed object tests.
+     */
+    public long getTestFailures() {
+        return testFailures.sum();
+    }
+
+    /**
+     * Get the number of objects disposed of for the given reason.
+     */
+    public long getDisposals(final DisposeReason reason) {
+        return disposals.get(reason).sum();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("InMemoryObjectPoolMetrics(");
+        sb.append("borrowWait=").append(borrowWait);
+        sb.append(", createLatency=").append(createLatency);
+        sb.append(", testLatency=").append(testLatency);
+        sb.append(", timeouts=").append(getTimeouts());
+        sb.append(", createFailures=").append(getCreateFailures());
+        sb.append(", testFailures=").append(getTestFailures());
+        for (DisposeReason reason : DisposeReason.values()) {
+            sb.append(", ").append(reason).append('=').append(getDisposals(reason));
+        }
+        sb.append(")");
+        return sb.toString();
+    }
+}
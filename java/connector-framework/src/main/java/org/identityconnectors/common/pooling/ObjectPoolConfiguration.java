@@ -41,6 +41,7 @@ public final class ObjectPoolConfiguration {
         this.setMinEvictableIdleTimeMillis(other.getMinEvictableIdleTimeMillis());
         this.setMaxIdleTimeMillis(other.getMaxIdleTimeMillis());
         this.setMinIdle(other.getMinIdle());
+        this.setEvictionIntervalMillis(other.getEvictionIntervalMillis());
     }
 
     /**
@@ -77,6 +78,13 @@ public final class ObjectPoolConfiguration {
      */
     private int minIdle = 1;
 
+    /**
+     * Interval between two runs of the background pool maintenance (in milliseconds).
+     * The maintenance disposes of idle objects past their idle time limits, tests the remaining idle objects
+     * and creates new objects up to {@link #getMinIdle()}. Zero means no background maintenance.
+     */
+    private long evictionIntervalMillis = 0;
+
     /**
      * Get the set number of maximum objects (idle+active).
      */
@@ -170,6 +178,24 @@ public final class ObjectPoolConfiguration {
         this.minIdle = minIdle;
     }
 
+    /**
+     * Interval between two runs of the background pool maintenance (in milliseconds).
+     * The maintenance disposes of idle objects past their idle time limits, tests the remaining idle objects
+     * and creates new objects up to {@link #getMinIdle()}. Zero means no background maintenance.
+     */
+    public long getEvictionIntervalMillis() {
+        return evictionIntervalMillis;
+    }
+
+    /**
+     * Interval between two runs of the background pool maintenance (in milliseconds).
+     * The maintenance disposes of idle objects past their idle time limits, tests the remaining idle objects
+     * and creates new objects up to {@link #getMinIdle()}. Zero means no background maintenance.
+     */
+    public void setEvictionIntervalMillis(long evictionIntervalMillis) {
+        this.evictionIntervalMillis = evictionIntervalMillis;
+    }
+
     public void validate() {
         if (minIdle < 0) {
             throw new IllegalArgumentException("Min idle is less than zero.");
@@ -192,6 +218,9 @@ public final class ObjectPoolConfiguration {
         if (maxIdleTimeMillis > 0 && maxIdleTimeMillis < minEvictableIdleTimeMillis) {
             throw new IllegalArgumentException("Max idle time millis less than min evictable idle time millis.");
         }
+        if (evictionIntervalMillis < 0) {
+            throw new IllegalArgumentException("Eviction interval millis less than zero.");
+        }
         if (minIdle > maxIdle) {
             throw new IllegalArgumentException("Min idle is greater than max idle.");
         }
@@ -203,7 +232,8 @@ public final class ObjectPoolConfiguration {
     @Override
     public int hashCode() {
         return (int) (getMaxObjects() + getMaxIdle() + getMaxWait()
-                + getMinEvictableIdleTimeMillis() + getMinIdle() + getMaxIdleTimeMillis());
+                + getMinEvictableIdleTimeMillis() + getMinIdle() + getMaxIdleTimeMillis()
+                + getEvictionIntervalMillis());
     }
 
     @Override
@@ -229,6 +259,9 @@ public final class ObjectPoolConfiguration {
             if (getMaxIdleTimeMillis() != other.getMaxIdleTimeMillis()) {
                 return false;
             }
+            if (getEvictionIntervalMillis() != other.getEvictionIntervalMillis()) {
+                return false;
+            }
             return true;
         }
         return false;
@@ -244,6 +277,7 @@ public final class ObjectPoolConfiguration {
         bld.put("MinEvictableIdleTimeMillis", getMinEvictableIdleTimeMillis());
         bld.put("MinIdle", getMinIdle());
         bld.put("MaxLifetimeMillis", getMaxIdleTimeMillis());
+        bld.put("EvictionIntervalMillis", getEvictionIntervalMillis());
         return bld.toString();
     }
 }
@@ -0,0 +1,97 @@
+/*
+ * ====================
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2026 ConnId. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of the Common Development
+ * and Distribution License("CDDL") (the "License").  You may not use this file
+ * except in compliance with the License.
+ *
+ * You can obtain a copy of the License at
+ * http://opensource.org/licenses/cddl1.php
+ * See the License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * When distributing the Covered Code, include this CDDL Header Notice in each file
+ * and include the License file at http://opensource.org/licenses/cddl1.php.
+ * If applicable, add the following below this CDDL Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyrighted [year] [name of copyright owner]"
+ * ====================
+ */
+package org.identityconnectors.common.pooling;
+
+/**
+ * Receives the events of an object pool, such as the connector pool.
+ * <p>
+ * Implementations are called on the borrow/return path of the pool, so they have to be
+ * thread-safe and cheap. Use {@link ObjectPoolMetricsFactory#setInstance(ObjectPoolMetricsFactory)}
+ * to plug in a custom implementation, the default one is {@link InMemoryObjectPoolMetrics}.
+ *
+ * @since 1.6.1.0
+ */
+public interface ObjectPoolMetrics {
+
+    /**
+     * Why an object was disposed of by the pool.
+     */
+    enum DisposeReason {
+
+        /**
+         * There were more than {@link ObjectPoolConfiguration#getMaxIdle()} idle objects.
+         */
+        TOO_MANY_IDLE,
+        /**
+         * The object exceeded {@link ObjectPoolConfiguration#getMinEvictableIdleTimeMillis()}
+         * or {@link ObjectPoolConfiguration#getMaxIdleTimeMillis()}.
+         */
+        IDLE_EXPIRED,
+        /**
+         * The object failed the test before it was borrowed or during the background maintenance.
+         */
+        TEST_FAILED,
+        /**
+         * The pool was disposed of or shut down.
+         */
+        POOL_DISPOSED
+    }
+
+    /**
+     * An object was borrowed from the pool.
+     *
+     * @param waitNanos time spent waiting for an idle object or for a free slot, excluding
+     * the creation and the test of the object
+     */
+    void recordBorrow(long waitNanos);
+
+    /**
+     * No object became available within {@link ObjectPoolConfiguration#getMaxWait()}.
+     *
+     * @param waitNanos time spent waiting
+     */
+    void recordTimeout(long waitNanos);
+
+    /**
+     * A new object was created (or its creation failed).
+     *
+     * @param nanos duration of the creation
+     * @param succeeded false if the creation failed
+     */
+    void recordCreate(long nanos, boolean succeeded);
+
+    /**
+     * An object was tested.
+     *
+     * @param nanos duration of the test
+     * @param passed false if the test failed
+     */
+    void recordTest(long nanos, boolean passed);
+
+    /**
+     * An object was disposed of.
+     *
+     * @param reason why the object was disposed of
+     */
+    void recordDispose(DisposeReason reason);
+}
@@ -0,0 +1,67 @@
+/*
+ * ====================
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2026 ConnId. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of the Common Development
+ * and Distribution License("CDDL") (the "License").  You may not use this file
+ * except in compliance with the License.
+ *
+ * You can obtain a copy of the License at
+ * http://opensource.org/licenses/cddl1.php
+ * See the License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * When distributing the Covered Code, include this CDDL Header Notice in each file
+ * and include the License file at http://opensource.org/licenses/cddl1.php.
+ * If applicable, add the following below this CDDL Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyrighted [year] [name of copyright owner]"
+ * ====================
+ */
+package org.identityconnectors.common.pooling;
+
+import org.identityconnectors.common.Assertions;
+
+/**
+ * Creates the {@link ObjectPoolMetrics} of new object pools.
+ * <p>
+ * The factory is global, it has to be set before the pools are created. The pools
+ * created before keep the metrics they were created with.
+ *
+ * @since 1.6.1.0
+ */
+public abstract class ObjectPoolMetricsFactory {
+
+    private static volatile ObjectPoolMetricsFactory instance = new ObjectPoolMetricsFactory() {
+
+        @Override
+        public ObjectPoolMetrics newMetrics(final String poolName) {
+            return new InMemoryObjectPoolMetrics();
+        }
+    };
+
+    /**
+     * Get the factory used for the new pools.
+     */
+    public static ObjectPoolMetricsFactory getInstance() {
+        return instance;
+    }
+
+    /**
+     * Set the factory used for the new pools.
+     */
+    public static void setInstance(final ObjectPoolMetricsFactory factory) {
+        Assertions.nullCheck(factory, "factory");
+        instance = factory;
+    }
+
+    /**
+     * Create the metrics of a new pool.
+     *
+     * @param poolName human readable name of the pool, e.g. the connector instance name, may be null
+     * @return the metrics, never null
+     */
+    public abstract ObjectPoolMetrics newMetrics(String poolName);
+}
@@ -0,0 +1,70 @@
+/*
+ * ====================
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2026 ConnId. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of the Common Development
+ * and Distribution License("CDDL") (the "License").  You may not use this file
+ * except in compliance with the License.
+ *
+ * You can obtain a copy of the License at
+ * http://opensource.org/licenses/cddl1.php
+ * See the License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * When distributing the Covered Code, include this CDDL Header Notice in each file
+ * and include the License file at http://opensource.org/licenses/cddl1.php.
+ * If applicable, add the following below this CDDL Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyrighted [year] [name of copyright owner]"
+ * ====================
+ */
+package org.identityconnectors.common.pooling;
+
+/**
+ * Snapshot of the state of an object pool together with its {@link ObjectPoolMetrics}.
+ *
+ * @since 1.6.1.0
+ */
+public final class ObjectPoolStatistics {
+
+    private final int numIdle;
+
+    private final int numActive;
+
+    private final ObjectPoolMetrics metrics;
+
+    public ObjectPoolStatistics(final int numIdle, final int numActive, final ObjectPoolMetrics metrics) {
+        this.numIdle = numIdle;
+        this.numActive = numActive;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Returns the number of idle objects.
+     */
+    public int getNumIdle() {
+        return numIdle;
+    }
+
+    /**
+     * Returns the number of borrowed objects.
+     */
+    public int getNumActive() {
+        return numActive;
+    }
+
+    /**
+     * Returns the live metrics of the pool, an {@link InMemoryObjectPoolMetrics} unless
+     * a custom {@link ObjectPoolMetricsFactory} is set.
+     */
+    public ObjectPoolMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public String toString() {
+        return "ObjectPoolStatistics(numIdle=" + numIdle + ", numActive=" + numActive + ", metrics=" + metrics + ")";
+    }
+}
@@ -123,7 +123,8 @@ public final class GuardedString {
      * Appends a single clear-text character to the secure string.
      *
      * The in-memory data will be decrypted, the character will be appended, and
-     * then it will be re-encrypted.
+     * then it will be re-encrypted. Use a {@link GuardedStringBuilder} to
+     * encrypt a string once when it is assembled character by character.
      *
      * @param c
      *            The character to append.
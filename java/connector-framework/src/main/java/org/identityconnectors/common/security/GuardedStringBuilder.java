@@ -0,0 +1,162 @@
+/*
+ * ====================
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2026 ConnId. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of the Common Development
+ * and Distribution License("CDDL") (the "License").  You may not use this file
+ * except in compliance with the License.
+ *
+ * You can obtain a copy of the License at
+ * http://opensource.org/licenses/cddl1.php
+ * See the License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * When distributing the Covered Code, include this CDDL Header Notice in each file
+ * and include the License file at http://opensource.org/licenses/cddl1.php.
+ * If applicable, add the following below this CDDL Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyrighted [year] [name of copyright owner]"
+ * ====================
+ */
+package org.identityconnectors.common.security;
+
+import java.util.Arrays;
+
+/**
+ * Collects clear-text characters and encrypts them once into a
+ * {@link GuardedString}. Appending character by character to a
+ * <code>GuardedString</code> decrypts and re-encrypts the whole string for
+ * each character, this builder only encrypts when {@link #build()} is called.
+ * <p>
+ * The characters are held in clear text until the string is built or the
+ * builder is {@link #clear() cleared}, so a builder should be short-lived.
+ * Every buffer it discards is zeroed out. This class is not thread-safe.
+ *
+ * @since 1.6.1.0
+ */
+public final class GuardedStringBuilder {
+
+    private char[] chars;
+
+    private int length;
+
+    /**
+     * Creates a builder for a string of up to 16 characters, it grows as
+     * needed.
+     */
+    public GuardedStringBuilder() {
+        this(16);
+    }
+
+    /**
+     * Creates a builder for a string of up to <code>capacity</code>
+     * characters, it grows as needed.
+     *
+     * @param capacity
+     *            The expected length of the string.
+     */
+    public GuardedStringBuilder(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative: " + capacity);
+        }
+        chars = new char[capacity];
+    }
+
+    /**
+     * Appends a single clear-text character.
+     *
+     * @param c
+     *            The character to append.
+     * @return this builder
+     */
+    public GuardedStringBuilder append(char c) {
+        ensureCapacity(length + 1);
+        chars[length++] = c;
+        return this;
+    }
+
+    /**
+     * Appends clear-text characters.
+     * <p>
+     * Caller is responsible for zeroing out the array of characters after the
+     * call.
+     *
+     * @param clearChars
+     *            The characters to append.
+     * @return this builder
+     */
+    public GuardedStringBuilder append(char[] clearChars) {
+        return append(clearChars, 0, clearChars.length);
+    }
+
+    /**
+     * Appends a range of clear-text characters.
+     * <p>
+     * Caller is responsible for zeroing out the array of characters after the
+     * call.
+     *
+     * @param clearChars
+     *            The characters to append.
+     * @param offset
+     *            The index of the first character to append.
+     * @param count
+     *            The number of characters to append.
+     * @return this builder
+     */
+    public GuardedStringBuilder append(char[] clearChars, int offset, int count) {
+        if (offset < 0 || count < 0 || offset > clearChars.length - count) {
+            throw new IndexOutOfBoundsException("offset " + offset + ", count " + count
+                    + ", length " + clearChars.length);
+        }
+        ensureCapacity(length + count);
+        System.arraycopy(clearChars, offset, chars, length, count);
+        length += count;
+        return this;
+    }
+
+    /**
+     * Returns the number of characters appended so far.
+     *
+     * @return the length of the string to be built.
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Encrypts the appended characters into a new {@link GuardedString} and
+     * clears this builder.
+     *
+     * @return the new string
+     */
+    public GuardedString build() {
+        char[] clearChars = chars.length == length ? chars : Arrays.copyOf(chars, length);
+        try {
+            return new GuardedString(clearChars);
+        } finally {
+            SecurityUtil.clear(clearChars);
+            clear();
+        }
+    }
+
+    /**
+     * Zeroes out and discards the appended characters.
+     */
+    public void clear() {
+        SecurityUtil.clear(chars);
+        length = 0;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity < 0) {
+            throw new OutOfMemoryError("String is too long");
+        }
+        if (capacity > chars.length) {
+            char[] newChars = Arrays.copyOf(chars, Math.max(capacity, chars.length * 2));
+            SecurityUtil.clear(chars);
+            chars = newChars;
+        }
+    }
+}
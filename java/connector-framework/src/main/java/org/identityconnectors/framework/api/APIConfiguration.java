@@ -25,6 +25,7 @@
 package org.identityconnectors.framework.api;
 
 import java.util.Set;
+import java.util.concurrent.Executor;
 import org.identityconnectors.common.pooling.ObjectPoolConfiguration;
 import org.identityconnectors.framework.api.operations.APIOperation;
 import org.identityconnectors.framework.spi.Connector;
@@ -120,4 +121,70 @@ public interface APIConfiguration {
      * @since 1.5.0.0
      */
     void setInstanceName(String instanceName);
+
+    /**
+     * Sets the executor of the tasks the operations of the facade submit:
+     * <ul>
+     * <li>the operations that have a timeout,</li>
+     * <li>the producers of the buffered search and sync results,</li>
+     * <li>the workers running the queries of a search concurrently
+     * ({@link ResultsHandlerConfiguration#setMaxParallelQueries(int)}),</li>
+     * <li>the workers handling the deltas of a sync concurrently
+     * ({@link ResultsHandlerConfiguration#setMaxParallelSyncHandlers(int)}).</li>
+     * </ul>
+     * The operations of an {@link AsyncConnectorFacade} don't run on it.
+     * <p>
+     * These tasks wait for other tasks submitted to the same executor, e.g. a timed
+     * search waits for its producer, which waits for its query workers. So the executor
+     * must not be bounded and must not run the tasks in the calling thread: a task queued
+     * behind the tasks waiting for it is only noticed by a timeout, if at all. By default
+     * the framework uses a shared unbounded pool of platform threads, or virtual threads
+     * if selected by the {@code org.identityconnectors.framework.operationThreads=virtual}
+     * system property.
+     * <p>
+     * The executor is not serialized: it is not sent to a remote connector server and it is not
+     * a part of the {@link ConnectorFacade#getConnectorFacadeKey() facade key}.
+     *
+     * @param executor the executor, null for the default one
+     * @since 1.6.1.0
+     */
+    void setOperationExecutor(Executor executor);
+
+    /**
+     * Gets the executor of the tasks the operations of the facade submit, see
+     * {@link #setOperationExecutor(Executor)}.
+     *
+     * @return the executor, null for the default one
+     * @since 1.6.1.0
+     */
+    Executor getOperationExecutor();
+
+    /**
+     * Sets how long the values read by an add or remove of attribute values
+     * may be reused, for connectors which support neither
+     * {@code UpdateAttributeValuesOp} nor {@code UpdateDeltaOp}. The framework
+     * has to read the object before every such update of these connectors;
+     * with a time to live it keeps the values read and written for a sequence
+     * of updates of the same object, as long as the revision of the
+     * {@link org.identityconnectors.framework.common.objects.Uid} stays the
+     * same.
+     * <p>
+     * Changes made to the object by others within this time are overwritten,
+     * so it should only be set when the facade is the only writer of the
+     * updated attributes.
+     *
+     * @param ttlMillis the time to live in milliseconds, 0 (the default) to
+     *            read the object for every update.
+     * @since 1.6.1.0
+     */
+    void setObjectSnapshotTtl(int ttlMillis);
+
+    /**
+     * Gets how long the values read by an add or remove of attribute values
+     * may be reused.
+     *
+     * @return the time to live in milliseconds, 0 if the values are not reused
+     * @since 1.6.1.0
+     */
+    int getObjectSnapshotTtl();
 }
@@ -0,0 +1,201 @@
+/*
+ * ====================
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2026 ConnId. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of the Common Development
+ * and Distribution License("CDDL") (the "License").  You may not use this file
+ * except in compliance with the License.
+ *
+ * You can obtain a copy of the License at
+ * http://opensource.org/licenses/cddl1.php
+ * See the License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * When distributing the Covered Code, include this CDDL Header Notice in each file
+ * and include the License file at http://opensource.org/licenses/cddl1.php.
+ * If applicable, add the following below this CDDL Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyrighted [year] [name of copyright owner]"
+ * ====================
+ */
+package org.identityconnectors.framework.api;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import org.identityconnectors.common.security.GuardedString;
+import org.identityconnectors.framework.common.objects.Attribute;
+import org.identityconnectors.framework.common.objects.AttributeDelta;
+import org.identityconnectors.framework.common.objects.BatchItem;
+import org.identityconnectors.framework.common.objects.BatchItemResult;
+import org.identityconnectors.framework.common.objects.ConnectorObject;
+import org.identityconnectors.framework.common.objects.LiveSyncResultsHandler;
+import org.identityconnectors.framework.common.objects.ObjectClass;
+import org.identityconnectors.framework.common.objects.OperationOptions;
+import org.identityconnectors.framework.common.objects.ResultsHandler;
+import org.identityconnectors.framework.common.objects.Schema;
+import org.identityconnectors.framework.common.objects.ScriptContext;
+import org.identityconnectors.framework.common.objects.SearchResult;
+import org.identityconnectors.framework.common.objects.SuggestedValues;
+import org.identityconnectors.framework.common.objects.SyncResultsHandler;
+import org.identityconnectors.framework.common.objects.SyncToken;
+import org.identityconnectors.framework.common.objects.Uid;
+import org.identityconnectors.framework.common.objects.filter.Filter;
+
+/**
+ * Non-blocking variant of the {@link ConnectorFacade}.
+ * <p>
+ * Every operation is started on the default executor of the framework and
+ * returns at once. It is not started on the operation executor of the facade
+ * ({@link APIConfiguration#getOperationExecutor()}), since the operation
+ * submits its own tasks to that one and waits for them. The
+ * returned future completes with the result of the corresponding
+ * {@link ConnectorFacade} method, or exceptionally with the exception it has
+ * thrown. The operations keep their timeouts, pooling and other framework
+ * behaviour and work the same for local and remote connectors.
+ * <p>
+ * Cancelling a returned future does not interrupt the operation which is
+ * already running in the connector.
+ *
+ * @see ConnectorFacadeFactory#newAsyncInstance(APIConfiguration)
+ * @since 1.6.1.0
+ */
+public interface AsyncConnectorFacade {
+
+    /**
+     * Get the blocking facade the operations are delegated to.
+     */
+    ConnectorFacade getConnectorFacade();
+
+    /**
+     * @see org.identityconnectors.framework.api.operations.CreateApiOp#create
+     */
+    CompletableFuture<Uid> create(ObjectClass objectClass, Set<Attribute> createAttributes,
+            OperationOptions options);
+
+    /**
+     * @see org.identityconnectors.framework.api.operations.UpdateApiOp#update
+     */
+    CompletableFuture<Uid> update(ObjectClass objectClass, Uid uid, Set<Attribute> replaceAttributes,
+            OperationOptions options);
+
+    /**
+     * @see org.identityconnectors.framework.api.operations.UpdateApiOp#addAttributeValues
+     */
+    CompletableFuture<Uid> addAttributeValues(ObjectClass objectClass, Uid uid, Set<Attribute> valuesToAdd,
+            OperationOptions options);
+
+    /**
+     * @see org.identityconnectors.framework.api.operations.UpdateApiOp#removeAttributeValues
+     */
+    CompletableFuture<Uid> removeAttributeValues(ObjectClass objectClass, Uid uid,
+            Set<Attribute> valuesToRemove, OperationOptions options);
+
+    /**
+     * @see org.identityconnectors.framework.api.operations.UpdateDeltaApiOp#updateDelta
+     */
+    CompletableFuture<Set<AttributeDelta>> updateDelta(ObjectClass objectClass, Uid uid,
+            Set<AttributeDelta> modifications, OperationOptions options);
+
+    /**
+     * @see org.identityconnectors.framework.api.operations.DeleteApiOp#delete
+     */
+    CompletableFuture<Void> delete(ObjectClass objectClass, Uid uid, OperationOptions options);
+
+    /**
+     * @see org.identityconnectors.framework.api.operations.BatchApiOp#executeBatch
+     */
+    CompletableFuture<List<BatchItemResult>> executeBatch(List<BatchItem> items, OperationOptions options);
+
+    /**
+     * @see org.identityconnectors.framework.api.operations.GetApiOp#getObject
+     */
+    CompletableFuture<ConnectorObject> getObject(ObjectClass objectClass, Uid uid, OperationOptions options);
+
+    /**
+     * Search the objects and pass them to the handler on the thread running
+     * the operation.
+     *
+     * @see org.identityconnectors.framework.api.operations.SearchApiOp#search
+     */
+    CompletableFuture<SearchResult> search(ObjectClass objectClass, Filter filter, ResultsHandler handler,
+            OperationOptions options);
+
+    /**
+     * Get a publisher of the objects matching the filter.
+     * <p>
+     * Each subscription runs its own search, which starts with the first
+     * {@link Flow.Subscription#request(long) request}. The search is paused
+     * while the subscriber has no outstanding demand and stops when the
+     * subscription is cancelled. A subscriber which requests nothing for
+     * longer than the search timeout makes the search fail with an
+     * {@link org.identityconnectors.framework.common.exceptions.OperationTimeoutException}.
+     * <p>
+     * The {@link SearchResult} of the search is not published.
+     *
+     * @see org.identityconnectors.framework.api.operations.SearchApiOp#search
+     */
+    Flow.Publisher<ConnectorObject> search(ObjectClass objectClass, Filter filter, OperationOptions options);
+
+    /**
+     * @see org.identityconnectors.framework.api.operations.SyncApiOp#sync
+     */
+    CompletableFuture<SyncToken> sync(ObjectClass objectClass, SyncToken token, SyncResultsHandler handler,
+            OperationOptions options);
+
+    /**
+     * @see org.identityconnectors.framework.api.operations.SyncApiOp#getLatestSyncToken
+     */
+    CompletableFuture<SyncToken> getLatestSyncToken(ObjectClass objectClass);
+
+    /**
+     * @see org.identityconnectors.framework.api.operations.LiveSyncApiOp#livesync
+     */
+    CompletableFuture<Void> livesync(ObjectClass objectClass, LiveSyncResultsHandler handler,
+            OperationOptions options);
+
+    /**
+     * @see org.identityconnectors.framework.api.operations.AuthenticationApiOp#authenticate
+     */
+    CompletableFuture<Uid> authenticate(ObjectClass objectClass, String username, GuardedString password,
+            OperationOptions options);
+
+    /**
+     * @see org.identityconnectors.framework.api.operations.ResolveUsernameApiOp#resolveUsername
+     */
+    CompletableFuture<Uid> resolveUsername(ObjectClass objectClass, String username, OperationOptions options);
+
+    /**
+     * @see org.identityconnectors.framework.api.operations.ScriptOnConnectorApiOp#runScriptOnConnector
+     */
+    CompletableFuture<Object> runScriptOnConnector(ScriptContext request, OperationOptions options);
+
+    /**
+     * @see org.identityconnectors.framework.api.operations.ScriptOnResourceApiOp#runScriptOnResource
+     */
+    CompletableFuture<Object> runScriptOnResource(ScriptContext request, OperationOptions options);
+
+    /**
+     * @see org.identityconnectors.framework.api.operations.SchemaApiOp#schema
+     */
+    CompletableFuture<Schema> schema();
+
+    /**
+     * @see org.identityconnectors.framework.api.operations.TestApiOp#test
+     */
+    CompletableFuture<Void> test();
+
+    /**
+     * @see org.identityconnectors.framework.api.operations.ValidateApiOp#validate
+     */
+    CompletableFuture<Void> validate();
+
+    /**
+     * @see org.identityconnectors.framework.api.operations.DiscoverConfigurationApiOp#discoverConfiguration
+     */
+    CompletableFuture<Map<String, SuggestedValues>> discoverConfiguration();
+}
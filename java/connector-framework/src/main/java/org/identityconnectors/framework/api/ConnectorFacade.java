@@ -25,9 +25,14 @@
  */
 package org.identityconnectors.framework.api;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
+import org.identityconnectors.common.Assertions;
+import org.identityconnectors.common.pooling.ObjectPoolStatistics;
 import org.identityconnectors.framework.api.operations.APIOperation;
 import org.identityconnectors.framework.api.operations.AuthenticationApiOp;
+import org.identityconnectors.framework.api.operations.BatchApiOp;
 import org.identityconnectors.framework.api.operations.CreateApiOp;
 import org.identityconnectors.framework.api.operations.DeleteApiOp;
 import org.identityconnectors.framework.api.operations.DiscoverConfigurationApiOp;
@@ -43,6 +48,9 @@ import org.identityconnectors.framework.api.operations.TestApiOp;
 import org.identityconnectors.framework.api.operations.UpdateApiOp;
 import org.identityconnectors.framework.api.operations.UpdateDeltaApiOp;
 import org.identityconnectors.framework.api.operations.ValidateApiOp;
+import org.identityconnectors.framework.common.objects.BatchItem;
+import org.identityconnectors.framework.common.objects.BatchItemResult;
+import org.identityconnectors.framework.common.objects.OperationOptions;
 
 /**
  * Main interface through which an application invokes Connector operations.
@@ -55,7 +63,8 @@ import org.identityconnectors.framework.api.operations.ValidateApiOp;
  */
 public interface ConnectorFacade extends CreateApiOp, DeleteApiOp, SearchApiOp, UpdateApiOp, UpdateDeltaApiOp,
         SchemaApiOp, AuthenticationApiOp, ResolveUsernameApiOp, GetApiOp, ValidateApiOp, TestApiOp,
-        ScriptOnConnectorApiOp, ScriptOnResourceApiOp, SyncApiOp, LiveSyncApiOp, DiscoverConfigurationApiOp {
+        ScriptOnConnectorApiOp, ScriptOnResourceApiOp, SyncApiOp, LiveSyncApiOp, DiscoverConfigurationApiOp,
+        BatchApiOp {
 
     /**
      * Gets the unique generated identifier of this ConnectorFacade.
@@ -90,4 +99,53 @@ public interface ConnectorFacade extends CreateApiOp, DeleteApiOp, SearchApiOp,
      * @since 1.5.0.0
      */
     void dispose();
+
+    /**
+     * Get the statistics and metrics of the connector pool used by this facade, e.g. to tell
+     * whether the operations wait for a free connector instance or for the resource.
+     *
+     * @return the statistics, or null if the connector instances are not pooled locally
+     * (the connector is not a pooled connector or it runs on a remote connector server)
+     * @since 1.6.1.0
+     */
+    default ObjectPoolStatistics getPoolStatistics() {
+        return null;
+    }
+
+    /**
+     * Runs the items of a batch one after another through {@link #create}, {@link #update} and
+     * {@link #delete} of this facade. Facades of connectors which run batches natively override this.
+     *
+     * @since 1.6.1.0
+     */
+    @Override
+    default List<BatchItemResult> executeBatch(final List<BatchItem> items, final OperationOptions options) {
+        Assertions.nullCheck(items, "items");
+        List<BatchItemResult> results = new ArrayList<>(items.size());
+        for (BatchItem item : items) {
+            OperationOptions itemOptions = item.getOptions() == null ? options : item.getOptions();
+            try {
+                switch (item.getType()) {
+                    case CREATE:
+                        results.add(BatchItemResult.success(
+                                create(item.getObjectClass(), item.getAttributes(), itemOptions)));
+                        break;
+                    case UPDATE:
+                        results.add(BatchItemResult.success(
+                                update(item.getObjectClass(), item.getUid(), item.getAttributes(), itemOptions)));
+                        break;
+                    case DELETE:
+                        delete(item.getObjectClass(), item.getUid(), itemOptions);
+                        results.add(BatchItemResult.success(null));
+                        break;
+                    default:
+                        results.add(BatchItemResult.failure(new UnsupportedOperationException(
+                                "Unknown batch item type " + item.getType())));
+                }
+            } catch (RuntimeException e) {
+                results.add(BatchItemResult.failure(e));
+            }
+        }
+        return results;
+    }
 }
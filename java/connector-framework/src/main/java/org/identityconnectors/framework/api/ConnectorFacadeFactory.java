@@ -106,4 +106,22 @@ public abstract class ConnectorFacadeFactory {
      * @since 1.4
      */
     public abstract ConnectorFacade newInstance(ConnectorInfo connectorInfo, String config);
+
+    /**
+     * Get a new instance of {@link AsyncConnectorFacade}.
+     * <p>
+     * The operations run on the default executor of the framework. The
+     * {@link APIConfiguration#getOperationExecutor() operation executor} of the
+     * configuration only runs the tasks the operations submit themselves, so
+     * the operations never wait for tasks queued behind them.
+     *
+     * @param config
+     * all the configuration that the framework, connector, and pooling needs.
+     * @return {@link AsyncConnectorFacade} to call API operations against.
+     * @throws UnsupportedOperationException if this factory doesn't provide asynchronous facades
+     * @since 1.6.1.0
+     */
+    public AsyncConnectorFacade newAsyncInstance(APIConfiguration config) {
+        throw new UnsupportedOperationException("Asynchronous facades are not supported by " + getClass().getName());
+    }
 }
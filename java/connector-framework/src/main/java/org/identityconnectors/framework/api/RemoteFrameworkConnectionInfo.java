@@ -26,6 +26,7 @@ import java.util.List;
 import javax.net.ssl.TrustManager;
 import org.identityconnectors.common.Assertions;
 import org.identityconnectors.common.CollectionUtil;
+import org.identityconnectors.common.pooling.ObjectPoolConfiguration;
 import org.identityconnectors.common.security.GuardedString;
 
 /**
@@ -39,6 +40,8 @@ public final class RemoteFrameworkConnectionInfo {
     private final boolean useSSL;
     private final List<TrustManager> trustManagers;
     private final int timeout;
+    private final ObjectPoolConfiguration connectionPoolConfiguration;
+    private final int compressionLevel;
 
     /**
      * Creates a new instance of RemoteFrameworkConnectionInfo, using a clear
@@ -77,6 +80,76 @@ public final class RemoteFrameworkConnectionInfo {
      */
     public RemoteFrameworkConnectionInfo(String host, int port, GuardedString key, boolean useSSL,
             List<TrustManager> trustManagers, int timeout) {
+        this(host, port, key, useSSL, trustManagers, timeout, null);
+    }
+
+    /**
+     * Creates a new instance of RemoteFrameworkConnectionInfo which keeps the
+     * connections to the remote framework open and reuses them for subsequent
+     * requests.
+     *
+     * @param host
+     *            The host to connect to
+     * @param port
+     *            The port to connect to
+     * @param key
+     *            The remote framework key
+     * @param useSSL
+     *            Set to true if we are to connect via SSL.
+     * @param trustManagers
+     *            List of {@link TrustManager}'s to use for establising the SSL
+     *            connection. May be null or empty, in which case the default
+     *            installed providers for the JVM will be used. Ignored if
+     *            'useSSL' is false.
+     * @param timeout
+     *            The timeout to use (in milliseconds). A value of 0 means
+     *            infinite timeout;
+     * @param connectionPoolConfiguration
+     *            Configuration of the pool of connections to the remote
+     *            framework; {@code maxObjects} is the maximum number of open
+     *            connections to this host. May be null, in which case a new
+     *            connection is opened for each request.
+     * @since 1.6.1.0
+     */
+    public RemoteFrameworkConnectionInfo(String host, int port, GuardedString key, boolean useSSL,
+            List<TrustManager> trustManagers, int timeout, ObjectPoolConfiguration connectionPoolConfiguration) {
+        this(host, port, key, useSSL, trustManagers, timeout, connectionPoolConfiguration, 0);
+    }
+
+    /**
+     * Creates a new instance of RemoteFrameworkConnectionInfo which asks the
+     * remote framework to compress the traffic of its connections.
+     *
+     * @param host
+     *            The host to connect to
+     * @param port
+     *            The port to connect to
+     * @param key
+     *            The remote framework key
+     * @param useSSL
+     *            Set to true if we are to connect via SSL.
+     * @param trustManagers
+     *            List of {@link TrustManager}'s to use for establising the SSL
+     *            connection. May be null or empty, in which case the default
+     *            installed providers for the JVM will be used. Ignored if
+     *            'useSSL' is false.
+     * @param timeout
+     *            The timeout to use (in milliseconds). A value of 0 means
+     *            infinite timeout;
+     * @param connectionPoolConfiguration
+     *            Configuration of the pool of connections to the remote
+     *            framework. May be null, in which case a new connection is
+     *            opened for each request.
+     * @param compressionLevel
+     *            The {@link java.util.zip.Deflater} level used to compress
+     *            the requests, from 1 (fastest) to 9 (best compression). The
+     *            traffic is compressed only if the remote framework supports
+     *            it. A value of 0 means no compression.
+     * @since 1.6.1.0
+     */
+    public RemoteFrameworkConnectionInfo(String host, int port, GuardedString key, boolean useSSL,
+            List<TrustManager> trustManagers, int timeout, ObjectPoolConfiguration connectionPoolConfiguration,
+            int compressionLevel) {
         Assertions.nullCheck(host, "host");
         Assertions.nullCheck(key, "key");
         this.host = host;
@@ -85,6 +158,13 @@ public final class RemoteFrameworkConnectionInfo {
         this.useSSL = useSSL;
         this.trustManagers = CollectionUtil.newReadOnlyList(trustManagers);
         this.timeout = timeout;
+        this.connectionPoolConfiguration = connectionPoolConfiguration == null
+                ? null
+                : new ObjectPoolConfiguration(connectionPoolConfiguration);
+        if (compressionLevel < 0 || compressionLevel > 9) {
+            throw new IllegalArgumentException("Compression level must be between 0 and 9: " + compressionLevel);
+        }
+        this.compressionLevel = compressionLevel;
     }
 
     /**
@@ -143,6 +223,40 @@ public final class RemoteFrameworkConnectionInfo {
         return timeout;
     }
 
+    /**
+     * Returns the configuration of the pool of connections to the remote
+     * framework.
+     *
+     * @return the connection pool configuration or null if connections are not
+     *         pooled.
+     * @since 1.6.1.0
+     */
+    public ObjectPoolConfiguration getConnectionPoolConfiguration() {
+        return connectionPoolConfiguration == null
+                ? null
+                : new ObjectPoolConfiguration(connectionPoolConfiguration);
+    }
+
+    /**
+     * Returns true if the connections to the remote framework are pooled.
+     *
+     * @return true if the connections to the remote framework are pooled.
+     * @since 1.6.1.0
+     */
+    public boolean isConnectionPoolingEnabled() {
+        return connectionPoolConfiguration != null;
+    }
+
+    /**
+     * Returns the level used to compress the traffic, 0 if it isn't compressed.
+     *
+     * @return the {@link java.util.zip.Deflater} level of the requests.
+     * @since 1.6.1.0
+     */
+    public int getCompressionLevel() {
+        return compressionLevel;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -168,6 +282,14 @@ public final class RemoteFrameworkConnectionInfo {
             if (getTimeout() != other.getTimeout()) {
                 return false;
             }
+            if (getCompressionLevel() != other.getCompressionLevel()) {
+                return false;
+            }
+            if (connectionPoolConfiguration == null
+                    ? other.connectionPoolConfiguration != null
+                    : !connectionPoolConfiguration.equals(other.connectionPoolConfiguration)) {
+                return false;
+            }
 
             return true;
         }
@@ -72,6 +72,22 @@ public class ResultsHandlerConfiguration {
      * in the handler chain.
      */
     boolean enableAttributesToGetSearchResultsHandler = true;
+    /**
+     * The number of queries a search may run concurrently if the connector
+     * translates its filter into more than one query. Each runs on its own
+     * connector instance; 1 runs them one after another.
+     */
+    int maxParallelQueries = 1;
+    /**
+     * Makes the duplicate filter of searches with more than one translated
+     * query remember 64 bit fingerprints of the UIDs instead of the UIDs.
+     */
+    boolean enableCompactDuplicateFiltering = false;
+    /**
+     * The number of threads handling the deltas of a sync concurrently,
+     * partitioned by UID; 1 handles them in the thread of the connector.
+     */
+    int maxParallelSyncHandlers = 1;
 
     /**
      * default empty constructor.
@@ -92,6 +108,9 @@ public class ResultsHandlerConfiguration {
         this.enableCaseInsensitiveFilter = source.isEnableCaseInsensitiveFilter();
         this.enableAttributesToGetSearchResultsHandler =
                 source.isEnableAttributesToGetSearchResultsHandler();
+        this.maxParallelQueries = source.getMaxParallelQueries();
+        this.enableCompactDuplicateFiltering = source.isEnableCompactDuplicateFiltering();
+        this.maxParallelSyncHandlers = source.getMaxParallelSyncHandlers();
     }
 
     public boolean isEnableAttributesToGetSearchResultsHandler() {
@@ -127,6 +146,87 @@ public class ResultsHandlerConfiguration {
         this.enableFilteredResultsHandler = enableFilteredResultsHandler;
     }
 
+    /**
+     * @since 1.6.1.0
+     */
+    public int getMaxParallelQueries() {
+        return maxParallelQueries;
+    }
+
+    /**
+     * Sets the number of translated queries of a search which may run
+     * concurrently, each on its own connector instance borrowed from the
+     * connector pool (or created, if the connector isn't pooled). Results are
+     * merged into the handler one at a time, without duplicates; once the
+     * handler stops, the remaining queries are not run.
+     *
+     * @param maxParallelQueries
+     *            1 (the default) to run the queries one after another.
+     * @since 1.6.1.0
+     */
+    public void setMaxParallelQueries(int maxParallelQueries) {
+        if (maxParallelQueries < 1) {
+            throw new IllegalArgumentException("maxParallelQueries must be positive: " + maxParallelQueries);
+        }
+        this.maxParallelQueries = maxParallelQueries;
+    }
+
+    /**
+     * @since 1.6.1.0
+     */
+    public boolean isEnableCompactDuplicateFiltering() {
+        return enableCompactDuplicateFiltering;
+    }
+
+    /**
+     * Sets whether searches translated into more than one query filter out
+     * duplicates by 64 bit fingerprints of the UIDs rather than by the UIDs.
+     * This keeps the memory of searches over millions of objects down to a
+     * few bytes per object, at the price of a tiny chance of dropping an
+     * object whose UID has the same fingerprint as another one.
+     *
+     * @since 1.6.1.0
+     */
+    public void setEnableCompactDuplicateFiltering(boolean enableCompactDuplicateFiltering) {
+        this.enableCompactDuplicateFiltering = enableCompactDuplicateFiltering;
+    }
+
+    /**
+     * @since 1.6.1.0
+     */
+    public int getMaxParallelSyncHandlers() {
+        return maxParallelSyncHandlers;
+    }
+
+    /**
+     * Sets the number of threads handling the deltas of a sync concurrently.
+     * The deltas are partitioned by UID, so the deltas of one object are
+     * handled one after another in the order of the connector; the handler
+     * must be thread-safe. The returned token is the token of the last delta
+     * which was handled together with all the deltas before it, so a sync
+     * stopped by the handler can be resumed from it without losing deltas.
+     * <p>
+     * A sync which fails throws the failure and returns no token, so it has to
+     * be restarted from the token it was started with.
+     * <p>
+     * The sync of a local connector is not buffered and not subject to the
+     * timeout of the facade in this mode. Remote connectors send the deltas
+     * over one connection, so their handler is always called serially and
+     * their sync keeps the buffer and the timeout of the facade.
+     *
+     * @param maxParallelSyncHandlers
+     *            1 (the default) to handle the deltas in the thread of the
+     *            connector.
+     * @since 1.6.1.0
+     */
+    public void setMaxParallelSyncHandlers(int maxParallelSyncHandlers) {
+        if (maxParallelSyncHandlers < 1) {
+            throw new IllegalArgumentException("maxParallelSyncHandlers must be positive: "
+                    + maxParallelSyncHandlers);
+        }
+        this.maxParallelSyncHandlers = maxParallelSyncHandlers;
+    }
+
     public boolean isEnableNormalizingResultsHandler() {
         return enableNormalizingResultsHandler;
     }
@@ -159,6 +259,15 @@ public class ResultsHandlerConfiguration {
         if (this.enableAttributesToGetSearchResultsHandler != other.enableAttributesToGetSearchResultsHandler) {
             return false;
         }
+        if (this.maxParallelQueries != other.maxParallelQueries) {
+            return false;
+        }
+        if (this.enableCompactDuplicateFiltering != other.enableCompactDuplicateFiltering) {
+            return false;
+        }
+        if (this.maxParallelSyncHandlers != other.maxParallelSyncHandlers) {
+            return false;
+        }
         return true;
     }
 
@@ -170,6 +279,9 @@ public class ResultsHandlerConfiguration {
         hash = 79 * hash + (this.filteredResultsHandlerInValidationMode ? 1 : 0);
         hash = 79 * hash + (this.enableCaseInsensitiveFilter ? 1 : 0);
         hash = 79 * hash + (this.enableAttributesToGetSearchResultsHandler ? 1 : 0);
+        hash = 79 * hash + this.maxParallelQueries;
+        hash = 79 * hash + (this.enableCompactDuplicateFiltering ? 1 : 0);
+        hash = 79 * hash + this.maxParallelSyncHandlers;
         return hash;
     }
 
@@ -180,6 +292,9 @@ public class ResultsHandlerConfiguration {
                 + enableFilteredResultsHandler + "\nfilteredResultsHandlerInValidationMode="
                 + filteredResultsHandlerInValidationMode + "\nenableCaseInsensitiveFilter="
                 + enableCaseInsensitiveFilter + "\nenableAttributesToGetSearchResultsHandler="
-                + enableAttributesToGetSearchResultsHandler + '}';
+                + enableAttributesToGetSearchResultsHandler + "\nmaxParallelQueries="
+                + maxParallelQueries + "\nenableCompactDuplicateFiltering="
+                + enableCompactDuplicateFiltering + "\nmaxParallelSyncHandlers="
+                + maxParallelSyncHandlers + '}';
     }
 }
@@ -0,0 +1,61 @@
+/*
+ * ====================
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2026 ConnId. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of the Common Development
+ * and Distribution License("CDDL") (the "License").  You may not use this file
+ * except in compliance with the License.
+ *
+ * You can obtain a copy of the License at
+ * http://opensource.org/licenses/cddl1.php
+ * See the License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * When distributing the Covered Code, include this CDDL Header Notice in each file
+ * and include the License file at http://opensource.org/licenses/cddl1.php.
+ * If applicable, add the following below this CDDL Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyrighted [year] [name of copyright owner]"
+ * ====================
+ */
+package org.identityconnectors.framework.api.operations;
+
+import java.util.List;
+import org.identityconnectors.framework.common.objects.BatchItem;
+import org.identityconnectors.framework.common.objects.BatchItemResult;
+import org.identityconnectors.framework.common.objects.OperationOptions;
+import org.identityconnectors.framework.spi.operations.BatchOp;
+
+/**
+ * Creates, updates and deletes many objects in one call.
+ * <p>
+ * Connectors that implement {@linkplain BatchOp the BatchOp SPI} get the
+ * whole batch to run it natively, e.g. as one JDBC batch or one SCIM bulk
+ * request, and only these connectors list this operation among their
+ * supported operations. For the other connectors
+ * {@link org.identityconnectors.framework.api.ConnectorFacade#executeBatch}
+ * runs the items one after another through the create, update and delete
+ * operations of the facade.
+ *
+ * @see BatchOp
+ * @since 1.6.1.0
+ */
+public interface BatchApiOp extends APIOperation {
+
+    /**
+     * Runs the items of a batch.
+     * <p>
+     * A failing item doesn't stop the others; its error is returned in its
+     * result instead. An exception is only thrown when the batch as a whole
+     * fails, e.g. because the connection to the resource is lost.
+     *
+     * @param items The changes to make. Must not be null.
+     * @param options Options that affect the way this operation is run, and
+     * the default options of its items. May be null.
+     * @return one result per item, in the order of the items.
+     * @throws IllegalArgumentException if {@code items} is null.
+     */
+    List<BatchItemResult> executeBatch(List<BatchItem> items, OperationOptions options);
+}
@@ -0,0 +1,221 @@
+/*
+ * ====================
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2026 ConnId. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of the Common Development
+ * and Distribution License("CDDL") (the "License").  You may not use this file
+ * except in compliance with the License.
+ *
+ * You can obtain a copy of the License at
+ * http://opensource.org/licenses/cddl1.php
+ * See the License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * When distributing the Covered Code, include this CDDL Header Notice in each file
+ * and include the License file at http://opensource.org/licenses/cddl1.php.
+ * If applicable, add the following below this CDDL Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyrighted [year] [name of copyright owner]"
+ * ====================
+ */
+package org.identityconnectors.framework.common.objects;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Read-only, case-insensitive map of attributes by name.
+ * <p>
+ * Looks up names in a flat open-addressing table keyed by a case-folded hash
+ * which is computed once per attribute, instead of comparing the names char
+ * by char along a tree. The names of {@link Uid}, {@link Name} and the
+ * password are replaced by their canonical constants so that lookups with
+ * the constants usually match by identity. Names are equal if
+ * {@link String#CASE_INSENSITIVE_ORDER} considers them equal; iteration
+ * follows the order of the attributes.
+ */
+final class AttributeIndex extends AbstractMap<String, Attribute> {
+
+    private static final String[] CANONICAL_NAMES = {
+        Uid.NAME, Name.NAME, OperationalAttributes.PASSWORD_NAME };
+
+    private static final int[] CANONICAL_HASHES = new int[CANONICAL_NAMES.length];
+
+    static {
+        for (int i = 0; i < CANONICAL_NAMES.length; i++) {
+            CANONICAL_HASHES[i] = foldedHash(CANONICAL_NAMES[i]);
+        }
+    }
+
+    private final String[] names;
+
+    private final Attribute[] attributes;
+
+    private final int[] hashes;
+
+    /**
+     * Indexes of the entries plus one, zero for an empty slot.
+     */
+    private final int[] slots;
+
+    private final int size;
+
+    private Set<Map.Entry<String, Attribute>> entrySet;
+
+    AttributeIndex(Collection<? extends Attribute> attrs) {
+        int capacity = Integer.highestOneBit(Math.max(2, attrs.size()) * 2 - 1) << 1;
+        names = new String[attrs.size()];
+        attributes = new Attribute[attrs.size()];
+        hashes = new int[attrs.size()];
+        slots = new int[capacity];
+        int count = 0;
+        for (Attribute attr : attrs) {
+            String name = attr.getName();
+            int hash = hash(name);
+            int index = find(name, hash);
+            if (index >= 0) {
+                // like a map, the last attribute wins but the first name stays
+                attributes[index] = attr;
+                continue;
+            }
+            int canonical = canonicalIndex(name, hash);
+            names[count] = canonical < 0 ? name : CANONICAL_NAMES[canonical];
+            attributes[count] = attr;
+            hashes[count] = hash;
+            int slot = hash & (capacity - 1);
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & (capacity - 1);
+            }
+            slots[slot] = ++count;
+        }
+        size = count;
+    }
+
+    /**
+     * Hash of the name folded like {@link String#equalsIgnoreCase(String)},
+     * with a shortcut for ASCII.
+     */
+    static int foldedHash(String name) {
+        int hash = 0;
+        int length = name.length();
+        for (int i = 0; i < length;) {
+            int c = name.charAt(i);
+            if (c < 0x80) {
+                if (c >= 'A' && c <= 'Z') {
+                    c += 'a' - 'A';
+                }
+                i++;
+            } else {
+                c = name.codePointAt(i);
+                i += Character.charCount(c);
+                c = Character.toLowerCase(Character.toUpperCase(c));
+            }
+            hash = 31 * hash + c;
+        }
+        return hash;
+    }
+
+    private static int hash(String name) {
+        for (int i = 0; i < CANONICAL_NAMES.length; i++) {
+            if (CANONICAL_NAMES[i] == name) {
+                return CANONICAL_HASHES[i];
+            }
+        }
+        return foldedHash(name);
+    }
+
+    private static int canonicalIndex(String name, int hash) {
+        for (int i = 0; i < CANONICAL_NAMES.length; i++) {
+            if (CANONICAL_HASHES[i] == hash && CANONICAL_NAMES[i].equalsIgnoreCase(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int find(String name, int hash) {
+        int mask = slots.length - 1;
+        for (int slot = hash & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+            int index = slots[slot] - 1;
+            String candidate = names[index];
+            if (candidate == name || (hashes[index] == hash && candidate.equalsIgnoreCase(name))) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private int indexOf(Object key) {
+        if (key instanceof String) {
+            String name = (String) key;
+            return find(name, hash(name));
+        }
+        return -1;
+    }
+
+    @Override
+    public Attribute get(Object key) {
+        int index = indexOf(key);
+        return index < 0 ? null : attributes[index];
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Collection<Attribute> values() {
+        return Collections.unmodifiableList(Arrays.asList(attributes).subList(0, size));
+    }
+
+    @Override
+    public Set<Map.Entry<String, Attribute>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new AbstractSet<Map.Entry<String, Attribute>>() {
+
+                @Override
+                public Iterator<Map.Entry<String, Attribute>> iterator() {
+                    return new Iterator<Map.Entry<String, Attribute>>() {
+
+                        private int next = 0;
+
+                        @Override
+                        public boolean hasNext() {
+                            return next < size;
+                        }
+
+                        @Override
+                        public Map.Entry<String, Attribute> next() {
+                            if (next >= size) {
+                                throw new NoSuchElementException();
+                            }
+                            int index = next++;
+                            return new SimpleImmutableEntry<>(names[index], attributes[index]);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+        }
+        return entrySet;
+    }
+}
@@ -45,8 +45,8 @@ public abstract class BaseConnectorObject {
             throw new IllegalArgumentException("The set can not be null or empty.");
         }
         this.objectClass = objectClass;
-        // create an easy look map..
-        this.attributeMap = AttributeUtil.toMap(attributes);
+        // create an easy look map, hashed since it's read for every object on every search..
+        this.attributeMap = new AttributeIndex(attributes);
     }
 
     /**
@@ -0,0 +1,146 @@
+/*
+ * ====================
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2026 ConnId. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of the Common Development
+ * and Distribution License("CDDL") (the "License").  You may not use this file
+ * except in compliance with the License.
+ *
+ * You can obtain a copy of the License at
+ * http://opensource.org/licenses/cddl1.php
+ * See the License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * When distributing the Covered Code, include this CDDL Header Notice in each file
+ * and include the License file at http://opensource.org/licenses/cddl1.php.
+ * If applicable, add the following below this CDDL Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyrighted [year] [name of copyright owner]"
+ * ====================
+ */
+package org.identityconnectors.framework.common.objects;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import org.identityconnectors.common.Assertions;
+import org.identityconnectors.framework.api.operations.BatchApiOp;
+
+/**
+ * One create, update or delete of a {@linkplain BatchApiOp batch}.
+ *
+ * @see BatchItemResult
+ * @since 1.6.1.0
+ */
+public final class BatchItem {
+
+    /**
+     * The kind of change a batch item makes.
+     */
+    public enum Type {
+
+        /**
+         * Creates an object, like {@code CreateApiOp#create}.
+         */
+        CREATE,
+        /**
+         * Replaces attributes of an object, like {@code UpdateApiOp#update}.
+         */
+        UPDATE,
+        /**
+         * Deletes an object, like {@code DeleteApiOp#delete}.
+         */
+        DELETE
+    }
+
+    private final Type type;
+
+    private final ObjectClass objectClass;
+
+    private final Uid uid;
+
+    private final Set<Attribute> attributes;
+
+    private final OperationOptions options;
+
+    /**
+     * Creates a batch item; mostly the factory methods {@link #create},
+     * {@link #update} and {@link #delete} are simpler to use.
+     *
+     * @param type The kind of change. Must not be null.
+     * @param objectClass The class of the object. Must not be null.
+     * @param uid The object to update or delete, null for {@link Type#CREATE}.
+     * @param attributes The attributes to create the object with or to
+     * replace, empty for {@link Type#DELETE}. May be null.
+     * @param options The options of this change, null to use the options of
+     * the batch.
+     */
+    public BatchItem(final Type type, final ObjectClass objectClass, final Uid uid,
+            final Set<Attribute> attributes, final OperationOptions options) {
+        Assertions.nullCheck(type, "type");
+        Assertions.nullCheck(objectClass, "objectClass");
+        if (type != Type.CREATE) {
+            Assertions.nullCheck(uid, "uid");
+        }
+        this.type = type;
+        this.objectClass = objectClass;
+        this.uid = uid;
+        this.attributes = attributes == null || attributes.isEmpty()
+                ? Collections.<Attribute>emptySet()
+                : Collections.unmodifiableSet(new LinkedHashSet<>(attributes));
+        this.options = options;
+    }
+
+    public static BatchItem create(final ObjectClass objectClass, final Set<Attribute> createAttributes,
+            final OperationOptions options) {
+        return new BatchItem(Type.CREATE, objectClass, null, createAttributes, options);
+    }
+
+    public static BatchItem update(final ObjectClass objectClass, final Uid uid,
+            final Set<Attribute> replaceAttributes, final OperationOptions options) {
+        return new BatchItem(Type.UPDATE, objectClass, uid, replaceAttributes, options);
+    }
+
+    public static BatchItem delete(final ObjectClass objectClass, final Uid uid, final OperationOptions options) {
+        return new BatchItem(Type.DELETE, objectClass, uid, null, options);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public ObjectClass getObjectClass() {
+        return objectClass;
+    }
+
+    /**
+     * @return the object to update or delete, null for {@link Type#CREATE}.
+     */
+    public Uid getUid() {
+        return uid;
+    }
+
+    /**
+     * @return the attributes to create the object with or to replace, never
+     * null.
+     */
+    public Set<Attribute> getAttributes() {
+        return attributes;
+    }
+
+    /**
+     * @return the options of this change, or null to use the options of the
+     * batch.
+     */
+    public OperationOptions getOptions() {
+        return options;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchItem{" + "type=" + type + ", objectClass=" + objectClass + ", uid=" + uid
+                + ", attributes=" + attributes + '}';
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * ====================
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2026 ConnId. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of the Common Development
+ * and Distribution License("CDDL") (the "License").  You may not use this file
+ * except in compliance with the License.
+ *
+ * You can obtain a copy of the License at
+ * http://opensource.org/licenses/cddl1.php
+ * See the License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * When distributing the Covered Code, include this CDDL Header Notice in each file
+ * and include the License file at http://opensource.org/licenses/cddl1.php.
+ * If applicable, add the following below this CDDL Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyrighted [year] [name of copyright owner]"
+ * ====================
+ */
+package org.identityconnectors.framework.common.objects;
+
+import org.identityconnectors.common.Assertions;
+import org.identityconnectors.framework.api.operations.BatchApiOp;
+
+/**
+ * The outcome of one {@link BatchItem} of a {@linkplain BatchApiOp batch}:
+ * either the uid of the created or updated object, or the error the item
+ * failed with.
+ *
+ * @since 1.6.1.0
+ */
+public final class BatchItemResult {
+
+    private final Uid uid;
+
+    private final RuntimeException error;
+
+    private BatchItemResult(final Uid uid, final RuntimeException error) {
+        this.uid = uid;
+        this.error = error;
+    }
+
+    /**
+     * Creates the result of an item which has been done.
+     *
+     * @param uid The uid of the created or updated object, null for
+     * deletes.
+     */
+    public static BatchItemResult success(final Uid uid) {
+        return new BatchItemResult(uid, null);
+    }
+
+    /**
+     * Creates the result of an item which failed; the other items of the
+     * batch are not affected.
+     *
+     * @param error What the item failed with. Must not be null.
+     */
+    public static BatchItemResult failure(final RuntimeException error) {
+        Assertions.nullCheck(error, "error");
+        return new BatchItemResult(null, error);
+    }
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+    /**
+     * @return the uid of the created or updated object, null for deletes and
+     * failed items.
+     */
+    public Uid getUid() {
+        return uid;
+    }
+
+    /**
+     * @return the error the item failed with, null if it has been done.
+     */
+    public RuntimeException getError() {
+        return error;
+    }
+
+    /**
+     * Returns the uid of the created or updated object, or throws the error
+     * the item failed with.
+     */
+    public Uid getUidOrThrow() {
+        if (error != null) {
+            throw error;
+        }
+        return uid;
+    }
+
+    @Override
+    public String toString() {
+        return error == null ? "BatchItemResult{uid=" + uid + '}' : "BatchItemResult{error=" + error + '}';
+    }
+}
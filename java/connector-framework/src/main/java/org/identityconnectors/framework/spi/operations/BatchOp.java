@@ -0,0 +1,61 @@
+/*
+ * ====================
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2026 ConnId. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of the Common Development
+ * and Distribution License("CDDL") (the "License").  You may not use this file
+ * except in compliance with the License.
+ *
+ * You can obtain a copy of the License at
+ * http://opensource.org/licenses/cddl1.php
+ * See the License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * When distributing the Covered Code, include this CDDL Header Notice in each file
+ * and include the License file at http://opensource.org/licenses/cddl1.php.
+ * If applicable, add the following below this CDDL Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyrighted [year] [name of copyright owner]"
+ * ====================
+ */
+package org.identityconnectors.framework.spi.operations;
+
+import java.util.List;
+import org.identityconnectors.framework.api.operations.BatchApiOp;
+import org.identityconnectors.framework.common.objects.BatchItem;
+import org.identityconnectors.framework.common.objects.BatchItemResult;
+import org.identityconnectors.framework.common.objects.OperationOptions;
+
+/**
+ * Creates, updates and deletes many objects in one call, for resources which
+ * can do that faster than one change at a time.
+ * <p>
+ * Connectors which don't implement this still support {@link BatchApiOp}
+ * through their {@link CreateOp}, {@link UpdateOp} and {@link DeleteOp}.
+ *
+ * @see BatchApiOp
+ * @since 1.6.1.0
+ */
+public interface BatchOp extends SPIOperation {
+
+    /**
+     * Runs the items of a batch.
+     * <p>
+     * The framework has checked the items the same way as single creates,
+     * updates and deletes, and has normalized their attributes. Items of a
+     * type the connector can't do should fail with an
+     * {@link UnsupportedOperationException} in their result.
+     *
+     * @param items The changes to make, never empty. Items which were given
+     * no options of their own carry the options of the batch.
+     * @param options Options that affect the way this operation is run. If
+     * the caller passes {@code null}, the framework will convert this into an
+     * empty set of options, so an implementation need not guard against this
+     * being null.
+     * @return one result per item, in the order of the items.
+     * @throws RuntimeException if the batch as a whole fails.
+     */
+    List<BatchItemResult> executeBatch(List<BatchItem> items, OperationOptions options);
+}
@@ -140,6 +140,26 @@ public class GuardedStringTests {
         }
     }
 
+    @Test
+    public void testBuilder() {
+        GuardedStringBuilder builder = new GuardedStringBuilder(2);
+        builder.append('f').append("xoox".toCharArray(), 1, 2).append("bar".toCharArray());
+        assertEquals(6, builder.length());
+        GuardedString str = builder.build();
+        assertEquals("foobar", decryptToString(str));
+        assertEquals(new GuardedString("foobar".toCharArray()), str);
+        assertFalse(str.isReadOnly());
+
+        assertEquals(0, builder.length());
+        assertEquals(new GuardedString(), builder.build());
+        try {
+            builder.append("foo".toCharArray(), 2, 2);
+            fail("expected exception");
+        } catch (IndexOutOfBoundsException e) {
+            /* ignore */
+        }
+    }
+
     /**
      * Highly insecure method! Do not do this in production code. This is only
      * for test purposes
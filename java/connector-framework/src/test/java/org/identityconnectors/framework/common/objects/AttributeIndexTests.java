@@ -0,0 +1,115 @@
+/*
+ * ====================
+ * DO NOT ALTER OR REMOVE COPYRIGHT NOTICES OR THIS HEADER.
+ *
+ * Copyright 2026 ConnId. All rights reserved.
+ *
+ * The contents of this file are subject to the terms of the Common Development
+ * and Distribution License("CDDL") (the "License").  You may not use this file
+ * except in compliance with the License.
+ *
+ * You can obtain a copy of the License at
+ * http://opensource.org/licenses/cddl1.php
+ * See the License for the specific language governing permissions and limitations
+ * under the License.
+ *
+ * When distributing the Covered Code, include this CDDL Header Notice in each file
+ * and include the License file at http://opensource.org/licenses/cddl1.php.
+ * If applicable, add the following below this CDDL Header, with the fields
+ * enclosed by brackets [] replaced by your own identifying information:
+ * "Portions Copyrighted [year] [name of copyright owner]"
+ * ====================
+ */
+package org.identityconnectors.framework.common.objects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.identityconnectors.common.security.GuardedString;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link AttributeIndex} class.
+ */
+public class AttributeIndexTests {
+
+    @Test
+    public void testCaseInsensitiveLookup() {
+        Attribute attr = AttributeBuilder.build("givenName", "John");
+        Map<String, Attribute> index = new AttributeIndex(Arrays.asList(attr, new Uid("1")));
+        assertSame(attr, index.get("givenName"));
+        assertSame(attr, index.get("GIVENNAME"));
+        assertSame(attr, index.get("givenname"));
+        assertNull(index.get("givenNames"));
+        assertNull(index.get(null));
+        assertNull(index.get(1));
+        assertTrue(index.containsKey("__uid__"));
+        assertTrue(index.keySet().contains("GivenName"));
+        assertFalse(index.containsKey("sn"));
+    }
+
+    @Test
+    public void testCanonicalNames() {
+        // names which don't come from the constants, as after deserialization
+        Attribute uid = AttributeBuilder.build(new String("__uid__"), "1");
+        Attribute password = AttributeBuilder.build(new String(OperationalAttributes.PASSWORD_NAME),
+                new GuardedString("secret".toCharArray()));
+        Map<String, Attribute> index = new AttributeIndex(Arrays.asList(uid, password));
+        assertSame(uid, index.get(Uid.NAME));
+        assertSame(password, index.get(OperationalAttributes.PASSWORD_NAME));
+        for (String name : index.keySet()) {
+            assertTrue(name == Uid.NAME || name == OperationalAttributes.PASSWORD_NAME);
+        }
+    }
+
+    @Test
+    public void testMapSemantics() {
+        List<Attribute> attrs = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            attrs.add(AttributeBuilder.build("attr" + i, i));
+        }
+        attrs.add(new Uid("1"));
+        attrs.add(new Name("name"));
+        Map<String, Attribute> index = new AttributeIndex(attrs);
+        Map<String, Attribute> expected = AttributeUtil.toMap(attrs);
+        assertEquals(102, index.size());
+        assertEquals(expected, index);
+        assertEquals(index, expected);
+        assertEquals(expected.hashCode(), index.hashCode());
+        for (Attribute attr : attrs) {
+            assertSame(attr, index.get(attr.getName().toUpperCase()));
+        }
+        assertThrows(UnsupportedOperationException.class, () -> index.put("sn", AttributeBuilder.build("sn")));
+        assertThrows(UnsupportedOperationException.class, () -> index.values().clear());
+        assertThrows(UnsupportedOperationException.class, () -> index.keySet().iterator().remove());
+    }
+
+    @Test
+    public void testDuplicateNames() {
+        Attribute first = AttributeBuilder.build("mail", "a@example.com");
+        Attribute second = AttributeBuilder.build("MAIL", "b@example.com");
+        Map<String, Attribute> index = new AttributeIndex(Arrays.asList(first, second));
+        assertEquals(1, index.size());
+        assertSame(second, index.get("mail"));
+        assertEquals("mail", index.keySet().iterator().next());
+    }
+
+    @Test
+    public void testFoldedHash() {
+        assertEquals(AttributeIndex.foldedHash("givenname"), AttributeIndex.foldedHash("GivenName"));
+        // the kelvin sign folds to an ASCII letter
+        assertEquals(AttributeIndex.foldedHash("k"), AttributeIndex.foldedHash("\u212A"));
+        assertTrue("\u212A".equalsIgnoreCase("k"));
+        assertEquals(AttributeIndex.foldedHash("\u00E9t\u00E9"), AttributeIndex.foldedHash("\u00C9T\u00C9"));
+        Attribute attr = AttributeBuilder.build("\u00E9t\u00E9", 1);
+        assertSame(attr, new AttributeIndex(Arrays.asList(attr)).get("\u00C9T\u00C9"));
+    }
+}